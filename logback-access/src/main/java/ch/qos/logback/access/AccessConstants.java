@@ -18,6 +18,7 @@ public class AccessConstants {
     public static final String LOGBACK_STATUS_MANAGER_KEY = "LOGBACK_STATUS_MANAGER";
     public static final String LB_INPUT_BUFFER = "LB_INPUT_BUFFER";
     public static final String LB_OUTPUT_BUFFER = "LB_OUTPUT_BUFFER";
+    public static final String LB_DEFERRED_FIELDS = "LB_DEFERRED_FIELDS";
 
     public static final String X_WWW_FORM_URLECODED = "application/x-www-form-urlencoded";
 
@@ -28,5 +29,8 @@ public class AccessConstants {
 
     public static final String TEE_FILTER_INCLUDES_PARAM = "includes";
     public static final String TEE_FILTER_EXCLUDES_PARAM = "excludes";
+    public static final String TEE_FILTER_MAX_CAPTURE_SIZE_PARAM = "maxCaptureSize";
+    public static final String TEE_FILTER_CONTENT_TYPES_PARAM = "contentTypes";
+    public static final String TEE_FILTER_SKIP_UNREAD_CONTENT_PARAM = "skipUnreadContent";
 
 }
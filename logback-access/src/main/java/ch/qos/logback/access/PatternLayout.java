@@ -13,6 +13,7 @@
  */
 package ch.qos.logback.access;
 
+import ch.qos.logback.access.pattern.AccessConverter;
 import ch.qos.logback.access.pattern.ContentLengthConverter;
 import ch.qos.logback.access.pattern.DateConverter;
 import ch.qos.logback.access.pattern.ElapsedSecondsConverter;
@@ -43,13 +44,20 @@ import ch.qos.logback.access.pattern.ServerNameConverter;
 import ch.qos.logback.access.pattern.SessionIDConverter;
 import ch.qos.logback.access.pattern.StatusCodeConverter;
 import ch.qos.logback.access.pattern.ThreadNameConverter;
+import ch.qos.logback.access.spi.DeferredField;
 import ch.qos.logback.access.spi.IAccessEvent;
+import ch.qos.logback.core.pattern.CompositeConverter;
+import ch.qos.logback.core.pattern.Converter;
+import ch.qos.logback.core.pattern.LiteralConverter;
 import ch.qos.logback.core.pattern.PatternLayoutBase;
 import ch.qos.logback.core.pattern.color.*;
 import ch.qos.logback.core.pattern.parser.Parser;
 
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * <p>
@@ -177,6 +185,8 @@ public class PatternLayout extends PatternLayoutBase<IAccessEvent> {
         defaultConverterMap.put("boldWhite", BoldWhiteCompositeConverter.class.getName());
     }
 
+    Set<DeferredField> deferredFields = DeferredField.ALL;
+
     public PatternLayout() {
         // set a default value for pattern
         setPattern(CLF_PATTERN);
@@ -208,6 +218,33 @@ public class PatternLayout extends PatternLayoutBase<IAccessEvent> {
             setPattern(COMBINED_PATTERN);
         }
         super.start();
+        if (isStarted()) {
+            Set<DeferredField> fields = EnumSet.noneOf(DeferredField.class);
+            addDeferredFields(getHeadConverter(), fields);
+            deferredFields = Collections.unmodifiableSet(fields);
+        }
+    }
+
+    private static void addDeferredFields(Converter<IAccessEvent> head, Set<DeferredField> fields) {
+        for (Converter<IAccessEvent> c = head; c != null; c = c.getNext()) {
+            if (c instanceof AccessConverter) {
+                ((AccessConverter) c).addDeferredFields(fields);
+            } else if (c instanceof CompositeConverter) {
+                addDeferredFields(((CompositeConverter<IAccessEvent>) c).getChildConverter(), fields);
+            } else if (!(c instanceof LiteralConverter)) {
+                fields.addAll(DeferredField.ALL);
+            }
+        }
+    }
+
+    /**
+     * Returns the {@link DeferredField fields} read by the converters of this
+     * layout, as computed when the layout was started.
+     *
+     * @since 1.4.2
+     */
+    public Set<DeferredField> getDeferredFields() {
+        return deferredFields;
     }
 
     @Override
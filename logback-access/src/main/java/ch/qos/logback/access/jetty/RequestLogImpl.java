@@ -19,9 +19,11 @@ import java.util.EventListener;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 
 import ch.qos.logback.access.joran.JoranConfigurator;
 import ch.qos.logback.access.spi.AccessEvent;
+import ch.qos.logback.access.spi.DeferredField;
 import ch.qos.logback.access.spi.IAccessEvent;
 import ch.qos.logback.core.Appender;
 import ch.qos.logback.core.ContextBase;
@@ -240,6 +242,8 @@ public class RequestLogImpl extends ContextBase implements org.eclipse.jetty.uti
     State state = State.STOPPED;
 
     AppenderAttachableImpl<IAccessEvent> aai = new AppenderAttachableImpl<IAccessEvent>();
+    // fields read by the attached appenders, null until computed
+    private volatile Set<DeferredField> deferredFields;
     FilterAttachableImpl<IAccessEvent> fai = new FilterAttachableImpl<IAccessEvent>();
     String fileName;
     String resource;
@@ -253,7 +257,8 @@ public class RequestLogImpl extends ContextBase implements org.eclipse.jetty.uti
     @Override
     public void log(Request jettyRequest, Response jettyResponse) {
         JettyServerAdapter adapter = makeJettyServerAdapter(jettyRequest, jettyResponse);
-        IAccessEvent accessEvent = new AccessEvent(this, jettyRequest, jettyResponse, adapter);
+        AccessEvent accessEvent = new AccessEvent(this, jettyRequest, jettyResponse, adapter);
+        accessEvent.setDeferredFields(getDeferredFields());
         if (getFilterChainDecision(accessEvent) == FilterReply.DENY) {
             return;
         }
@@ -349,6 +354,7 @@ public class RequestLogImpl extends ContextBase implements org.eclipse.jetty.uti
     public void stop() {
         state = State.STOPPING;
         aai.detachAndStopAllAppenders();
+        deferredFields = null;
         state = State.STOPPED;
     }
 
@@ -411,6 +417,7 @@ public class RequestLogImpl extends ContextBase implements org.eclipse.jetty.uti
     @Override
     public void addAppender(Appender<IAccessEvent> newAppender) {
         aai.addAppender(newAppender);
+        deferredFields = null;
     }
 
     @Override
@@ -435,12 +442,29 @@ public class RequestLogImpl extends ContextBase implements org.eclipse.jetty.uti
 
     @Override
     public boolean detachAppender(Appender<IAccessEvent> appender) {
-        return aai.detachAppender(appender);
+        boolean detached = aai.detachAppender(appender);
+        deferredFields = null;
+        return detached;
     }
 
     @Override
     public boolean detachAppender(String name) {
-        return aai.detachAppender(name);
+        boolean detached = aai.detachAppender(name);
+        deferredFields = null;
+        return detached;
+    }
+
+    /**
+     * Returns the fields of access events which the attached appenders read,
+     * computed on first use after the set of appenders changed.
+     */
+    Set<DeferredField> getDeferredFields() {
+        Set<DeferredField> fields = deferredFields;
+        if (fields == null) {
+            fields = DeferredField.requiredBy(aai.iteratorForAppenders());
+            deferredFields = fields;
+        }
+        return fields;
     }
 
     @Override
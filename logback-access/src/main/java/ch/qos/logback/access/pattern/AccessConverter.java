@@ -13,6 +13,9 @@
  */
 package ch.qos.logback.access.pattern;
 
+import java.util.Set;
+
+import ch.qos.logback.access.spi.DeferredField;
 import ch.qos.logback.access.spi.IAccessEvent;
 import ch.qos.logback.core.Context;
 import ch.qos.logback.core.pattern.DynamicConverter;
@@ -27,6 +30,18 @@ abstract public class AccessConverter extends DynamicConverter<IAccessEvent> imp
 
     ContextAwareBase cab = new ContextAwareBase();
 
+    /**
+     * Adds the {@link DeferredField fields} read by this converter to the given
+     * set. Converters which do not override this method are assumed to read all
+     * of them.
+     *
+     * @param fields
+     * @since 1.4.2
+     */
+    public void addDeferredFields(Set<DeferredField> fields) {
+        fields.addAll(DeferredField.ALL);
+    }
+
     @Override
     public void setContext(Context context) {
         cab.setContext(context);
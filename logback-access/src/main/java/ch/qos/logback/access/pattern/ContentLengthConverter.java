@@ -13,6 +13,9 @@
  */
 package ch.qos.logback.access.pattern;
 
+import java.util.Set;
+
+import ch.qos.logback.access.spi.DeferredField;
 import ch.qos.logback.access.spi.IAccessEvent;
 
 public class ContentLengthConverter extends AccessConverter {
@@ -27,4 +30,7 @@ public class ContentLengthConverter extends AccessConverter {
         }
     }
 
+    @Override
+    public void addDeferredFields(Set<DeferredField> fields) {
+    }
 }
@@ -15,7 +15,9 @@ package ch.qos.logback.access.pattern;
 
 import java.time.ZoneId;
 import java.util.List;
+import java.util.Set;
 
+import ch.qos.logback.access.spi.DeferredField;
 import ch.qos.logback.access.spi.IAccessEvent;
 import ch.qos.logback.core.CoreConstants;
 import ch.qos.logback.core.util.CachingDateFormatter;
@@ -60,4 +62,13 @@ public class DateConverter extends AccessConverter {
         long timestamp = accessEvent.getTimeStamp();
         return cachingDateFormatter.format(timestamp);
     }
+
+    @Override
+    protected void convertTo(StringBuilder buf, IAccessEvent accessEvent) {
+        cachingDateFormatter.format(accessEvent.getTimeStamp(), buf);
+    }
+
+    @Override
+    public void addDeferredFields(Set<DeferredField> fields) {
+    }
 }
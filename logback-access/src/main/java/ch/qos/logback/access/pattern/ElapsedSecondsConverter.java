@@ -13,6 +13,9 @@
  */
 package ch.qos.logback.access.pattern;
 
+import java.util.Set;
+
+import ch.qos.logback.access.spi.DeferredField;
 import ch.qos.logback.access.spi.IAccessEvent;
 
 public class ElapsedSecondsConverter extends AccessConverter {
@@ -21,4 +24,7 @@ public class ElapsedSecondsConverter extends AccessConverter {
         return Long.toString(accessEvent.getElapsedSeconds());
     }
 
+    @Override
+    public void addDeferredFields(Set<DeferredField> fields) {
+    }
 }
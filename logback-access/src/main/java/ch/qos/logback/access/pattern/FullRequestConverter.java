@@ -14,7 +14,9 @@
 package ch.qos.logback.access.pattern;
 
 import java.util.Enumeration;
+import java.util.Set;
 
+import ch.qos.logback.access.spi.DeferredField;
 import ch.qos.logback.access.spi.IAccessEvent;
 import ch.qos.logback.core.CoreConstants;
 
@@ -49,4 +51,9 @@ public class FullRequestConverter extends AccessConverter {
         return buf.toString();
     }
 
+    @Override
+    public void addDeferredFields(Set<DeferredField> fields) {
+        fields.add(DeferredField.REQUEST_HEADERS);
+        fields.add(DeferredField.REQUEST_CONTENT);
+    }
 }
@@ -14,7 +14,9 @@
 package ch.qos.logback.access.pattern;
 
 import java.util.List;
+import java.util.Set;
 
+import ch.qos.logback.access.spi.DeferredField;
 import ch.qos.logback.access.spi.IAccessEvent;
 import ch.qos.logback.core.CoreConstants;
 
@@ -128,4 +130,10 @@ public class FullResponseConverter extends AccessConverter {
             return "NA";
         }
     }
+
+    @Override
+    public void addDeferredFields(Set<DeferredField> fields) {
+        fields.add(DeferredField.RESPONSE_HEADERS);
+        fields.add(DeferredField.RESPONSE_CONTENT);
+    }
 }
@@ -15,7 +15,9 @@ package ch.qos.logback.access.pattern;
 
 import java.net.InetAddress;
 import java.net.UnknownHostException;
+import java.util.Set;
 
+import ch.qos.logback.access.spi.DeferredField;
 import ch.qos.logback.access.spi.IAccessEvent;
 
 public class LocalIPAddressConverter extends AccessConverter {
@@ -35,4 +37,7 @@ public class LocalIPAddressConverter extends AccessConverter {
         return localIPAddressStr;
     }
 
+    @Override
+    public void addDeferredFields(Set<DeferredField> fields) {
+    }
 }
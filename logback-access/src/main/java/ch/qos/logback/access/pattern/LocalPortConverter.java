@@ -13,6 +13,9 @@
  */
 package ch.qos.logback.access.pattern;
 
+import java.util.Set;
+
+import ch.qos.logback.access.spi.DeferredField;
 import ch.qos.logback.access.spi.IAccessEvent;
 
 public class LocalPortConverter extends AccessConverter {
@@ -21,4 +24,8 @@ public class LocalPortConverter extends AccessConverter {
     public String convert(IAccessEvent accessEvent) {
         return Integer.toString(accessEvent.getLocalPort());
     }
+
+    @Override
+    public void addDeferredFields(Set<DeferredField> fields) {
+    }
 }
@@ -13,6 +13,9 @@
  */
 package ch.qos.logback.access.pattern;
 
+import java.util.Set;
+
+import ch.qos.logback.access.spi.DeferredField;
 import ch.qos.logback.access.spi.IAccessEvent;
 
 /**
@@ -28,4 +31,7 @@ public class NAConverter extends AccessConverter {
         return IAccessEvent.NA;
     }
 
+    @Override
+    public void addDeferredFields(Set<DeferredField> fields) {
+    }
 }
@@ -13,6 +13,9 @@
  */
 package ch.qos.logback.access.pattern;
 
+import java.util.Set;
+
+import ch.qos.logback.access.spi.DeferredField;
 import ch.qos.logback.access.spi.IAccessEvent;
 
 public class RemoteHostConverter extends AccessConverter {
@@ -22,4 +25,7 @@ public class RemoteHostConverter extends AccessConverter {
         return accessEvent.getRemoteHost();
     }
 
+    @Override
+    public void addDeferredFields(Set<DeferredField> fields) {
+    }
 }
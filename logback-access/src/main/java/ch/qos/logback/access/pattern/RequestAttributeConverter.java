@@ -13,6 +13,9 @@
  */
 package ch.qos.logback.access.pattern;
 
+import java.util.Set;
+
+import ch.qos.logback.access.spi.DeferredField;
 import ch.qos.logback.access.spi.IAccessEvent;
 import ch.qos.logback.core.util.OptionHelper;
 
@@ -39,4 +42,8 @@ public class RequestAttributeConverter extends AccessConverter {
         return accessEvent.getAttribute(key);
     }
 
+    @Override
+    public void addDeferredFields(Set<DeferredField> fields) {
+        fields.add(DeferredField.ATTRIBUTES);
+    }
 }
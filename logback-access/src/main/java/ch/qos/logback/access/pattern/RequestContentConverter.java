@@ -13,6 +13,9 @@
  */
 package ch.qos.logback.access.pattern;
 
+import java.util.Set;
+
+import ch.qos.logback.access.spi.DeferredField;
 import ch.qos.logback.access.spi.IAccessEvent;
 
 /**
@@ -32,4 +35,8 @@ public class RequestContentConverter extends AccessConverter {
         return accessEvent.getRequestContent();
     }
 
+    @Override
+    public void addDeferredFields(Set<DeferredField> fields) {
+        fields.add(DeferredField.REQUEST_CONTENT);
+    }
 }
@@ -13,6 +13,9 @@
  */
 package ch.qos.logback.access.pattern;
 
+import java.util.Set;
+
+import ch.qos.logback.access.spi.DeferredField;
 import ch.qos.logback.access.spi.IAccessEvent;
 import ch.qos.logback.core.util.OptionHelper;
 
@@ -38,4 +41,8 @@ public class RequestCookieConverter extends AccessConverter {
 
         return accessEvent.getCookie(key);
     }
+
+    @Override
+    public void addDeferredFields(Set<DeferredField> fields) {
+    }
 }
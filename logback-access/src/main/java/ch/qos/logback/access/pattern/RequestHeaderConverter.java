@@ -13,6 +13,9 @@
  */
 package ch.qos.logback.access.pattern;
 
+import java.util.Set;
+
+import ch.qos.logback.access.spi.DeferredField;
 import ch.qos.logback.access.spi.IAccessEvent;
 import ch.qos.logback.core.util.OptionHelper;
 
@@ -43,4 +46,8 @@ public class RequestHeaderConverter extends AccessConverter {
         }
     }
 
+    @Override
+    public void addDeferredFields(Set<DeferredField> fields) {
+        fields.add(DeferredField.REQUEST_HEADERS);
+    }
 }
@@ -14,7 +14,9 @@
 package ch.qos.logback.access.pattern;
 
 import java.util.Arrays;
+import java.util.Set;
 
+import ch.qos.logback.access.spi.DeferredField;
 import ch.qos.logback.access.spi.IAccessEvent;
 import ch.qos.logback.core.util.OptionHelper;
 
@@ -49,4 +51,8 @@ public class RequestParameterConverter extends AccessConverter {
         }
     }
 
+    @Override
+    public void addDeferredFields(Set<DeferredField> fields) {
+        fields.add(DeferredField.REQUEST_PARAMETERS);
+    }
 }
@@ -13,6 +13,9 @@
  */
 package ch.qos.logback.access.pattern;
 
+import java.util.Set;
+
+import ch.qos.logback.access.spi.DeferredField;
 import ch.qos.logback.access.spi.IAccessEvent;
 
 /**
@@ -27,4 +30,7 @@ public class RequestURIConverter extends AccessConverter {
         return accessEvent.getRequestURI();
     }
 
+    @Override
+    public void addDeferredFields(Set<DeferredField> fields) {
+    }
 }
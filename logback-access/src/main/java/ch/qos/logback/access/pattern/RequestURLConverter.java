@@ -13,6 +13,9 @@
  */
 package ch.qos.logback.access.pattern;
 
+import java.util.Set;
+
+import ch.qos.logback.access.spi.DeferredField;
 import ch.qos.logback.access.spi.IAccessEvent;
 
 /**
@@ -26,4 +29,8 @@ public class RequestURLConverter extends AccessConverter {
     public String convert(IAccessEvent accessEvent) {
         return accessEvent.getRequestURL();
     }
+
+    @Override
+    public void addDeferredFields(Set<DeferredField> fields) {
+    }
 }
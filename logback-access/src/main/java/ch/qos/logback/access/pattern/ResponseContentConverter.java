@@ -13,6 +13,9 @@
  */
 package ch.qos.logback.access.pattern;
 
+import java.util.Set;
+
+import ch.qos.logback.access.spi.DeferredField;
 import ch.qos.logback.access.spi.IAccessEvent;
 
 /**
@@ -32,4 +35,8 @@ public class ResponseContentConverter extends AccessConverter {
         return accessEvent.getResponseContent();
     }
 
+    @Override
+    public void addDeferredFields(Set<DeferredField> fields) {
+        fields.add(DeferredField.RESPONSE_CONTENT);
+    }
 }
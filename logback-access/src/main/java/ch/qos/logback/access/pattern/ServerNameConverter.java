@@ -13,6 +13,9 @@
  */
 package ch.qos.logback.access.pattern;
 
+import java.util.Set;
+
+import ch.qos.logback.access.spi.DeferredField;
 import ch.qos.logback.access.spi.IAccessEvent;
 
 public class ServerNameConverter extends AccessConverter {
@@ -21,4 +24,8 @@ public class ServerNameConverter extends AccessConverter {
     public String convert(IAccessEvent accessEvent) {
         return accessEvent.getServerName();
     }
+
+    @Override
+    public void addDeferredFields(Set<DeferredField> fields) {
+    }
 }
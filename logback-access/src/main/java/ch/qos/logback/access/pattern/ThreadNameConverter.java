@@ -13,6 +13,9 @@
  */
 package ch.qos.logback.access.pattern;
 
+import java.util.Set;
+
+import ch.qos.logback.access.spi.DeferredField;
 import ch.qos.logback.access.spi.IAccessEvent;
 
 public class ThreadNameConverter extends AccessConverter {
@@ -21,4 +24,7 @@ public class ThreadNameConverter extends AccessConverter {
         return accessEvent.getThreadName();
     }
 
+    @Override
+    public void addDeferredFields(Set<DeferredField> fields) {
+    }
 }
@@ -0,0 +1,149 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.access.servlet;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Holds a copy of the request or response body as captured by
+ * {@link TeeFilter}, possibly truncated to a maximum size.
+ *
+ * <p>
+ * The copy is kept in fixed-size chunks, borrowed from a pool shared by the
+ * filter. It is rendered as a string at most once, upon the first call to
+ * {@link #render()}, at which point the chunks are returned to the pool.
+ * Buffers which are never rendered are simply garbage collected.
+ *
+ * @since 1.4.2
+ */
+public class CaptureBuffer {
+
+    static final int CHUNK_SIZE = 4096;
+    static final int UNBOUNDED = -1;
+
+    private final CaptureBufferPool pool;
+    private final long maxSize;
+    private final List<byte[]> chunks = new ArrayList<byte[]>();
+    private int size;
+    private long totalLength;
+    private String rendered;
+
+    /**
+     * Create an unbounded buffer whose chunks are not pooled.
+     */
+    public CaptureBuffer() {
+        this(null, UNBOUNDED);
+    }
+
+    CaptureBuffer(CaptureBufferPool pool, long maxSize) {
+        this.pool = pool;
+        this.maxSize = maxSize;
+    }
+
+    public synchronized void write(int b) {
+        totalLength++;
+        if (rendered != null || (maxSize != UNBOUNDED && size >= maxSize)) {
+            return;
+        }
+        ensureChunk()[size % CHUNK_SIZE] = (byte) b;
+        size++;
+    }
+
+    public synchronized void write(byte[] b, int off, int len) {
+        totalLength += len;
+        if (rendered != null) {
+            return;
+        }
+        int remaining = maxSize == UNBOUNDED ? len : (int) Math.min(len, Math.max(0, maxSize - size));
+        while (remaining > 0) {
+            byte[] chunk = ensureChunk();
+            int pos = size % CHUNK_SIZE;
+            int n = Math.min(remaining, CHUNK_SIZE - pos);
+            System.arraycopy(b, off, chunk, pos, n);
+            off += n;
+            remaining -= n;
+            size += n;
+        }
+    }
+
+    private byte[] ensureChunk() {
+        if (size == chunks.size() * CHUNK_SIZE) {
+            chunks.add(pool != null ? pool.acquire() : new byte[CHUNK_SIZE]);
+        }
+        return chunks.get(chunks.size() - 1);
+    }
+
+    /**
+     * The number of bytes captured.
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * The number of bytes which went through, captured or not.
+     */
+    public synchronized long getTotalLength() {
+        return totalLength;
+    }
+
+    public synchronized boolean isTruncated() {
+        return totalLength > size;
+    }
+
+    /**
+     * Returns a copy of the captured bytes, or null if this buffer has already
+     * been rendered.
+     */
+    public synchronized byte[] toByteArray() {
+        if (rendered != null) {
+            return null;
+        }
+        byte[] result = new byte[size];
+        int copied = 0;
+        for (byte[] chunk : chunks) {
+            int n = Math.min(CHUNK_SIZE, size - copied);
+            System.arraycopy(chunk, 0, result, copied, n);
+            copied += n;
+        }
+        return result;
+    }
+
+    /**
+     * Render the captured bytes using the platform's default charset, followed by
+     * a mention of the number of bytes left out if the capture was truncated.
+     */
+    public synchronized String render() {
+        if (rendered == null) {
+            String s = chunks.size() == 1 ? new String(chunks.get(0), 0, size) : new String(toByteArray());
+            if (isTruncated()) {
+                s = s + "... [" + (totalLength - size) + " bytes not captured]";
+            }
+            rendered = s;
+            if (pool != null) {
+                for (byte[] chunk : chunks) {
+                    pool.release(chunk);
+                }
+            }
+            chunks.clear();
+        }
+        return rendered;
+    }
+
+    @Override
+    public String toString() {
+        return render();
+    }
+}
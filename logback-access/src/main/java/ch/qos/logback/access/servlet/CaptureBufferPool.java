@@ -0,0 +1,53 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.access.servlet;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * A bounded pool of the chunks making up {@link CaptureBuffer} instances.
+ * Chunks are allocated when the pool is empty and dropped when it is full.
+ *
+ * @since 1.4.2
+ */
+class CaptureBufferPool {
+
+    static final int DEFAULT_MAX_POOLED_CHUNKS = 256;
+
+    private final BlockingQueue<byte[]> chunks;
+    private final long maxCaptureSize;
+
+    CaptureBufferPool(int maxPooledChunks, long maxCaptureSize) {
+        this.chunks = new ArrayBlockingQueue<byte[]>(maxPooledChunks);
+        this.maxCaptureSize = maxCaptureSize;
+    }
+
+    CaptureBuffer newCaptureBuffer() {
+        return new CaptureBuffer(this, maxCaptureSize);
+    }
+
+    byte[] acquire() {
+        byte[] chunk = chunks.poll();
+        return chunk != null ? chunk : new byte[CaptureBuffer.CHUNK_SIZE];
+    }
+
+    void release(byte[] chunk) {
+        chunks.offer(chunk);
+    }
+
+    int pooledChunkCount() {
+        return chunks.size();
+    }
+}
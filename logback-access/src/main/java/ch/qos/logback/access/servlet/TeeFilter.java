@@ -18,6 +18,8 @@ import java.net.InetAddress;
 import java.net.UnknownHostException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
 
 import jakarta.servlet.Filter;
 import jakarta.servlet.FilterChain;
@@ -28,13 +30,47 @@ import jakarta.servlet.ServletResponse;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
+import ch.qos.logback.access.spi.DeferredField;
+
+import static ch.qos.logback.access.AccessConstants.LB_DEFERRED_FIELDS;
 import static ch.qos.logback.access.AccessConstants.LB_OUTPUT_BUFFER;
 import static ch.qos.logback.access.AccessConstants.TEE_FILTER_INCLUDES_PARAM;
 import static ch.qos.logback.access.AccessConstants.TEE_FILTER_EXCLUDES_PARAM;
+import static ch.qos.logback.access.AccessConstants.TEE_FILTER_MAX_CAPTURE_SIZE_PARAM;
+import static ch.qos.logback.access.AccessConstants.TEE_FILTER_CONTENT_TYPES_PARAM;
+import static ch.qos.logback.access.AccessConstants.TEE_FILTER_SKIP_UNREAD_CONTENT_PARAM;
 
+/**
+ * Captures the contents of requests and responses for the %fullRequest and
+ * %fullResponse conversion words.
+ *
+ * <p>
+ * Besides the <b>includes</b> and <b>excludes</b> host lists, the following
+ * init parameters are recognized:
+ * <ul>
+ * <li><b>maxCaptureSize</b>: the maximum number of bytes captured per request
+ * and per response, unbounded by default. An invalid value is reported and
+ * replaced by {@value #DEFAULT_MAX_CAPTURE_SIZE} bytes.</li>
+ * <li><b>contentTypes</b>: a comma or semicolon separated list of content types
+ * to capture, such as "application/json, text/*". Other requests and responses
+ * go through without being copied. By default, all content types are
+ * captured.</li>
+ * <li><b>skipUnreadContent</b>: if true, behind a
+ * {@link ch.qos.logback.access.tomcat.LogbackValve LogbackValve} without
+ * filters, a request or response content is captured only if one of the
+ * valve's appenders reads it, see {@link DeferredField}. Other readers of the
+ * captured contents then get none. False by default.</li>
+ * </ul>
+ */
 public class TeeFilter implements Filter {
 
+    static final int DEFAULT_MAX_CAPTURE_SIZE = 64 * 1024;
+
     boolean active;
+    boolean skipUnreadContent;
+    List<String> contentTypes = new ArrayList<String>();
+    CaptureBufferPool captureBufferPool = new CaptureBufferPool(CaptureBufferPool.DEFAULT_MAX_POOLED_CHUNKS,
+            CaptureBuffer.UNBOUNDED);
 
     @Override
     public void destroy() {
@@ -47,17 +83,36 @@ public class TeeFilter implements Filter {
 
         if (active && request instanceof HttpServletRequest) {
             try {
-                TeeHttpServletRequest teeRequest = new TeeHttpServletRequest((HttpServletRequest) request);
-                TeeHttpServletResponse teeResponse = new TeeHttpServletResponse((HttpServletResponse) response);
+                HttpServletRequest httpRequest = (HttpServletRequest) request;
+                final HttpServletResponse httpResponse = (HttpServletResponse) response;
+                Object deferredFields = skipUnreadContent ? httpRequest.getAttribute(LB_DEFERRED_FIELDS) : null;
+                boolean captureRequest = isRead(deferredFields, DeferredField.REQUEST_CONTENT);
+                boolean captureResponse = isRead(deferredFields, DeferredField.RESPONSE_CONTENT);
+
+                HttpServletRequest requestToUse = httpRequest;
+                // the content type of the request is known upfront
+                if (captureRequest && isCapturedContentType(httpRequest.getContentType())) {
+                    requestToUse = new TeeHttpServletRequest(httpRequest, captureBufferPool.newCaptureBuffer());
+                }
+                if (!captureResponse) {
+                    filterChain.doFilter(requestToUse, httpResponse);
+                    return;
+                }
+                // whereas the content type of the response is known once it is written
+                TeeHttpServletResponse teeResponse = new TeeHttpServletResponse(httpResponse,
+                        () -> isCapturedContentType(httpResponse.getContentType())
+                                ? captureBufferPool.newCaptureBuffer()
+                                : null);
 
-                // System.out.println("BEFORE TeeFilter. filterChain.doFilter()");
-                filterChain.doFilter(teeRequest, teeResponse);
-                // System.out.println("AFTER TeeFilter. filterChain.doFilter()");
+                filterChain.doFilter(requestToUse, teeResponse);
 
                 teeResponse.finish();
                 // let the output contents be available for later use by
                 // logback-access-logging
-                teeRequest.setAttribute(LB_OUTPUT_BUFFER, teeResponse.getOutputBuffer());
+                CaptureBuffer outputBuffer = teeResponse.getCaptureBuffer();
+                if (outputBuffer != null) {
+                    requestToUse.setAttribute(LB_OUTPUT_BUFFER, outputBuffer);
+                }
             } catch (IOException e) {
                 e.printStackTrace();
                 throw e;
@@ -78,6 +133,10 @@ public class TeeFilter implements Filter {
         String localhostName = getLocalhostName();
 
         active = computeActivation(localhostName, includeListAsStr, excludeListAsStr);
+        contentTypes = extractNameList(filterConfig.getInitParameter(TEE_FILTER_CONTENT_TYPES_PARAM));
+        skipUnreadContent = Boolean.parseBoolean(filterConfig.getInitParameter(TEE_FILTER_SKIP_UNREAD_CONTENT_PARAM));
+        long maxCaptureSize = parseMaxCaptureSize(filterConfig.getInitParameter(TEE_FILTER_MAX_CAPTURE_SIZE_PARAM));
+        captureBufferPool = new CaptureBufferPool(CaptureBufferPool.DEFAULT_MAX_POOLED_CHUNKS, maxCaptureSize);
         if (active)
             System.out.println("TeeFilter will be ACTIVE on this host [" + localhostName + "]");
         else
@@ -85,6 +144,68 @@ public class TeeFilter implements Filter {
 
     }
 
+    /**
+     * Returns the configured capture size, {@link CaptureBuffer#UNBOUNDED} if
+     * none is configured, or {@link #DEFAULT_MAX_CAPTURE_SIZE} if the configured
+     * value is not a non-negative number.
+     */
+    static long parseMaxCaptureSize(String maxCaptureSizeAsStr) {
+        if (maxCaptureSizeAsStr == null || maxCaptureSizeAsStr.trim().isEmpty()) {
+            return CaptureBuffer.UNBOUNDED;
+        }
+        long maxCaptureSize = -1;
+        try {
+            maxCaptureSize = Long.parseLong(maxCaptureSizeAsStr.trim());
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        if (maxCaptureSize < 0) {
+            System.out.println("TeeFilter found invalid " + TEE_FILTER_MAX_CAPTURE_SIZE_PARAM + " ["
+                    + maxCaptureSizeAsStr + "], will capture at most " + DEFAULT_MAX_CAPTURE_SIZE + " bytes");
+            return DEFAULT_MAX_CAPTURE_SIZE;
+        }
+        return maxCaptureSize;
+    }
+
+    /**
+     * Whether the given content is read, according to the
+     * {@link DeferredField fields} published by LogbackValve, if any.
+     */
+    static boolean isRead(Object deferredFields, DeferredField content) {
+        if (deferredFields instanceof Set) {
+            return ((Set<?>) deferredFields).contains(content);
+        }
+        return true;
+    }
+
+    boolean isCapturedContentType(String contentType) {
+        return matchesContentTypes(contentType, contentTypes);
+    }
+
+    /**
+     * Whether the content type, parameters excluded, is in the list. Entries
+     * ending with "/*" match any subtype. An empty list matches all content
+     * types.
+     */
+    static boolean matchesContentTypes(String contentType, List<String> contentTypeList) {
+        if (contentTypeList.isEmpty()) {
+            return true;
+        }
+        if (contentType == null) {
+            return false;
+        }
+        int semicolon = contentType.indexOf(';');
+        String mediaType = (semicolon == -1 ? contentType : contentType.substring(0, semicolon)).trim()
+                .toLowerCase(Locale.US);
+        for (String entry : contentTypeList) {
+            String e = entry.toLowerCase(Locale.US);
+            if (e.endsWith("/*") ? mediaType.startsWith(e.substring(0, e.length() - 1)) : mediaType.equals(e)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     static List<String> extractNameList(String nameListAsStr) {
         List<String> nameList = new ArrayList<String>();
         if (nameListAsStr == null) {
@@ -24,7 +24,8 @@ import jakarta.servlet.http.HttpServletRequestWrapper;
 import static ch.qos.logback.access.AccessConstants.LB_INPUT_BUFFER;
 
 /**
- * As the "tee" program on Unix, duplicate the request's input stream.
+ * As the "tee" program on Unix, duplicate the request's input stream. Only the
+ * bytes actually read by the application are captured.
  *
  * @author Ceki G&uuml;lc&uuml;
  */
@@ -34,16 +35,17 @@ class TeeHttpServletRequest extends HttpServletRequestWrapper {
     private BufferedReader reader;
     boolean postedParametersMode = false;
 
-    TeeHttpServletRequest(HttpServletRequest request) {
+    TeeHttpServletRequest(HttpServletRequest request, CaptureBuffer inputBuffer) throws IOException {
         super(request);
         // we can't access the input stream and access the request parameters
         // at the same time
         if (Util.isFormUrlEncoded(request)) {
             postedParametersMode = true;
         } else {
-            inStream = new TeeServletInputStream(request);
-            // add the contents of the input buffer as an attribute of the request
-            request.setAttribute(LB_INPUT_BUFFER, inStream.getInputBuffer());
+            inStream = new TeeServletInputStream(request, inputBuffer);
+            // add the input buffer as an attribute of the request, it is rendered
+            // only if the contents are actually logged
+            request.setAttribute(LB_INPUT_BUFFER, inputBuffer);
             reader = new BufferedReader(new InputStreamReader(inStream));
         }
 
@@ -53,7 +55,7 @@ class TeeHttpServletRequest extends HttpServletRequestWrapper {
         if (postedParametersMode) {
             throw new IllegalStateException("Call disallowed in postedParametersMode");
         }
-        return inStream.getInputBuffer();
+        return inStream.getInputBuffer().toByteArray();
     }
 
     @Override
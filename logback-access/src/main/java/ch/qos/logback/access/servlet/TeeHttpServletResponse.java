@@ -16,6 +16,7 @@ package ch.qos.logback.access.servlet;
 import java.io.IOException;
 import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
+import java.util.function.Supplier;
 
 import jakarta.servlet.ServletOutputStream;
 import jakarta.servlet.http.HttpServletResponse;
@@ -25,15 +26,28 @@ public class TeeHttpServletResponse extends HttpServletResponseWrapper {
 
     TeeServletOutputStream teeServletOutputStream;
     PrintWriter teeWriter;
+    final Supplier<CaptureBuffer> captureBufferSupplier;
 
     public TeeHttpServletResponse(HttpServletResponse httpServletResponse) {
+        this(httpServletResponse, CaptureBuffer::new);
+    }
+
+    /**
+     * @param captureBufferSupplier invoked upon the first write to obtain the
+     *                              buffer into which the response is copied, may
+     *                              return null to leave the response uncaptured
+     * @since 1.4.2
+     */
+    public TeeHttpServletResponse(HttpServletResponse httpServletResponse,
+            Supplier<CaptureBuffer> captureBufferSupplier) {
         super(httpServletResponse);
+        this.captureBufferSupplier = captureBufferSupplier;
     }
 
     @Override
     public ServletOutputStream getOutputStream() throws IOException {
         if (teeServletOutputStream == null) {
-            teeServletOutputStream = new TeeServletOutputStream(this.getResponse());
+            teeServletOutputStream = new TeeServletOutputStream(this.getResponse(), captureBufferSupplier);
         }
         return teeServletOutputStream;
     }
@@ -64,6 +78,18 @@ public class TeeHttpServletResponse extends HttpServletResponseWrapper {
         }
     }
 
+    /**
+     * Returns the buffer holding the copy of the response, or null if nothing was
+     * copied.
+     */
+    CaptureBuffer getCaptureBuffer() {
+        if (teeServletOutputStream != null) {
+            return teeServletOutputStream.getCaptureBuffer();
+        } else {
+            return null;
+        }
+    }
+
     void finish() throws IOException {
         if (this.teeWriter != null) {
             this.teeWriter.close();
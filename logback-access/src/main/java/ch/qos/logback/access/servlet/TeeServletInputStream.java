@@ -13,78 +13,70 @@
  */
 package ch.qos.logback.access.servlet;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
 
 import jakarta.servlet.ReadListener;
 import jakarta.servlet.ServletInputStream;
 import jakarta.servlet.http.HttpServletRequest;
 
+/**
+ * Copies the bytes read from the request's input stream into a
+ * {@link CaptureBuffer} as they go through.
+ */
 class TeeServletInputStream extends ServletInputStream {
 
-    InputStream in;
-    byte[] inputBuffer;
+    final ServletInputStream in;
+    final CaptureBuffer inputBuffer;
 
-    TeeServletInputStream(HttpServletRequest request) {
-        duplicateInputStream(request);
+    TeeServletInputStream(HttpServletRequest request, CaptureBuffer inputBuffer) throws IOException {
+        this.in = request.getInputStream();
+        this.inputBuffer = inputBuffer;
     }
 
-    private void duplicateInputStream(HttpServletRequest request) {
-        ServletInputStream originalSIS = null;
-        try {
-            originalSIS = request.getInputStream();
-            inputBuffer = consumeBufferAndReturnAsByteArray(originalSIS);
-            this.in = new ByteArrayInputStream(inputBuffer);
-        } catch (IOException e) {
-            e.printStackTrace();
-        } finally {
-            closeStream(originalSIS);
+    @Override
+    public int read() throws IOException {
+        int b = in.read();
+        if (b != -1) {
+            inputBuffer.write(b);
         }
+        return b;
     }
 
     @Override
-    public int read() throws IOException {
-        return in.read();
+    public int read(byte[] b, int off, int len) throws IOException {
+        int n = in.read(b, off, len);
+        if (n > 0) {
+            inputBuffer.write(b, off, n);
+        }
+        return n;
     }
 
-    byte[] consumeBufferAndReturnAsByteArray(InputStream is) throws IOException {
-        int len = 1024;
-        byte[] temp = new byte[len];
-        int c = -1;
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        while ((c = is.read(temp, 0, len)) != -1) {
-            baos.write(temp, 0, c);
-        }
-        return baos.toByteArray();
+    @Override
+    public int available() throws IOException {
+        return in.available();
     }
 
-    void closeStream(ServletInputStream is) {
-        if (is != null) {
-            try {
-                is.close();
-            } catch (IOException e) {
-            }
-        }
+    @Override
+    public void close() throws IOException {
+        in.close();
     }
 
-    byte[] getInputBuffer() {
+    CaptureBuffer getInputBuffer() {
         return inputBuffer;
     }
 
     @Override
     public boolean isFinished() {
-        throw new RuntimeException("Not yet implemented");
+        return in.isFinished();
     }
 
     @Override
     public boolean isReady() {
-        throw new RuntimeException("Not yet implemented");
+        return in.isReady();
     }
 
     @Override
     public void setReadListener(ReadListener listener) {
-        throw new RuntimeException("Not yet implemented");
+        in.setReadListener(listener);
     }
 }
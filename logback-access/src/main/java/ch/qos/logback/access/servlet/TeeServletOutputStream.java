@@ -13,33 +13,57 @@
  */
 package ch.qos.logback.access.servlet;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.util.function.Supplier;
 
 import jakarta.servlet.ServletOutputStream;
 import jakarta.servlet.ServletResponse;
 import jakarta.servlet.WriteListener;
 
+/**
+ * Writes to the response's output stream while copying the bytes into a
+ * {@link CaptureBuffer}. The buffer is obtained upon the first write, once the
+ * response's content type is known, and may be null, in which case nothing is
+ * copied.
+ */
 public class TeeServletOutputStream extends ServletOutputStream {
 
     final ServletOutputStream underlyingStream;
-    final ByteArrayOutputStream baosCopy;
+    final Supplier<CaptureBuffer> captureBufferSupplier;
+    CaptureBuffer captureBuffer;
+    boolean captureBufferObtained;
 
     TeeServletOutputStream(ServletResponse httpServletResponse) throws IOException {
-        // System.out.println("TeeServletOutputStream.constructor() called");
+        this(httpServletResponse, CaptureBuffer::new);
+    }
+
+    TeeServletOutputStream(ServletResponse httpServletResponse, Supplier<CaptureBuffer> captureBufferSupplier)
+            throws IOException {
         this.underlyingStream = httpServletResponse.getOutputStream();
-        baosCopy = new ByteArrayOutputStream();
+        this.captureBufferSupplier = captureBufferSupplier;
     }
 
     byte[] getOutputStreamAsByteArray() {
-        return baosCopy.toByteArray();
+        CaptureBuffer buffer = getCaptureBuffer();
+        return buffer != null ? buffer.toByteArray() : new byte[0];
+    }
+
+    CaptureBuffer getCaptureBuffer() {
+        if (!captureBufferObtained) {
+            captureBuffer = captureBufferSupplier.get();
+            captureBufferObtained = true;
+        }
+        return captureBuffer;
     }
 
     @Override
     public void write(int val) throws IOException {
         if (underlyingStream != null) {
             underlyingStream.write(val);
-            baosCopy.write(val);
+            CaptureBuffer buffer = getCaptureBuffer();
+            if (buffer != null) {
+                buffer.write(val);
+            }
         }
     }
 
@@ -48,7 +72,6 @@ public class TeeServletOutputStream extends ServletOutputStream {
         if (underlyingStream == null) {
             return;
         }
-        // System.out.println("WRITE TeeServletOutputStream.write(byte[]) called");
         write(byteArray, 0, byteArray.length);
     }
 
@@ -57,17 +80,15 @@ public class TeeServletOutputStream extends ServletOutputStream {
         if (underlyingStream == null) {
             return;
         }
-        // System.out.println("WRITE TeeServletOutputStream.write(byte[], int, int)
-        // called");
-        // System.out.println(new String(byteArray, offset, length));
         underlyingStream.write(byteArray, offset, length);
-        baosCopy.write(byteArray, offset, length);
+        CaptureBuffer buffer = getCaptureBuffer();
+        if (buffer != null) {
+            buffer.write(byteArray, offset, length);
+        }
     }
 
     @Override
     public void close() throws IOException {
-        // System.out.println("CLOSE TeeServletOutputStream.close() called");
-
         // If the servlet accessing the stream is using a writer instead of
         // an OutputStream, it will probably call os.close() before calling
         // writer.close. Thus, the underlying output stream will be called
@@ -79,18 +100,16 @@ public class TeeServletOutputStream extends ServletOutputStream {
         if (underlyingStream == null) {
             return;
         }
-        // System.out.println("FLUSH TeeServletOutputStream.flush() called");
         underlyingStream.flush();
-        baosCopy.flush();
     }
 
     @Override
     public boolean isReady() {
-        throw new RuntimeException("Not yet implemented");
+        return underlyingStream.isReady();
     }
 
     @Override
     public void setWriteListener(WriteListener listener) {
-        throw new RuntimeException("Not yet implemented");
+        underlyingStream.setWriteListener(listener);
     }
 }
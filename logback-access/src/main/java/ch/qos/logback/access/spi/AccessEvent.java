@@ -15,6 +15,7 @@ package ch.qos.logback.access.spi;
 
 import ch.qos.logback.access.AccessConstants;
 import ch.qos.logback.access.pattern.AccessConverter;
+import ch.qos.logback.access.servlet.CaptureBuffer;
 import ch.qos.logback.access.servlet.Util;
 import ch.qos.logback.core.Context;
 import ch.qos.logback.core.spi.SequenceNumberGenerator;
@@ -24,12 +25,15 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.HttpSession;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.TreeMap;
 import java.util.Vector;
 
@@ -67,6 +71,9 @@ public class AccessEvent implements Serializable, IAccessEvent {
     String serverName;
     String requestContent;
     String responseContent;
+    // contents captured by TeeFilter, retained for rendering on demand
+    transient Object requestCapture;
+    transient Object responseCapture;
     String sessionID;
     long elapsedTime;
 
@@ -81,6 +88,9 @@ public class AccessEvent implements Serializable, IAccessEvent {
 
     transient ServerAdapter serverAdapter;
 
+    // the costly fields retained by prepareForDeferredProcessing
+    transient Set<DeferredField> deferredFields = DeferredField.ALL;
+
     /**
      * The number of milliseconds elapsed from 1/1/1970 until logging event was
      * created.
@@ -302,11 +312,10 @@ public class AccessEvent implements Serializable, IAccessEvent {
     @Override
     public String getRequestHeader(String key) {
         String result = null;
-        key = key.toLowerCase();
         if (requestHeaderMap == null) {
+            // header lookups are case-insensitive, there is no need to copy all headers
             if (httpRequest != null) {
-                buildRequestHeaderMap();
-                result = requestHeaderMap.get(key);
+                result = httpRequest.getHeader(key);
             }
         } else {
             result = requestHeaderMap.get(key);
@@ -341,6 +350,9 @@ public class AccessEvent implements Serializable, IAccessEvent {
         // according to RFC 2616 header names are case-insensitive
         // latest versions of Tomcat return header names in lower-case
         requestHeaderMap = new TreeMap<String, String>(String.CASE_INSENSITIVE_ORDER);
+        if (httpRequest == null) {
+            return;
+        }
         Enumeration<String> e = httpRequest.getHeaderNames();
         if (e == null) {
             return;
@@ -353,6 +365,9 @@ public class AccessEvent implements Serializable, IAccessEvent {
 
     public void buildRequestParameterMap() {
         requestParameterMap = new HashMap<String, String[]>();
+        if (httpRequest == null) {
+            return;
+        }
         try {
             Enumeration<String> e = httpRequest.getParameterNames();
             if (e == null) {
@@ -505,6 +520,10 @@ public class AccessEvent implements Serializable, IAccessEvent {
         if (requestContent != null) {
             return requestContent;
         }
+        if (requestCapture != null) {
+            requestContent = renderCapture(requestCapture);
+            return requestContent;
+        }
 
         if (Util.isFormUrlEncoded(httpRequest)) {
             StringBuilder buf = new StringBuilder();
@@ -541,16 +560,8 @@ public class AccessEvent implements Serializable, IAccessEvent {
             }
             requestContent = buf.toString();
         } else {
-            // retrieve the byte array placed by TeeFilter
-            byte[] inputBuffer = (byte[]) httpRequest.getAttribute(AccessConstants.LB_INPUT_BUFFER);
-
-            if (inputBuffer != null) {
-                requestContent = new String(inputBuffer);
-            }
-
-            if (requestContent == null || requestContent.length() == 0) {
-                requestContent = EMPTY;
-            }
+            // retrieve the buffer placed by TeeFilter
+            requestContent = renderCapture(httpRequest.getAttribute(AccessConstants.LB_INPUT_BUFFER));
         }
 
         return requestContent;
@@ -560,23 +571,69 @@ public class AccessEvent implements Serializable, IAccessEvent {
         if (responseContent != null) {
             return responseContent;
         }
+        if (responseCapture != null) {
+            responseContent = renderCapture(responseCapture);
+            return responseContent;
+        }
 
         if (Util.isImageResponse(httpResponse)) {
             responseContent = "[IMAGE CONTENTS SUPPRESSED]";
         } else {
 
-            // retrieve the byte array previously placed by TeeFilter
-            byte[] outputBuffer = (byte[]) httpRequest.getAttribute(AccessConstants.LB_OUTPUT_BUFFER);
+            // retrieve the buffer previously placed by TeeFilter
+            responseContent = renderCapture(httpRequest.getAttribute(AccessConstants.LB_OUTPUT_BUFFER));
+        }
+
+        return responseContent;
+    }
+
+    /**
+     * Render contents captured by TeeFilter, held in a {@link CaptureBuffer} or,
+     * as placed by earlier versions, in a byte array.
+     */
+    private static String renderCapture(Object capture) {
+        String content = null;
+        if (capture instanceof CaptureBuffer) {
+            content = ((CaptureBuffer) capture).render();
+        } else if (capture instanceof byte[]) {
+            content = new String((byte[]) capture);
+        }
+        if (content == null || content.length() == 0) {
+            content = EMPTY;
+        }
+        return content;
+    }
 
-            if (outputBuffer != null) {
-                responseContent = new String(outputBuffer);
+    /**
+     * Retain the contents captured by TeeFilter without rendering them, which
+     * only happens if they are used or if this event is serialized. Contents
+     * which are not to be retained are left empty.
+     */
+    private void retainCapturedContents(boolean retainRequest, boolean retainResponse) {
+        if (requestContent == null && requestCapture == null) {
+            if (!retainRequest) {
+                requestContent = EMPTY;
+            } else if (Util.isFormUrlEncoded(httpRequest)) {
+                getRequestContent();
+            } else {
+                requestCapture = httpRequest.getAttribute(AccessConstants.LB_INPUT_BUFFER);
+                if (requestCapture == null) {
+                    requestContent = EMPTY;
+                }
             }
-            if (responseContent == null || responseContent.length() == 0) {
+        }
+        if (responseContent == null && responseCapture == null) {
+            if (!retainResponse) {
                 responseContent = EMPTY;
+            } else if (Util.isImageResponse(httpResponse)) {
+                getResponseContent();
+            } else {
+                responseCapture = httpRequest.getAttribute(AccessConstants.LB_OUTPUT_BUFFER);
+                if (responseCapture == null) {
+                    responseContent = EMPTY;
+                }
             }
         }
-
-        return responseContent;
     }
 
     public int getLocalPort() {
@@ -600,7 +657,11 @@ public class AccessEvent implements Serializable, IAccessEvent {
 
     void buildResponseHeaderMap() {
         if (responseHeaderMap == null) {
-            responseHeaderMap = serverAdapter.buildResponseHeaderMap();
+            if (serverAdapter != null) {
+                responseHeaderMap = serverAdapter.buildResponseHeaderMap();
+            } else {
+                responseHeaderMap = new HashMap<String, String>();
+            }
         }
     }
 
@@ -614,10 +675,31 @@ public class AccessEvent implements Serializable, IAccessEvent {
         return new ArrayList<String>(responseHeaderMap.keySet());
     }
 
+    /**
+     * Sets the {@link DeferredField fields} which
+     * {@link #prepareForDeferredProcessing()} should retain, by default all of
+     * them. Fields left out are still read from the request and the response
+     * while these are available, but are missing once this event is serialized.
+     *
+     * @param deferredFields
+     * @since 1.4.2
+     */
+    public void setDeferredFields(Set<DeferredField> deferredFields) {
+        this.deferredFields = deferredFields;
+    }
+
     public void prepareForDeferredProcessing() {
-        getRequestHeaderMap();
-        getRequestParameterMap();
-        getResponseHeaderMap();
+        // deferredFields is transient and hence null once deserialized
+        Set<DeferredField> fields = deferredFields != null ? deferredFields : DeferredField.ALL;
+        if (fields.contains(DeferredField.REQUEST_HEADERS)) {
+            getRequestHeaderMap();
+        }
+        if (fields.contains(DeferredField.REQUEST_PARAMETERS)) {
+            getRequestParameterMap();
+        }
+        if (fields.contains(DeferredField.RESPONSE_HEADERS)) {
+            getResponseHeaderMap();
+        }
         getLocalPort();
         getMethod();
         getProtocol();
@@ -632,9 +714,21 @@ public class AccessEvent implements Serializable, IAccessEvent {
 
         getStatusCode();
         getContentLength();
-        getRequestContent();
-        getResponseContent();
+        retainCapturedContents(fields.contains(DeferredField.REQUEST_CONTENT),
+                fields.contains(DeferredField.RESPONSE_CONTENT));
+
+        if (fields.contains(DeferredField.ATTRIBUTES)) {
+            copyAttributeMap();
+        }
+    }
 
-        copyAttributeMap();
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        if (requestCapture != null) {
+            getRequestContent();
+        }
+        if (responseCapture != null) {
+            getResponseContent();
+        }
+        out.defaultWriteObject();
     }
 }
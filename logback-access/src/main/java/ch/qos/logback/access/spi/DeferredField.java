@@ -0,0 +1,77 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.access.spi;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.Set;
+
+import ch.qos.logback.access.PatternLayout;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.Layout;
+import ch.qos.logback.core.OutputStreamAppender;
+import ch.qos.logback.core.encoder.Encoder;
+import ch.qos.logback.core.encoder.LayoutWrappingEncoder;
+
+/**
+ * The parts of an {@link AccessEvent} which are costly to copy and which
+ * {@link AccessEvent#prepareForDeferredProcessing()} therefore copies only when
+ * asked to. Scalar fields such as the request URL, the status code or the
+ * content length are always retained.
+ *
+ * <p>
+ * The request and response contents are also what
+ * {@link ch.qos.logback.access.servlet.TeeFilter TeeFilter} captures, which
+ * can be told to skip contents that no appender reads.
+ *
+ * @since 1.4.2
+ */
+public enum DeferredField {
+
+    REQUEST_HEADERS, REQUEST_PARAMETERS, RESPONSE_HEADERS, ATTRIBUTES, REQUEST_CONTENT, RESPONSE_CONTENT;
+
+    public static final Set<DeferredField> ALL = Collections.unmodifiableSet(EnumSet.allOf(DeferredField.class));
+
+    /**
+     * Computes the fields read by the given appenders. Only appenders writing
+     * through an access {@link PatternLayout} can be narrowed down, any other
+     * appender, e.g. a socket appender, is assumed to need all fields.
+     *
+     * @param appenders
+     * @return the fields to retain, never null
+     */
+    public static Set<DeferredField> requiredBy(Iterator<Appender<IAccessEvent>> appenders) {
+        EnumSet<DeferredField> fields = EnumSet.noneOf(DeferredField.class);
+        while (appenders.hasNext()) {
+            Layout<IAccessEvent> layout = findLayout(appenders.next());
+            if (layout instanceof PatternLayout && layout.isStarted()) {
+                fields.addAll(((PatternLayout) layout).getDeferredFields());
+            } else {
+                return ALL;
+            }
+        }
+        return Collections.unmodifiableSet(fields);
+    }
+
+    private static Layout<IAccessEvent> findLayout(Appender<IAccessEvent> appender) {
+        if (appender instanceof OutputStreamAppender) {
+            Encoder<IAccessEvent> encoder = ((OutputStreamAppender<IAccessEvent>) appender).getEncoder();
+            if (encoder instanceof LayoutWrappingEncoder) {
+                return ((LayoutWrappingEncoder<IAccessEvent>) encoder).getLayout();
+            }
+        }
+        return null;
+    }
+}
@@ -21,6 +21,7 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
@@ -39,6 +40,7 @@ import org.apache.catalina.valves.ValveBase;
 import ch.qos.logback.access.AccessConstants;
 import ch.qos.logback.access.joran.JoranConfigurator;
 import ch.qos.logback.access.spi.AccessEvent;
+import ch.qos.logback.access.spi.DeferredField;
 import ch.qos.logback.access.spi.IAccessEvent;
 import ch.qos.logback.core.Appender;
 import ch.qos.logback.core.BasicStatusManager;
@@ -107,6 +109,9 @@ public class LogbackValve extends ValveBase
     private FilterAttachableImpl<IAccessEvent> fai = new FilterAttachableImpl<IAccessEvent>();
 
     AppenderAttachableImpl<IAccessEvent> aai = new AppenderAttachableImpl<IAccessEvent>();
+    // fields read by the attached appenders, null until computed
+    private volatile Set<DeferredField> deferredFields;
+    private volatile boolean filtersAttached;
     String filenameOption;
     boolean quiet;
     boolean started;
@@ -259,10 +264,22 @@ public class LogbackValve extends ValveBase
                 }
             }
 
-            getNext().invoke(request, response);
+            if (filtersAttached) {
+                // filters may read any content
+                getNext().invoke(request, response);
+            } else {
+                // lets TeeFilter skip capturing contents which no appender reads
+                request.setAttribute(AccessConstants.LB_DEFERRED_FIELDS, getDeferredFields());
+                try {
+                    getNext().invoke(request, response);
+                } finally {
+                    request.removeAttribute(AccessConstants.LB_DEFERRED_FIELDS);
+                }
+            }
 
             TomcatServerAdapter adapter = new TomcatServerAdapter(request, response);
-            IAccessEvent accessEvent = new AccessEvent(this, request, response, adapter);
+            AccessEvent accessEvent = new AccessEvent(this, request, response, adapter);
+            accessEvent.setDeferredFields(getDeferredFields());
 
             addThreadName(accessEvent);
 
@@ -301,6 +318,7 @@ public class LogbackValve extends ValveBase
     @Override
     public void addAppender(Appender<IAccessEvent> newAppender) {
         aai.addAppender(newAppender);
+        deferredFields = null;
     }
 
     @Override
@@ -321,17 +339,35 @@ public class LogbackValve extends ValveBase
     @Override
     public void detachAndStopAllAppenders() {
         aai.detachAndStopAllAppenders();
+        deferredFields = null;
 
     }
 
     @Override
     public boolean detachAppender(Appender<IAccessEvent> appender) {
-        return aai.detachAppender(appender);
+        boolean detached = aai.detachAppender(appender);
+        deferredFields = null;
+        return detached;
     }
 
     @Override
     public boolean detachAppender(String name) {
-        return aai.detachAppender(name);
+        boolean detached = aai.detachAppender(name);
+        deferredFields = null;
+        return detached;
+    }
+
+    /**
+     * Returns the fields of access events which the attached appenders read,
+     * computed on first use after the set of appenders changed.
+     */
+    Set<DeferredField> getDeferredFields() {
+        Set<DeferredField> fields = deferredFields;
+        if (fields == null) {
+            fields = DeferredField.requiredBy(aai.iteratorForAppenders());
+            deferredFields = fields;
+        }
+        return fields;
     }
 
     public String getInfo() {
@@ -376,11 +412,13 @@ public class LogbackValve extends ValveBase
     @Override
     public void addFilter(Filter<IAccessEvent> newFilter) {
         fai.addFilter(newFilter);
+        filtersAttached = true;
     }
 
     @Override
     public void clearAllFilters() {
         fai.clearAllFilters();
+        filtersAttached = false;
     }
 
     @Override
@@ -0,0 +1,74 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.access;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+
+import ch.qos.logback.access.spi.AccessContext;
+import ch.qos.logback.access.spi.DeferredField;
+import ch.qos.logback.access.spi.IAccessEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import ch.qos.logback.core.read.ListAppender;
+
+public class PatternLayoutTest {
+
+    AccessContext accessContext = new AccessContext();
+
+    Set<DeferredField> deferredFieldsOf(String pattern) {
+        PatternLayout layout = new PatternLayout();
+        layout.setContext(accessContext);
+        layout.setPattern(pattern);
+        layout.start();
+        return layout.getDeferredFields();
+    }
+
+    @Test
+    public void deferredFields() {
+        assertEquals(EnumSet.noneOf(DeferredField.class), deferredFieldsOf(PatternLayout.CLF_PATTERN_NAME));
+        assertEquals(EnumSet.of(DeferredField.REQUEST_HEADERS), deferredFieldsOf(PatternLayout.COMBINED_PATTERN_NAME));
+        assertEquals(
+                EnumSet.of(DeferredField.REQUEST_PARAMETERS, DeferredField.RESPONSE_HEADERS,
+                        DeferredField.REQUEST_CONTENT),
+                deferredFieldsOf("%reqParameter{a} %red(%responseHeader{b}) %requestContent"));
+        assertEquals(EnumSet.of(DeferredField.REQUEST_HEADERS, DeferredField.REQUEST_CONTENT,
+                DeferredField.RESPONSE_HEADERS, DeferredField.RESPONSE_CONTENT),
+                deferredFieldsOf("%fullRequest %fullResponse"));
+        assertEquals(EnumSet.of(DeferredField.ATTRIBUTES), deferredFieldsOf("%h %reqAttribute{a}"));
+        assertEquals(DeferredField.ALL, new PatternLayout().getDeferredFields());
+    }
+
+    @Test
+    public void deferredFieldsRequiredByAppenders() {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(accessContext);
+        encoder.setPattern(PatternLayout.COMBINED_PATTERN_NAME);
+        encoder.start();
+        OutputStreamAppender<IAccessEvent> osa = new OutputStreamAppender<IAccessEvent>();
+        osa.setEncoder(encoder);
+
+        List<Appender<IAccessEvent>> appenders = List.of(osa);
+        assertEquals(EnumSet.of(DeferredField.REQUEST_HEADERS), DeferredField.requiredBy(appenders.iterator()));
+
+        // nothing is known of what other appenders read
+        appenders = List.of(osa, new ListAppender<IAccessEvent>());
+        assertEquals(DeferredField.ALL, DeferredField.requiredBy(appenders.iterator()));
+    }
+}
@@ -0,0 +1,79 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.access.servlet;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+public class CaptureBufferTest {
+
+    @Test
+    public void unbounded() {
+        CaptureBuffer buffer = new CaptureBuffer();
+        byte[] bytes = new byte[3 * CaptureBuffer.CHUNK_SIZE + 7];
+        Arrays.fill(bytes, (byte) 'x');
+        buffer.write('a');
+        buffer.write(bytes, 0, bytes.length);
+
+        assertEquals(bytes.length + 1, buffer.size());
+        assertFalse(buffer.isTruncated());
+        byte[] copy = buffer.toByteArray();
+        assertEquals('a', copy[0]);
+        assertArrayEquals(bytes, Arrays.copyOfRange(copy, 1, copy.length));
+    }
+
+    @Test
+    public void truncated() {
+        CaptureBufferPool pool = new CaptureBufferPool(4, 5);
+        CaptureBuffer buffer = pool.newCaptureBuffer();
+        buffer.write("hello".getBytes(), 0, 5);
+        buffer.write(' ');
+        buffer.write("world".getBytes(), 0, 5);
+
+        assertEquals(5, buffer.size());
+        assertEquals(11, buffer.getTotalLength());
+        assertTrue(buffer.isTruncated());
+        assertEquals("hello... [6 bytes not captured]", buffer.render());
+    }
+
+    @Test
+    public void chunksAreRecycledUponRendering() {
+        CaptureBufferPool pool = new CaptureBufferPool(4, CaptureBuffer.UNBOUNDED);
+        CaptureBuffer buffer = pool.newCaptureBuffer();
+        byte[] bytes = new byte[CaptureBuffer.CHUNK_SIZE + 1];
+        Arrays.fill(bytes, (byte) 'y');
+        buffer.write(bytes, 0, bytes.length);
+        assertEquals(0, pool.pooledChunkCount());
+
+        String rendered = buffer.render();
+        assertEquals(new String(bytes), rendered);
+        assertEquals(2, pool.pooledChunkCount());
+        assertNull(buffer.toByteArray());
+        // rendering is performed once
+        assertSame(rendered, buffer.render());
+
+        CaptureBuffer other = pool.newCaptureBuffer();
+        other.write("z".getBytes(), 0, 1);
+        assertEquals(1, pool.pooledChunkCount());
+        assertEquals("z", other.render());
+    }
+}
@@ -15,9 +15,21 @@ package ch.qos.logback.access.servlet;
 
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+
+import ch.qos.logback.access.AccessConstants;
+import ch.qos.logback.access.dummy.DummyRequest;
+import ch.qos.logback.access.dummy.DummyResponse;
+import ch.qos.logback.access.spi.DeferredField;
 
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.assertEquals;
 
@@ -62,4 +74,69 @@ public class TeeFilterTest {
 
     }
 
+    @Test
+    public void contentTypes() {
+        assertTrue(TeeFilter.matchesContentTypes(null, TeeFilter.extractNameList(null)));
+        assertTrue(TeeFilter.matchesContentTypes("image/png", TeeFilter.extractNameList("")));
+
+        List<String> list = TeeFilter.extractNameList("application/json, text/*");
+        assertTrue(TeeFilter.matchesContentTypes("application/json", list));
+        assertTrue(TeeFilter.matchesContentTypes("Application/JSON; charset=UTF-8", list));
+        assertTrue(TeeFilter.matchesContentTypes("text/html", list));
+        assertFalse(TeeFilter.matchesContentTypes("application/octet-stream", list));
+        assertFalse(TeeFilter.matchesContentTypes(null, list));
+    }
+
+    @Test
+    public void maxCaptureSize() {
+        assertEquals(CaptureBuffer.UNBOUNDED, TeeFilter.parseMaxCaptureSize(null));
+        assertEquals(TeeFilter.DEFAULT_MAX_CAPTURE_SIZE, TeeFilter.parseMaxCaptureSize("x"));
+        assertEquals(TeeFilter.DEFAULT_MAX_CAPTURE_SIZE, TeeFilter.parseMaxCaptureSize("-1"));
+        assertEquals(0, TeeFilter.parseMaxCaptureSize("0"));
+        assertEquals(1024, TeeFilter.parseMaxCaptureSize(" 1024 "));
+    }
+
+    @Test
+    public void contentsNotReadAreNotCaptured() throws Exception {
+        TeeFilter teeFilter = new TeeFilter();
+        teeFilter.active = true;
+        List<ServletRequest> requests = new ArrayList<>();
+        List<ServletResponse> responses = new ArrayList<>();
+
+        DummyRequest request = new DummyRequest();
+        DummyResponse response = new DummyResponse();
+        request.setAttribute(AccessConstants.LB_DEFERRED_FIELDS, EnumSet.of(DeferredField.REQUEST_HEADERS));
+        // unless asked to, contents are captured for any reader
+        teeFilter.doFilter(request, response, (req, resp) -> {
+            requests.add(req);
+            responses.add(resp);
+        });
+        assertTrue(requests.remove(0) instanceof TeeHttpServletRequest);
+        assertTrue(responses.remove(0) instanceof TeeHttpServletResponse);
+
+        teeFilter.skipUnreadContent = true;
+        teeFilter.doFilter(request, response, (req, resp) -> {
+            requests.add(req);
+            responses.add(resp);
+        });
+        assertSame(request, requests.get(0));
+        assertSame(response, responses.get(0));
+
+        request.setAttribute(AccessConstants.LB_DEFERRED_FIELDS, EnumSet.of(DeferredField.RESPONSE_CONTENT));
+        teeFilter.doFilter(request, response, (req, resp) -> {
+            requests.add(req);
+            responses.add(resp);
+        });
+        assertSame(request, requests.get(1));
+        assertTrue(responses.get(1) instanceof TeeHttpServletResponse);
+
+        // without LogbackValve, nothing is known of the appenders
+        request.setAttribute(AccessConstants.LB_DEFERRED_FIELDS, null);
+        teeFilter.doFilter(request, response, (req, resp) -> {
+            requests.add(req);
+            responses.add(resp);
+        });
+        assertTrue(requests.get(2) instanceof TeeHttpServletRequest);
+        assertTrue(responses.get(2) instanceof TeeHttpServletResponse);
+    }
 }
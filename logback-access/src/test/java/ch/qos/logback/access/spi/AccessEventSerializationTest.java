@@ -15,11 +15,15 @@ package ch.qos.logback.access.spi;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.ObjectOutputStream;
+import java.util.EnumSet;
+import java.util.Set;
 
 import org.junit.Test;
 
@@ -32,9 +36,15 @@ import ch.qos.logback.access.net.HardenedAccessEventInputStream;
 public class AccessEventSerializationTest {
 
     private Object buildSerializedAccessEvent() throws IOException, ClassNotFoundException {
+        return buildSerializedAccessEvent(DeferredField.ALL);
+    }
+
+    private Object buildSerializedAccessEvent(Set<DeferredField> deferredFields)
+            throws IOException, ClassNotFoundException {
         ByteArrayOutputStream baos = new ByteArrayOutputStream();
         ObjectOutputStream oos = new ObjectOutputStream(baos);
-        IAccessEvent ae = DummyAccessEventBuilder.buildNewAccessEvent();
+        AccessEvent ae = (AccessEvent) DummyAccessEventBuilder.buildNewAccessEvent();
+        ae.setDeferredFields(deferredFields);
         // average time for the next method: 5000 nanos
         ae.prepareForDeferredProcessing();
         oos.writeObject(ae);
@@ -69,6 +79,25 @@ public class AccessEventSerializationTest {
         assertEquals(DummyRequest.DUMMY_DEFAULT_ATTR_MAP.get("testKey"), aeBack.getAttribute("testKey"));
     }
 
+    @Test
+    public void onlyDeferredFieldsAreSerialized() throws IOException, ClassNotFoundException {
+        IAccessEvent aeBack = (IAccessEvent) buildSerializedAccessEvent(
+                EnumSet.of(DeferredField.REQUEST_HEADERS, DeferredField.REQUEST_CONTENT));
+
+        assertEquals("headerValue1", aeBack.getRequestHeader("headerName1"));
+        assertEquals(IAccessEvent.NA, aeBack.getAttribute("testKey"));
+        assertEquals(IAccessEvent.NA, aeBack.getRequestParameter("param1")[0]);
+        assertTrue(aeBack.getRequestParameterMap().isEmpty());
+        assertTrue(aeBack.getResponseHeaderMap().isEmpty());
+        assertNull(aeBack.getResponseHeader("x"));
+
+        assertEquals(DummyRequest.DUMMY_CONTENT_STRING, aeBack.getRequestContent());
+        assertEquals("", aeBack.getResponseContent());
+
+        // scalar fields are always retained
+        assertEquals(DummyResponse.DUMMY_DEFAULT_STATUS, aeBack.getStatusCode());
+    }
+
     // Web containers may (and will) recycle requests objects. So we must make sure
     // that after
     // we prepared an event for deferred processing it won't be using data from the
@@ -2,14 +2,20 @@ package ch.qos.logback.access.spi;
 
 import static org.junit.Assert.*;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.util.Map;
 
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
+import ch.qos.logback.access.AccessConstants;
 import ch.qos.logback.access.dummy.DummyAccessEventBuilder;
 import ch.qos.logback.access.dummy.DummyRequest;
+import ch.qos.logback.access.servlet.CaptureBuffer;
 import ch.qos.logback.core.testUtil.RandomUtil;
 
 public class AccessEventTest {
@@ -53,4 +59,35 @@ public class AccessEventTest {
 
     }
 
+    @Test
+    public void capturedContentsAreRenderedOnDemand() throws Exception {
+        IAccessEvent ae = DummyAccessEventBuilder.buildNewAccessEvent();
+        DummyRequest request = (DummyRequest) ae.getRequest();
+        CaptureBuffer inputBuffer = new CaptureBuffer();
+        inputBuffer.write("in".getBytes(), 0, 2);
+        request.setAttribute(AccessConstants.LB_INPUT_BUFFER, inputBuffer);
+        CaptureBuffer outputBuffer = new CaptureBuffer();
+        outputBuffer.write("out".getBytes(), 0, 3);
+        request.setAttribute(AccessConstants.LB_OUTPUT_BUFFER, outputBuffer);
+
+        ae.prepareForDeferredProcessing();
+        // the request may be recycled by the container
+        request.setAttribute(AccessConstants.LB_INPUT_BUFFER, null);
+        request.setAttribute(AccessConstants.LB_OUTPUT_BUFFER, null);
+        assertNotNull(inputBuffer.toByteArray());
+        assertNotNull(outputBuffer.toByteArray());
+
+        assertEquals("in", ae.getRequestContent());
+        assertNull(inputBuffer.toByteArray());
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(bytes)) {
+            oos.writeObject(ae);
+        }
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            IAccessEvent deserialized = (IAccessEvent) ois.readObject();
+            assertEquals("in", deserialized.getRequestContent());
+            assertEquals("out", deserialized.getResponseContent());
+        }
+    }
 }
@@ -0,0 +1,118 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import ch.qos.logback.core.async.QueueType;
+import ch.qos.logback.core.async.WaitStrategy;
+
+/**
+ * Throughput of {@link AsyncAppender} under several producer threads. The
+ * number of producers defaults to 4 and can be changed with JMH's
+ * {@code -t} option. The consumer side only counts events so that the
+ * measurement is dominated by the hand-off between producers and the worker.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class AsyncAppenderBenchmark {
+
+    @Param({ "ARRAY_BLOCKING", "RING_BUFFER" })
+    QueueType queueType;
+
+    @Param({ "BLOCKING", "SPIN_THEN_PARK" })
+    WaitStrategy waitStrategy;
+
+    @Param({ "false", "true" })
+    boolean neverBlock;
+
+    @Param({ "1024" })
+    int queueSize;
+
+    LoggerContext loggerContext;
+    AsyncAppender asyncAppender;
+    CountingAppender countingAppender;
+    Logger logger;
+    Integer arg0 = 42;
+
+    @Setup
+    public void setUp() {
+        loggerContext = BenchmarkSupport.newLoggerContext();
+
+        countingAppender = new CountingAppender();
+        countingAppender.setContext(loggerContext);
+        countingAppender.setName("counting");
+        countingAppender.start();
+
+        asyncAppender = new AsyncAppender();
+        asyncAppender.setContext(loggerContext);
+        asyncAppender.setName("async");
+        asyncAppender.setQueueType(queueType);
+        asyncAppender.setWaitStrategy(waitStrategy);
+        asyncAppender.setNeverBlock(neverBlock);
+        asyncAppender.setQueueSize(queueSize);
+        asyncAppender.addAppender(countingAppender);
+        asyncAppender.start();
+
+        Logger root = loggerContext.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.setLevel(Level.INFO);
+        root.addAppender(asyncAppender);
+        logger = loggerContext.getLogger(BenchmarkSupport.LOGGER_NAME);
+    }
+
+    @TearDown
+    public void tearDown() {
+        loggerContext.stop();
+    }
+
+    @Benchmark
+    public void info() {
+        logger.info("Processed request {}", arg0);
+    }
+
+    static class CountingAppender extends AppenderBase<ILoggingEvent> {
+        final LongAdder count = new LongAdder();
+
+        @Override
+        protected void append(ILoggingEvent eventObject) {
+            count.increment();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+
+/**
+ * Helpers shared by the benchmarks.
+ */
+class BenchmarkSupport {
+
+    static final String LOGGER_NAME = "ch.qos.logback.benchmarks.SomeComponent";
+    static final String MESSAGE = "Processed request {} for user {} in {} ms";
+
+    /**
+     * Returns a context configured programmatically, i.e. without going through
+     * the default configuration lookup, whose root logger has no appenders.
+     */
+    static LoggerContext newLoggerContext() {
+        LoggerContext loggerContext = new LoggerContext();
+        loggerContext.setName("benchmark");
+        loggerContext.start();
+        return loggerContext;
+    }
+
+    static ILoggingEvent newLoggingEvent(LoggerContext loggerContext) {
+        Logger logger = loggerContext.getLogger(LOGGER_NAME);
+        Object[] args = new Object[] { 42, "alice", 17L };
+        LoggingEvent event = new LoggingEvent(Logger.FQCN, logger, Level.INFO, MESSAGE, null, args);
+        event.setThreadName("main");
+        return event;
+    }
+
+    static File newTempDirectory(String prefix) throws IOException {
+        return Files.createTempDirectory(prefix).toFile();
+    }
+
+    static void deleteRecursively(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                deleteRecursively(child);
+            }
+        }
+        file.delete();
+    }
+}
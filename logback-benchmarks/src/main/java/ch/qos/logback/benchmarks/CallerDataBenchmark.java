@@ -0,0 +1,111 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ch.qos.logback.classic.spi.CallerData;
+import ch.qos.logback.classic.spi.FrameworkPackageMatcher;
+
+/**
+ * Compares the Throwable based caller data extraction, which materializes the
+ * whole stack and scans the framework package list linearly, with the
+ * StackWalker based extraction used by LoggingEvent.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CallerDataBenchmark {
+
+    @Param({ "0", "4", "16" })
+    int frameworkPackageCount;
+
+    @Param({ "1", "8" })
+    int maxDepth;
+
+    /**
+     * Number of application frames below the caller, real applications often
+     * run tens or hundreds of frames deep.
+     */
+    @Param({ "0", "100" })
+    int applicationStackDepth;
+
+    List<String> frameworkPackages;
+    FrameworkPackageMatcher frameworkPackageMatcher;
+
+    @Setup
+    public void setUp() {
+        frameworkPackages = new ArrayList<>();
+        for (int i = 0; i < frameworkPackageCount; i++) {
+            frameworkPackages.add("com.example.framework" + i + ".logging");
+        }
+        frameworkPackageMatcher = new FrameworkPackageMatcher(frameworkPackages);
+    }
+
+    @Benchmark
+    public StackTraceElement[] throwableBased() {
+        return throwableBased(applicationStackDepth);
+    }
+
+    @Benchmark
+    public StackTraceElement[] stackWalkerBased() {
+        return stackWalkerBased(applicationStackDepth);
+    }
+
+    private StackTraceElement[] throwableBased(int depth) {
+        if (depth > 0) {
+            return throwableBased(depth - 1);
+        }
+        return FakeLogger.throwableBased(maxDepth, frameworkPackages);
+    }
+
+    private StackTraceElement[] stackWalkerBased(int depth) {
+        if (depth > 0) {
+            return stackWalkerBased(depth - 1);
+        }
+        return FakeLogger.stackWalkerBased(maxDepth, frameworkPackageMatcher);
+    }
+
+    /**
+     * Plays the role of the logger class, i.e. of the framework boundary.
+     */
+    static class FakeLogger {
+        static final String FQCN = FakeLogger.class.getName();
+
+        static StackTraceElement[] throwableBased(int maxDepth, List<String> frameworkPackages) {
+            return CallerData.extract(new Throwable(), FQCN, maxDepth, frameworkPackages);
+        }
+
+        static StackTraceElement[] stackWalkerBased(int maxDepth, FrameworkPackageMatcher matcher) {
+            return CallerData.extract(FQCN, maxDepth, matcher);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+
+/**
+ * Cost of a logging statement whose level is disabled, i.e. of the fast path
+ * which every application pays for each debug statement left in the code.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DisabledLevelBenchmark {
+
+    LoggerContext loggerContext;
+    Logger logger;
+    Integer arg0 = 42;
+    String arg1 = "alice";
+    Long arg2 = 17L;
+
+    @Setup
+    public void setUp() {
+        loggerContext = BenchmarkSupport.newLoggerContext();
+        loggerContext.getLogger(Logger.ROOT_LOGGER_NAME).setLevel(Level.INFO);
+        logger = loggerContext.getLogger(BenchmarkSupport.LOGGER_NAME);
+    }
+
+    @TearDown
+    public void tearDown() {
+        loggerContext.stop();
+    }
+
+    @Benchmark
+    public boolean isDebugEnabled() {
+        return logger.isDebugEnabled();
+    }
+
+    @Benchmark
+    public void debugNoArgs() {
+        logger.debug("Processed request");
+    }
+
+    @Benchmark
+    public void debugOneArg() {
+        logger.debug("Processed request {}", arg0);
+    }
+
+    @Benchmark
+    public void debugTwoArgs() {
+        logger.debug("Processed request {} for user {}", arg0, arg1);
+    }
+
+    @Benchmark
+    public void debugVarArgs() {
+        logger.debug(BenchmarkSupport.MESSAGE, arg0, arg1, arg2);
+    }
+
+    @Benchmark
+    public void traceFluent() {
+        logger.atTrace().addArgument(arg0).log("Processed request {}");
+    }
+}
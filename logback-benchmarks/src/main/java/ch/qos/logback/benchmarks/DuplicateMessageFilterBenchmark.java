@@ -0,0 +1,85 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.benchmarks;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.turbo.DuplicateMessageFilter;
+
+/**
+ * Cost of a disabled logging statement going through a
+ * {@link DuplicateMessageFilter}, shared by all benchmark threads. Statements
+ * draw their message among {@code messageCount} distinct ones, a count above
+ * the cache size causing evictions.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class DuplicateMessageFilterBenchmark {
+
+    @Param({ "10", "1000" })
+    int messageCount;
+
+    LoggerContext loggerContext;
+    Logger logger;
+    String[] messages;
+
+    @Setup
+    public void setUp() {
+        loggerContext = BenchmarkSupport.newLoggerContext();
+        loggerContext.getLogger(Logger.ROOT_LOGGER_NAME).setLevel(Level.INFO);
+        DuplicateMessageFilter filter = new DuplicateMessageFilter();
+        filter.setContext(loggerContext);
+        filter.start();
+        loggerContext.addTurboFilter(filter);
+        logger = loggerContext.getLogger(BenchmarkSupport.LOGGER_NAME);
+
+        messages = new String[messageCount];
+        for (int i = 0; i < messageCount; i++) {
+            messages[i] = "Processed request " + i + " {}";
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        loggerContext.stop();
+    }
+
+    @Benchmark
+    public void debugOneArg() {
+        logger.debug(messages[ThreadLocalRandom.current().nextInt(messageCount)], messageCount);
+    }
+}
@@ -0,0 +1,138 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.FileAppender;
+import ch.qos.logback.core.MemoryMappedFileAppender;
+import ch.qos.logback.core.rolling.RollingFileAppender;
+import ch.qos.logback.core.rolling.SizeAndTimeBasedRollingPolicy;
+import ch.qos.logback.core.util.FileSize;
+
+/**
+ * Throughput of the file based appenders, with and without immediate flush.
+ * Each trial writes into a fresh temporary directory which is deleted
+ * afterwards.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FileAppenderBenchmark {
+
+    static final String PATTERN = "%d{HH:mm:ss.SSS} [%thread] %-5level %logger{36} - %msg%n";
+
+    public enum AppenderKind {
+        FILE, ROLLING_FILE, MEMORY_MAPPED_FILE
+    }
+
+    @Param({ "FILE", "ROLLING_FILE", "MEMORY_MAPPED_FILE" })
+    AppenderKind appenderKind;
+
+    @Param({ "true", "false" })
+    boolean immediateFlush;
+
+    File directory;
+    LoggerContext loggerContext;
+    FileAppender<ILoggingEvent> appender;
+    Logger logger;
+    Integer arg0 = 42;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = BenchmarkSupport.newTempDirectory("logback-benchmark");
+        loggerContext = BenchmarkSupport.newLoggerContext();
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(loggerContext);
+        encoder.setPattern(PATTERN);
+        encoder.start();
+
+        appender = makeAppender();
+        appender.setContext(loggerContext);
+        appender.setName("file");
+        appender.setEncoder(encoder);
+        appender.setImmediateFlush(immediateFlush);
+        appender.start();
+        if (!appender.isStarted()) {
+            throw new IllegalStateException("Appender failed to start, see status messages");
+        }
+
+        Logger root = loggerContext.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.setLevel(ch.qos.logback.classic.Level.INFO);
+        root.addAppender(appender);
+        logger = loggerContext.getLogger(BenchmarkSupport.LOGGER_NAME);
+    }
+
+    private FileAppender<ILoggingEvent> makeAppender() {
+        String activeFile = new File(directory, "benchmark.log").getAbsolutePath();
+        switch (appenderKind) {
+        case ROLLING_FILE:
+            RollingFileAppender<ILoggingEvent> rfa = new RollingFileAppender<>();
+            rfa.setContext(loggerContext);
+            rfa.setFile(activeFile);
+            SizeAndTimeBasedRollingPolicy<ILoggingEvent> policy = new SizeAndTimeBasedRollingPolicy<>();
+            policy.setContext(loggerContext);
+            policy.setParent(rfa);
+            policy.setFileNamePattern(new File(directory, "benchmark-%d{yyyy-MM-dd}.%i.log").getAbsolutePath());
+            policy.setMaxFileSize(FileSize.valueOf("100MB"));
+            policy.start();
+            rfa.setRollingPolicy(policy);
+            return rfa;
+        case MEMORY_MAPPED_FILE:
+            MemoryMappedFileAppender<ILoggingEvent> mmfa = new MemoryMappedFileAppender<>();
+            mmfa.setFile(activeFile);
+            return mmfa;
+        case FILE:
+        default:
+            FileAppender<ILoggingEvent> fa = new FileAppender<>();
+            fa.setFile(activeFile);
+            return fa;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        loggerContext.stop();
+        BenchmarkSupport.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public void info() {
+        logger.info("Processed request {}", arg0);
+    }
+}
@@ -0,0 +1,133 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.benchmarks;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.slf4j.spi.MDCAdapter;
+
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.classic.util.LogbackMDCAdapterCopyOnWrite;
+import ch.qos.logback.classic.util.LogbackMDCAdapterSimple;
+
+/**
+ * Compares the MDC adapters shipped with logback-classic. The {@code request}
+ * benchmark models a typical request: a few keys are put, several events
+ * capture the MDC, and the keys are removed.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MDCCaptureBenchmark {
+
+    public enum AdapterKind {
+        DEFAULT, SIMPLE, COPY_ON_WRITE
+    }
+
+    @Param({ "DEFAULT", "SIMPLE", "COPY_ON_WRITE" })
+    AdapterKind adapterKind;
+
+    @Param({ "4", "32" })
+    int keyCount;
+
+    @Param({ "8" })
+    int eventsPerRequest;
+
+    MDCAdapter adapter;
+    String[] keys;
+    String[] values;
+
+    @Setup
+    public void setUp() {
+        adapter = makeAdapter(adapterKind);
+        keys = new String[keyCount];
+        values = new String[keyCount];
+        for (int i = 0; i < keyCount; i++) {
+            keys[i] = "key" + i;
+            values[i] = "value" + i;
+        }
+        for (int i = 0; i < keyCount; i++) {
+            adapter.put(keys[i], values[i]);
+        }
+    }
+
+    static MDCAdapter makeAdapter(AdapterKind adapterKind) {
+        switch (adapterKind) {
+        case SIMPLE:
+            return new LogbackMDCAdapterSimple();
+        case COPY_ON_WRITE:
+            return new LogbackMDCAdapterCopyOnWrite();
+        case DEFAULT:
+        default:
+            return new LogbackMDCAdapter();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        adapter.clear();
+    }
+
+    @Benchmark
+    public Map<String, String> capture() {
+        return capturePropertyMap();
+    }
+
+    @Benchmark
+    public void putThenCapture(Blackhole blackhole) {
+        adapter.put(keys[0], values[0]);
+        blackhole.consume(capturePropertyMap());
+    }
+
+    @Benchmark
+    public void request(Blackhole blackhole) {
+        adapter.clear();
+        for (int i = 0; i < keyCount; i++) {
+            adapter.put(keys[i], values[i]);
+        }
+        for (int i = 0; i < eventsPerRequest; i++) {
+            blackhole.consume(capturePropertyMap());
+        }
+        for (int i = 0; i < keyCount; i++) {
+            adapter.remove(keys[i]);
+        }
+    }
+
+    private Map<String, String> capturePropertyMap() {
+        if (adapter instanceof LogbackMDCAdapter) {
+            return ((LogbackMDCAdapter) adapter).getPropertyMap();
+        } else if (adapter instanceof LogbackMDCAdapterCopyOnWrite) {
+            return ((LogbackMDCAdapterCopyOnWrite) adapter).getPropertyMap();
+        } else {
+            return ((LogbackMDCAdapterSimple) adapter).getPropertyMap();
+        }
+    }
+}
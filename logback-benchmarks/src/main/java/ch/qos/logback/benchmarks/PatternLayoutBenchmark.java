@@ -0,0 +1,106 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.PatternLayout;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.encoder.ByteSink;
+
+/**
+ * Rendering cost of commonly used conversion patterns, both to a String via
+ * {@link PatternLayout#doLayout(ILoggingEvent)} and to bytes via the encoder.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PatternLayoutBenchmark {
+
+    @Param({ "%msg%n", //
+            "%d{HH:mm:ss.SSS} [%thread] %-5level %logger{36} - %msg%n", //
+            "%d{ISO8601} %-5level [%thread] %logger - %msg%n", //
+            "%-4relative [%thread] %-5level %logger{35} %mdc - %msg%n" })
+    String pattern;
+
+    LoggerContext loggerContext;
+    PatternLayout layout;
+    PatternLayoutEncoder encoder;
+    ILoggingEvent event;
+
+    @Setup
+    public void setUp() {
+        loggerContext = BenchmarkSupport.newLoggerContext();
+
+        layout = new PatternLayout();
+        layout.setContext(loggerContext);
+        layout.setPattern(pattern);
+        layout.start();
+
+        encoder = new PatternLayoutEncoder();
+        encoder.setContext(loggerContext);
+        encoder.setPattern(pattern);
+        encoder.start();
+
+        event = BenchmarkSupport.newLoggingEvent(loggerContext);
+    }
+
+    @TearDown
+    public void tearDown() {
+        encoder.stop();
+        layout.stop();
+        loggerContext.stop();
+    }
+
+    @Benchmark
+    public String doLayout() {
+        return layout.doLayout(event);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return encoder.encode(event);
+    }
+
+    @State(Scope.Thread)
+    public static class SinkState {
+        ByteSink sink = new ByteSink();
+    }
+
+    @Benchmark
+    public int encodeToSink(SinkState state) {
+        ByteSink sink = state.sink;
+        sink.reset();
+        encoder.encodeTo(event, sink);
+        return sink.size();
+    }
+}
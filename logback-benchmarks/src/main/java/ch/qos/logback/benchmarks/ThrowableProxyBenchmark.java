@@ -0,0 +1,93 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ch.qos.logback.classic.spi.ThrowableProxy;
+import ch.qos.logback.classic.spi.ThrowableProxyCache;
+import ch.qos.logback.classic.spi.ThrowableProxyUtil;
+
+/**
+ * Cost of converting a throwable into a {@link ThrowableProxy} and of
+ * rendering the proxy as a String, for various stack depths. The throwable
+ * has a cause so that the common frames computation is exercised. The cached
+ * variants model the same exception being logged over and over.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ThrowableProxyBenchmark {
+
+    @Param({ "10", "100" })
+    int stackDepth;
+
+    Throwable throwable;
+    ThrowableProxy throwableProxy;
+    ThrowableProxyCache throwableProxyCache = new ThrowableProxyCache();
+
+    @Setup
+    public void setUp() {
+        throwable = makeThrowable(stackDepth);
+        throwableProxy = new ThrowableProxy(throwable);
+    }
+
+    static Throwable makeThrowable(int depth) {
+        if (depth > 0) {
+            return makeThrowable(depth - 1);
+        }
+        Exception cause = new IllegalStateException("root cause");
+        return new RuntimeException("wrapper", cause);
+    }
+
+    @Benchmark
+    public ThrowableProxy newThrowableProxy() {
+        return new ThrowableProxy(throwable);
+    }
+
+    @Benchmark
+    public String asString() {
+        return ThrowableProxyUtil.asString(throwableProxy);
+    }
+
+    @Benchmark
+    public String newThrowableProxyAsString() {
+        return ThrowableProxyUtil.asString(new ThrowableProxy(throwable));
+    }
+
+    @Benchmark
+    public ThrowableProxy newCachedThrowableProxy() {
+        return new ThrowableProxy(throwable, throwableProxyCache);
+    }
+
+    @Benchmark
+    public String newCachedThrowableProxyAsString() {
+        return ThrowableProxyUtil.asString(new ThrowableProxy(throwable, throwableProxyCache));
+    }
+}
@@ -0,0 +1,102 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.turbo.MDCFilter;
+import ch.qos.logback.classic.turbo.MarkerFilter;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+
+/**
+ * Cost of evaluating the turbo filter chain on a disabled logging statement,
+ * as a function of the number of installed turbo filters. Installed filters
+ * all answer NEUTRAL so that the whole chain is traversed.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TurboFilterChainBenchmark {
+
+    @Param({ "0", "1", "3", "8" })
+    int filterCount;
+
+    LoggerContext loggerContext;
+    Logger logger;
+    Integer arg0 = 42;
+
+    @Setup
+    public void setUp() {
+        loggerContext = BenchmarkSupport.newLoggerContext();
+        loggerContext.getLogger(Logger.ROOT_LOGGER_NAME).setLevel(Level.INFO);
+        for (int i = 0; i < filterCount; i++) {
+            loggerContext.addTurboFilter(makeNeutralFilter(i));
+        }
+        logger = loggerContext.getLogger(BenchmarkSupport.LOGGER_NAME);
+    }
+
+    private TurboFilter makeNeutralFilter(int i) {
+        if (i % 2 == 0) {
+            MarkerFilter markerFilter = new MarkerFilter();
+            markerFilter.setMarker("NEVER_USED_" + i);
+            markerFilter.setOnMatch(FilterReply.ACCEPT.name());
+            markerFilter.setContext(loggerContext);
+            markerFilter.start();
+            return markerFilter;
+        } else {
+            MDCFilter mdcFilter = new MDCFilter();
+            mdcFilter.setMDCKey("absentKey" + i);
+            mdcFilter.setValue("value");
+            mdcFilter.setOnMatch(FilterReply.ACCEPT.name());
+            mdcFilter.setContext(loggerContext);
+            mdcFilter.start();
+            return mdcFilter;
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        loggerContext.stop();
+    }
+
+    @Benchmark
+    public void debugOneArg() {
+        logger.debug("Processed request {}", arg0);
+    }
+
+    @Benchmark
+    public boolean isDebugEnabled() {
+        return logger.isDebugEnabled();
+    }
+}
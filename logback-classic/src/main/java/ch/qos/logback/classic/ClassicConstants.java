@@ -24,6 +24,15 @@ public class ClassicConstants {
     public static final String LOGBACK_CONTEXT_SELECTOR = "logback.ContextSelector";
     public static final String CONFIG_FILE_PROPERTY = "logback.configurationFile";
 
+    /**
+     * System property naming the {@link org.slf4j.spi.MDCAdapter} implementation
+     * to use, for example
+     * {@link ch.qos.logback.classic.util.LogbackMDCAdapterCopyOnWrite}.
+     * 
+     * @since 1.4.2
+     */
+    public static final String MDC_ADAPTER_PROPERTY = "logback.mdcAdapter";
+
     public static final String JNDI_CONFIGURATION_RESOURCE = JNDI_JAVA_NAMESPACE
             + "comp/env/logback/configuration-resource";
     public static final String JNDI_CONTEXT_NAME = JNDI_JAVA_NAMESPACE + "comp/env/logback/context-name";
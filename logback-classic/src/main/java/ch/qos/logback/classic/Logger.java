@@ -29,6 +29,7 @@ import org.slf4j.spi.LoggingEventBuilder;
 
 import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.classic.spi.ReusableLoggingEvent;
 import ch.qos.logback.classic.util.LoggerNameUtil;
 import ch.qos.logback.core.Appender;
 import ch.qos.logback.core.CoreConstants;
@@ -383,6 +384,13 @@ public final class Logger
             return;
         }
 
+        if (loggerContext.isReusableEventsEnabled()) {
+            ReusableLoggingEvent rle = ReusableLoggingEvent.acquire();
+            if (rle != null) {
+                reuseLoggingEventAndAppend(rle, localFQCN, marker, level, msg, params, t);
+                return;
+            }
+        }
         buildLoggingEventAndAppend(localFQCN, marker, level, msg, params, t);
     }
 
@@ -399,6 +407,13 @@ public final class Logger
             return;
         }
 
+        if (loggerContext.isReusableEventsEnabled()) {
+            ReusableLoggingEvent rle = ReusableLoggingEvent.acquire();
+            if (rle != null) {
+                reuseLoggingEventAndAppend(rle, localFQCN, marker, level, msg, rle.argumentHolder(param), t);
+                return;
+            }
+        }
         buildLoggingEventAndAppend(localFQCN, marker, level, msg, new Object[] { param }, t);
     }
 
@@ -416,6 +431,14 @@ public final class Logger
             return;
         }
 
+        if (loggerContext.isReusableEventsEnabled()) {
+            ReusableLoggingEvent rle = ReusableLoggingEvent.acquire();
+            if (rle != null) {
+                reuseLoggingEventAndAppend(rle, localFQCN, marker, level, msg, rle.argumentHolder(param1, param2),
+                        t);
+                return;
+            }
+        }
         buildLoggingEventAndAppend(localFQCN, marker, level, msg, new Object[] { param1, param2 }, t);
     }
 
@@ -426,6 +449,21 @@ public final class Logger
         callAppenders(le);
     }
 
+    /**
+     * Same as {@link #buildLoggingEventAndAppend} but with the thread's reusable
+     * event, which is released once the appenders are done with it.
+     */
+    private void reuseLoggingEventAndAppend(final ReusableLoggingEvent rle, final String localFQCN,
+            final Marker marker, final Level level, final String msg, final Object[] params, final Throwable t) {
+        try {
+            rle.init(localFQCN, this, level, msg, t, params);
+            rle.addMarker(marker);
+            callAppenders(rle);
+        } finally {
+            rle.release();
+        }
+    }
+
     public void trace(String msg) {
         filterAndLog_0_Or3Plus(FQCN, null, Level.TRACE, msg, null, null);
     }
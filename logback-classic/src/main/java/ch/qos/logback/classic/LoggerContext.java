@@ -27,9 +27,12 @@ import java.util.concurrent.ScheduledFuture;
 import org.slf4j.ILoggerFactory;
 import org.slf4j.Marker;
 
+import ch.qos.logback.classic.spi.FrameworkPackageList;
+import ch.qos.logback.classic.spi.FrameworkPackageMatcher;
 import ch.qos.logback.classic.spi.LoggerComparator;
 import ch.qos.logback.classic.spi.LoggerContextListener;
 import ch.qos.logback.classic.spi.LoggerContextVO;
+import ch.qos.logback.classic.spi.ThrowableProxyCache;
 import ch.qos.logback.classic.spi.TurboFilterList;
 import ch.qos.logback.classic.turbo.TurboFilter;
 import ch.qos.logback.classic.util.LoggerNameUtil;
@@ -55,6 +58,8 @@ public class LoggerContext extends ContextBase implements ILoggerFactory, LifeCy
 
     /** Default setting of packaging data in stack traces */
     public static final boolean DEFAULT_PACKAGING_DATA = false;
+    public static final boolean DEFAULT_REUSABLE_EVENTS = false;
+    public static final int DEFAULT_THROWABLE_PROXY_CACHE_SIZE = 0;
 
     final Logger root;
     private int size;
@@ -66,12 +71,14 @@ public class LoggerContext extends ContextBase implements ILoggerFactory, LifeCy
     private LoggerContextVO loggerContextRemoteView;
     private final TurboFilterList turboFilterList = new TurboFilterList();
     private boolean packagingDataEnabled = DEFAULT_PACKAGING_DATA;
+    private boolean reusableEventsEnabled = DEFAULT_REUSABLE_EVENTS;
+    private volatile ThrowableProxyCache throwableProxyCache;
     SequenceNumberGenerator sequenceNumberGenerator = null; // by default there is no SequenceNumberGenerator
 
     private int maxCallerDataDepth = ClassicConstants.DEFAULT_MAX_CALLEDER_DATA_DEPTH;
 
     int resetCount = 0;
-    private List<String> frameworkPackages;
+    private final FrameworkPackageList frameworkPackages = new FrameworkPackageList();
 
     public LoggerContext() {
         super();
@@ -83,7 +90,6 @@ public class LoggerContext extends ContextBase implements ILoggerFactory, LifeCy
         loggerCache.put(Logger.ROOT_LOGGER_NAME, root);
         initEvaluatorMap();
         size = 1;
-        this.frameworkPackages = new ArrayList<String>();
     }
 
     void initEvaluatorMap() {
@@ -210,6 +216,52 @@ public class LoggerContext extends ContextBase implements ILoggerFactory, LifeCy
         return packagingDataEnabled;
     }
 
+    /**
+     * When enabled, loggers reuse one {@link ch.qos.logback.classic.spi.LoggingEvent}
+     * instance per thread instead of allocating a new event for each logging call.
+     * Appenders retaining events keep snapshots of the reused instance.
+     *
+     * @since 1.4.2
+     */
+    public void setReusableEventsEnabled(boolean reusableEventsEnabled) {
+        this.reusableEventsEnabled = reusableEventsEnabled;
+    }
+
+    public boolean isReusableEventsEnabled() {
+        return reusableEventsEnabled;
+    }
+
+    /**
+     * Set the maximum number of distinct stack traces kept by the
+     * {@link ThrowableProxyCache} of this context. A value of zero, the default,
+     * disables the cache.
+     *
+     * @since 1.4.2
+     */
+    public void setThrowableProxyCacheSize(int throwableProxyCacheSize) {
+        if (throwableProxyCacheSize <= 0) {
+            this.throwableProxyCache = null;
+        } else {
+            ThrowableProxyCache current = this.throwableProxyCache;
+            if (current == null || current.getMaxEntries() != throwableProxyCacheSize) {
+                this.throwableProxyCache = new ThrowableProxyCache(throwableProxyCacheSize);
+            }
+        }
+    }
+
+    public int getThrowableProxyCacheSize() {
+        ThrowableProxyCache current = this.throwableProxyCache;
+        return current == null ? 0 : current.getMaxEntries();
+    }
+
+    /**
+     * @return the cache used when building throwable proxies, null if disabled
+     * @since 1.4.2
+     */
+    public ThrowableProxyCache getThrowableProxyCache() {
+        return throwableProxyCache;
+    }
+
     private void cancelScheduledTasks() {
         for (ScheduledFuture<?> sf : scheduledFutures) {
             sf.cancel(false);
@@ -245,27 +297,17 @@ public class LoggerContext extends ContextBase implements ILoggerFactory, LifeCy
 
     final FilterReply getTurboFilterChainDecision_0_3OrMore(final Marker marker, final Logger logger, final Level level,
             final String format, final Object[] params, final Throwable t) {
-        if (turboFilterList.size() == 0) {
-            return FilterReply.NEUTRAL;
-        }
         return turboFilterList.getTurboFilterChainDecision(marker, logger, level, format, params, t);
     }
 
     final FilterReply getTurboFilterChainDecision_1(final Marker marker, final Logger logger, final Level level,
             final String format, final Object param, final Throwable t) {
-        if (turboFilterList.size() == 0) {
-            return FilterReply.NEUTRAL;
-        }
-        return turboFilterList.getTurboFilterChainDecision(marker, logger, level, format, new Object[] { param }, t);
+        return turboFilterList.getTurboFilterChainDecision_1(marker, logger, level, format, param, t);
     }
 
     final FilterReply getTurboFilterChainDecision_2(final Marker marker, final Logger logger, final Level level,
             final String format, final Object param1, final Object param2, final Throwable t) {
-        if (turboFilterList.size() == 0) {
-            return FilterReply.NEUTRAL;
-        }
-        return turboFilterList.getTurboFilterChainDecision(marker, logger, level, format,
-                new Object[] { param1, param2 }, t);
+        return turboFilterList.getTurboFilterChainDecision_2(marker, logger, level, format, param1, param2, t);
     }
 
     // === start listeners ==============================================
@@ -347,6 +389,10 @@ public class LoggerContext extends ContextBase implements ILoggerFactory, LifeCy
     public void reset() {
         resetCount++;
         super.reset();
+        ThrowableProxyCache currentThrowableProxyCache = throwableProxyCache;
+        if (currentThrowableProxyCache != null) {
+            currentThrowableProxyCache.clear();
+        }
         initEvaluatorMap();
         initCollisionMaps();
         root.recursiveReset();
@@ -384,6 +430,18 @@ public class LoggerContext extends ContextBase implements ILoggerFactory, LifeCy
         return frameworkPackages;
     }
 
+    /**
+     * Returns a matcher compiled from the current contents of the
+     * {@link #getFrameworkPackages() framework packages list}. The matcher is
+     * recompiled after the list changes.
+     *
+     * @return matcher for framework packages
+     * @since 1.4.2
+     */
+    public FrameworkPackageMatcher getFrameworkPackageMatcher() {
+        return frameworkPackages.getMatcher();
+    }
+
 
     @Override
     public void setSequenceNumberGenerator(SequenceNumberGenerator sng) {
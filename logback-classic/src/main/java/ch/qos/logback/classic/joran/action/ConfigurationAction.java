@@ -25,6 +25,8 @@ public class ConfigurationAction extends BaseModelAction {
     static final String SCAN_ATTR = "scan";
     static final String SCAN_PERIOD_ATTR = "scanPeriod";
     static final String PACKAGING_DATA_ATTR = "packagingData";
+    static final String REUSABLE_EVENTS_ATTR = "reusableEvents";
+    static final String THROWABLE_PROXY_CACHE_SIZE_ATTR = "throwableProxyCacheSize";
 
     @Override
     protected Model buildCurrentModel(SaxEventInterpretationContext interpretationContext, String name,
@@ -34,6 +36,9 @@ public class ConfigurationAction extends BaseModelAction {
         configurationModel.setScanStr(attributes.getValue(SCAN_ATTR));
         configurationModel.setScanPeriodStr(attributes.getValue(SCAN_PERIOD_ATTR));
         configurationModel.setPackagingDataStr(attributes.getValue(PACKAGING_DATA_ATTR));
+        configurationModel.setReusableEventsStr(attributes.getValue(REUSABLE_EVENTS_ATTR));
+        configurationModel
+                .setThrowableProxyCacheSizeStr(attributes.getValue(THROWABLE_PROXY_CACHE_SIZE_ATTR));
         return configurationModel;
     }
 
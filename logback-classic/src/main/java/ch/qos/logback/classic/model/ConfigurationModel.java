@@ -15,6 +15,8 @@ public class ConfigurationModel extends Model {
     String scanStr;
     String scanPeriodStr;
     String packagingDataStr;
+    String reusableEventsStr;
+    String throwableProxyCacheSizeStr;
     
     @Override
     protected ConfigurationModel makeNewInstance() {
@@ -28,6 +30,8 @@ public class ConfigurationModel extends Model {
         this.scanStr = actual.scanStr;
         this.scanPeriodStr = actual.scanPeriodStr;
         this.packagingDataStr = actual.packagingDataStr;
+        this.reusableEventsStr = actual.reusableEventsStr;
+        this.throwableProxyCacheSizeStr = actual.throwableProxyCacheSizeStr;
     }
     
     public String getDebugStr() {
@@ -61,12 +65,29 @@ public class ConfigurationModel extends Model {
     public void setPackagingDataStr(String packagingDataStr) {
         this.packagingDataStr = packagingDataStr;
     }
+
+    public String getReusableEventsStr() {
+        return reusableEventsStr;
+    }
+
+    public void setReusableEventsStr(String reusableEventsStr) {
+        this.reusableEventsStr = reusableEventsStr;
+    }
+
+    public String getThrowableProxyCacheSizeStr() {
+        return throwableProxyCacheSizeStr;
+    }
+
+    public void setThrowableProxyCacheSizeStr(String throwableProxyCacheSizeStr) {
+        this.throwableProxyCacheSizeStr = throwableProxyCacheSizeStr;
+    }
     
     @Override
     public int hashCode() {
         final int prime = 31;
         int result = super.hashCode();
-        result = prime * result + Objects.hash(debugStr, packagingDataStr, scanPeriodStr, scanStr);
+        result = prime * result + Objects.hash(debugStr, packagingDataStr, reusableEventsStr, scanPeriodStr, scanStr,
+                throwableProxyCacheSizeStr);
         return result;
     }
 
@@ -80,7 +101,9 @@ public class ConfigurationModel extends Model {
             return false;
         ConfigurationModel other = (ConfigurationModel) obj;
         return Objects.equals(debugStr, other.debugStr) && Objects.equals(packagingDataStr, other.packagingDataStr)
-                && Objects.equals(scanPeriodStr, other.scanPeriodStr) && Objects.equals(scanStr, other.scanStr);
+                && Objects.equals(reusableEventsStr, other.reusableEventsStr)
+                && Objects.equals(scanPeriodStr, other.scanPeriodStr) && Objects.equals(scanStr, other.scanStr)
+                && Objects.equals(throwableProxyCacheSizeStr, other.throwableProxyCacheSizeStr);
     }
 
 }
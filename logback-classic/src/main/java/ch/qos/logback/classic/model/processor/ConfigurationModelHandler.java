@@ -80,6 +80,19 @@ public class ConfigurationModelHandler extends ModelHandlerBase {
                 LoggerContext.DEFAULT_PACKAGING_DATA);
         lc.setPackagingDataEnabled(packagingData);
 
+        boolean reusableEvents = OptionHelper.toBoolean(mic.subst(configurationModel.getReusableEventsStr()),
+                LoggerContext.DEFAULT_REUSABLE_EVENTS);
+        lc.setReusableEventsEnabled(reusableEvents);
+
+        String throwableProxyCacheSizeStr = mic.subst(configurationModel.getThrowableProxyCacheSizeStr());
+        if (!OptionHelper.isNullOrEmpty(throwableProxyCacheSizeStr)) {
+            try {
+                lc.setThrowableProxyCacheSize(Integer.parseInt(throwableProxyCacheSizeStr.trim()));
+            } catch (NumberFormatException e) {
+                addError("Invalid throwableProxyCacheSize [" + throwableProxyCacheSizeStr + "]", e);
+            }
+        }
+
         ContextUtil contextUtil = new ContextUtil(context);
         contextUtil.addGroovyPackages(lc.getFrameworkPackages());
     }
@@ -0,0 +1,51 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.classic.net;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import ch.qos.logback.classic.net.server.HardenedLoggingEventInputStream;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEventBinaryCodec;
+import ch.qos.logback.core.net.BinaryEventReader;
+import ch.qos.logback.core.net.ObjectReader;
+import ch.qos.logback.core.net.WireFormat;
+
+/**
+ * Factory for {@link ObjectReader} instances reading {@link ILoggingEvent}
+ * objects sent by a remote appender, in whichever {@link WireFormat} the
+ * remote appender uses.
+ * 
+ * @since 1.4.2
+ */
+public class ObjectReaderFactory {
+
+    /**
+     * Creates a reader for the given stream after detecting its wire format. This
+     * method blocks until the first bytes of the stream are available.
+     * 
+     * @param inputStream the stream to read events from
+     * @return a reader of logging events
+     * @throws IOException if the stream cannot be read
+     */
+    public ObjectReader newLoggingEventReader(InputStream inputStream) throws IOException {
+        BufferedInputStream bis = new BufferedInputStream(inputStream);
+        if (WireFormat.detect(bis) == WireFormat.BINARY) {
+            return new BinaryEventReader<ILoggingEvent>(bis, new LoggingEventBinaryCodec());
+        }
+        return new HardenedLoggingEventInputStream(bis);
+    }
+}
@@ -15,7 +15,9 @@
 package ch.qos.logback.classic.net;
 
 import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEventBinaryCodec;
 import ch.qos.logback.core.net.AbstractSocketAppender;
+import ch.qos.logback.core.net.BinaryEventCodec;
 import ch.qos.logback.core.spi.PreSerializationTransformer;
 
 /**
@@ -53,4 +55,9 @@ public class SocketAppender extends AbstractSocketAppender<ILoggingEvent> {
         return pst;
     }
 
+    @Override
+    protected BinaryEventCodec<ILoggingEvent> newBinaryEventCodec() {
+        return new LoggingEventBinaryCodec();
+    }
+
 }
@@ -13,15 +13,14 @@
  */
 package ch.qos.logback.classic.net;
 
-import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.net.Socket;
 import java.net.SocketAddress;
 
 import ch.qos.logback.classic.Logger;
 import ch.qos.logback.classic.LoggerContext;
-import ch.qos.logback.classic.net.server.HardenedLoggingEventInputStream;
 import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.net.ObjectReader;
 
 // Contributors: Moses Hohman <mmhohman@rainbow.uchicago.edu>
 
@@ -43,7 +42,7 @@ public class SocketNode implements Runnable {
 
     Socket socket;
     LoggerContext context;
-    HardenedLoggingEventInputStream hardenedLoggingEventInputStream;
+    ObjectReader objectReader;
     SocketAddress remoteSocketAddress;
 
     Logger logger;
@@ -67,8 +66,7 @@ public class SocketNode implements Runnable {
     public void run() {
 
         try {
-            hardenedLoggingEventInputStream = new HardenedLoggingEventInputStream(
-                    new BufferedInputStream(socket.getInputStream()));
+            objectReader = new ObjectReaderFactory().newLoggingEventReader(socket.getInputStream());
         } catch (Exception e) {
             logger.error("Could not open ObjectInputStream to " + socket, e);
             closed = true;
@@ -80,7 +78,7 @@ public class SocketNode implements Runnable {
         try {
             while (!closed) {
                 // read an event from the wire
-                event = (ILoggingEvent) hardenedLoggingEventInputStream.readObject();
+                event = (ILoggingEvent) objectReader.readObject();
                 // get a logger from the hierarchy. The name of the logger is taken to
                 // be the name contained in the event.
                 remoteLogger = context.getLogger(event.getLoggerName());
@@ -110,13 +108,13 @@ public class SocketNode implements Runnable {
             return;
         }
         closed = true;
-        if (hardenedLoggingEventInputStream != null) {
+        if (objectReader != null) {
             try {
-                hardenedLoggingEventInputStream.close();
+                objectReader.close();
             } catch (IOException e) {
                 logger.warn("Could not close connection.", e);
             } finally {
-                hardenedLoggingEventInputStream = null;
+                objectReader = null;
             }
         }
     }
@@ -15,7 +15,6 @@ package ch.qos.logback.classic.net;
 
 import java.io.EOFException;
 import java.io.IOException;
-import java.io.ObjectInputStream;
 import java.net.ConnectException;
 import java.net.InetAddress;
 import java.net.Socket;
@@ -28,10 +27,10 @@ import javax.net.SocketFactory;
 
 import ch.qos.logback.classic.Logger;
 import ch.qos.logback.classic.LoggerContext;
-import ch.qos.logback.classic.net.server.HardenedLoggingEventInputStream;
 import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.core.net.DefaultSocketConnector;
 import ch.qos.logback.core.net.AbstractSocketAppender;
+import ch.qos.logback.core.net.ObjectReader;
 import ch.qos.logback.core.net.SocketConnector;
 import ch.qos.logback.core.util.CloseUtil;
 
@@ -155,10 +154,10 @@ public class SocketReceiver extends ReceiverBase implements Runnable, SocketConn
     }
 
     private void dispatchEvents(LoggerContext lc) {
-        ObjectInputStream ois = null;
+        ObjectReader ois = null;
         try {
             socket.setSoTimeout(acceptConnectionTimeout);
-            ois = new HardenedLoggingEventInputStream(socket.getInputStream());
+            ois = new ObjectReaderFactory().newLoggingEventReader(socket.getInputStream());
             socket.setSoTimeout(0);
             addInfo(receiverId + "connection established");
             while (true) {
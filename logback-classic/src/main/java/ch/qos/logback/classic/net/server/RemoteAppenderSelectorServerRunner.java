@@ -0,0 +1,79 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.classic.net.server;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.Socket;
+import java.nio.channels.ServerSocketChannel;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEventBinaryCodec;
+import ch.qos.logback.core.net.BinaryEventCodec;
+import ch.qos.logback.core.net.server.Client;
+import ch.qos.logback.core.net.server.SelectorServerRunner;
+
+/**
+ * A {@link SelectorServerRunner} for logging events sent by remote appenders.
+ */
+class RemoteAppenderSelectorServerRunner extends SelectorServerRunner<ILoggingEvent> {
+
+    /**
+     * Constructs a new server runner.
+     * 
+     * @param serverChannel the bound channel from which to accept connections
+     * @param selectorCount the number of selector threads
+     * @throws IOException if a selector cannot be opened
+     */
+    public RemoteAppenderSelectorServerRunner(ServerSocketChannel serverChannel, int selectorCount)
+            throws IOException {
+        super(serverChannel, selectorCount);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected BinaryEventCodec<ILoggingEvent> newBinaryEventCodec() {
+        return new LoggingEventBinaryCodec();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void dispatch(ILoggingEvent event) {
+        // get a logger from the hierarchy. The name of the logger is taken to
+        // be the name contained in the event.
+        Logger remoteLogger = ((LoggerContext) getContext()).getLogger(event.getLoggerName());
+        // apply the logger-level filter
+        if (remoteLogger.isEnabledFor(event.getLevel())) {
+            // finally log the event as if was generated locally
+            remoteLogger.callAppenders(event);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Client createStreamClient(String id, Socket socket, InputStream inputStream) {
+        RemoteAppenderStreamClient client = new RemoteAppenderStreamClient(id, socket, inputStream);
+        client.setLoggerContext((LoggerContext) getContext());
+        return client;
+    }
+
+}
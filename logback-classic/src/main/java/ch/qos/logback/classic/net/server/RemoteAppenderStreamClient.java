@@ -20,13 +20,14 @@ import java.net.Socket;
 
 import ch.qos.logback.classic.Logger;
 import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.net.ObjectReaderFactory;
 import ch.qos.logback.classic.spi.ILoggingEvent;
-import ch.qos.logback.core.net.HardenedObjectInputStream;
+import ch.qos.logback.core.net.ObjectReader;
 import ch.qos.logback.core.util.CloseUtil;
 
 /**
- * A {@link RemoteAppenderClient} that reads serialized {@link ILoggingEvent}
- * objects from an {@link InputStream}.
+ * A {@link RemoteAppenderClient} that reads serialized or binary encoded
+ * {@link ILoggingEvent} objects from an {@link InputStream}.
  *
  * @author Carl Harris
  */
@@ -51,6 +52,20 @@ class RemoteAppenderStreamClient implements RemoteAppenderClient {
         this.inputStream = null;
     }
 
+    /**
+     * Constructs a new client reading from a stream of the given socket, for
+     * instance one starting with bytes already read from the socket.
+     * 
+     * @param id          a display name for the client
+     * @param socket      the client's socket, closed by {@link #close()}
+     * @param inputStream input stream from which events will be read
+     */
+    public RemoteAppenderStreamClient(String id, Socket socket, InputStream inputStream) {
+        this.id = id;
+        this.socket = socket;
+        this.inputStream = inputStream;
+    }
+
     /**
      * Constructs a new client.
      * <p>
@@ -88,7 +103,7 @@ class RemoteAppenderStreamClient implements RemoteAppenderClient {
      */
     public void run() {
         logger.info(this + ": connected");
-        HardenedObjectInputStream ois = null;
+        ObjectReader ois = null;
         try {
             ois = createObjectInputStream();
             while (true) {
@@ -121,11 +136,12 @@ class RemoteAppenderStreamClient implements RemoteAppenderClient {
         }
     }
 
-    private HardenedObjectInputStream createObjectInputStream() throws IOException {
+    private ObjectReader createObjectInputStream() throws IOException {
+        ObjectReaderFactory factory = new ObjectReaderFactory();
         if (inputStream != null) {
-            return new HardenedLoggingEventInputStream(inputStream);
+            return factory.newLoggingEventReader(inputStream);
         }
-        return new HardenedLoggingEventInputStream(socket.getInputStream());
+        return factory.newLoggingEventReader(socket.getInputStream());
     }
 
     /**
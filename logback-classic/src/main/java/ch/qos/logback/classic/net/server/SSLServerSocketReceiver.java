@@ -45,6 +45,18 @@ public class SSLServerSocketReceiver extends ServerSocketReceiver implements SSL
         return socketFactory;
     }
 
+    /**
+     * Falls back to a thread per connection, selectors not supporting SSL.
+     */
+    @Override
+    protected boolean shouldStart() {
+        if (getSelectorCount() > 0) {
+            addWarn("selectors do not support SSL, serving each connection with a thread of its own");
+            setSelectorCount(0);
+        }
+        return super.shouldStart();
+    }
+
     /**
      * Gets the server's SSL configuration.
      * 
@@ -15,6 +15,8 @@ package ch.qos.logback.classic.net.server;
 
 import ch.qos.logback.classic.net.LoggingEventPreSerializationTransformer;
 import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEventBinaryCodec;
+import ch.qos.logback.core.net.BinaryEventCodec;
 import ch.qos.logback.core.net.server.AbstractServerSocketAppender;
 import ch.qos.logback.core.spi.PreSerializationTransformer;
 
@@ -43,6 +45,11 @@ public class ServerSocketAppender extends AbstractServerSocketAppender<ILoggingE
         return pst;
     }
 
+    @Override
+    protected BinaryEventCodec<ILoggingEvent> newBinaryEventCodec() {
+        return new LoggingEventBinaryCodec();
+    }
+
     public boolean isIncludeCallerData() {
         return includeCallerData;
     }
@@ -15,8 +15,10 @@ package ch.qos.logback.classic.net.server;
 
 import java.io.IOException;
 import java.net.InetAddress;
+import java.net.InetSocketAddress;
 import java.net.ServerSocket;
 import java.net.UnknownHostException;
+import java.nio.channels.ServerSocketChannel;
 import java.util.concurrent.Executor;
 
 import javax.net.ServerSocketFactory;
@@ -24,11 +26,17 @@ import javax.net.ServerSocketFactory;
 import ch.qos.logback.classic.net.ReceiverBase;
 import ch.qos.logback.core.net.AbstractSocketAppender;
 import ch.qos.logback.core.net.server.ServerListener;
+import ch.qos.logback.core.net.server.SelectorServerRunner;
 import ch.qos.logback.core.net.server.ServerRunner;
 import ch.qos.logback.core.util.CloseUtil;
 
 /**
  * A logging socket server that is configurable using Joran.
+ * <p>
+ * By default, each connection is served by a thread of its own. When
+ * {@link #setSelectorCount(int) selectorCount} is positive, connections are
+ * instead served by that many selector threads using non-blocking I/O, see
+ * {@link SelectorServerRunner}.
  *
  * @author Carl Harris
  */
@@ -43,6 +51,8 @@ public class ServerSocketReceiver extends ReceiverBase {
     private int backlog = DEFAULT_BACKLOG;
 
     private String address;
+    private int selectorCount = 0;
+    private int maxPendingBytes = SelectorServerRunner.DEFAULT_MAX_PENDING_BYTES;
 
     private ServerSocket serverSocket;
     @SuppressWarnings("rawtypes")
@@ -52,6 +62,9 @@ public class ServerSocketReceiver extends ReceiverBase {
      * Starts the server.
      */
     protected boolean shouldStart() {
+        if (getSelectorCount() > 0) {
+            return startSelectorServer();
+        }
         try {
             ServerSocket serverSocket = getServerSocketFactory().createServerSocket(getPort(), getBacklog(),
                     getInetAddress());
@@ -68,6 +81,28 @@ public class ServerSocketReceiver extends ReceiverBase {
         }
     }
 
+    private boolean startSelectorServer() {
+        ServerSocketChannel serverChannel = null;
+        try {
+            serverChannel = ServerSocketChannel.open();
+            serverChannel.bind(new InetSocketAddress(getInetAddress(), getPort()), getBacklog());
+            SelectorServerRunner<?> selectorRunner = createSelectorServerRunner(serverChannel, getSelectorCount());
+            selectorRunner.setMaxPendingBytes(getMaxPendingBytes());
+            selectorRunner.setContext(getContext());
+            runner = selectorRunner;
+            return true;
+        } catch (Exception ex) {
+            addError("server startup error: " + ex, ex);
+            CloseUtil.closeQuietly(serverChannel);
+            return false;
+        }
+    }
+
+    protected SelectorServerRunner<?> createSelectorServerRunner(ServerSocketChannel serverChannel, int selectorCount)
+            throws IOException {
+        return new RemoteAppenderSelectorServerRunner(serverChannel, selectorCount);
+    }
+
     protected ServerListener<RemoteAppenderClient> createServerListener(ServerSocket socket) {
         return new RemoteAppenderServerListener(socket);
     }
@@ -163,6 +198,47 @@ public class ServerSocketReceiver extends ReceiverBase {
         this.backlog = backlog;
     }
 
+    /**
+     * Gets the number of selector threads serving connections.
+     * 
+     * @return selector count, zero if each connection is served by a thread of
+     *         its own
+     */
+    public int getSelectorCount() {
+        return selectorCount;
+    }
+
+    /**
+     * Sets the number of selector threads serving connections. The default, zero,
+     * serves each connection with a thread of its own.
+     * 
+     * @param selectorCount the selector count to set
+     */
+    public void setSelectorCount(int selectorCount) {
+        this.selectorCount = selectorCount;
+    }
+
+    /**
+     * Gets the number of received bytes which may wait to be dispatched, per
+     * connection, before reading from the connection is suspended. Only applies
+     * when {@link #getSelectorCount() selectorCount} is positive.
+     * 
+     * @return the maximum number of pending bytes per connection
+     */
+    public int getMaxPendingBytes() {
+        return maxPendingBytes;
+    }
+
+    /**
+     * Sets the number of received bytes which may wait to be dispatched, per
+     * connection, before reading from the connection is suspended.
+     * 
+     * @param maxPendingBytes the maximum number of pending bytes per connection
+     */
+    public void setMaxPendingBytes(int maxPendingBytes) {
+        this.maxPendingBytes = maxPendingBytes;
+    }
+
     /**
      * Gets the local address for the listener.
      * 
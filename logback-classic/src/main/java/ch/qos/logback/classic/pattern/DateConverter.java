@@ -60,4 +60,9 @@ public class DateConverter extends ClassicConverter {
         long timestamp = le.getTimeStamp();
         return cachingDateFormatter.format(timestamp);
     }
+
+    @Override
+    protected void convertTo(StringBuilder buf, ILoggingEvent le) {
+        cachingDateFormatter.format(le.getTimeStamp(), buf);
+    }
 }
@@ -26,9 +26,7 @@ public class MicrosecondConverter extends ClassicConverter {
 
     @Override
     public String convert(ILoggingEvent event) {
-        int nanos = event.getNanoseconds();
-        int millis_and_micros = nanos / 1000;
-        int micros = millis_and_micros % 1000;
+        int micros = micros(event);
 
         if (micros >= 100)
             return Integer.toString(micros);
@@ -38,4 +36,18 @@ public class MicrosecondConverter extends ClassicConverter {
             return "00" + Integer.toString(micros);
     }
 
+    @Override
+    protected void convertTo(StringBuilder buf, ILoggingEvent event) {
+        int micros = micros(event);
+        buf.append((char) ('0' + micros / 100));
+        buf.append((char) ('0' + (micros / 10) % 10));
+        buf.append((char) ('0' + micros % 10));
+    }
+
+    private static int micros(ILoggingEvent event) {
+        int nanos = event.getNanoseconds();
+        int millis_and_micros = nanos / 1000;
+        return millis_and_micros % 1000;
+    }
+
 }
@@ -13,8 +13,7 @@
  */
 package ch.qos.logback.classic.pattern;
 
-import java.util.LinkedHashMap;
-import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
 
 import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.core.util.OptionHelper;
@@ -22,12 +21,12 @@ import ch.qos.logback.core.util.OptionHelper;
 /**
  * In case abbreviation service is requested, NamedConverter will convert fully
  * qualified class names to their abbreviated from. NamedConverter instances
- * will store abbreviated names in an internal LRU cache.
+ * will store abbreviated names in an internal cache.
  * 
- * The cache will double in size if he cache miss rate is consistently above
- * 30%. Assuming a high miss rate, the doubling until a maximum size of 2048 is
- * attained. If at this point the cache miss rate is still too high,
- * NamedConverter will revert to non cached behavior.
+ * The cache is a fixed-size, two-way set associative table. Looking up a name
+ * takes no lock. A name missing from the cache evicts the least recently
+ * inserted name of its set, so that the cache keeps working, albeit with more
+ * misses, however many distinct names are abbreviated.
  * 
  * The general assumption here is that a large majority of logger names are
  * concentrated within a group of approximately 1000 logger names.
@@ -39,19 +38,10 @@ public abstract class NamedConverter extends ClassicConverter {
 
     private static final String DISABLE_CACHE_SYSTEM_PROPERTY = "logback.namedConverter.disableCache";
 
-    private static final int INITIAL_CACHE_SIZE = 512;
-    private static final double LOAD_FACTOR = 0.75; // this is the JDK implementation default
-
     /**
-     * We don't let the cache map size to go over MAX_ALLOWED_REMOVAL_THRESHOLD
-     * elements
+     * Number of entries in the cache, a power of two.
      */
-    private static final int MAX_ALLOWED_REMOVAL_THRESHOLD = (int) (2048 * LOAD_FACTOR);
-
-    /**
-     * When the cache miss rate is above 30%, the cache is deemed inefficient.
-     */
-    private static final double CACHE_MISSRATE_TRIGGER = 0.3d;
+    static final int CACHE_SIZE = 4096;
 
     /**
      * We should have a sample size of minimal length before computing the cache
@@ -62,12 +52,14 @@ public abstract class NamedConverter extends ClassicConverter {
     private static final double NEGATIVE = -1;
     private volatile boolean cacheEnabled = true;
 
-    private final NameCache cache = new NameCache(INITIAL_CACHE_SIZE);
+    // entries being immutable, the table can be read and written without
+    // synchronization, at worst a concurrent miss is computed twice
+    private final CacheEntry[] cache = new CacheEntry[CACHE_SIZE];
 
     private Abbreviator abbreviator = null;
 
-    private volatile int cacheMisses = 0;
-    private volatile int totalCalls = 0;
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
 
     /**
      * Gets fully qualified name from event.
@@ -117,120 +109,81 @@ public abstract class NamedConverter extends ClassicConverter {
     }
 
     /**
-     * This method is synchronized. It is the only place where the cache, a subclass
-     * of LinkedHashMap, is modified.
-     * 
-     * The cache can be cleared via a call to disableCache(). However, the call to
-     * disableCache() is made indirectly from within viaCache(String).
+     * Looks up the abbreviation of the given name in the two entries of its set,
+     * computing and inserting it on a miss. This method takes no lock.
      * 
      * @param fqn
      * @return
      */
-    private synchronized String viaCache(String fqn) {
-        totalCalls++;
-        String abbreviated = cache.get(fqn);
-        if (abbreviated == null) {
-            cacheMisses++;
-            abbreviated = abbreviator.abbreviate(fqn);
-            cache.put(fqn, abbreviated);
+    private String viaCache(String fqn) {
+        final int hash = spread(fqn.hashCode());
+        final int index = hash & (CACHE_SIZE - 2);
+        final CacheEntry[] table = cache;
+
+        CacheEntry first = table[index];
+        if (first != null && first.matches(hash, fqn)) {
+            cacheHits.increment();
+            return first.abbreviated;
         }
+        CacheEntry second = table[index + 1];
+        if (second != null && second.matches(hash, fqn)) {
+            cacheHits.increment();
+            return second.abbreviated;
+        }
+
+        cacheMisses.increment();
+        String abbreviated = abbreviator.abbreviate(fqn);
+        table[index + 1] = first;
+        table[index] = new CacheEntry(hash, fqn, abbreviated);
         return abbreviated;
     }
 
-    private void disableCache() {
-        if (!cacheEnabled)
-            return;
-        this.cacheEnabled = false;
-        cache.clear();
-        addInfo("Disabling cache at totalCalls=" + totalCalls);
+    private static int spread(int h) {
+        // as in HashMap, lets the high bits take part in the index
+        return h ^ (h >>> 16);
     }
 
+    /**
+     * Returns the ratio of cache misses to calls, or a negative value if fewer than
+     * {@value #MIN_SAMPLE_SIZE} names were looked up.
+     */
     public double getCacheMissRate() {
-        return cache.cacheMissCalculator.getCacheMissRate();
+        long misses = cacheMisses.sum();
+        long total = misses + cacheHits.sum();
+        if (total < MIN_SAMPLE_SIZE) {
+            return NEGATIVE;
+        }
+        return (1.0d * misses / total);
     }
 
-    public int getCacheMisses() {
-        return cacheMisses;
+    /**
+     * Returns the ratio of cache hits to calls, or a negative value if fewer than
+     * {@value #MIN_SAMPLE_SIZE} names were looked up.
+     * 
+     * @since 1.4.2
+     */
+    public double getCacheHitRate() {
+        double missRate = getCacheMissRate();
+        return missRate < 0 ? NEGATIVE : 1.0d - missRate;
     }
 
-    private class NameCache extends LinkedHashMap<String, String> {
-
-        private static final long serialVersionUID = 1050866539278406045L;
-
-        int removalThreshold;
-        CacheMissCalculator cacheMissCalculator = new CacheMissCalculator();
-
-        NameCache(int initialCapacity) {
-            super(initialCapacity);
-            this.removalThreshold = (int) (initialCapacity * LOAD_FACTOR);
-        }
-
-        /**
-         * In the JDK tested, this method is called for every map insertion.
-         * 
-         */
-        @Override
-        protected boolean removeEldestEntry(Map.Entry<String, String> entry) {
-            if (shouldDoubleRemovalThreshold()) {
-                removalThreshold *= 2;
-
-                int missRate = (int) (cacheMissCalculator.getCacheMissRate() * 100);
-
-                NamedConverter.this.addInfo("Doubling nameCache removalThreshold to " + removalThreshold
-                        + " previous cacheMissRate=" + missRate + "%");
-                cacheMissCalculator.updateMilestones();
-            }
-
-            if (size() >= removalThreshold) {
-                return true;
-            } else
-                return false;
-        }
-
-        private boolean shouldDoubleRemovalThreshold() {
-
-            double rate = cacheMissCalculator.getCacheMissRate();
-
-            // negative rate indicates insufficient sample size
-            if (rate < 0)
-                return false;
-
-            if (rate < CACHE_MISSRATE_TRIGGER)
-                return false;
-
-            // cannot double removalThreshold is already at max allowed size
-            if (this.removalThreshold >= MAX_ALLOWED_REMOVAL_THRESHOLD) {
-                NamedConverter.this.disableCache();
-                return false;
-            }
-
-            return true;
-        }
+    public int getCacheMisses() {
+        return (int) cacheMisses.sum();
     }
 
-    class CacheMissCalculator {
+    static final class CacheEntry {
+        final int hash;
+        final String fqn;
+        final String abbreviated;
 
-        int totalsMilestone = 0;
-        int cacheMissesMilestone = 0;
-
-        void updateMilestones() {
-            this.totalsMilestone = NamedConverter.this.totalCalls;
-            this.cacheMissesMilestone = NamedConverter.this.cacheMisses;
+        CacheEntry(int hash, String fqn, String abbreviated) {
+            this.hash = hash;
+            this.fqn = fqn;
+            this.abbreviated = abbreviated;
         }
 
-        double getCacheMissRate() {
-
-            int effectiveTotal = NamedConverter.this.totalCalls - totalsMilestone;
-
-            if (effectiveTotal < MIN_SAMPLE_SIZE) {
-                // cache miss rate cannot be negative. With a negative value, we signal the
-                // caller of insufficient sample size.
-                return NEGATIVE;
-            }
-
-            int effectiveCacheMisses = NamedConverter.this.cacheMisses - cacheMissesMilestone;
-            return (1.0d * effectiveCacheMisses / effectiveTotal);
+        boolean matches(int hash, String fqn) {
+            return this.hash == hash && this.fqn.equals(fqn);
         }
     }
-
 }
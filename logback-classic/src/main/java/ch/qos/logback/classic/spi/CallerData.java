@@ -15,6 +15,8 @@ package ch.qos.logback.classic.spi;
 
 import ch.qos.logback.core.CoreConstants;
 
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 
 import static ch.qos.logback.core.CoreConstants.NA;
@@ -45,6 +47,55 @@ public class CallerData {
      */
     public static final StackTraceElement[] EMPTY_CALLER_DATA_ARRAY = new StackTraceElement[0];
 
+    private static final StackWalker STACK_WALKER = StackWalker
+            .getInstance(StackWalker.Option.SHOW_REFLECT_FRAMES);
+
+    /**
+     * Extract caller data information of the current thread as an array.
+     * <p>
+     * Unlike {@link #extract(Throwable, String, int, List)}, the stack is walked
+     * lazily with a {@link StackWalker}. Stack trace elements are created only
+     * for the returned frames, and the walk stops as soon as maxDepth frames past
+     * the framework boundary have been collected.
+     *
+     * @since 1.4.2
+     */
+    public static StackTraceElement[] extract(String fqnOfInvokingClass, final int maxDepth,
+            FrameworkPackageMatcher frameworkPackageMatcher) {
+        return STACK_WALKER.walk(
+                frames -> extract(frames.iterator(), fqnOfInvokingClass, maxDepth, frameworkPackageMatcher));
+    }
+
+    private static StackTraceElement[] extract(Iterator<StackWalker.StackFrame> frames, String fqnOfInvokingClass,
+            final int maxDepth, FrameworkPackageMatcher frameworkPackageMatcher) {
+        boolean boundaryFound = false;
+        List<StackTraceElement> callerDataList = null;
+        while (frames.hasNext()) {
+            StackWalker.StackFrame frame = frames.next();
+            if (callerDataList == null) {
+                if (isInFrameworkSpace(frame.getClassName(), fqnOfInvokingClass, frameworkPackageMatcher)) {
+                    boundaryFound = true;
+                    continue;
+                }
+                if (!boundaryFound) {
+                    continue;
+                }
+                // the caller is the first frame past the framework boundary
+                callerDataList = new ArrayList<StackTraceElement>(Math.max(0, Math.min(maxDepth, 16)));
+            }
+            if (callerDataList.size() >= maxDepth) {
+                break;
+            }
+            callerDataList.add(frame.toStackTraceElement());
+        }
+
+        // we failed to extract caller data
+        if (callerDataList == null) {
+            return EMPTY_CALLER_DATA_ARRAY;
+        }
+        return callerDataList.toArray(EMPTY_CALLER_DATA_ARRAY);
+    }
+
     /**
      * Extract caller data information as an array based on a Throwable passed as
      * parameter
@@ -98,6 +149,13 @@ public class CallerData {
         }
     }
 
+    static boolean isInFrameworkSpace(String currentClass, String fqnOfInvokingClass,
+            FrameworkPackageMatcher frameworkPackageMatcher) {
+        return currentClass.equals(fqnOfInvokingClass) || currentClass.equals(LOG4J_CATEGORY)
+                || currentClass.startsWith(SLF4J_BOUNDARY)
+                || (frameworkPackageMatcher != null && frameworkPackageMatcher.matches(currentClass));
+    }
+
     /**
      * Is currentClass present in the list of packages considered part of the
      * logging framework?
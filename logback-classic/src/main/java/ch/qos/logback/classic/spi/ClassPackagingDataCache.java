@@ -0,0 +1,135 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.classic.spi;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Process-wide cache of {@link ClassPackagingData}, shared by all
+ * {@link PackagingDataCalculator} instances.
+ *
+ * <p>
+ * Packaging data of a known class is held in a {@link ClassValue} and thus
+ * goes away along with the class. Packaging data looked up by class name is
+ * cached per class loader, under the class loader which loaded the class, the
+ * class loader being referenced weakly so that redeployed applications do not
+ * leak. Class names a class loader could not load are cached as well, as the
+ * {@link #NA_INEXACT} entry.
+ *
+ * <p>
+ * Lookups do not take any lock.
+ */
+final class ClassPackagingDataCache {
+
+    static final String NA = "na";
+    static final ClassPackagingData NA_INEXACT = new ClassPackagingData(NA, NA, false);
+
+    private final ClassValue<ClassPackagingData> byClass = new ClassValue<ClassPackagingData>() {
+        @Override
+        protected ClassPackagingData computeValue(Class<?> type) {
+            return new ClassPackagingData(PackagingDataCalculator.getCodeLocation(type),
+                    PackagingDataCalculator.getImplementationVersion(type));
+        }
+    };
+
+    private final ConcurrentMap<LoaderKey, ConcurrentMap<String, ClassPackagingData>> byLoader = new ConcurrentHashMap<>();
+    // class names looked up without any class loader
+    private final ConcurrentMap<String, ClassPackagingData> withoutLoader = new ConcurrentHashMap<>();
+    private final ReferenceQueue<ClassLoader> staleLoaders = new ReferenceQueue<>();
+
+    static final class LoaderKey extends WeakReference<ClassLoader> {
+        final int hash;
+
+        LoaderKey(ClassLoader classLoader, ReferenceQueue<ClassLoader> queue) {
+            super(classLoader, queue);
+            this.hash = System.identityHashCode(classLoader);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj)
+                return true;
+            if (!(obj instanceof LoaderKey))
+                return false;
+            ClassLoader classLoader = get();
+            return classLoader != null && classLoader == ((LoaderKey) obj).get();
+        }
+    }
+
+    /**
+     * Returns the exact packaging data of the given class.
+     */
+    ClassPackagingData get(Class<?> type) {
+        return byClass.get(type);
+    }
+
+    /**
+     * Returns the cached packaging data of the named class as seen from the given
+     * class loader, or null if not cached.
+     */
+    ClassPackagingData get(ClassLoader classLoader, String className) {
+        ConcurrentMap<String, ClassPackagingData> map = mapFor(classLoader, false);
+        return map == null ? null : map.get(className);
+    }
+
+    /**
+     * Cache the inexact packaging data of the named class as seen from the given
+     * class loader. The type may be null if the class could not be loaded.
+     */
+    ClassPackagingData put(ClassLoader classLoader, String className, Class<?> type) {
+        ClassPackagingData cpd;
+        if (type == null) {
+            cpd = NA_INEXACT;
+        } else {
+            ClassPackagingData exact = byClass.get(type);
+            cpd = new ClassPackagingData(exact.getCodeLocation(), exact.getVersion(), false);
+        }
+        mapFor(classLoader, true).putIfAbsent(className, cpd);
+        return cpd;
+    }
+
+    private ConcurrentMap<String, ClassPackagingData> mapFor(ClassLoader classLoader, boolean create) {
+        if (classLoader == null) {
+            return withoutLoader;
+        }
+        ConcurrentMap<String, ClassPackagingData> map = byLoader.get(new LoaderKey(classLoader, null));
+        if (map == null && create) {
+            expungeStaleLoaders();
+            map = byLoader.computeIfAbsent(new LoaderKey(classLoader, staleLoaders),
+                    k -> new ConcurrentHashMap<String, ClassPackagingData>());
+        }
+        return map;
+    }
+
+    private void expungeStaleLoaders() {
+        Reference<? extends ClassLoader> ref;
+        while ((ref = staleLoaders.poll()) != null) {
+            byLoader.remove(ref);
+        }
+    }
+
+    int loaderCount() {
+        expungeStaleLoaders();
+        return byLoader.size();
+    }
+}
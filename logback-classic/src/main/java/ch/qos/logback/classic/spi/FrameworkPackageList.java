@@ -0,0 +1,104 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.classic.spi;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * The list of framework packages of a logger context, along with the
+ * {@link FrameworkPackageMatcher} compiled from it.
+ *
+ * <p>
+ * Every modification, including those made through iterators and sub lists,
+ * discards the matcher, which is compiled anew on the next call to
+ * {@link #getMatcher()}. Retrieving an up to date matcher thus costs a
+ * volatile read.
+ *
+ * <p>
+ * Like the {@link ArrayList} it replaces, this list is not meant to be
+ * modified concurrently.
+ *
+ * @since 1.4.2
+ */
+final public class FrameworkPackageList extends AbstractList<String> implements RandomAccess {
+
+    private final List<String> packages = new ArrayList<String>();
+
+    // incremented by each modification, so that a matcher compiled from a
+    // list modified in the meantime is not retained
+    private volatile int version;
+    private volatile FrameworkPackageMatcher matcher;
+
+    /**
+     * Returns a matcher compiled from the current contents of this list.
+     */
+    public FrameworkPackageMatcher getMatcher() {
+        FrameworkPackageMatcher m = matcher;
+        if (m == null) {
+            int v = version;
+            m = new FrameworkPackageMatcher(packages);
+            if (v == version) {
+                matcher = m;
+            }
+        }
+        return m;
+    }
+
+    private void modified() {
+        version++;
+        matcher = null;
+    }
+
+    @Override
+    public String get(int index) {
+        return packages.get(index);
+    }
+
+    @Override
+    public int size() {
+        return packages.size();
+    }
+
+    @Override
+    public String set(int index, String element) {
+        String result = packages.set(index, element);
+        modified();
+        return result;
+    }
+
+    @Override
+    public void add(int index, String element) {
+        packages.add(index, element);
+        modCount++;
+        modified();
+    }
+
+    @Override
+    public String remove(int index) {
+        String result = packages.remove(index);
+        modCount++;
+        modified();
+        return result;
+    }
+
+    @Override
+    public void clear() {
+        packages.clear();
+        modCount++;
+        modified();
+    }
+}
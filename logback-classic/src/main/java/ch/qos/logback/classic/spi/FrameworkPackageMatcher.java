@@ -0,0 +1,108 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.classic.spi;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tells whether a class name starts with one of a set of prefixes, typically
+ * the packages considered part of the logging framework.
+ *
+ * <p>
+ * The prefixes are compiled into a character trie so that a lookup costs at
+ * most one step per character of the class name, independently of the number
+ * of prefixes. Lookups do not allocate.
+ *
+ * <p>
+ * Instances are immutable and thus thread-safe.
+ *
+ * @since 1.4.2
+ */
+public class FrameworkPackageMatcher {
+
+    public static final FrameworkPackageMatcher EMPTY = new FrameworkPackageMatcher(null);
+
+    static final class Node {
+        char[] keys = new char[0];
+        Node[] children = new Node[0];
+        boolean terminal;
+
+        Node child(char c) {
+            int i = Arrays.binarySearch(keys, c);
+            return i < 0 ? null : children[i];
+        }
+
+        Node addChild(char c) {
+            int i = Arrays.binarySearch(keys, c);
+            if (i >= 0) {
+                return children[i];
+            }
+            int insertionPoint = -(i + 1);
+            Node child = new Node();
+            char[] newKeys = new char[keys.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, insertionPoint);
+            System.arraycopy(children, 0, newChildren, 0, insertionPoint);
+            newKeys[insertionPoint] = c;
+            newChildren[insertionPoint] = child;
+            System.arraycopy(keys, insertionPoint, newKeys, insertionPoint + 1, keys.length - insertionPoint);
+            System.arraycopy(children, insertionPoint, newChildren, insertionPoint + 1,
+                    children.length - insertionPoint);
+            keys = newKeys;
+            children = newChildren;
+            return child;
+        }
+    }
+
+    private final Node root = new Node();
+
+    public FrameworkPackageMatcher(List<String> prefixList) {
+        if (prefixList == null) {
+            return;
+        }
+        for (String prefix : prefixList) {
+            if (prefix == null) {
+                continue;
+            }
+            Node node = root;
+            for (int i = 0; i < prefix.length(); i++) {
+                node = node.addChild(prefix.charAt(i));
+            }
+            node.terminal = true;
+        }
+    }
+
+    /**
+     * Does the class name start with one of the prefixes?
+     */
+    public boolean matches(String className) {
+        Node node = root;
+        if (node.terminal) {
+            // the empty prefix matches everything
+            return true;
+        }
+        final int len = className.length();
+        for (int i = 0; i < len; i++) {
+            node = node.child(className.charAt(i));
+            if (node == null) {
+                return false;
+            }
+            if (node.terminal) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -7,12 +7,15 @@ import org.slf4j.helpers.Util;
 import org.slf4j.spi.MDCAdapter;
 import org.slf4j.spi.SLF4JServiceProvider;
 
+import ch.qos.logback.classic.ClassicConstants;
 import ch.qos.logback.classic.LoggerContext;
 import ch.qos.logback.classic.util.ContextInitializer;
 import ch.qos.logback.classic.util.LogbackMDCAdapter;
 import ch.qos.logback.core.CoreConstants;
 import ch.qos.logback.core.joran.spi.JoranException;
 import ch.qos.logback.core.status.StatusUtil;
+import ch.qos.logback.core.util.Loader;
+import ch.qos.logback.core.util.OptionHelper;
 import ch.qos.logback.core.util.StatusPrinter;
 
 public class LogbackServiceProvider implements SLF4JServiceProvider {
@@ -41,7 +44,21 @@ public class LogbackServiceProvider implements SLF4JServiceProvider {
         initializeLoggerContext();
         defaultLoggerContext.start();
         markerFactory = new BasicMarkerFactory();
-        mdcAdapter = new LogbackMDCAdapter();
+        mdcAdapter = makeMDCAdapter();
+    }
+
+    private MDCAdapter makeMDCAdapter() {
+        String adapterClassName = OptionHelper.getSystemProperty(ClassicConstants.MDC_ADAPTER_PROPERTY);
+        if (OptionHelper.isNullOrEmpty(adapterClassName)) {
+            return new LogbackMDCAdapter();
+        }
+        try {
+            Class<?> adapterClass = Loader.loadClass(adapterClassName.trim());
+            return (MDCAdapter) adapterClass.getConstructor().newInstance();
+        } catch (Exception e) {
+            Util.report("Failed to instantiate MDCAdapter [" + adapterClassName + "], using the default", e);
+            return new LogbackMDCAdapter();
+        }
     }
 
     private void initializeLoggerContext() {
@@ -32,6 +32,7 @@ import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.Logger;
 import ch.qos.logback.classic.LoggerContext;
 import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.classic.util.LogbackMDCAdapterCopyOnWrite;
 import ch.qos.logback.core.spi.SequenceNumberGenerator;
 
 /**
@@ -118,6 +119,39 @@ public class LoggingEvent implements ILoggingEvent {
 
     public LoggingEvent(String fqcn, Logger logger, Level level, String message, Throwable throwable,
             Object[] argArray) {
+        initialize(fqcn, logger, level, message, throwable, argArray);
+    }
+
+    /**
+     * Copy constructor used to take snapshots of {@link ReusableLoggingEvent}
+     * instances. Lazily initialized fields are computed on the source first, the
+     * argument array and mutable lists are copied.
+     *
+     * @since 1.4.2
+     */
+    LoggingEvent(LoggingEvent source) {
+        this.fqnOfLoggerClass = source.fqnOfLoggerClass;
+        this.threadName = source.getThreadName();
+        this.loggerName = source.loggerName;
+        this.loggerContext = source.loggerContext;
+        this.loggerContextVO = source.loggerContextVO;
+        this.level = source.level;
+        this.message = source.message;
+        this.formattedMessage = source.getFormattedMessage();
+        this.argumentArray = source.argumentArray == null ? null : source.argumentArray.clone();
+        this.throwableProxy = source.throwableProxy;
+        this.callerDataArray = source.callerDataArray;
+        this.markerList = source.markerList == null ? null : new ArrayList<>(source.markerList);
+        this.mdcPropertyMap = source.getMDCPropertyMap();
+        this.keyValuePairs = source.keyValuePairs == null ? null : new ArrayList<>(source.keyValuePairs);
+        this.instant = source.instant;
+        this.timeStamp = source.timeStamp;
+        this.nanoseconds = source.nanoseconds;
+        this.sequenceNumber = source.sequenceNumber;
+    }
+
+    void initialize(String fqcn, Logger logger, Level level, String message, Throwable throwable,
+            Object[] argArray) {
         this.fqnOfLoggerClass = fqcn;
         this.loggerName = logger.getName();
         this.loggerContext = logger.getLoggerContext();
@@ -141,7 +175,9 @@ public class LoggingEvent implements ILoggingEvent {
         }
 
         if (throwable != null) {
-            this.throwableProxy = new ThrowableProxy(throwable);
+            ThrowableProxyCache throwableProxyCache = loggerContext == null ? null
+                    : loggerContext.getThrowableProxyCache();
+            this.throwableProxy = new ThrowableProxy(throwable, throwableProxyCache);
 
             if (loggerContext != null && loggerContext.isPackagingDataEnabled()) {
                 this.throwableProxy.calculatePackagingData();
@@ -149,6 +185,31 @@ public class LoggingEvent implements ILoggingEvent {
         }
     }
 
+    /**
+     * Reset all fields to their initial values, dropping references to the
+     * arguments, throwable and MDC of the previous event.
+     */
+    void clear() {
+        this.fqnOfLoggerClass = null;
+        this.threadName = null;
+        this.loggerName = null;
+        this.loggerContext = null;
+        this.loggerContextVO = null;
+        this.level = null;
+        this.message = null;
+        this.formattedMessage = null;
+        this.argumentArray = null;
+        this.throwableProxy = null;
+        this.callerDataArray = null;
+        this.markerList = null;
+        this.mdcPropertyMap = null;
+        this.keyValuePairs = null;
+        this.instant = null;
+        this.timeStamp = 0;
+        this.nanoseconds = 0;
+        this.sequenceNumber = 0;
+    }
+
     void initTmestampFields(Instant instant) {
         this.instant = instant;
         long epochSecond = instant.getEpochSecond();
@@ -356,8 +417,8 @@ public class LoggingEvent implements ILoggingEvent {
      */
     public StackTraceElement[] getCallerData() {
         if (callerDataArray == null) {
-            callerDataArray = CallerData.extract(new Throwable(), fqnOfLoggerClass,
-                    loggerContext.getMaxCallerDataDepth(), loggerContext.getFrameworkPackages());
+            callerDataArray = CallerData.extract(fqnOfLoggerClass, loggerContext.getMaxCallerDataDepth(),
+                    loggerContext.getFrameworkPackageMatcher());
         }
         return callerDataArray;
     }
@@ -408,6 +469,8 @@ public class LoggingEvent implements ILoggingEvent {
             MDCAdapter mdc = MDC.getMDCAdapter();
             if (mdc instanceof LogbackMDCAdapter)
                 mdcPropertyMap = ((LogbackMDCAdapter) mdc).getPropertyMap();
+            else if (mdc instanceof LogbackMDCAdapterCopyOnWrite)
+                mdcPropertyMap = ((LogbackMDCAdapterCopyOnWrite) mdc).getPropertyMap();
             else
                 mdcPropertyMap = mdc.getCopyOfContextMap();
         }
@@ -0,0 +1,453 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.classic.spi;
+
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Marker;
+import org.slf4j.event.KeyValuePair;
+import org.slf4j.helpers.BasicMarkerFactory;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.core.net.BinaryEventCodec;
+import ch.qos.logback.core.net.BinaryEventInput;
+import ch.qos.logback.core.net.BinaryEventOutput;
+
+/**
+ * Encodes {@link ILoggingEvent} instances in the
+ * {@link ch.qos.logback.core.net.WireFormat#BINARY binary} wire format and
+ * decodes them as {@link LoggingEventVO} instances.
+ * 
+ * <p>
+ * Logger, thread and class names are interned. Timestamps and sequence numbers
+ * are written as deltas from the previous event, and the logger context is
+ * written only when it differs from that of the previous event. As with Java
+ * serialization of {@link LoggingEventVO}, arguments and key-value pair values
+ * are sent as strings.
+ * 
+ * <p>
+ * Instances are dedicated to a single connection.
+ * 
+ * @since 1.4.2
+ */
+public class LoggingEventBinaryCodec implements BinaryEventCodec<ILoggingEvent> {
+
+    /**
+     * Nesting limit for throwables and markers when decoding.
+     */
+    static final int MAX_DEPTH = 512;
+
+    static final int CONTEXT_NULL = 0;
+    static final int CONTEXT_SAME = 1;
+    static final int CONTEXT_NEW = 2;
+
+    private static final BasicMarkerFactory MARKER_FACTORY = new BasicMarkerFactory();
+
+    private long previousTimestamp;
+    private long previousSequenceNumber;
+    private LoggerContextVO previousLoggerContextVO;
+
+    // encoding state as of markEncoding()
+    private long markedTimestamp;
+    private long markedSequenceNumber;
+    private LoggerContextVO markedLoggerContextVO;
+
+    @Override
+    public void encode(ILoggingEvent event, BinaryEventOutput out) {
+        out.writeInternedString(event.getLoggerName());
+        out.writeInternedString(event.getThreadName());
+        encodeLoggerContextVO(event.getLoggerContextVO(), out);
+        out.writeSignedVarInt(event.getLevel().levelInt);
+        out.writeString(event.getMessage());
+        encodeArguments(event.getArgumentArray(), out);
+
+        long timestamp = event.getTimeStamp();
+        out.writeSignedVarLong(timestamp - previousTimestamp);
+        previousTimestamp = timestamp;
+        out.writeSignedVarInt(event.getNanoseconds());
+        long sequenceNumber = event.getSequenceNumber();
+        out.writeSignedVarLong(sequenceNumber - previousSequenceNumber);
+        previousSequenceNumber = sequenceNumber;
+
+        encodeThrowableProxy(event.getThrowableProxy(), out);
+        // add caller data only if it is there already, as LoggingEventVO does
+        encodeStackTraceElements(event.hasCallerData() ? event.getCallerData() : null, out);
+        encodeMarkers(event.getMarkerList(), out);
+        encodeKeyValuePairs(event.getKeyValuePairs(), out);
+        encodeMap(event.getMDCPropertyMap(), false, out);
+    }
+
+    @Override
+    public void markEncoding() {
+        markedTimestamp = previousTimestamp;
+        markedSequenceNumber = previousSequenceNumber;
+        markedLoggerContextVO = previousLoggerContextVO;
+    }
+
+    @Override
+    public void resetEncoding() {
+        previousTimestamp = markedTimestamp;
+        previousSequenceNumber = markedSequenceNumber;
+        previousLoggerContextVO = markedLoggerContextVO;
+    }
+
+    @Override
+    public ILoggingEvent decode(BinaryEventInput in) throws IOException {
+        LoggingEventVO vo = new LoggingEventVO();
+        vo.loggerName = in.readString();
+        vo.threadName = in.readString();
+        vo.loggerContextVO = decodeLoggerContextVO(in);
+        vo.level = Level.toLevel(in.readSignedVarInt());
+        vo.message = in.readString();
+        vo.argumentArray = decodeArguments(in);
+
+        vo.timestamp = previousTimestamp + in.readSignedVarLong();
+        previousTimestamp = vo.timestamp;
+        vo.nanoseconds = in.readSignedVarInt();
+        vo.sequenceNumber = previousSequenceNumber + in.readSignedVarLong();
+        previousSequenceNumber = vo.sequenceNumber;
+
+        vo.throwableProxy = decodeThrowableProxy(in, 0);
+        vo.callerDataArray = decodeStackTraceElements(in);
+        vo.markerList = decodeMarkers(in);
+        vo.keyValuePairList = decodeKeyValuePairs(in);
+        vo.mdcPropertyMap = decodeMap(in);
+        return vo;
+    }
+
+    // counts are written plus one, zero standing for null
+
+    private void encodeLoggerContextVO(LoggerContextVO lcvo, BinaryEventOutput out) {
+        if (lcvo == null) {
+            out.writeVarInt(CONTEXT_NULL);
+        } else if (lcvo == previousLoggerContextVO) {
+            out.writeVarInt(CONTEXT_SAME);
+        } else {
+            out.writeVarInt(CONTEXT_NEW);
+            out.writeInternedString(lcvo.getName());
+            out.writeSignedVarLong(lcvo.getBirthTime());
+            encodeMap(lcvo.getPropertyMap(), true, out);
+            previousLoggerContextVO = lcvo;
+        }
+    }
+
+    private LoggerContextVO decodeLoggerContextVO(BinaryEventInput in) throws IOException {
+        int tag = in.readVarInt();
+        switch (tag) {
+        case CONTEXT_NULL:
+            return null;
+        case CONTEXT_SAME:
+            if (previousLoggerContextVO == null) {
+                throw new StreamCorruptedException("no previous logger context");
+            }
+            return previousLoggerContextVO;
+        case CONTEXT_NEW:
+            String name = in.readString();
+            long birthTime = in.readSignedVarLong();
+            Map<String, String> propertyMap = decodeMap(in);
+            previousLoggerContextVO = new LoggerContextVO(name, propertyMap, birthTime);
+            return previousLoggerContextVO;
+        default:
+            throw new StreamCorruptedException("invalid logger context tag " + tag);
+        }
+    }
+
+    private void encodeArguments(Object[] argumentArray, BinaryEventOutput out) {
+        if (argumentArray == null) {
+            out.writeVarInt(0);
+            return;
+        }
+        out.writeVarInt(argumentArray.length + 1);
+        for (Object argument : argumentArray) {
+            out.writeString(argument == null ? null : argument.toString());
+        }
+    }
+
+    private Object[] decodeArguments(BinaryEventInput in) throws IOException {
+        int count = in.readCount();
+        if (count == 0) {
+            return null;
+        }
+        String[] argumentArray = new String[count - 1];
+        for (int i = 0; i < argumentArray.length; i++) {
+            argumentArray[i] = in.readString();
+        }
+        return argumentArray;
+    }
+
+    private void encodeThrowableProxy(IThrowableProxy tp, BinaryEventOutput out) {
+        if (tp == null) {
+            out.writeBoolean(false);
+            return;
+        }
+        out.writeBoolean(true);
+        out.writeInternedString(tp.getClassName());
+        out.writeString(tp.getMessage());
+        out.writeVarInt(tp.getCommonFrames());
+        out.writeBoolean(tp.isCyclic());
+
+        StackTraceElementProxy[] stepArray = tp.getStackTraceElementProxyArray();
+        if (stepArray == null) {
+            out.writeVarInt(0);
+        } else {
+            out.writeVarInt(stepArray.length + 1);
+            for (StackTraceElementProxy step : stepArray) {
+                encodeStackTraceElement(step.getStackTraceElement(), out);
+                encodeClassPackagingData(step.getClassPackagingData(), out);
+            }
+        }
+
+        encodeThrowableProxy(tp.getCause(), out);
+        IThrowableProxy[] suppressed = tp.getSuppressed();
+        if (suppressed == null) {
+            out.writeVarInt(0);
+        } else {
+            out.writeVarInt(suppressed.length + 1);
+            for (IThrowableProxy s : suppressed) {
+                encodeThrowableProxy(s, out);
+            }
+        }
+    }
+
+    private ThrowableProxyVO decodeThrowableProxy(BinaryEventInput in, int depth) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        if (depth > MAX_DEPTH) {
+            throw new StreamCorruptedException("throwables nested too deeply");
+        }
+        ThrowableProxyVO tpvo = new ThrowableProxyVO();
+        tpvo.className = in.readString();
+        tpvo.message = in.readString();
+        tpvo.commonFramesCount = in.readVarInt();
+        tpvo.cyclic = in.readBoolean();
+
+        int stepCount = in.readCount();
+        if (stepCount > 0) {
+            StackTraceElementProxy[] stepArray = new StackTraceElementProxy[stepCount - 1];
+            for (int i = 0; i < stepArray.length; i++) {
+                stepArray[i] = new StackTraceElementProxy(decodeStackTraceElement(in));
+                ClassPackagingData cpd = decodeClassPackagingData(in);
+                if (cpd != null) {
+                    stepArray[i].setClassPackagingData(cpd);
+                }
+            }
+            tpvo.stackTraceElementProxyArray = stepArray;
+        }
+
+        tpvo.cause = decodeThrowableProxy(in, depth + 1);
+        int suppressedCount = in.readCount();
+        if (suppressedCount > 0) {
+            IThrowableProxy[] suppressed = new IThrowableProxy[suppressedCount - 1];
+            for (int i = 0; i < suppressed.length; i++) {
+                suppressed[i] = decodeThrowableProxy(in, depth + 1);
+            }
+            tpvo.suppressed = suppressed;
+        }
+        return tpvo;
+    }
+
+    private void encodeClassPackagingData(ClassPackagingData cpd, BinaryEventOutput out) {
+        if (cpd == null) {
+            out.writeBoolean(false);
+            return;
+        }
+        out.writeBoolean(true);
+        out.writeInternedString(cpd.getCodeLocation());
+        out.writeInternedString(cpd.getVersion());
+        out.writeBoolean(cpd.isExact());
+    }
+
+    private ClassPackagingData decodeClassPackagingData(BinaryEventInput in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        String codeLocation = in.readString();
+        String version = in.readString();
+        return new ClassPackagingData(codeLocation, version, in.readBoolean());
+    }
+
+    private void encodeStackTraceElements(StackTraceElement[] steArray, BinaryEventOutput out) {
+        if (steArray == null) {
+            out.writeVarInt(0);
+            return;
+        }
+        out.writeVarInt(steArray.length + 1);
+        for (StackTraceElement ste : steArray) {
+            encodeStackTraceElement(ste, out);
+        }
+    }
+
+    private StackTraceElement[] decodeStackTraceElements(BinaryEventInput in) throws IOException {
+        int count = in.readCount();
+        if (count == 0) {
+            return null;
+        }
+        StackTraceElement[] steArray = new StackTraceElement[count - 1];
+        for (int i = 0; i < steArray.length; i++) {
+            steArray[i] = decodeStackTraceElement(in);
+        }
+        return steArray;
+    }
+
+    private void encodeStackTraceElement(StackTraceElement ste, BinaryEventOutput out) {
+        // The JDK omits the names of built-in class loaders and the versions of
+        // JDK modules when printing elements it created. Send only what is
+        // printed so that the decoded element prints the same.
+        String classLoaderName = ste.getClassLoaderName();
+        String moduleVersion = ste.getModuleVersion();
+        if (classLoaderName != null || moduleVersion != null) {
+            String s = ste.toString();
+            if (classLoaderName != null && !s.startsWith(classLoaderName + "/")) {
+                classLoaderName = null;
+            }
+            if (moduleVersion != null && !s.contains("@" + moduleVersion + "/")) {
+                moduleVersion = null;
+            }
+        }
+        out.writeInternedString(classLoaderName);
+        out.writeInternedString(ste.getModuleName());
+        out.writeInternedString(moduleVersion);
+        out.writeInternedString(ste.getClassName());
+        out.writeInternedString(ste.getMethodName());
+        out.writeInternedString(ste.getFileName());
+        out.writeSignedVarInt(ste.getLineNumber());
+    }
+
+    private StackTraceElement decodeStackTraceElement(BinaryEventInput in) throws IOException {
+        String classLoaderName = in.readString();
+        String moduleName = in.readString();
+        String moduleVersion = in.readString();
+        String declaringClass = in.readString();
+        String methodName = in.readString();
+        String fileName = in.readString();
+        int lineNumber = in.readSignedVarInt();
+        if (declaringClass == null || methodName == null) {
+            throw new StreamCorruptedException("incomplete stack trace element");
+        }
+        return new StackTraceElement(classLoaderName, moduleName, moduleVersion, declaringClass, methodName,
+                fileName, lineNumber);
+    }
+
+    private void encodeMarkers(List<Marker> markerList, BinaryEventOutput out) {
+        if (markerList == null) {
+            out.writeVarInt(0);
+            return;
+        }
+        out.writeVarInt(markerList.size() + 1);
+        for (Marker marker : markerList) {
+            encodeMarker(marker, out);
+        }
+    }
+
+    private void encodeMarker(Marker marker, BinaryEventOutput out) {
+        out.writeInternedString(marker.getName());
+        int referenceCount = 0;
+        for (Iterator<Marker> it = marker.iterator(); it.hasNext(); it.next()) {
+            referenceCount++;
+        }
+        out.writeVarInt(referenceCount);
+        for (Iterator<Marker> it = marker.iterator(); it.hasNext();) {
+            encodeMarker(it.next(), out);
+        }
+    }
+
+    private List<Marker> decodeMarkers(BinaryEventInput in) throws IOException {
+        int count = in.readCount();
+        if (count == 0) {
+            return null;
+        }
+        List<Marker> markerList = new ArrayList<Marker>(count - 1);
+        for (int i = 0; i < count - 1; i++) {
+            markerList.add(decodeMarker(in, 0));
+        }
+        return markerList;
+    }
+
+    private Marker decodeMarker(BinaryEventInput in, int depth) throws IOException {
+        if (depth > MAX_DEPTH) {
+            throw new StreamCorruptedException("markers nested too deeply");
+        }
+        String name = in.readString();
+        if (name == null) {
+            throw new StreamCorruptedException("marker without name");
+        }
+        Marker marker = MARKER_FACTORY.getDetachedMarker(name);
+        int referenceCount = in.readCount();
+        for (int i = 0; i < referenceCount; i++) {
+            marker.add(decodeMarker(in, depth + 1));
+        }
+        return marker;
+    }
+
+    private void encodeKeyValuePairs(List<KeyValuePair> keyValuePairList, BinaryEventOutput out) {
+        if (keyValuePairList == null) {
+            out.writeVarInt(0);
+            return;
+        }
+        out.writeVarInt(keyValuePairList.size() + 1);
+        for (KeyValuePair kvp : keyValuePairList) {
+            out.writeInternedString(kvp.key);
+            out.writeString(kvp.value == null ? null : kvp.value.toString());
+        }
+    }
+
+    private List<KeyValuePair> decodeKeyValuePairs(BinaryEventInput in) throws IOException {
+        int count = in.readCount();
+        if (count == 0) {
+            return null;
+        }
+        List<KeyValuePair> keyValuePairList = new ArrayList<KeyValuePair>(count - 1);
+        for (int i = 0; i < count - 1; i++) {
+            String key = in.readString();
+            keyValuePairList.add(new KeyValuePair(key, in.readString()));
+        }
+        return keyValuePairList;
+    }
+
+    private void encodeMap(Map<String, String> map, boolean internValues, BinaryEventOutput out) {
+        if (map == null) {
+            out.writeVarInt(0);
+            return;
+        }
+        out.writeVarInt(map.size() + 1);
+        for (Map.Entry<String, String> entry : map.entrySet()) {
+            out.writeInternedString(entry.getKey());
+            if (internValues) {
+                out.writeInternedString(entry.getValue());
+            } else {
+                out.writeString(entry.getValue());
+            }
+        }
+    }
+
+    private Map<String, String> decodeMap(BinaryEventInput in) throws IOException {
+        int count = in.readCount();
+        if (count == 0) {
+            return null;
+        }
+        Map<String, String> map = new HashMap<String, String>();
+        for (int i = 0; i < count - 1; i++) {
+            String key = in.readString();
+            map.put(key, in.readString());
+        }
+        return map;
+    }
+}
@@ -42,30 +42,31 @@ public class LoggingEventVO implements ILoggingEvent, Serializable {
     private static final int NULL_ARGUMENT_ARRAY = -1;
     private static final String NULL_ARGUMENT_ARRAY_ELEMENT = "NULL_ARGUMENT_ARRAY_ELEMENT";
 
-    private String threadName;
-    private String loggerName;
-    private LoggerContextVO loggerContextVO;
+    // fields are package-private for LoggingEventBinaryCodec
+    String threadName;
+    String loggerName;
+    LoggerContextVO loggerContextVO;
 
-    private transient Level level;
-    private String message;
+    transient Level level;
+    String message;
 
     // we gain significant space at serialization time by marking
     // formattedMessage as transient and constructing it lazily in
     // getFormattedMessage()
     private transient String formattedMessage;
 
-    private transient Object[] argumentArray;
+    transient Object[] argumentArray;
 
-    private ThrowableProxyVO throwableProxy;
-    private StackTraceElement[] callerDataArray;
-    private List<Marker> markerList;
-    private List<KeyValuePair> keyValuePairList;
-    private Map<String, String> mdcPropertyMap;
+    ThrowableProxyVO throwableProxy;
+    StackTraceElement[] callerDataArray;
+    List<Marker> markerList;
+    List<KeyValuePair> keyValuePairList;
+    Map<String, String> mdcPropertyMap;
 
-    private long timestamp;
-    private int nanoseconds;
+    long timestamp;
+    int nanoseconds;
 
-    private long sequenceNumber;
+    long sequenceNumber;
 
     public static LoggingEventVO build(ILoggingEvent le) {
         LoggingEventVO ledo = new LoggingEventVO();
@@ -15,11 +15,7 @@ package ch.qos.logback.classic.spi;
 
 import java.net.URL;
 import java.security.CodeSource;
-import java.util.HashMap;
 
-//import sun.reflect.Reflection;
-
-// import java.security.AccessControlException; import java.security.AccessController;import java.security.PrivilegedAction;
 /**
  * Given a classname locate associated PackageInfo (jar name, version name).
  *
@@ -30,120 +26,76 @@ public class PackagingDataCalculator {
 
     final static StackTraceElementProxy[] STEP_ARRAY_TEMPLATE = new StackTraceElementProxy[0];
 
-    HashMap<String, ClassPackagingData> cache = new HashMap<String, ClassPackagingData>();
-
-    private static boolean GET_CALLER_CLASS_METHOD_AVAILABLE = false; // private static boolean
-                                                                      // HAS_GET_CLASS_LOADER_PERMISSION = false;
-
-    static {
-        // if either the Reflection class or the getCallerClass method
-        // are unavailable, then we won't invoke Reflection.getCallerClass()
-        // This approach ensures that this class will *run* on JDK's lacking
-        // sun.reflect.Reflection class. However, this class will *not compile*
-        // on JDKs lacking sun.reflect.Reflection.
-        try {
-            // Reflection.getCallerClass(2);
-            // GET_CALLER_CLASS_METHOD_AVAILABLE = true;
-        } catch (NoClassDefFoundError e) {
-        } catch (NoSuchMethodError e) {
-        } catch (UnsupportedOperationException e) {
-        } catch (Throwable e) {
-            System.err.println("Unexpected exception");
-            e.printStackTrace();
-        }
-    }
+    static final ClassPackagingDataCache CACHE = new ClassPackagingDataCache();
 
     public void calculate(IThrowableProxy tp) {
         while (tp != null) {
-            populateFrames(tp.getStackTraceElementProxyArray());
+            populateFramesOnce(tp.getStackTraceElementProxyArray());
             IThrowableProxy[] suppressed = tp.getSuppressed();
             if (suppressed != null) {
                 for (IThrowableProxy current : suppressed) {
-                    populateFrames(current.getStackTraceElementProxyArray());
+                    populateFramesOnce(current.getStackTraceElementProxyArray());
                 }
             }
             tp = tp.getCause();
         }
     }
 
-    @SuppressWarnings("unused")
-    void populateFrames(StackTraceElementProxy[] stepArray) {
-        // in the initial part of this method we populate package information for
-        // common stack frames
-        final Throwable t = new Throwable("local stack reference");
-        final StackTraceElement[] localSTEArray = t.getStackTrace();
-        final int commonFrames = STEUtil.findNumberOfCommonFrames(localSTEArray, stepArray);
-        final int localFirstCommon = localSTEArray.length - commonFrames;
-        final int stepFirstCommon = stepArray.length - commonFrames;
-
-        ClassLoader lastExactClassLoader = null;
-        ClassLoader firsExactClassLoader = null;
-
-        int missfireCount = 0;
-        for (int i = 0; i < commonFrames; i++) {
-            Class<?> callerClass = null;
-            if (GET_CALLER_CLASS_METHOD_AVAILABLE) {
-                // callerClass = Reflection.getCallerClass(localFirstCommon + i - missfireCount
-                // + 1);
-            }
-            StackTraceElementProxy step = stepArray[stepFirstCommon + i];
-            String stepClassname = step.ste.getClassName();
-
-            if (callerClass != null && stepClassname.equals(callerClass.getName())) {
-                // see also LBCLASSIC-263
-                lastExactClassLoader = callerClass.getClassLoader();
-                if (firsExactClassLoader == null) {
-                    firsExactClassLoader = lastExactClassLoader;
-                }
-                ClassPackagingData pi = calculateByExactType(callerClass);
-                step.setClassPackagingData(pi);
-            } else {
-                missfireCount++;
-                ClassPackagingData pi = computeBySTEP(step, lastExactClassLoader);
-                step.setClassPackagingData(pi);
+    /**
+     * Arrays of frames may be shared between proxies, see
+     * {@link ThrowableProxyCache}, in which case they are populated only once.
+     */
+    void populateFramesOnce(StackTraceElementProxy[] stepArray) {
+        if (stepArray == null) {
+            return;
+        }
+        synchronized (stepArray) {
+            if (stepArray.length == 0 || stepArray[0].getClassPackagingData() != null) {
+                return;
             }
+            populateFrames(stepArray);
         }
-        populateUncommonFrames(commonFrames, stepArray, firsExactClassLoader);
     }
 
-    void populateUncommonFrames(int commonFrames, StackTraceElementProxy[] stepArray,
-            ClassLoader firstExactClassLoader) {
-        int uncommonFrames = stepArray.length - commonFrames;
-        for (int i = 0; i < uncommonFrames; i++) {
-            StackTraceElementProxy step = stepArray[i];
-            ClassPackagingData pi = computeBySTEP(step, firstExactClassLoader);
-            step.setClassPackagingData(pi);
+    void populateFrames(StackTraceElementProxy[] stepArray) {
+        for (StackTraceElementProxy step : stepArray) {
+            step.setClassPackagingData(computeBySTEP(step));
         }
     }
 
-    private ClassPackagingData calculateByExactType(Class<?> type) {
-        String className = type.getName();
-        ClassPackagingData cpd = cache.get(className);
-        if (cpd != null) {
-            return cpd;
+    /**
+     * Looks the class up through the thread context class loader first, then
+     * through the class loader of logback. The packaging data is cached under the
+     * class loader which resolved the class.
+     */
+    private ClassPackagingData computeBySTEP(StackTraceElementProxy step) {
+        String className = step.ste.getClassName();
+        ClassLoader tccl = Thread.currentThread().getContextClassLoader();
+        ClassPackagingData cpd = ClassPackagingDataCache.NA_INEXACT;
+        if (tccl != null) {
+            cpd = lookup(tccl, className);
+        }
+        ClassLoader ownClassLoader = PackagingDataCalculator.class.getClassLoader();
+        if (cpd == ClassPackagingDataCache.NA_INEXACT && ownClassLoader != tccl) {
+            cpd = lookup(ownClassLoader, className);
         }
-        String version = getImplementationVersion(type);
-        String codeLocation = getCodeLocation(type);
-        cpd = new ClassPackagingData(codeLocation, version);
-        cache.put(className, cpd);
         return cpd;
     }
 
-    private ClassPackagingData computeBySTEP(StackTraceElementProxy step, ClassLoader lastExactClassLoader) {
-        String className = step.ste.getClassName();
-        ClassPackagingData cpd = cache.get(className);
+    /**
+     * Returns the packaging data of the named class as loaded by the given class
+     * loader, {@link ClassPackagingDataCache#NA_INEXACT} if the class loader
+     * cannot load it.
+     */
+    private ClassPackagingData lookup(ClassLoader classLoader, String className) {
+        ClassPackagingData cpd = CACHE.get(classLoader, className);
         if (cpd != null) {
             return cpd;
         }
-        Class<?> type = bestEffortLoadClass(lastExactClassLoader, className);
-        String version = getImplementationVersion(type);
-        String codeLocation = getCodeLocation(type);
-        cpd = new ClassPackagingData(codeLocation, version, false);
-        cache.put(className, cpd);
-        return cpd;
+        return CACHE.put(classLoader, className, loadClass(classLoader, className));
     }
 
-    String getImplementationVersion(Class<?> type) {
+    static String getImplementationVersion(Class<?> type) {
         if (type == null) {
             return "na";
         }
@@ -160,7 +112,7 @@ public class PackagingDataCalculator {
 
     }
 
-    String getCodeLocation(Class<?> type) {
+    static String getCodeLocation(Class<?> type) {
         try {
             if (type != null) {
                 // file:/C:/java/maven-2.0.8/repo/com/icegreen/greenmail/1.3/greenmail-1.3.jar
@@ -184,7 +136,7 @@ public class PackagingDataCalculator {
         return "na";
     }
 
-    private String getCodeLocation(String locationStr, char separator) {
+    private static String getCodeLocation(String locationStr, char separator) {
         int idx = locationStr.lastIndexOf(separator);
         if (isFolder(idx, locationStr)) {
             idx = locationStr.lastIndexOf(separator, idx - 1);
@@ -195,16 +147,14 @@ public class PackagingDataCalculator {
         return null;
     }
 
-    private boolean isFolder(int idx, String text) {
+    private static boolean isFolder(int idx, String text) {
         return (idx != -1 && idx + 1 == text.length());
     }
 
     private Class<?> loadClass(ClassLoader cl, String className) {
-        if (cl == null) {
-            return null;
-        }
         try {
-            return cl.loadClass(className);
+            // the bootstrap class loader is represented by null
+            return Class.forName(className, false, cl);
         } catch (ClassNotFoundException e1) {
             return null;
         } catch (NoClassDefFoundError e1) {
@@ -213,37 +163,5 @@ public class PackagingDataCalculator {
             e.printStackTrace(); // this is unexpected
             return null;
         }
-
     }
-
-    /**
-     * @param lastGuaranteedClassLoader may be null
-     * @param className
-     * @return
-     */
-    private Class<?> bestEffortLoadClass(ClassLoader lastGuaranteedClassLoader, String className) {
-        Class<?> result = loadClass(lastGuaranteedClassLoader, className);
-        if (result != null) {
-            return result;
-        }
-        ClassLoader tccl = Thread.currentThread().getContextClassLoader();
-        if (tccl != lastGuaranteedClassLoader) {
-            result = loadClass(tccl, className);
-        }
-        if (result != null) {
-            return result;
-        }
-
-        try {
-            return Class.forName(className);
-        } catch (ClassNotFoundException e1) {
-            return null;
-        } catch (NoClassDefFoundError e1) {
-            return null;
-        } catch (Exception e) {
-            e.printStackTrace(); // this is unexpected
-            return null;
-        }
-    }
-
 }
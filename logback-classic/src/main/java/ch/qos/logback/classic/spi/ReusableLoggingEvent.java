@@ -0,0 +1,99 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.classic.spi;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.core.spi.ReusableEvent;
+
+/**
+ * A {@link LoggingEvent} which is reused, one instance per thread, when the
+ * logger context has {@link ch.qos.logback.classic.LoggerContext#isReusableEventsEnabled()
+ * reusable events} enabled. The instance also holds the argument arrays for
+ * one and two argument logging calls.
+ *
+ * <p>
+ * An instance is only valid during the call to the appenders. Appenders which
+ * retain events must retain a {@link #snapshot()} instead, see
+ * {@link ReusableEvent#snapshotIfReusable(Object)}.
+ *
+ * @since 1.4.2
+ */
+public class ReusableLoggingEvent extends LoggingEvent implements ReusableEvent<ILoggingEvent> {
+
+    private static final ThreadLocal<ReusableLoggingEvent> THREAD_LOCAL_EVENT = ThreadLocal
+            .withInitial(ReusableLoggingEvent::new);
+
+    private boolean inUse = false;
+    private final Object[] oneArgument = new Object[1];
+    private final Object[] twoArguments = new Object[2];
+
+    ReusableLoggingEvent() {
+    }
+
+    /**
+     * Return the instance of the calling thread, or null if that instance is
+     * already in use, e.g. when an appender logs while handling an event.
+     * Instances obtained by this method must be handed back with
+     * {@link #release()}.
+     */
+    public static ReusableLoggingEvent acquire() {
+        ReusableLoggingEvent event = THREAD_LOCAL_EVENT.get();
+        if (event.inUse) {
+            return null;
+        }
+        event.inUse = true;
+        return event;
+    }
+
+    public Object[] argumentHolder(Object arg) {
+        oneArgument[0] = arg;
+        return oneArgument;
+    }
+
+    public Object[] argumentHolder(Object arg1, Object arg2) {
+        twoArguments[0] = arg1;
+        twoArguments[1] = arg2;
+        return twoArguments;
+    }
+
+    /**
+     * Initialize this instance as would
+     * {@link LoggingEvent#LoggingEvent(String, Logger, Level, String, Throwable, Object[])}.
+     */
+    public void init(String fqcn, Logger logger, Level level, String message, Throwable throwable,
+            Object[] argArray) {
+        initialize(fqcn, logger, level, message, throwable, argArray);
+    }
+
+    /**
+     * Clear this instance and make it available to the next logging call of the
+     * thread.
+     */
+    public void release() {
+        clear();
+        oneArgument[0] = null;
+        twoArguments[0] = null;
+        twoArguments[1] = null;
+        inUse = false;
+    }
+
+    /**
+     * Return a plain {@link LoggingEvent} copy of this event.
+     */
+    @Override
+    public ILoggingEvent snapshot() {
+        return new LoggingEvent(this);
+    }
+}
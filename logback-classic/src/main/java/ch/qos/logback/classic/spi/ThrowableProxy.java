@@ -46,8 +46,20 @@ public class ThrowableProxy implements IThrowableProxy {
     private static final ThrowableProxy[] NO_SUPPRESSED = new ThrowableProxy[0];
 
     public ThrowableProxy(Throwable throwable) {
+        this(throwable, (ThrowableProxyCache) null);
+    }
+
+    /**
+     * Build a proxy whose arrays of frames are obtained from the given cache, and
+     * thus shared with other proxies built from the same cache.
+     *
+     * @param throwable
+     * @param cache     may be null in which case no caching takes place
+     * @since 1.4.2
+     */
+    public ThrowableProxy(Throwable throwable, ThrowableProxyCache cache) {
         // use an identity set to detect cycles in the throwable chain
-        this(throwable, Collections.newSetFromMap(new IdentityHashMap<>()));
+        this(throwable, Collections.newSetFromMap(new IdentityHashMap<>()), cache, null);
     }
 
     // used for circular exceptions
@@ -60,11 +72,32 @@ public class ThrowableProxy implements IThrowableProxy {
     }
 
     public ThrowableProxy(Throwable throwable, Set<Throwable> alreadyProcessedSet) {
+        this(throwable, alreadyProcessedSet, null, null);
+    }
+
+    /**
+     * @param enclosingSTEPArray frames of the enclosing throwable, null for the
+     *                           top-level throwable
+     */
+    private ThrowableProxy(Throwable throwable, Set<Throwable> alreadyProcessedSet, ThrowableProxyCache cache,
+            StackTraceElementProxy[] enclosingSTEPArray) {
 
         this.throwable = throwable;
         this.className = throwable.getClass().getName();
         this.message = throwable.getMessage();
-        this.stackTraceElementProxyArray = ThrowableProxyUtil.steArrayToStepArray(throwable.getStackTrace());
+        StackTraceElement[] steArray = throwable.getStackTrace();
+        if (cache == null || steArray == null) {
+            this.stackTraceElementProxyArray = ThrowableProxyUtil.steArrayToStepArray(steArray);
+            if (enclosingSTEPArray != null) {
+                this.commonFrames = ThrowableProxyUtil.findNumberOfCommonFrames(steArray, enclosingSTEPArray);
+            }
+        } else {
+            ThrowableProxyCache.Entry entry = cache.lookup(steArray);
+            this.stackTraceElementProxyArray = entry.stepArray;
+            if (enclosingSTEPArray != null) {
+                this.commonFrames = entry.findNumberOfCommonFrames(enclosingSTEPArray);
+            }
+        }
         this.circular = false;
 
         alreadyProcessedSet.add(throwable);
@@ -74,9 +107,7 @@ public class ThrowableProxy implements IThrowableProxy {
             if (alreadyProcessedSet.contains(nested)) {
                 this.cause = new ThrowableProxy(nested, true);
             } else {
-                this.cause = new ThrowableProxy(nested, alreadyProcessedSet);
-                this.cause.commonFrames = ThrowableProxyUtil.findNumberOfCommonFrames(nested.getStackTrace(),
-                        stackTraceElementProxyArray);
+                this.cause = new ThrowableProxy(nested, alreadyProcessedSet, cache, stackTraceElementProxyArray);
             }
         }
 
@@ -90,8 +121,7 @@ public class ThrowableProxy implements IThrowableProxy {
                     ThrowableProxy throwableProxy = new ThrowableProxy(sup, true);
                     suppressedList.add(throwableProxy);
                 } else {
-                    ThrowableProxy throwableProxy = new ThrowableProxy(sup, alreadyProcessedSet);
-                    throwableProxy.commonFrames = ThrowableProxyUtil.findNumberOfCommonFrames(sup.getStackTrace(),
+                    ThrowableProxy throwableProxy = new ThrowableProxy(sup, alreadyProcessedSet, cache,
                             stackTraceElementProxyArray);
                     suppressedList.add(throwableProxy);
                 }
@@ -0,0 +1,163 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.classic.spi;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded, concurrent cache of {@link StackTraceElementProxy} arrays keyed on
+ * the stack trace they were built from.
+ *
+ * <p>
+ * When the same exception is logged repeatedly, as is common during outages,
+ * all {@link ThrowableProxy} instances built with the same cache share a single
+ * array of proxies per distinct stack trace. The text of each frame, see
+ * {@link StackTraceElementProxy#getSTEAsString()}, is therefore rendered once.
+ * The number of frames a cause has in common with its enclosing throwable is
+ * memoized as well.
+ *
+ * <p>
+ * Shared arrays must be treated as immutable. When the cache is full, an
+ * arbitrary entry is evicted to make room for a new one.
+ *
+ * @since 1.4.2
+ */
+public class ThrowableProxyCache {
+
+    public static final int DEFAULT_MAX_ENTRIES = 256;
+
+    final ConcurrentHashMap<StackKey, Entry> map = new ConcurrentHashMap<>();
+    final int maxEntries;
+    final LongAdder hitCount = new LongAdder();
+    final LongAdder missCount = new LongAdder();
+
+    public ThrowableProxyCache() {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    public ThrowableProxyCache(int maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries must be positive, was " + maxEntries);
+        }
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * The stack trace, i.e. the fingerprint of a throwable. The hash code is
+     * computed once as it is used for each lookup.
+     */
+    static final class StackKey {
+        final StackTraceElement[] steArray;
+        final int hash;
+
+        StackKey(StackTraceElement[] steArray) {
+            this.steArray = steArray;
+            this.hash = Arrays.hashCode(steArray);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj)
+                return true;
+            if (!(obj instanceof StackKey))
+                return false;
+            StackKey other = (StackKey) obj;
+            return hash == other.hash && Arrays.equals(steArray, other.steArray);
+        }
+    }
+
+    static final class Entry {
+        final StackTraceElement[] steArray;
+        final StackTraceElementProxy[] stepArray;
+        // the enclosing array last seen along with its number of common frames
+        volatile CommonFrames lastCommonFrames;
+
+        Entry(StackTraceElement[] steArray) {
+            this.steArray = steArray;
+            this.stepArray = ThrowableProxyUtil.steArrayToStepArray(steArray);
+        }
+
+        int findNumberOfCommonFrames(StackTraceElementProxy[] enclosingStepArray) {
+            CommonFrames memo = lastCommonFrames;
+            if (memo != null && memo.enclosingStepArray == enclosingStepArray) {
+                return memo.count;
+            }
+            int count = ThrowableProxyUtil.findNumberOfCommonFrames(steArray, enclosingStepArray);
+            lastCommonFrames = new CommonFrames(enclosingStepArray, count);
+            return count;
+        }
+    }
+
+    static final class CommonFrames {
+        final StackTraceElementProxy[] enclosingStepArray;
+        final int count;
+
+        CommonFrames(StackTraceElementProxy[] enclosingStepArray, int count) {
+            this.enclosingStepArray = enclosingStepArray;
+            this.count = count;
+        }
+    }
+
+    Entry lookup(StackTraceElement[] steArray) {
+        StackKey key = new StackKey(steArray);
+        Entry entry = map.get(key);
+        if (entry != null) {
+            hitCount.increment();
+            return entry;
+        }
+        missCount.increment();
+        if (map.size() >= maxEntries) {
+            evictOne();
+        }
+        Entry newEntry = new Entry(steArray);
+        entry = map.putIfAbsent(key, newEntry);
+        return entry == null ? newEntry : entry;
+    }
+
+    private void evictOne() {
+        Iterator<StackKey> it = map.keySet().iterator();
+        if (it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public int size() {
+        return map.size();
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public void clear() {
+        map.clear();
+    }
+}
@@ -13,7 +13,11 @@
  */
 package ch.qos.logback.classic.spi;
 
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
 
 import org.slf4j.Marker;
 
@@ -25,12 +29,22 @@ import ch.qos.logback.core.spi.FilterReply;
 /**
  * Implementation of TurboFilterAttachable.
  * 
+ * <p>
+ * Each modification of the list compiles its filters, along with their
+ * declarations (see {@link TurboFilter#isMarkerRequired()},
+ * {@link TurboFilter#getMinimumLevel()} and
+ * {@link TurboFilter#isParametersRequired()}), into an immutable chain. The
+ * chain is evaluated without allocating and is skipped altogether for requests
+ * none of the filters is interested in.
+ * 
  * @author Ceki G&uuml;lc&uuml;
  */
 final public class TurboFilterList extends CopyOnWriteArrayList<TurboFilter> {
 
     private static final long serialVersionUID = 1L;
 
+    private transient volatile Chain chain = Chain.EMPTY;
+
     /**
      * Loop through the filters in the chain. As soon as a filter decides on ACCEPT
      * or DENY, then that value is returned. If all of the filters return NEUTRAL,
@@ -38,43 +52,234 @@ final public class TurboFilterList extends CopyOnWriteArrayList<TurboFilter> {
      */
     public FilterReply getTurboFilterChainDecision(final Marker marker, final Logger logger, final Level level,
             final String format, final Object[] params, final Throwable t) {
+        final Chain c = chain;
+        if (c.isNeutralFor(marker, level)) {
+            return FilterReply.NEUTRAL;
+        }
+        return c.decide(marker, logger, level, format, params, t);
+    }
 
-        final int size = size();
-        // if (size == 0) {
-        // return FilterReply.NEUTRAL;
-        // }
-        if (size == 1) {
-            try {
-                TurboFilter tf = get(0);
-                return tf.decide(marker, logger, level, format, params, t);
-            } catch (IndexOutOfBoundsException iobe) {
-                return FilterReply.NEUTRAL;
-            }
+    /**
+     * Same as {@link #getTurboFilterChainDecision} for a request with a single
+     * parameter. The parameter array is created only if one of the filters
+     * requires it.
+     * 
+     * @since 1.4.2
+     */
+    public FilterReply getTurboFilterChainDecision_1(final Marker marker, final Logger logger, final Level level,
+            final String format, final Object param, final Throwable t) {
+        final Chain c = chain;
+        if (c.isNeutralFor(marker, level)) {
+            return FilterReply.NEUTRAL;
+        }
+        final Object[] params = c.parametersRequired ? new Object[] { param } : null;
+        return c.decide(marker, logger, level, format, params, t);
+    }
+
+    /**
+     * Same as {@link #getTurboFilterChainDecision} for a request with two
+     * parameters. The parameter array is created only if one of the filters
+     * requires it.
+     * 
+     * @since 1.4.2
+     */
+    public FilterReply getTurboFilterChainDecision_2(final Marker marker, final Logger logger, final Level level,
+            final String format, final Object param1, final Object param2, final Throwable t) {
+        final Chain c = chain;
+        if (c.isNeutralFor(marker, level)) {
+            return FilterReply.NEUTRAL;
         }
+        final Object[] params = c.parametersRequired ? new Object[] { param1, param2 } : null;
+        return c.decide(marker, logger, level, format, params, t);
+    }
 
-        Object[] tfa = toArray();
-        final int len = tfa.length;
-        for (int i = 0; i < len; i++) {
-            // for (TurboFilter tf : this) {
-            final TurboFilter tf = (TurboFilter) tfa[i];
-            final FilterReply r = tf.decide(marker, logger, level, format, params, t);
-            if (r == FilterReply.DENY || r == FilterReply.ACCEPT) {
-                return r;
-            }
+    /**
+     * Compile the chain anew. Modifications made through the methods of this list
+     * do so automatically. This method needs to be invoked only if the
+     * declarations of a filter already in the list have changed, or if the list
+     * was modified through a {@link #subList(int, int) sub list}.
+     * 
+     * @since 1.4.2
+     */
+    public void recompile() {
+        // the snapshot is read under the lock so that the last compilation to
+        // complete reflects the last modification
+        synchronized (this) {
+            Object[] snapshot = toArray();
+            chain = snapshot.length == 0 ? Chain.EMPTY : new Chain(snapshot);
         }
-        return FilterReply.NEUTRAL;
     }
 
-    // public boolean remove(TurboFilter turboFilter) {
-    // return tfList.remove(turboFilter);
-    // }
-    //
-    // public TurboFilter remove(int index) {
-    // return tfList.remove(index);
-    // }
-    //
-    // final public int size() {
-    // return tfList.size();
-    // }
+    @Override
+    public boolean add(TurboFilter e) {
+        boolean result = super.add(e);
+        recompile();
+        return result;
+    }
+
+    @Override
+    public void add(int index, TurboFilter element) {
+        super.add(index, element);
+        recompile();
+    }
+
+    @Override
+    public boolean addIfAbsent(TurboFilter e) {
+        boolean result = super.addIfAbsent(e);
+        recompile();
+        return result;
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends TurboFilter> c) {
+        boolean result = super.addAll(c);
+        recompile();
+        return result;
+    }
+
+    @Override
+    public boolean addAll(int index, Collection<? extends TurboFilter> c) {
+        boolean result = super.addAll(index, c);
+        recompile();
+        return result;
+    }
+
+    @Override
+    public int addAllAbsent(Collection<? extends TurboFilter> c) {
+        int result = super.addAllAbsent(c);
+        recompile();
+        return result;
+    }
+
+    @Override
+    public TurboFilter set(int index, TurboFilter element) {
+        TurboFilter result = super.set(index, element);
+        recompile();
+        return result;
+    }
+
+    @Override
+    public TurboFilter remove(int index) {
+        TurboFilter result = super.remove(index);
+        recompile();
+        return result;
+    }
 
+    @Override
+    public boolean remove(Object o) {
+        boolean result = super.remove(o);
+        recompile();
+        return result;
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        boolean result = super.removeAll(c);
+        recompile();
+        return result;
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        boolean result = super.retainAll(c);
+        recompile();
+        return result;
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super TurboFilter> filter) {
+        boolean result = super.removeIf(filter);
+        recompile();
+        return result;
+    }
+
+    @Override
+    public void replaceAll(UnaryOperator<TurboFilter> operator) {
+        super.replaceAll(operator);
+        recompile();
+    }
+
+    @Override
+    public void sort(Comparator<? super TurboFilter> c) {
+        super.sort(c);
+        recompile();
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        recompile();
+    }
+
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        recompile();
+    }
+
+    /**
+     * Immutable snapshot of the filters along with their declarations.
+     */
+    static final class Chain {
+
+        static final Chain EMPTY = new Chain(new Object[0]);
+
+        final TurboFilter[] filters;
+        final boolean[] markerRequired;
+        final int[] minimumLevelInt;
+
+        // chain-wide declarations
+        final boolean allRequireMarker;
+        final int lowestLevelInt;
+        final boolean parametersRequired;
+
+        Chain(Object[] snapshot) {
+            final int len = snapshot.length;
+            filters = new TurboFilter[len];
+            markerRequired = new boolean[len];
+            minimumLevelInt = new int[len];
+
+            boolean allRequire = true;
+            int lowest = Integer.MAX_VALUE;
+            boolean anyParameters = false;
+            for (int i = 0; i < len; i++) {
+                TurboFilter tf = (TurboFilter) snapshot[i];
+                filters[i] = tf;
+                markerRequired[i] = tf.isMarkerRequired();
+                Level minimumLevel = tf.getMinimumLevel();
+                minimumLevelInt[i] = minimumLevel == null ? Level.ALL_INT : minimumLevel.levelInt;
+
+                allRequire &= markerRequired[i];
+                lowest = Math.min(lowest, minimumLevelInt[i]);
+                anyParameters |= tf.isParametersRequired();
+            }
+            allRequireMarker = allRequire;
+            lowestLevelInt = lowest;
+            parametersRequired = anyParameters;
+        }
+
+        /**
+         * Whether no filter of this chain can decide anything else than NEUTRAL for a
+         * request with the given marker and level. This is the case of the empty
+         * chain.
+         */
+        boolean isNeutralFor(final Marker marker, final Level level) {
+            return (marker == null && allRequireMarker) || level.levelInt < lowestLevelInt;
+        }
+
+        FilterReply decide(final Marker marker, final Logger logger, final Level level, final String format,
+                final Object[] params, final Throwable t) {
+            final TurboFilter[] tfa = filters;
+            final int levelInt = level.levelInt;
+            for (int i = 0; i < tfa.length; i++) {
+                if ((marker == null && markerRequired[i]) || levelInt < minimumLevelInt[i]) {
+                    continue;
+                }
+                final FilterReply r = tfa[i].decide(marker, logger, level, format, params, t);
+                if (r == FilterReply.DENY || r == FilterReply.ACCEPT) {
+                    return r;
+                }
+            }
+            return FilterReply.NEUTRAL;
+        }
+    }
 }
@@ -87,4 +87,9 @@ public class DuplicateMessageFilter extends TurboFilter {
         this.cacheSize = cacheSize;
     }
 
+    @Override
+    public boolean isParametersRequired() {
+        // subclasses may read the parameters
+        return getClass() != DuplicateMessageFilter.class;
+    }
 }
@@ -256,4 +256,10 @@ public class DynamicThresholdFilter extends TurboFilter {
             return onLower;
         }
     }
+
+    @Override
+    public boolean isParametersRequired() {
+        // subclasses may read the parameters
+        return getClass() != DynamicThresholdFilter.class;
+    }
 }
@@ -13,55 +13,152 @@
  */
 package ch.qos.logback.classic.turbo;
 
-import java.util.LinkedHashMap;
-import java.util.Map;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * Clients of this class should only use the
- * {@link #getMessageCountAndThenIncrement} method. Other methods inherited via
- * LinkedHashMap are not thread safe.
+ * A bounded, concurrent cache counting the occurrences of messages, used by
+ * {@link DuplicateMessageFilter}.
+ *
+ * <p>
+ * The cache is split into shards, each holding at most its share of
+ * {@link #cacheSize} messages. Looking up a message already in the cache does
+ * not take any lock. Inserting a new message briefly locks its shard only in
+ * order to evict, when the shard is full, a message chosen by the CLOCK
+ * algorithm, an approximation of least-recently-used eviction. Small caches consist of a
+ * single shard.
  */
-class LRUMessageCache extends LinkedHashMap<String, Integer> {
+class LRUMessageCache {
+
+    /**
+     * Caches are not split into shards smaller than this.
+     */
+    static final int MIN_SHARD_CAPACITY = 16;
 
-    private static final long serialVersionUID = 1L;
     final int cacheSize;
+    private final Shard[] shards;
+    private final int shardMask;
 
     LRUMessageCache(int cacheSize) {
-        super((int) (cacheSize * (4.0f / 3)), 0.75f, true);
         if (cacheSize < 1) {
             throw new IllegalArgumentException("Cache size cannot be smaller than 1");
         }
         this.cacheSize = cacheSize;
+
+        int shardCount = computeShardCount(cacheSize, Runtime.getRuntime().availableProcessors());
+        this.shards = new Shard[shardCount];
+        this.shardMask = shardCount - 1;
+        for (int i = 0; i < shardCount; i++) {
+            // shard capacities add up to cacheSize
+            int capacity = cacheSize / shardCount + (i < cacheSize % shardCount ? 1 : 0);
+            shards[i] = new Shard(capacity);
+        }
     }
 
+    static int computeShardCount(int cacheSize, int processors) {
+        int bySize = Integer.highestOneBit(Math.max(1, cacheSize / MIN_SHARD_CAPACITY));
+        int byProcessors = Integer.highestOneBit(Math.max(1, processors)) << 1;
+        return Math.min(bySize, byProcessors);
+    }
+
+    /**
+     * Returns the number of times the message was seen before, and counts this
+     * occurrence.
+     */
     int getMessageCountAndThenIncrement(String msg) {
         // don't insert null elements
         if (msg == null) {
             return 0;
         }
+        int h = msg.hashCode();
+        return shards[(h ^ (h >>> 16)) & shardMask].getCountAndThenIncrement(msg);
+    }
 
-        Integer i;
-        // LinkedHashMap is not LinkedHashMap. See also LBCLASSIC-255
-        synchronized (this) {
-            i = super.get(msg);
-            if (i == null) {
-                i = 0;
-            } else {
-                i = i + 1;
-            }
-            super.put(msg, i);
+    int size() {
+        int size = 0;
+        for (Shard shard : shards) {
+            size += shard.map.size();
         }
-        return i;
+        return size;
+    }
+
+    int getShardCount() {
+        return shards.length;
     }
 
-    // called indirectly by get() or put() which are already supposed to be
-    // called from within a synchronized block
-    protected boolean removeEldestEntry(Map.Entry<String, Integer> eldest) {
-        return (size() > cacheSize);
+    public void clear() {
+        for (Shard shard : shards) {
+            shard.clear();
+        }
     }
 
-    @Override
-    synchronized public void clear() {
-        super.clear();
+    static final class Entry extends AtomicInteger {
+        private static final long serialVersionUID = 1L;
+
+        final String msg;
+        // set on each access, cleared by the clock hand
+        volatile boolean referenced;
+
+        Entry(String msg) {
+            super(1);
+            this.msg = msg;
+        }
+    }
+
+    static final class Shard {
+        // may briefly hold more entries than the ring while insertions are in
+        // progress
+        final ConcurrentHashMap<String, Entry> map;
+        // the clock, guarded by this
+        final Entry[] ring;
+        int hand = 0;
+
+        Shard(int capacity) {
+            this.map = new ConcurrentHashMap<String, Entry>(capacity);
+            this.ring = new Entry[capacity];
+        }
+
+        int getCountAndThenIncrement(String msg) {
+            Entry entry = map.get(msg);
+            if (entry == null) {
+                Entry newEntry = new Entry(msg);
+                entry = map.putIfAbsent(msg, newEntry);
+                if (entry == null) {
+                    addToRing(newEntry);
+                    return 0;
+                }
+            }
+            if (!entry.referenced) {
+                entry.referenced = true;
+            }
+            // an entry evicted in the meantime loses this increment
+            return entry.getAndIncrement();
+        }
+
+        private synchronized void addToRing(Entry entry) {
+            // bounded in case concurrent lookups keep setting the referenced flags
+            for (int secondChances = 0;; secondChances++) {
+                Entry current = ring[hand];
+                if (current != null && current.referenced && secondChances < ring.length) {
+                    // second chance
+                    current.referenced = false;
+                } else {
+                    if (current != null) {
+                        map.remove(current.msg, current);
+                    }
+                    ring[hand] = entry;
+                    hand = (hand + 1) % ring.length;
+                    return;
+                }
+                hand = (hand + 1) % ring.length;
+            }
+        }
+
+        synchronized void clear() {
+            map.clear();
+            Arrays.fill(ring, null);
+            hand = 0;
+        }
     }
 }
@@ -83,4 +83,9 @@ public class MDCFilter extends MatchingFilter {
         this.MDCKey = MDCKey;
     }
 
+    @Override
+    public boolean isParametersRequired() {
+        // subclasses may read the parameters
+        return getClass() != MDCFilter.class;
+    }
 }
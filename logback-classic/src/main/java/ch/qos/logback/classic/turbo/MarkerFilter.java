@@ -64,4 +64,17 @@ public class MarkerFilter extends MatchingFilter {
             this.markerToMatch = MarkerFactory.getMarker(markerStr);
         }
     }
+
+    @Override
+    public boolean isMarkerRequired() {
+        // requests without a marker are decided by onMismatch, subclasses may
+        // decide otherwise
+        return getClass() == MarkerFilter.class && onMismatch == FilterReply.NEUTRAL;
+    }
+
+    @Override
+    public boolean isParametersRequired() {
+        // subclasses may read the parameters
+        return getClass() != MarkerFilter.class;
+    }
 }
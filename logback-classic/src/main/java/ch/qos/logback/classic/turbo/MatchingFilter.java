@@ -44,5 +44,6 @@ public abstract class MatchingFilter extends TurboFilter {
         } else if ("DENY".equals(action)) {
             onMismatch = FilterReply.DENY;
         }
+        declarationsChanged();
     }
 }
@@ -232,4 +232,10 @@ public class ReconfigureOnChangeFilter extends TurboFilter {
             }
         }
     }
+
+    @Override
+    public boolean isParametersRequired() {
+        // subclasses may read the parameters
+        return getClass() != ReconfigureOnChangeFilter.class;
+    }
 }
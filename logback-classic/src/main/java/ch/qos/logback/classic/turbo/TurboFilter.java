@@ -17,6 +17,8 @@ import org.slf4j.Marker;
 
 import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.TurboFilterList;
 import ch.qos.logback.core.spi.ContextAwareBase;
 import ch.qos.logback.core.spi.FilterReply;
 import ch.qos.logback.core.spi.LifeCycle;
@@ -28,6 +30,15 @@ import ch.qos.logback.core.spi.LifeCycle;
  * <p>
  * For more information about turbo filters, please refer to the online manual
  * at http://logback.qos.ch/manual/filters.html#TurboFilter
+ * <p>
+ * Subclasses may declare the requests they are not interested in by overriding
+ * {@link #isMarkerRequired()}, {@link #getMinimumLevel()} and
+ * {@link #isParametersRequired()}. These declarations are read when the filter
+ * is added to a {@link ch.qos.logback.classic.spi.TurboFilterList} and allow the
+ * filter chain to skip this filter, or the whole chain, at no cost. Filters
+ * whose declarations change afterwards invoke {@link #declarationsChanged()}.
+ * The filters shipped with logback make such declarations for their own class
+ * only, so that their subclasses get the defaults.
  * 
  * @author Ceki Gulcu
  */
@@ -53,6 +64,54 @@ public abstract class TurboFilter extends ContextAwareBase implements LifeCycle
     public abstract FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params,
             Throwable t);
 
+    /**
+     * Whether this filter decides {@link FilterReply#NEUTRAL} for all requests
+     * without a marker. Defaults to false.
+     * 
+     * @since 1.4.2
+     */
+    public boolean isMarkerRequired() {
+        return false;
+    }
+
+    /**
+     * The lowest level this filter may decide on. Requests of a lower level are
+     * assumed to be decided {@link FilterReply#NEUTRAL}. Defaults to
+     * {@link Level#ALL}.
+     * 
+     * @since 1.4.2
+     */
+    public Level getMinimumLevel() {
+        return Level.ALL;
+    }
+
+    /**
+     * Whether the decision of this filter depends on the parameters of the
+     * request. If false, the {@code params} argument passed to
+     * {@link #decide} may be null even if the request has parameters. Defaults to
+     * true.
+     * 
+     * @since 1.4.2
+     */
+    public boolean isParametersRequired() {
+        return true;
+    }
+
+    /**
+     * Recompile the filter chain of this filter's context if the filter is part
+     * of it, so that the chain takes changed declarations into account.
+     * 
+     * @since 1.4.2
+     */
+    protected void declarationsChanged() {
+        if (getContext() instanceof LoggerContext) {
+            TurboFilterList turboFilterList = ((LoggerContext) getContext()).getTurboFilterList();
+            if (turboFilterList.contains(this)) {
+                turboFilterList.recompile();
+            }
+        }
+    }
+
     public void start() {
         this.start = true;
     }
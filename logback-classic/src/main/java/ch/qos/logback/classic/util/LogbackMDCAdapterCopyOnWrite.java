@@ -0,0 +1,184 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.classic.util;
+
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.helpers.ThreadLocalMapOfStacks;
+import org.slf4j.spi.MDCAdapter;
+
+/**
+ * An {@link MDCAdapter} whose per-thread context map is immutable and replaced
+ * on every update. Capturing the MDC of a logging event, see
+ * {@link #getPropertyMap()}, is thus a plain reference copy.
+ *
+ * <p>
+ * Maps of up to {@link #MAX_ARRAY_MAP_SIZE} entries are held in sorted arrays,
+ * making an update cost two small array copies. Larger maps fall back to
+ * unmodifiable copies of a {@link HashMap}.
+ *
+ * <p>
+ * This adapter is selected by setting the
+ * {@link ch.qos.logback.classic.ClassicConstants#MDC_ADAPTER_PROPERTY} system
+ * property to the name of this class.
+ *
+ * @since 1.4.2
+ */
+public class LogbackMDCAdapterCopyOnWrite implements MDCAdapter {
+
+    static final int MAX_ARRAY_MAP_SIZE = 16;
+
+    final ThreadLocal<Map<String, String>> threadLocalImmutableMap = new ThreadLocal<Map<String, String>>();
+
+    private final ThreadLocalMapOfStacks threadLocalMapOfDeques = new ThreadLocalMapOfStacks();
+
+    /**
+     * Put a context value (the <code>val</code> parameter) as identified with the
+     * <code>key</code> parameter into the current thread's context map. Note that
+     * contrary to log4j, the <code>val</code> parameter can be null.
+     *
+     * @throws IllegalArgumentException in case the "key" parameter is null
+     */
+    public void put(String key, String val) throws IllegalArgumentException {
+        if (key == null) {
+            throw new IllegalArgumentException("key cannot be null");
+        }
+        Map<String, String> oldMap = threadLocalImmutableMap.get();
+        if (oldMap == null) {
+            threadLocalImmutableMap.set(SortedArrayMap.EMPTY.with(key, val));
+        } else if (oldMap instanceof SortedArrayMap
+                && (oldMap.size() < MAX_ARRAY_MAP_SIZE || oldMap.containsKey(key))) {
+            threadLocalImmutableMap.set(((SortedArrayMap) oldMap).with(key, val));
+        } else {
+            Map<String, String> newMap = new HashMap<>(oldMap);
+            newMap.put(key, val);
+            threadLocalImmutableMap.set(Collections.unmodifiableMap(newMap));
+        }
+    }
+
+    /**
+     * Remove the context identified by the <code>key</code> parameter.
+     */
+    public void remove(String key) {
+        if (key == null) {
+            return;
+        }
+        Map<String, String> oldMap = threadLocalImmutableMap.get();
+        if (oldMap == null) {
+            return;
+        }
+        if (oldMap instanceof SortedArrayMap) {
+            threadLocalImmutableMap.set(((SortedArrayMap) oldMap).without(key));
+        } else if (oldMap.containsKey(key)) {
+            Map<String, String> newMap = new HashMap<>(oldMap);
+            newMap.remove(key);
+            threadLocalImmutableMap.set(immutableCopyOf(newMap));
+        }
+    }
+
+    private static Map<String, String> immutableCopyOf(Map<String, String> map) {
+        if (map.size() <= MAX_ARRAY_MAP_SIZE) {
+            return SortedArrayMap.copyOf(map);
+        }
+        return Collections.unmodifiableMap(new HashMap<>(map));
+    }
+
+    /**
+     * Clear all entries in the MDC.
+     */
+    public void clear() {
+        threadLocalImmutableMap.remove();
+    }
+
+    /**
+     * Get the context identified by the <code>key</code> parameter.
+     */
+    public String get(String key) {
+        final Map<String, String> map = threadLocalImmutableMap.get();
+        if ((map != null) && (key != null)) {
+            return map.get(key);
+        } else {
+            return null;
+        }
+    }
+
+    /**
+     * Get the current thread's MDC as an immutable map, without copying. This
+     * method is intended to be used internally.
+     */
+    public Map<String, String> getPropertyMap() {
+        return threadLocalImmutableMap.get();
+    }
+
+    /**
+     * Returns the keys in the MDC as a {@link Set}. The returned value can be null.
+     */
+    public Set<String> getKeys() {
+        Map<String, String> map = getPropertyMap();
+        if (map != null) {
+            return map.keySet();
+        } else {
+            return null;
+        }
+    }
+
+    /**
+     * Return a copy of the current thread's context map. Returned value may be
+     * null.
+     */
+    public Map<String, String> getCopyOfContextMap() {
+        Map<String, String> map = threadLocalImmutableMap.get();
+        if (map == null) {
+            return null;
+        }
+        return new HashMap<>(map);
+    }
+
+    /**
+     * Set the MDC map to the map passed as parameter.
+     *
+     * @param contextMap the new map
+     */
+    public void setContextMap(Map<String, String> contextMap) {
+        if (contextMap != null) {
+            threadLocalImmutableMap.set(immutableCopyOf(contextMap));
+        } else {
+            threadLocalImmutableMap.remove();
+        }
+    }
+
+    @Override
+    public void pushByKey(String key, String value) {
+        threadLocalMapOfDeques.pushByKey(key, value);
+    }
+
+    @Override
+    public String popByKey(String key) {
+        return threadLocalMapOfDeques.popByKey(key);
+    }
+
+    @Override
+    public Deque<String> getCopyOfDequeByKey(String key) {
+        return threadLocalMapOfDeques.getCopyOfDequeByKey(key);
+    }
+
+    @Override
+    public void clearDequeByKey(String key) {
+        threadLocalMapOfDeques.clearDequeByKey(key);
+    }
+}
@@ -0,0 +1,193 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.classic.util;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * An immutable map of strings, keys and values being held in two arrays sorted
+ * by key. Updates return a new instance sharing nothing with the original, so
+ * that instances can be handed out without copying.
+ *
+ * <p>
+ * Lookups are binary searches, updates copy the arrays. This is efficient for
+ * the handful of entries typically found in an MDC.
+ *
+ * <p>
+ * Instances serialize as a {@link HashMap}.
+ *
+ * @since 1.4.2
+ */
+final class SortedArrayMap extends AbstractMap<String, String> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final String[] EMPTY_ARRAY = new String[0];
+
+    static final SortedArrayMap EMPTY = new SortedArrayMap(EMPTY_ARRAY, EMPTY_ARRAY);
+
+    private final String[] keys;
+    private final String[] values;
+
+    private transient Set<Map.Entry<String, String>> entrySet;
+
+    private SortedArrayMap(String[] keys, String[] values) {
+        this.keys = keys;
+        this.values = values;
+    }
+
+    static SortedArrayMap copyOf(Map<String, String> map) {
+        if (map == null || map.isEmpty()) {
+            return EMPTY;
+        }
+        if (map instanceof SortedArrayMap) {
+            return (SortedArrayMap) map;
+        }
+        String[] keys = map.keySet().toArray(EMPTY_ARRAY);
+        for (String key : keys) {
+            Objects.requireNonNull(key, "key cannot be null");
+        }
+        Arrays.sort(keys);
+        String[] values = new String[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            values[i] = map.get(keys[i]);
+        }
+        return new SortedArrayMap(keys, values);
+    }
+
+    private int indexOf(Object key) {
+        if (!(key instanceof String)) {
+            return -1;
+        }
+        return Arrays.binarySearch(keys, key);
+    }
+
+    /**
+     * Return a map with the given entry added or replaced.
+     */
+    SortedArrayMap with(String key, String value) {
+        int index = Arrays.binarySearch(keys, key);
+        if (index >= 0) {
+            if (Objects.equals(values[index], value)) {
+                return this;
+            }
+            String[] newValues = values.clone();
+            newValues[index] = value;
+            return new SortedArrayMap(keys, newValues);
+        }
+
+        int insertionPoint = -(index + 1);
+        int size = keys.length;
+        String[] newKeys = new String[size + 1];
+        String[] newValues = new String[size + 1];
+        System.arraycopy(keys, 0, newKeys, 0, insertionPoint);
+        System.arraycopy(values, 0, newValues, 0, insertionPoint);
+        newKeys[insertionPoint] = key;
+        newValues[insertionPoint] = value;
+        System.arraycopy(keys, insertionPoint, newKeys, insertionPoint + 1, size - insertionPoint);
+        System.arraycopy(values, insertionPoint, newValues, insertionPoint + 1, size - insertionPoint);
+        return new SortedArrayMap(newKeys, newValues);
+    }
+
+    /**
+     * Return a map without the given key.
+     */
+    SortedArrayMap without(String key) {
+        int index = indexOf(key);
+        if (index < 0) {
+            return this;
+        }
+        int size = keys.length;
+        if (size == 1) {
+            return EMPTY;
+        }
+        String[] newKeys = new String[size - 1];
+        String[] newValues = new String[size - 1];
+        System.arraycopy(keys, 0, newKeys, 0, index);
+        System.arraycopy(values, 0, newValues, 0, index);
+        System.arraycopy(keys, index + 1, newKeys, index, size - index - 1);
+        System.arraycopy(values, index + 1, newValues, index, size - index - 1);
+        return new SortedArrayMap(newKeys, newValues);
+    }
+
+    @Override
+    public int size() {
+        return keys.length;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return keys.length == 0;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    public String get(Object key) {
+        int index = indexOf(key);
+        return index >= 0 ? values[index] : null;
+    }
+
+    @Override
+    public Set<Map.Entry<String, String>> entrySet() {
+        Set<Map.Entry<String, String>> es = entrySet;
+        if (es == null) {
+            es = new AbstractSet<Map.Entry<String, String>>() {
+                @Override
+                public Iterator<Map.Entry<String, String>> iterator() {
+                    return new Iterator<Map.Entry<String, String>>() {
+                        int next = 0;
+
+                        @Override
+                        public boolean hasNext() {
+                            return next < keys.length;
+                        }
+
+                        @Override
+                        public Map.Entry<String, String> next() {
+                            if (next >= keys.length) {
+                                throw new NoSuchElementException();
+                            }
+                            int i = next++;
+                            return new AbstractMap.SimpleImmutableEntry<>(keys[i], values[i]);
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return keys.length;
+                }
+            };
+            entrySet = es;
+        }
+        return es;
+    }
+
+    private Object writeReplace() {
+        return new HashMap<>(this);
+    }
+}
@@ -28,6 +28,7 @@ import ch.qos.logback.classic.Logger;
 import ch.qos.logback.classic.LoggerContext;
 import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.encoder.ByteSink;
 
 public class PatternLayoutEncoderTest {
 
@@ -77,6 +78,20 @@ public class PatternLayoutEncoderTest {
         assertEquals(msg, new String(baos.toByteArray(), utf8Charset));
     }
 
+    @Test
+    public void encodeToMatchesEncode() {
+        ple.setPattern("%-5level %logger{10} - %m%n");
+        ple.setCharset(utf8Charset);
+        ple.start();
+        ByteSink sink = new ByteSink(4);
+        for (String msg : new String[] { "hello", "\u03b1\u20ac", "\ud83d\ude00 smile" }) {
+            ILoggingEvent event = makeLoggingEvent(msg);
+            sink.reset();
+            ple.encodeTo(event, sink);
+            assertArrayEquals(ple.encode(event), sink.toByteArray());
+        }
+    }
+
     @Test
     public void isStarted() throws IOException {
         assertTrue(!ple.isStarted());
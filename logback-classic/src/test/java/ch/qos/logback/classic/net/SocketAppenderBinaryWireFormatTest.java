@@ -0,0 +1,99 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.classic.net;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.async.QueueType;
+import ch.qos.logback.core.net.ObjectReader;
+import ch.qos.logback.core.net.WireFormat;
+import ch.qos.logback.core.util.Duration;
+
+public class SocketAppenderBinaryWireFormatTest {
+
+    LoggerContext loggerContext = new LoggerContext();
+    Logger logger = loggerContext.getLogger(SocketAppenderBinaryWireFormatTest.class);
+    SocketAppender socketAppender = new SocketAppender();
+    ServerSocket serverSocket;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        serverSocket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress());
+        socketAppender.setContext(loggerContext);
+        socketAppender.setRemoteHost(InetAddress.getLoopbackAddress().getHostAddress());
+        socketAppender.setPort(serverSocket.getLocalPort());
+        socketAppender.setReconnectionDelay(new Duration(100));
+        socketAppender.setQueueSize(1000);
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        socketAppender.stop();
+        serverSocket.close();
+    }
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    public void binaryEventsArriveInOrder() throws Exception {
+        socketAppender.setWireFormat(WireFormat.BINARY);
+        socketAppender.setWireCompression(true);
+        checkEventsArriveInOrder();
+    }
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    public void serializedEventsArriveInOrder() throws Exception {
+        checkEventsArriveInOrder();
+    }
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    public void batchedEventsFromRingBufferArriveInOrder() throws Exception {
+        socketAppender.setQueueType(QueueType.RING_BUFFER);
+        socketAppender.setBatchSize(16);
+        socketAppender.setBatchDelay(new Duration(5));
+        checkEventsArriveInOrder();
+    }
+
+    private void checkEventsArriveInOrder() throws Exception {
+        int runLength = 600;
+        socketAppender.start();
+        logger.addAppender(socketAppender);
+
+        try (Socket socket = serverSocket.accept()) {
+            for (int i = 0; i < runLength; i++) {
+                logger.info("message {}", i);
+            }
+            ObjectReader reader = new ObjectReaderFactory().newLoggingEventReader(socket.getInputStream());
+            for (int i = 0; i < runLength; i++) {
+                ILoggingEvent event = (ILoggingEvent) reader.readObject();
+                assertEquals("message " + i, event.getFormattedMessage());
+                assertEquals(logger.getName(), event.getLoggerName());
+            }
+        }
+    }
+}
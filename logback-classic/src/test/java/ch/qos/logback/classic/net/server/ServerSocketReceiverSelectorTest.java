@@ -0,0 +1,128 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.classic.net.server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.net.SocketAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import ch.qos.logback.core.net.WireFormat;
+
+/**
+ * Checks that a {@link ServerSocketReceiver} using selectors receives events in
+ * both wire formats.
+ */
+public class ServerSocketReceiverSelectorTest {
+
+    static final int EVENT_COUNT = 500;
+
+    LoggerContext serverContext = new LoggerContext();
+    ServerSocketReceiver receiver = new ServerSocketReceiver();
+    Queue<ILoggingEvent> received = new ConcurrentLinkedQueue<ILoggingEvent>();
+    List<LoggerContext> clientContexts = new ArrayList<LoggerContext>();
+    int port;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        try (ServerSocket probe = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            port = probe.getLocalPort();
+        }
+        AppenderBase<ILoggingEvent> appender = new AppenderBase<ILoggingEvent>() {
+            @Override
+            protected void append(ILoggingEvent event) {
+                // ignore the messages of the receiver itself
+                if (!event.getLoggerName().startsWith("ch.qos.logback")) {
+                    received.add(event);
+                }
+            }
+        };
+        appender.setContext(serverContext);
+        appender.start();
+        serverContext.getLogger(Logger.ROOT_LOGGER_NAME).addAppender(appender);
+
+        receiver.setContext(serverContext);
+        receiver.setAddress(InetAddress.getLoopbackAddress().getHostAddress());
+        receiver.setPort(port);
+        receiver.setSelectorCount(2);
+        receiver.start();
+        assertTrue(receiver.isStarted());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        for (LoggerContext clientContext : clientContexts) {
+            clientContext.stop();
+        }
+        receiver.stop();
+        serverContext.stop();
+    }
+
+    @Test
+    @Timeout(value = 20, unit = TimeUnit.SECONDS)
+    public void eventsInBothFormats() throws Exception {
+        Logger binaryLogger = createClientLogger("binary", WireFormat.BINARY);
+        Logger serializedLogger = createClientLogger("serialized", WireFormat.SERIALIZED);
+        for (int i = 0; i < EVENT_COUNT; i++) {
+            binaryLogger.info("binary {}", i);
+            serializedLogger.info("serialized {}", i);
+        }
+
+        while (received.size() < 2 * EVENT_COUNT) {
+            Thread.sleep(10);
+        }
+        int binary = 0;
+        int serialized = 0;
+        for (ILoggingEvent event : received) {
+            if (event.getLoggerName().equals("binary")) {
+                assertEquals("binary " + binary++, event.getFormattedMessage());
+            } else {
+                assertEquals("serialized " + serialized++, event.getFormattedMessage());
+            }
+        }
+        assertEquals(EVENT_COUNT, binary);
+        assertEquals(EVENT_COUNT, serialized);
+    }
+
+    private Logger createClientLogger(String name, WireFormat wireFormat) {
+        LoggerContext clientContext = new LoggerContext();
+        clientContexts.add(clientContext);
+        SocketAppender socketAppender = new SocketAppender();
+        socketAppender.setContext(clientContext);
+        socketAppender.setRemoteHost(InetAddress.getLoopbackAddress().getHostAddress());
+        socketAppender.setPort(port);
+        socketAppender.setQueueSize(EVENT_COUNT);
+        socketAppender.setWireFormat(wireFormat);
+        socketAppender.start();
+        Logger logger = clientContext.getLogger(name);
+        logger.addAppender(socketAppender);
+        return logger;
+    }
+}
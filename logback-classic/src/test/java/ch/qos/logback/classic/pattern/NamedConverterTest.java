@@ -0,0 +1,106 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.classic.pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import ch.qos.logback.classic.LoggerContext;
+
+public class NamedConverterTest {
+
+    static final int TARGET_LENGTH = 10;
+
+    LoggerContext loggerContext = new LoggerContext();
+    LoggerConverter loggerConverter = new LoggerConverter();
+    Abbreviator abbreviator = new TargetLengthBasedClassNameAbbreviator(TARGET_LENGTH);
+
+    @BeforeEach
+    public void setUp() {
+        loggerConverter.setOptionList(Arrays.asList(Integer.toString(TARGET_LENGTH)));
+        loggerConverter.setContext(loggerContext);
+        loggerConverter.start();
+    }
+
+    static String name(int i) {
+        return "org.example.module" + (i % 17) + ".sub" + (i % 5) + ".Class" + i;
+    }
+
+    String convert(String fqn) {
+        LoggerNameOnlyLoggingEvent event = new LoggerNameOnlyLoggingEvent();
+        event.setLoggerName(fqn);
+        return loggerConverter.convert(event);
+    }
+
+    @Test
+    public void manyMoreNamesThanCacheEntriesAreAbbreviatedCorrectly() {
+        int count = NamedConverter.CACHE_SIZE * 4;
+        for (int pass = 0; pass < 2; pass++) {
+            for (int i = 0; i < count; i++) {
+                String fqn = name(i);
+                assertEquals(abbreviator.abbreviate(fqn), convert(fqn));
+            }
+        }
+        // the cache never gives up
+        for (int i = 0; i < 10; i++) {
+            convert(name(0));
+        }
+        assertTrue(loggerConverter.getCacheMisses() < 2 * count + 10);
+    }
+
+    @Test
+    public void recurringNamesHitTheCache() {
+        assertTrue(loggerConverter.getCacheHitRate() < 0);
+        for (int pass = 0; pass < 20; pass++) {
+            for (int i = 0; i < 100; i++) {
+                convert(name(i));
+            }
+        }
+        assertTrue(loggerConverter.getCacheHitRate() > 0.9, "hit rate " + loggerConverter.getCacheHitRate());
+        assertEquals(1.0d, loggerConverter.getCacheHitRate() + loggerConverter.getCacheMissRate(), 1e-9);
+    }
+
+    @Test
+    public void concurrentCallersGetCorrectAbbreviations() throws InterruptedException {
+        final int nameCount = 3000;
+        ConcurrentLinkedQueue<String> failures = new ConcurrentLinkedQueue<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            final int offset = t * 7;
+            Thread thread = new Thread(() -> {
+                for (int n = 0; n < 20000; n++) {
+                    String fqn = name((n * 31 + offset) % nameCount);
+                    String abbreviated = convert(fqn);
+                    if (!abbreviator.abbreviate(fqn).equals(abbreviated)) {
+                        failures.add(fqn + " -> " + abbreviated);
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertTrue(failures.isEmpty(), failures.toString());
+    }
+}
@@ -67,7 +67,8 @@ public class SiftingAppenderTest {
     StatusChecker statusChecker = new StatusChecker(loggerContext);
     int diff = RandomUtil.getPositiveInt();
     String randomOutputDir = CoreTestConstants.OUTPUT_DIR_PREFIX + diff + "/";
-    int now = 0;
+    // close to the wall clock used by the background removal of stale appenders
+    long now = System.currentTimeMillis();
 
     protected void configure(String file) throws JoranException {
         JoranConfigurator jc = new JoranConfigurator();
@@ -182,6 +183,8 @@ public class SiftingAppenderTest {
         LoggingEvent le = new LoggingEvent("x", logger, Level.INFO, "hello", null, null);
         le.setTimeStamp(timestamp + ComponentTracker.DEFAULT_TIMEOUT + 1);
         sa.doAppend(le);
+        // stale appenders are removed in the background, as of the wall clock
+        sa.getAppenderTracker().removeStaleComponents(le.getTimeStamp());
     }
 
     @Test
@@ -205,6 +208,26 @@ public class SiftingAppenderTest {
         assertTrue(sa.getAppenderTracker().allKeys().contains("cycleDefault"));
     }
 
+    @Test
+    public void staleAppendersShouldBeRemovedInTheBackground() throws JoranException, InterruptedException {
+        String mdcKey = "cycle";
+        configure(SIFT_FOLDER_PREFIX + "completeCycle.xml");
+        MDC.put(mdcKey, "a");
+        logger.debug("smoke");
+        SiftingAppender sa = (SiftingAppender) root.getAppender("SIFT");
+        AppenderTracker<ILoggingEvent> tracker = sa.getAppenderTracker();
+        Appender<ILoggingEvent> appender = tracker.find("a");
+        assertNotNull(appender);
+
+        // stopped appenders are deemed stale
+        appender.stop();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (tracker.find("a") != null && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertNull(tracker.find("a"));
+    }
+
     @Test
     public void sessionFinalizationShouldCauseLingering() throws JoranException {
         String mdcKey = "linger";
@@ -293,6 +316,7 @@ public class SiftingAppenderTest {
             now += AbstractComponentTracker.WAIT_BETWEEN_SUCCESSIVE_REMOVAL_ITERATIONS;
         }
         AppenderTracker<ILoggingEvent> tracker = sa.getAppenderTracker();
+        tracker.removeStaleComponents(now);
         assertEquals(max, tracker.allKeys().size());
         assertNull(tracker.find("" + (diff + 0)));
         for (int i = 1; i <= max; i++) {
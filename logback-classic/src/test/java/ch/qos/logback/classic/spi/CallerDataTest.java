@@ -16,6 +16,9 @@ package ch.qos.logback.classic.spi;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+import java.util.List;
 
 import org.junit.jupiter.api.Test;
 
@@ -44,4 +47,40 @@ public class CallerDataTest {
         assertEquals(0, cda.length);
     }
 
+    @Test
+    public void stackWalkerMatchesThrowableBasedExtraction() {
+        StackTraceElement[][] both = FakeLogger.extractBoth(5, null);
+        assertEquals(5, both[0].length);
+        assertEquals(CallerDataTest.class.getName(), both[0][0].getClassName());
+        assertArrayEquals(both[0], both[1]);
+    }
+
+    @Test
+    public void stackWalkerSkipsFrameworkPackages() {
+        StackTraceElement[][] both = FakeLogger.extractBoth(3, List.of("ch.qos.logback.classic.spi.CallerDataT"));
+        assertTrue(both[1].length > 0);
+        assertTrue(!both[1][0].getClassName().equals(CallerDataTest.class.getName()));
+        assertArrayEquals(both[0], both[1]);
+    }
+
+    @Test
+    public void stackWalkerWithoutBoundary() {
+        StackTraceElement[] cda = CallerData.extract("com.inexistent.foo", 10, FrameworkPackageMatcher.EMPTY);
+        assertNotNull(cda);
+        assertEquals(0, cda.length);
+    }
+
+    @Test
+    public void stackWalkerWithZeroDepth() {
+        assertEquals(0, FakeLogger.extractBoth(0, null)[1].length);
+    }
+
+    static class FakeLogger {
+        static StackTraceElement[][] extractBoth(int maxDepth, List<String> frameworkPackages) {
+            String fqcn = FakeLogger.class.getName();
+            return new StackTraceElement[][] { CallerData.extract(new Throwable(), fqcn, maxDepth, frameworkPackages),
+                    CallerData.extract(fqcn, maxDepth, new FrameworkPackageMatcher(frameworkPackages)) };
+        }
+    }
+
 }
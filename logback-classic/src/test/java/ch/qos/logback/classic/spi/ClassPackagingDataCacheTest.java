@@ -0,0 +1,90 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.classic.spi;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import org.junit.jupiter.api.Test;
+
+public class ClassPackagingDataCacheTest {
+
+    ClassPackagingDataCache cache = new ClassPackagingDataCache();
+
+    @Test
+    public void exactDataIsComputedOncePerClass() {
+        ClassPackagingData cpd = cache.get(String.class);
+        assertTrue(cpd.isExact());
+        assertSame(cpd, cache.get(String.class));
+    }
+
+    @Test
+    public void inexistentClassIsCachedAsNA() {
+        ClassLoader classLoader = getClass().getClassLoader();
+        assertNull(cache.get(classLoader, "com.Bogus"));
+        assertSame(ClassPackagingDataCache.NA_INEXACT, cache.put(classLoader, "com.Bogus", null));
+        assertSame(ClassPackagingDataCache.NA_INEXACT, cache.get(classLoader, "com.Bogus"));
+        assertNull(cache.get(null, "com.Bogus"));
+    }
+
+    @Test
+    public void inexactDataIsCachedPerClassLoader() {
+        ClassLoader classLoader = getClass().getClassLoader();
+        ClassLoader otherClassLoader = new URLClassLoader(new URL[0], classLoader);
+        String className = getClass().getName();
+
+        ClassPackagingData cpd = cache.put(classLoader, className, getClass());
+        assertFalse(cpd.isExact());
+        assertEquals(cache.get(getClass()).getCodeLocation(), cpd.getCodeLocation());
+        assertSame(cpd, cache.get(classLoader, className));
+        assertNull(cache.get(otherClassLoader, className));
+
+        ClassPackagingData other = cache.put(otherClassLoader, className, null);
+        assertNotSame(cpd, other);
+        assertEquals(2, cache.loaderCount());
+    }
+
+    @Test
+    public void unreachableClassLoadersAreExpunged() throws InterruptedException {
+        ClassLoader classLoader = new URLClassLoader(new URL[0], getClass().getClassLoader());
+        cache.put(classLoader, "com.Bogus", null);
+        assertEquals(1, cache.loaderCount());
+
+        classLoader = null;
+        for (int i = 0; i < 50 && cache.loaderCount() > 0; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertEquals(0, cache.loaderCount());
+    }
+
+    @Test
+    public void calculatorsShareTheCache() {
+        ThrowableProxy tp0 = new ThrowableProxy(new Throwable("x"));
+        ThrowableProxy tp1 = new ThrowableProxy(new Throwable("y"));
+        tp0.getPackagingDataCalculator().calculate(tp0);
+        tp1.getPackagingDataCalculator().calculate(tp1);
+
+        ClassPackagingData cpd0 = tp0.getStackTraceElementProxyArray()[0].getClassPackagingData();
+        ClassPackagingData cpd1 = tp1.getStackTraceElementProxyArray()[0].getClassPackagingData();
+        assertSame(cpd0, cpd1);
+    }
+}
@@ -0,0 +1,83 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.classic.spi;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import ch.qos.logback.classic.LoggerContext;
+
+public class FrameworkPackageMatcherTest {
+
+    @Test
+    public void matchesPrefixes() {
+        FrameworkPackageMatcher matcher = new FrameworkPackageMatcher(
+                List.of("com.foo", "com.foo.bar", "org.apache.commons.logging", "com.fo"));
+        assertTrue(matcher.matches("com.foo.Bar"));
+        assertTrue(matcher.matches("com.foo"));
+        assertTrue(matcher.matches("com.fox.X"));
+        assertTrue(matcher.matches("org.apache.commons.logging.impl.SLF4JLog"));
+        assertFalse(matcher.matches("com.f"));
+        assertFalse(matcher.matches("org.apache.commons.lang3.StringUtils"));
+        assertFalse(matcher.matches(""));
+    }
+
+    @Test
+    public void emptyAndNullLists() {
+        assertFalse(FrameworkPackageMatcher.EMPTY.matches("com.foo.Bar"));
+        assertFalse(new FrameworkPackageMatcher(Arrays.asList((String) null)).matches("com.foo.Bar"));
+        assertTrue(new FrameworkPackageMatcher(List.of("")).matches("com.foo.Bar"));
+    }
+
+    @Test
+    public void loggerContextRecompilesOnChange() {
+        LoggerContext loggerContext = new LoggerContext();
+        FrameworkPackageMatcher matcher = loggerContext.getFrameworkPackageMatcher();
+        assertFalse(matcher.matches("com.foo.Bar"));
+        assertSame(matcher, loggerContext.getFrameworkPackageMatcher());
+
+        loggerContext.getFrameworkPackages().add("com.foo");
+        FrameworkPackageMatcher recompiled = loggerContext.getFrameworkPackageMatcher();
+        assertNotSame(matcher, recompiled);
+        assertTrue(recompiled.matches("com.foo.Bar"));
+        assertSame(recompiled, loggerContext.getFrameworkPackageMatcher());
+    }
+
+    @Test
+    public void frameworkPackageListRecompilesOnIndirectChanges() {
+        FrameworkPackageList list = new FrameworkPackageList();
+        list.addAll(List.of("com.foo", "com.bar"));
+        assertTrue(list.getMatcher().matches("com.bar.Baz"));
+
+        list.subList(1, 2).set(0, "com.qux");
+        assertFalse(list.getMatcher().matches("com.bar.Baz"));
+        assertTrue(list.getMatcher().matches("com.qux.Baz"));
+
+        Iterator<String> it = list.iterator();
+        it.next();
+        it.remove();
+        assertFalse(list.getMatcher().matches("com.foo.Bar"));
+
+        list.clear();
+        assertFalse(list.getMatcher().matches("com.qux.Baz"));
+    }
+}
@@ -0,0 +1,218 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.classic.spi;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+import org.slf4j.MarkerFactory;
+import org.slf4j.event.KeyValuePair;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.net.ObjectReaderFactory;
+import ch.qos.logback.core.net.BinaryEventReader;
+import ch.qos.logback.core.net.BinaryEventWriter;
+import ch.qos.logback.core.net.ObjectReader;
+import ch.qos.logback.core.spi.ContextAwareBase;
+
+public class LoggingEventBinaryCodecTest {
+
+    LoggerContext loggerContext = new LoggerContext();
+    ContextAwareBase contextAware = new ContextAwareBase();
+    Logger logger = loggerContext.getLogger(LoggingEventBinaryCodecTest.class);
+    ByteArrayOutputStream bos = new ByteArrayOutputStream();
+
+    @BeforeEach
+    public void setUp() {
+        loggerContext.setName("testContext");
+        loggerContext.putProperty("testKey", "testValue");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        MDC.clear();
+    }
+
+    @Test
+    public void smoke() throws Exception {
+        LoggingEvent event = createLoggingEvent("hello {}", new Object[] { 42 });
+        ILoggingEvent remoteEvent = writeAndRead(event).get(0);
+        checkForEquality(event, remoteEvent);
+        assertEquals("hello 42", remoteEvent.getFormattedMessage());
+        assertArrayEquals(new Object[] { "42" }, remoteEvent.getArgumentArray());
+        assertEquals("testValue", remoteEvent.getLoggerContextVO().getPropertyMap().get("testKey"));
+    }
+
+    @Test
+    public void nullFields() throws Exception {
+        LoggingEvent event = createLoggingEvent(null, new Object[] { null });
+        ILoggingEvent remoteEvent = writeAndRead(event).get(0);
+        assertNull(remoteEvent.getMessage());
+        assertArrayEquals(new Object[] { null }, remoteEvent.getArgumentArray());
+        assertNull(remoteEvent.getThrowableProxy());
+        assertNull(remoteEvent.getMarkerList());
+        assertNull(remoteEvent.getKeyValuePairs());
+    }
+
+    @Test
+    public void mdcMarkersAndKeyValuePairs() throws Exception {
+        MDC.put("user", "alice");
+        LoggingEvent event = createLoggingEvent("m", null);
+        Marker parent = MarkerFactory.getDetachedMarker("parent");
+        parent.add(MarkerFactory.getDetachedMarker("child"));
+        event.addMarker(parent);
+        event.addKeyValuePair(new KeyValuePair("k", 1));
+
+        ILoggingEvent remoteEvent = writeAndRead(event).get(0);
+        assertEquals("alice", remoteEvent.getMDCPropertyMap().get("user"));
+        Marker remoteMarker = remoteEvent.getMarkerList().get(0);
+        assertEquals("parent", remoteMarker.getName());
+        assertTrue(remoteMarker.contains("child"));
+        assertEquals("k", remoteEvent.getKeyValuePairs().get(0).key);
+        assertEquals("1", remoteEvent.getKeyValuePairs().get(0).value);
+    }
+
+    @Test
+    public void throwableAndCallerData() throws Exception {
+        Exception suppressed = new IllegalStateException("suppressed");
+        Exception e = new Exception("outer", new IOException("inner"));
+        e.addSuppressed(suppressed);
+        LoggingEvent event = createLoggingEvent("failure", null);
+        event.setThrowableProxy(new ThrowableProxy(e));
+        event.getCallerData();
+
+        ILoggingEvent remoteEvent = writeAndRead(event).get(0);
+        IThrowableProxy tp = event.getThrowableProxy();
+        IThrowableProxy remoteTp = remoteEvent.getThrowableProxy();
+        assertEquals(ThrowableProxyUtil.asString(tp), ThrowableProxyUtil.asString(remoteTp));
+        assertEquals("java.io.IOException", remoteTp.getCause().getClassName());
+        assertEquals("suppressed", remoteTp.getSuppressed()[0].getMessage());
+        // elements print the same, built-in class loader names are not sent
+        assertEquals(Arrays.toString(event.getCallerData()), Arrays.toString(remoteEvent.getCallerData()));
+    }
+
+    @Test
+    public void deltasAndContextAcrossEvents() throws Exception {
+        List<ILoggingEvent> events = new ArrayList<ILoggingEvent>();
+        for (int i = 0; i < 10; i++) {
+            LoggingEvent event = createLoggingEvent("m" + i, null);
+            event.setTimeStamp(1_000_000L - i * 7);
+            event.setSquenceNumber(i * 3);
+            events.add(event);
+        }
+        List<ILoggingEvent> remoteEvents = writeAndRead(events.toArray(new ILoggingEvent[0]));
+        assertEquals(events.size(), remoteEvents.size());
+        for (int i = 0; i < events.size(); i++) {
+            checkForEquality(events.get(i), remoteEvents.get(i));
+        }
+        // the logger context is sent once
+        assertSame(remoteEvents.get(0).getLoggerContextVO(), remoteEvents.get(9).getLoggerContextVO());
+    }
+
+    @Test
+    public void deltasAndContextAcrossSplitFrames() throws Exception {
+        LoggerContext otherContext = new LoggerContext();
+        otherContext.setName("otherContext");
+        Logger otherLogger = otherContext.getLogger(LoggingEventBinaryCodecTest.class);
+        // two such events do not fit in a single frame
+        char[] chars = new char[BinaryEventReader.MAX_FRAME_LENGTH / 2];
+        Arrays.fill(chars, 'x');
+        String large = new String(chars);
+
+        LoggingEvent e1 = createLoggingEvent(large, null);
+        e1.setTimeStamp(1000);
+        LoggingEvent e2 = new LoggingEvent(this.getClass().getName(), otherLogger, Level.DEBUG, large, null, null);
+        e2.setTimeStamp(5000);
+        LoggingEvent e3 = new LoggingEvent(this.getClass().getName(), otherLogger, Level.DEBUG, "small", null, null);
+        e3.setTimeStamp(9000);
+
+        BinaryEventWriter<ILoggingEvent> writer = new BinaryEventWriter<ILoggingEvent>(contextAware, bos,
+                new LoggingEventBinaryCodec(), false);
+        writer.write(e1);
+        writer.write(e2);
+        // e1 was sent in a frame of its own
+        assertEquals(1, writer.getBufferedObjectCount());
+        writer.write(e3);
+        writer.flush();
+        writer.close();
+
+        List<ILoggingEvent> remoteEvents = read(3);
+        assertEquals(1000, remoteEvents.get(0).getTimeStamp());
+        assertEquals(5000, remoteEvents.get(1).getTimeStamp());
+        assertEquals(9000, remoteEvents.get(2).getTimeStamp());
+        assertEquals("testContext", remoteEvents.get(0).getLoggerContextVO().getName());
+        assertEquals("otherContext", remoteEvents.get(1).getLoggerContextVO().getName());
+        assertSame(remoteEvents.get(1).getLoggerContextVO(), remoteEvents.get(2).getLoggerContextVO());
+    }
+
+    private LoggingEvent createLoggingEvent(String message, Object[] args) {
+        return new LoggingEvent(this.getClass().getName(), logger, Level.DEBUG, message, null, args);
+    }
+
+    private List<ILoggingEvent> writeAndRead(ILoggingEvent... events) throws IOException {
+        BinaryEventWriter<ILoggingEvent> writer = new BinaryEventWriter<ILoggingEvent>(contextAware, bos,
+                new LoggingEventBinaryCodec(), true);
+        for (ILoggingEvent event : events) {
+            writer.write(event);
+        }
+        writer.flush();
+        writer.close();
+        return read(events.length);
+    }
+
+    private List<ILoggingEvent> read(int count) throws IOException {
+        List<ILoggingEvent> result = new ArrayList<ILoggingEvent>();
+        ObjectReader reader = new ObjectReaderFactory()
+                .newLoggingEventReader(new ByteArrayInputStream(bos.toByteArray()));
+        try {
+            for (int i = 0; i < count; i++) {
+                result.add((ILoggingEvent) reader.readObject());
+            }
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException(e);
+        } finally {
+            reader.close();
+        }
+        return result;
+    }
+
+    private void checkForEquality(ILoggingEvent original, ILoggingEvent afterSerialization) {
+        assertEquals(original.getLevel(), afterSerialization.getLevel());
+        assertEquals(original.getFormattedMessage(), afterSerialization.getFormattedMessage());
+        assertEquals(original.getMessage(), afterSerialization.getMessage());
+        assertEquals(original.getLoggerName(), afterSerialization.getLoggerName());
+        assertEquals(original.getThreadName(), afterSerialization.getThreadName());
+        assertEquals(original.getTimeStamp(), afterSerialization.getTimeStamp());
+        assertEquals(original.getNanoseconds(), afterSerialization.getNanoseconds());
+        assertEquals(original.getSequenceNumber(), afterSerialization.getSequenceNumber());
+        assertEquals(original.getLoggerContextVO().getName(), afterSerialization.getLoggerContextVO().getName());
+    }
+}
@@ -13,7 +13,10 @@
  */
 package ch.qos.logback.classic.spi;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.net.MalformedURLException;
@@ -55,6 +58,28 @@ public class PackagingDataCalculatorTest {
         verify(tp);
     }
 
+    @Test
+    public void dataIsCachedUnderTheResolvingClassLoader() {
+        // a context class loader which cannot see this class
+        ClassLoader tccl = new URLClassLoader(new URL[0], null);
+        ClassLoader previous = Thread.currentThread().getContextClassLoader();
+        Thread.currentThread().setContextClassLoader(tccl);
+        try {
+            ThrowableProxy tp = new ThrowableProxy(new Throwable("x"));
+            tp.getPackagingDataCalculator().calculate(tp);
+            StackTraceElementProxy step = tp.getStackTraceElementProxyArray()[0];
+            assertEquals(getClass().getName(), step.ste.getClassName());
+            assertNotSame(ClassPackagingDataCache.NA_INEXACT, step.getClassPackagingData());
+
+            String className = getClass().getName();
+            ClassLoader ownClassLoader = PackagingDataCalculator.class.getClassLoader();
+            assertSame(ClassPackagingDataCache.NA_INEXACT, PackagingDataCalculator.CACHE.get(tccl, className));
+            assertSame(step.getClassPackagingData(), PackagingDataCalculator.CACHE.get(ownClassLoader, className));
+        } finally {
+            Thread.currentThread().setContextClassLoader(previous);
+        }
+    }
+
     public void doCalculateClassPackagingData(boolean withClassPackagingCalculation) {
         try {
             throw new Exception("testing");
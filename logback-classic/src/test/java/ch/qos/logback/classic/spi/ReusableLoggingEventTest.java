@@ -0,0 +1,125 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.classic.spi;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MarkerFactory;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.AppenderBase;
+import ch.qos.logback.core.read.ListAppender;
+
+public class ReusableLoggingEventTest {
+
+    LoggerContext loggerContext = new LoggerContext();
+    Logger logger = loggerContext.getLogger(Logger.ROOT_LOGGER_NAME);
+    ListAppender<ILoggingEvent> listAppender = new ListAppender<ILoggingEvent>();
+
+    @BeforeEach
+    public void setUp() {
+        loggerContext.setReusableEventsEnabled(true);
+        listAppender.setContext(loggerContext);
+        listAppender.start();
+        logger.addAppender(listAppender);
+    }
+
+    @Test
+    public void retainedEventsAreSnapshots() {
+        logger.info("a={}", 1);
+        logger.info(MarkerFactory.getMarker("M"), "a={} b={}", 2, 3);
+        logger.info("plain");
+
+        List<ILoggingEvent> list = listAppender.list;
+        assertEquals(3, list.size());
+        for (ILoggingEvent event : list) {
+            assertFalse(event instanceof ReusableLoggingEvent);
+        }
+        assertEquals("a=1", list.get(0).getFormattedMessage());
+        assertArrayEquals(new Object[] { 1 }, list.get(0).getArgumentArray());
+        assertEquals("a=2 b=3", list.get(1).getFormattedMessage());
+        assertArrayEquals(new Object[] { 2, 3 }, list.get(1).getArgumentArray());
+        assertEquals("M", list.get(1).getMarkerList().get(0).getName());
+        assertEquals("plain", list.get(2).getFormattedMessage());
+        assertNull(list.get(2).getMarkerList());
+    }
+
+    @Test
+    public void eventInstanceIsReusedAndCleared() {
+        List<ILoggingEvent> seen = new ArrayList<ILoggingEvent>();
+        AppenderBase<ILoggingEvent> identityAppender = new AppenderBase<ILoggingEvent>() {
+            @Override
+            protected void append(ILoggingEvent event) {
+                seen.add(event);
+            }
+        };
+        identityAppender.setContext(loggerContext);
+        identityAppender.start();
+        logger.addAppender(identityAppender);
+
+        logger.info("x={}", "first", new Exception("boom"));
+        logger.info("y");
+
+        assertEquals(2, seen.size());
+        assertTrue(seen.get(0) instanceof ReusableLoggingEvent);
+        assertSame(seen.get(0), seen.get(1));
+        // released after the last call
+        assertNull(seen.get(1).getMessage());
+
+        assertNotNull(listAppender.list.get(0).getThrowableProxy());
+        assertNull(listAppender.list.get(1).getThrowableProxy());
+    }
+
+    @Test
+    public void nestedLoggingFallsBackToNewEvents() {
+        Logger nested = loggerContext.getLogger("nested");
+        nested.setAdditive(false);
+        ListAppender<ILoggingEvent> nestedList = new ListAppender<ILoggingEvent>();
+        nestedList.setContext(loggerContext);
+        nestedList.start();
+        nested.addAppender(nestedList);
+
+        AppenderBase<ILoggingEvent> loggingAppender = new AppenderBase<ILoggingEvent>() {
+            @Override
+            protected void append(ILoggingEvent event) {
+                nested.info("nested {}", event.getFormattedMessage());
+            }
+        };
+        loggingAppender.setContext(loggerContext);
+        loggingAppender.start();
+        logger.addAppender(loggingAppender);
+
+        logger.info("outer {}", 1);
+
+        assertEquals("outer 1", listAppender.list.get(0).getFormattedMessage());
+        assertEquals("nested outer 1", nestedList.list.get(0).getFormattedMessage());
+    }
+
+    @Test
+    public void disabledByDefault() {
+        assertFalse(new LoggerContext().isReusableEventsEnabled());
+    }
+}
@@ -0,0 +1,128 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.classic.spi;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+
+public class ThrowableProxyCacheTest {
+
+    ThrowableProxyCache cache = new ThrowableProxyCache(8);
+
+    static Exception makeException(String message) {
+        Exception cause = new IllegalStateException("cause of " + message);
+        Exception e = new RuntimeException(message, cause);
+        e.addSuppressed(new IllegalArgumentException("suppressed"));
+        return e;
+    }
+
+    @Test
+    public void identicalStacksShareFrames() {
+        ThrowableProxy[] proxies = new ThrowableProxy[2];
+        for (int i = 0; i < proxies.length; i++) {
+            proxies[i] = new ThrowableProxy(makeException("m" + i), cache);
+        }
+
+        assertSame(proxies[0].getStackTraceElementProxyArray(), proxies[1].getStackTraceElementProxyArray());
+        assertSame(proxies[0].getCause().getStackTraceElementProxyArray(),
+                proxies[1].getCause().getStackTraceElementProxyArray());
+        assertEquals("m1", proxies[1].getMessage());
+        // top-level, cause and suppressed stacks, each built once
+        assertEquals(3, cache.getMissCount());
+        assertEquals(3, cache.getHitCount());
+        assertEquals(3, cache.size());
+    }
+
+    @Test
+    public void renderingIsUnchanged() {
+        for (int i = 0; i < 2; i++) {
+            Exception e = makeException("m");
+            String expected = ThrowableProxyUtil.asString(new ThrowableProxy(e));
+            assertEquals(expected, ThrowableProxyUtil.asString(new ThrowableProxy(e, cache)));
+        }
+        assertTrue(cache.getHitCount() > 0);
+    }
+
+    @Test
+    public void commonFramesAreUnchanged() {
+        for (int i = 0; i < 2; i++) {
+            Exception e = makeException("m");
+            ThrowableProxy uncached = new ThrowableProxy(e);
+            ThrowableProxy cached = new ThrowableProxy(e, cache);
+            assertEquals(uncached.getCause().getCommonFrames(), cached.getCause().getCommonFrames());
+            assertEquals(uncached.getSuppressed()[0].getCommonFrames(), cached.getSuppressed()[0].getCommonFrames());
+            assertTrue(cached.getCause().getCommonFrames() > 0);
+        }
+    }
+
+    @Test
+    public void differentStacksAreNotShared() {
+        ThrowableProxy first = new ThrowableProxy(new Exception(), cache);
+        ThrowableProxy second = new ThrowableProxy(new Exception(), cache);
+        assertNotSame(first.getStackTraceElementProxyArray(), second.getStackTraceElementProxyArray());
+    }
+
+    @Test
+    public void sizeIsBounded() {
+        for (int i = 0; i < 20; i++) {
+            new ThrowableProxy(recurse(i), cache);
+        }
+        assertTrue(cache.size() <= 8, "size " + cache.size());
+    }
+
+    private Exception recurse(int depth) {
+        if (depth == 0) {
+            return new Exception();
+        }
+        return recurse(depth - 1);
+    }
+
+    @Test
+    public void packagingDataOnSharedFrames() {
+        for (int i = 0; i < 2; i++) {
+            ThrowableProxy tp = new ThrowableProxy(makeException("m"), cache);
+            tp.calculatePackagingData();
+            assertNotNull(tp.getStackTraceElementProxyArray()[0].getClassPackagingData());
+        }
+    }
+
+    @Test
+    public void enabledThroughLoggerContext() {
+        LoggerContext loggerContext = new LoggerContext();
+        assertNull(loggerContext.getThrowableProxyCache());
+        loggerContext.setThrowableProxyCacheSize(16);
+        assertEquals(16, loggerContext.getThrowableProxyCache().getMaxEntries());
+
+        Logger logger = loggerContext.getLogger(ThrowableProxyCacheTest.class);
+        LoggingEvent[] events = new LoggingEvent[2];
+        for (int i = 0; i < events.length; i++) {
+            events[i] = new LoggingEvent(Logger.FQCN, logger, Level.ERROR, "failure", makeException("m"), null);
+        }
+        assertSame(events[0].getThrowableProxy().getStackTraceElementProxyArray(),
+                events[1].getThrowableProxy().getStackTraceElementProxyArray());
+
+        loggerContext.setThrowableProxyCacheSize(0);
+        assertNull(loggerContext.getThrowableProxyCache());
+    }
+}
@@ -0,0 +1,187 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.classic.spi;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Marker;
+import org.slf4j.MarkerFactory;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.turbo.MarkerFilter;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+
+public class TurboFilterListTest {
+
+    TurboFilterList tfl = new TurboFilterList();
+    Marker blueMarker = MarkerFactory.getMarker("BLUE");
+
+    @Test
+    public void emptyChainIsNeutral() {
+        assertEquals(FilterReply.NEUTRAL, tfl.getTurboFilterChainDecision(null, null, Level.DEBUG, "x", null, null));
+        assertEquals(FilterReply.NEUTRAL, tfl.getTurboFilterChainDecision_1(blueMarker, null, Level.DEBUG, "x", 1, null));
+    }
+
+    @Test
+    public void modificationsRecompileTheChain() {
+        ConstantFilter deny = new ConstantFilter(FilterReply.DENY);
+        tfl.add(deny);
+        assertEquals(FilterReply.DENY, tfl.getTurboFilterChainDecision(null, null, Level.INFO, "x", null, null));
+
+        tfl.add(0, new ConstantFilter(FilterReply.ACCEPT));
+        assertEquals(FilterReply.ACCEPT, tfl.getTurboFilterChainDecision(null, null, Level.INFO, "x", null, null));
+
+        tfl.remove(0);
+        assertEquals(FilterReply.DENY, tfl.getTurboFilterChainDecision(null, null, Level.INFO, "x", null, null));
+
+        tfl.set(0, new ConstantFilter(FilterReply.NEUTRAL));
+        assertEquals(FilterReply.NEUTRAL, tfl.getTurboFilterChainDecision(null, null, Level.INFO, "x", null, null));
+
+        tfl.addAll(List.of(deny));
+        assertEquals(FilterReply.DENY, tfl.getTurboFilterChainDecision(null, null, Level.INFO, "x", null, null));
+
+        tfl.clear();
+        assertEquals(FilterReply.NEUTRAL, tfl.getTurboFilterChainDecision(null, null, Level.INFO, "x", null, null));
+    }
+
+    @Test
+    public void filtersRequiringAMarkerAreSkipped() {
+        MarkerFilter markerFilter = new MarkerFilter();
+        markerFilter.setMarker("BLUE");
+        markerFilter.setOnMatch("DENY");
+        markerFilter.start();
+        ConstantFilter constantFilter = new ConstantFilter(FilterReply.NEUTRAL);
+        constantFilter.markerRequired = true;
+        tfl.add(markerFilter);
+        tfl.add(constantFilter);
+
+        assertEquals(FilterReply.NEUTRAL, tfl.getTurboFilterChainDecision(null, null, Level.INFO, "x", null, null));
+        assertEquals(0, constantFilter.decisionCount);
+
+        assertEquals(FilterReply.DENY, tfl.getTurboFilterChainDecision(blueMarker, null, Level.INFO, "x", null, null));
+        Marker redMarker = MarkerFactory.getMarker("RED");
+        assertEquals(FilterReply.NEUTRAL, tfl.getTurboFilterChainDecision(redMarker, null, Level.INFO, "x", null, null));
+        assertEquals(1, constantFilter.decisionCount);
+    }
+
+    @Test
+    public void markerFilterDecidingOnMismatchIsNotSkipped() {
+        MarkerFilter markerFilter = new MarkerFilter();
+        markerFilter.setMarker("BLUE");
+        markerFilter.setOnMismatch("DENY");
+        markerFilter.start();
+        tfl.add(markerFilter);
+        assertEquals(FilterReply.DENY, tfl.getTurboFilterChainDecision(null, null, Level.INFO, "x", null, null));
+    }
+
+    @Test
+    public void changedDeclarationsRecompileTheChain() {
+        LoggerContext loggerContext = new LoggerContext();
+        MarkerFilter markerFilter = new MarkerFilter();
+        markerFilter.setContext(loggerContext);
+        markerFilter.setMarker("BLUE");
+        markerFilter.start();
+        loggerContext.addTurboFilter(markerFilter);
+        TurboFilterList turboFilterList = loggerContext.getTurboFilterList();
+        assertEquals(FilterReply.NEUTRAL,
+                turboFilterList.getTurboFilterChainDecision(null, null, Level.INFO, "x", null, null));
+
+        markerFilter.setOnMismatch("DENY");
+        assertEquals(FilterReply.DENY,
+                turboFilterList.getTurboFilterChainDecision(null, null, Level.INFO, "x", null, null));
+    }
+
+    @Test
+    public void subclassesOfBuiltInFiltersGetTheParameters() {
+        MarkerFilter markerFilter = new MarkerFilter();
+        assertFalse(markerFilter.isParametersRequired());
+        MarkerFilter subclass = new MarkerFilter() {
+        };
+        assertTrue(subclass.isParametersRequired());
+        assertFalse(subclass.isMarkerRequired());
+    }
+
+    @Test
+    public void requestsBelowTheMinimumLevelAreSkipped() {
+        ConstantFilter warnFilter = new ConstantFilter(FilterReply.ACCEPT);
+        warnFilter.minimumLevel = Level.WARN;
+        tfl.add(warnFilter);
+
+        assertEquals(FilterReply.NEUTRAL, tfl.getTurboFilterChainDecision(null, null, Level.INFO, "x", null, null));
+        assertEquals(0, warnFilter.decisionCount);
+        assertEquals(FilterReply.ACCEPT, tfl.getTurboFilterChainDecision(null, null, Level.ERROR, "x", null, null));
+        assertEquals(1, warnFilter.decisionCount);
+    }
+
+    @Test
+    public void parametersArePassedOnlyIfRequired() {
+        ConstantFilter filter = new ConstantFilter(FilterReply.NEUTRAL);
+        filter.parametersRequired = false;
+        tfl.add(filter);
+        tfl.getTurboFilterChainDecision_2(null, null, Level.INFO, "{} {}", 1, 2, null);
+        assertNull(filter.lastParams);
+
+        filter.parametersRequired = true;
+        tfl.recompile();
+        tfl.getTurboFilterChainDecision_2(null, null, Level.INFO, "{} {}", 1, 2, null);
+        assertNotNull(filter.lastParams);
+        assertEquals(2, filter.lastParams.length);
+    }
+
+    static class ConstantFilter extends TurboFilter {
+        final FilterReply reply;
+        boolean markerRequired = false;
+        Level minimumLevel = Level.ALL;
+        boolean parametersRequired = true;
+        int decisionCount = 0;
+        Object[] lastParams;
+
+        ConstantFilter(FilterReply reply) {
+            this.reply = reply;
+        }
+
+        @Override
+        public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params,
+                Throwable t) {
+            decisionCount++;
+            lastParams = params;
+            return reply;
+        }
+
+        @Override
+        public boolean isMarkerRequired() {
+            return markerRequired;
+        }
+
+        @Override
+        public Level getMinimumLevel() {
+            return minimumLevel;
+        }
+
+        @Override
+        public boolean isParametersRequired() {
+            return parametersRequired;
+        }
+    }
+}
@@ -14,6 +14,9 @@
 package ch.qos.logback.classic.turbo;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
 
 import org.junit.jupiter.api.Test;
 
@@ -38,4 +41,58 @@ public class LRUMessageCacheTest {
         assertEquals(0, cache.getMessageCountAndThenIncrement("2"));
     }
 
+    @Test
+    public void sizeIsBoundedIndependentlyOfMessageCardinality() {
+        final LRUMessageCache cache = new LRUMessageCache(100);
+        for (int i = 0; i < 10000; i++) {
+            cache.getMessageCountAndThenIncrement("message " + i);
+        }
+        assertEquals(100, cache.size());
+        cache.clear();
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void recentlySeenMessagesSurvive() {
+        final LRUMessageCache cache = new LRUMessageCache(100);
+        for (int i = 0; i < 1000; i++) {
+            cache.getMessageCountAndThenIncrement("hot");
+            cache.getMessageCountAndThenIncrement("cold " + i);
+        }
+        assertEquals(1000, cache.getMessageCountAndThenIncrement("hot"));
+    }
+
+    @Test
+    public void shardCount() {
+        assertEquals(1, LRUMessageCache.computeShardCount(2, 8));
+        assertEquals(2, LRUMessageCache.computeShardCount(100, 1));
+        assertEquals(4, LRUMessageCache.computeShardCount(100, 8));
+        assertEquals(16, LRUMessageCache.computeShardCount(100000, 8));
+    }
+
+    @Test
+    public void concurrentIncrementsAreNotLost() throws InterruptedException {
+        final int threadCount = 4;
+        final int perThread = 10000;
+        final LRUMessageCache cache = new LRUMessageCache(100);
+        final AtomicIntegerArray seen = new AtomicIntegerArray(threadCount * perThread);
+
+        Thread[] threads = new Thread[threadCount];
+        for (int i = 0; i < threadCount; i++) {
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < perThread; j++) {
+                    seen.incrementAndGet(cache.getMessageCountAndThenIncrement("msg"));
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        // each count was handed out exactly once
+        for (int i = 0; i < seen.length(); i++) {
+            assertEquals(1, seen.get(i));
+        }
+        assertTrue(cache.size() <= 100);
+    }
 }
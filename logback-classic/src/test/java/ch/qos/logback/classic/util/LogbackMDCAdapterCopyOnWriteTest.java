@@ -0,0 +1,118 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.classic.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class LogbackMDCAdapterCopyOnWriteTest {
+
+    private final LogbackMDCAdapterCopyOnWrite mdcAdapter = new LogbackMDCAdapterCopyOnWrite();
+
+    @Test
+    public void snapshotsAreUnaffectedByLaterUpdates() {
+        mdcAdapter.put("k1", "v1");
+        mdcAdapter.put("k0", "v0");
+        Map<String, String> map0 = mdcAdapter.getPropertyMap();
+        // capture is a reference copy
+        Assertions.assertSame(map0, mdcAdapter.getPropertyMap());
+
+        mdcAdapter.put("k0", "v0bis");
+        mdcAdapter.remove("k1");
+        Map<String, String> map1 = mdcAdapter.getPropertyMap();
+
+        Map<String, String> witness0 = new HashMap<>();
+        witness0.put("k0", "v0");
+        witness0.put("k1", "v1");
+        Assertions.assertEquals(witness0, map0);
+        Assertions.assertEquals(Map.of("k0", "v0bis"), map1);
+        Assertions.assertEquals("v0bis", mdcAdapter.get("k0"));
+        Assertions.assertNull(mdcAdapter.get("k1"));
+    }
+
+    @Test
+    public void propertyMapIsUnmodifiable() {
+        mdcAdapter.put("k", "v");
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> mdcAdapter.getPropertyMap().put("x", "y"));
+    }
+
+    @Test
+    public void nullValuesAndKeys() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> mdcAdapter.put(null, "v"));
+        mdcAdapter.remove(null);
+        mdcAdapter.remove("absent");
+        Assertions.assertNull(mdcAdapter.getPropertyMap());
+
+        mdcAdapter.put("k", null);
+        Assertions.assertTrue(mdcAdapter.getPropertyMap().containsKey("k"));
+        Assertions.assertNull(mdcAdapter.get("k"));
+    }
+
+    @Test
+    public void largeMapsFallBackAndShrinkBack() {
+        int size = LogbackMDCAdapterCopyOnWrite.MAX_ARRAY_MAP_SIZE + 4;
+        Map<String, String> witness = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            mdcAdapter.put("k" + i, "v" + i);
+            witness.put("k" + i, "v" + i);
+            Assertions.assertEquals(witness, mdcAdapter.getPropertyMap());
+        }
+        Assertions.assertFalse(mdcAdapter.getPropertyMap() instanceof SortedArrayMap);
+
+        for (int i = 0; i < size; i++) {
+            mdcAdapter.remove("k" + i);
+            witness.remove("k" + i);
+            Assertions.assertEquals(witness, mdcAdapter.getPropertyMap());
+        }
+        Assertions.assertTrue(mdcAdapter.getPropertyMap().isEmpty());
+    }
+
+    @Test
+    public void copyAndSetContextMap() {
+        Map<String, String> contextMap = new HashMap<>();
+        contextMap.put("b", "2");
+        contextMap.put("a", "1");
+        mdcAdapter.setContextMap(contextMap);
+        contextMap.put("c", "3");
+
+        Map<String, String> copy = mdcAdapter.getCopyOfContextMap();
+        Assertions.assertEquals(Map.of("a", "1", "b", "2"), copy);
+        copy.put("d", "4");
+        Assertions.assertNull(mdcAdapter.get("d"));
+
+        mdcAdapter.clear();
+        Assertions.assertNull(mdcAdapter.getCopyOfContextMap());
+    }
+
+    @Test
+    public void serializesAsHashMap() throws Exception {
+        mdcAdapter.put("k", "v");
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(baos)) {
+            oos.writeObject(mdcAdapter.getPropertyMap());
+        }
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(baos.toByteArray()))) {
+            Object read = ois.readObject();
+            Assertions.assertEquals(HashMap.class, read.getClass());
+            Assertions.assertEquals(Map.of("k", "v"), read);
+        }
+    }
+}
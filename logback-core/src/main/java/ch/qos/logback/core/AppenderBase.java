@@ -16,6 +16,11 @@ package ch.qos.logback.core;
 import java.util.List;
 
 import ch.qos.logback.core.filter.Filter;
+import ch.qos.logback.core.metrics.AppenderMetrics;
+import ch.qos.logback.core.metrics.AppenderMetricsSnapshot;
+import ch.qos.logback.core.metrics.AppenderMetricsSupport;
+import ch.qos.logback.core.metrics.MetricsJMXRegistrar;
+import ch.qos.logback.core.metrics.MetricsSource;
 import ch.qos.logback.core.spi.ContextAwareBase;
 import ch.qos.logback.core.spi.FilterAttachableImpl;
 import ch.qos.logback.core.spi.FilterReply;
@@ -30,7 +35,7 @@ import ch.qos.logback.core.status.WarnStatus;
  * 
  * @author Ceki G&uuml;lc&uuml;
  */
-abstract public class AppenderBase<E> extends ContextAwareBase implements Appender<E> {
+abstract public class AppenderBase<E> extends ContextAwareBase implements Appender<E>, MetricsSource {
 
     protected volatile boolean started = false;
 
@@ -47,6 +52,8 @@ abstract public class AppenderBase<E> extends ContextAwareBase implements Append
 
     private FilterAttachableImpl<E> fai = new FilterAttachableImpl<E>();
 
+    private final AppenderMetricsSupport metricsSupport = new AppenderMetricsSupport();
+
     public String getName() {
         return name;
     }
@@ -75,14 +82,25 @@ abstract public class AppenderBase<E> extends ContextAwareBase implements Append
                 return;
             }
 
+            final AppenderMetrics metrics = metricsSupport.getMetrics();
             if (getFilterChainDecision(eventObject) == FilterReply.DENY) {
+                if (metrics != null) {
+                    metrics.recordDenied();
+                }
                 return;
             }
 
             // ok, we now invoke derived class' implementation of append
-            this.append(eventObject);
+            if (metrics == null) {
+                this.append(eventObject);
+            } else {
+                long start = System.nanoTime();
+                this.append(eventObject);
+                metrics.recordAppend(1, System.nanoTime() - start);
+            }
 
         } catch (Exception e) {
+            metricsSupport.recordFailure();
             if (exceptionCount++ < ALLOWED_REPEATS) {
                 addError("Appender [" + name + "] failed to append.", e);
             }
@@ -101,17 +119,47 @@ abstract public class AppenderBase<E> extends ContextAwareBase implements Append
     }
 
     public void start() {
+        metricsSupport.start(this, context, name, this);
         started = true;
     }
 
     public void stop() {
         started = false;
+        metricsSupport.stop();
     }
 
     public boolean isStarted() {
         return started;
     }
 
+    /**
+     * Enable or disable the collection of metrics, see {@link MetricsSource}.
+     * When enabled before the appender is started, metrics are also published
+     * over JMX, see {@link MetricsJMXRegistrar}.
+     * 
+     * @since 1.4.2
+     */
+    public void setMetricsEnabled(boolean metricsEnabled) {
+        metricsSupport.setEnabled(metricsEnabled);
+    }
+
+    public boolean isMetricsEnabled() {
+        return metricsSupport.isEnabled();
+    }
+
+    /**
+     * Returns the metrics of this appender, null unless enabled.
+     * 
+     * @since 1.4.2
+     */
+    protected AppenderMetrics getMetrics() {
+        return metricsSupport.getMetrics();
+    }
+
+    public AppenderMetricsSnapshot getMetricsSnapshot() {
+        return metricsSupport.snapshot(name);
+    }
+
     public String toString() {
         return this.getClass().getName() + "[" + name + "]";
     }
@@ -13,8 +13,14 @@
  */
 package ch.qos.logback.core;
 
+import ch.qos.logback.core.async.QueueType;
+import ch.qos.logback.core.async.RingBufferBlockingQueue;
+import ch.qos.logback.core.async.WaitStrategy;
+import ch.qos.logback.core.metrics.AppenderMetrics;
+import ch.qos.logback.core.metrics.AppenderMetricsSnapshot;
 import ch.qos.logback.core.spi.AppenderAttachable;
 import ch.qos.logback.core.spi.AppenderAttachableImpl;
+import ch.qos.logback.core.spi.ReusableEvent;
 import ch.qos.logback.core.util.InterruptUtil;
 
 import java.util.ArrayList;
@@ -31,7 +37,15 @@ import java.util.concurrent.BlockingQueue;
  * <p>
  * This appender buffers events in a {@link BlockingQueue}. {@link Worker}
  * thread created by this appender takes events from the head of the queue, and
- * dispatches them to the single appender attached to this appender.
+ * dispatches them to the single appender attached to this appender. If the
+ * attached appender implements {@link BatchAppender}, all the events drained
+ * from the queue in one go are handed to it as a single batch.
+ * <p>
+ * By default, the queue is an {@link ArrayBlockingQueue}. Setting the
+ * <b>queueType</b> property to {@link QueueType#RING_BUFFER RING_BUFFER}
+ * selects a lock-free {@link RingBufferBlockingQueue} instead, in which case
+ * the <b>waitStrategy</b> property determines how the worker and blocked
+ * producers wait.
  * <p>
  * Please refer to the
  * <a href="http://logback.qos.ch/manual/appenders.html#AsyncAppender">logback
@@ -60,6 +74,9 @@ public class AsyncAppenderBase<E> extends UnsynchronizedAppenderBase<E> implemen
     int discardingThreshold = UNDEFINED;
     boolean neverBlock = false;
 
+    QueueType queueType = QueueType.ARRAY_BLOCKING;
+    WaitStrategy waitStrategy = WaitStrategy.BLOCKING;
+
     Worker worker = new Worker();
 
     /**
@@ -106,7 +123,7 @@ public class AsyncAppenderBase<E> extends UnsynchronizedAppenderBase<E> implemen
             addError("Invalid queue size [" + queueSize + "]");
             return;
         }
-        blockingQueue = new ArrayBlockingQueue<E>(queueSize);
+        blockingQueue = createQueue(queueSize);
 
         if (discardingThreshold == UNDEFINED)
             discardingThreshold = queueSize / 5;
@@ -119,6 +136,26 @@ public class AsyncAppenderBase<E> extends UnsynchronizedAppenderBase<E> implemen
         worker.start();
     }
 
+    /**
+     * Create the queue used to hand events over to the worker thread. Subclasses
+     * may override this method in order to plug in their own queue
+     * implementation.
+     *
+     * @param capacity the queue capacity, always positive
+     * @return a new queue
+     * @since 1.4.2
+     */
+    protected BlockingQueue<E> createQueue(int capacity) {
+        switch (queueType) {
+        case RING_BUFFER:
+            addInfo("Using a ring buffer queue with wait strategy " + waitStrategy);
+            return new RingBufferBlockingQueue<E>(capacity, waitStrategy);
+        case ARRAY_BLOCKING:
+        default:
+            return new ArrayBlockingQueue<E>(capacity);
+        }
+    }
+
     @Override
     public void stop() {
         if (!isStarted())
@@ -160,19 +197,34 @@ public class AsyncAppenderBase<E> extends UnsynchronizedAppenderBase<E> implemen
     @Override
     protected void append(E eventObject) {
         if (isQueueBelowDiscardingThreshold() && isDiscardable(eventObject)) {
+            AppenderMetrics metrics = getMetrics();
+            if (metrics != null) {
+                metrics.recordDropped();
+            }
             return;
         }
         preprocess(eventObject);
-        put(eventObject);
+        // the queue outlives this call, reusable events must be copied
+        put(ReusableEvent.snapshotIfReusable(eventObject));
     }
 
     private boolean isQueueBelowDiscardingThreshold() {
-        return (blockingQueue.remainingCapacity() < discardingThreshold);
+        int remainingCapacity = blockingQueue.remainingCapacity();
+        AppenderMetrics metrics = getMetrics();
+        if (metrics != null) {
+            metrics.recordQueueDepth(queueSize - remainingCapacity);
+        }
+        return (remainingCapacity < discardingThreshold);
     }
 
     private void put(E eventObject) {
         if (neverBlock) {
-            blockingQueue.offer(eventObject);
+            if (!blockingQueue.offer(eventObject)) {
+                AppenderMetrics metrics = getMetrics();
+                if (metrics != null) {
+                    metrics.recordDropped();
+                }
+            }
         } else {
             putUninterruptibly(eventObject);
         }
@@ -229,6 +281,36 @@ public class AsyncAppenderBase<E> extends UnsynchronizedAppenderBase<E> implemen
         return blockingQueue.size();
     }
 
+    public QueueType getQueueType() {
+        return queueType;
+    }
+
+    /**
+     * Set the type of queue to use. Only taken into account when the appender is
+     * started.
+     *
+     * @param queueType
+     * @since 1.4.2
+     */
+    public void setQueueType(QueueType queueType) {
+        this.queueType = queueType;
+    }
+
+    public WaitStrategy getWaitStrategy() {
+        return waitStrategy;
+    }
+
+    /**
+     * Set the wait strategy of the queue. Only meaningful for
+     * {@link QueueType#RING_BUFFER}.
+     *
+     * @param waitStrategy
+     * @since 1.4.2
+     */
+    public void setWaitStrategy(WaitStrategy waitStrategy) {
+        this.waitStrategy = waitStrategy;
+    }
+
     public void setNeverBlock(boolean neverBlock) {
         this.neverBlock = neverBlock;
     }
@@ -250,6 +332,23 @@ public class AsyncAppenderBase<E> extends UnsynchronizedAppenderBase<E> implemen
         return blockingQueue.remainingCapacity();
     }
 
+    /**
+     * In addition to the counters common to all appenders, the snapshot reports
+     * the current depth of the queue and the highest depth observed by appending
+     * threads. Events discarded because of the {@link #setDiscardingThreshold(int)
+     * discarding threshold} or, with {@link #setNeverBlock(boolean) neverBlock},
+     * because the queue was full, are counted as dropped.
+     */
+    @Override
+    public AppenderMetricsSnapshot getMetricsSnapshot() {
+        AppenderMetrics metrics = getMetrics();
+        if (metrics == null) {
+            return null;
+        }
+        BlockingQueue<E> queue = blockingQueue;
+        return metrics.snapshot(name, queue == null ? 0 : queue.size(), queueSize);
+    }
+
     public void addAppender(Appender<E> newAppender) {
         if (appenderCount == 0) {
             appenderCount++;
@@ -291,27 +390,31 @@ public class AsyncAppenderBase<E> extends UnsynchronizedAppenderBase<E> implemen
             AsyncAppenderBase<E> parent = AsyncAppenderBase.this;
             AppenderAttachableImpl<E> aai = parent.aai;
 
+            // the list is handed to BatchAppender instances which may not retain it,
+            // it can thus be reused across iterations
+            List<E> elements = new ArrayList<E>();
+
             // loop while the parent is started
             while (parent.isStarted()) {
                 try {
-                    List<E> elements = new ArrayList<E>();
                     E e0 = parent.blockingQueue.take();
                     elements.add(e0);
                     parent.blockingQueue.drainTo(elements);
-                    for (E e : elements) {
-                        aai.appendLoopOnAppenders(e);
-                    }
+                    aai.appendBatchLoopOnAppenders(elements);
                 } catch (InterruptedException e1) {
                     // exit if interrupted
                     break;
+                } finally {
+                    elements.clear();
                 }
             }
 
             addInfo("Worker thread will flush remaining events before exiting. ");
 
-            for (E e : parent.blockingQueue) {
-                aai.appendLoopOnAppenders(e);
-                parent.blockingQueue.remove(e);
+            parent.blockingQueue.drainTo(elements);
+            if (!elements.isEmpty()) {
+                aai.appendBatchLoopOnAppenders(elements);
+                elements.clear();
             }
 
             aai.detachAndStopAllAppenders();
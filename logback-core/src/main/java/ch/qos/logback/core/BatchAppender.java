@@ -0,0 +1,44 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core;
+
+import java.util.List;
+
+/**
+ * An {@link Appender} capable of processing several events at once, for
+ * example in order to write them with a single lock acquisition and a single
+ * flush.
+ *
+ * <p>
+ * {@link AsyncAppenderBase} hands each batch of events drained from its queue
+ * to attached appenders implementing this interface.
+ *
+ * @since 1.4.2
+ */
+public interface BatchAppender<E> extends Appender<E> {
+
+    /**
+     * Append the given events, in list order. Filters are applied to each event
+     * individually. The outcome must be the same as that of invoking
+     * {@link #doAppend(Object)} for each event in turn.
+     *
+     * <p>
+     * Implementations must not modify the list nor retain a reference to it
+     * after this method returns.
+     *
+     * @param events
+     */
+    void doAppendBatch(List<E> events) throws LogbackException;
+
+}
@@ -121,4 +121,8 @@ public class ConsoleAppender<E> extends OutputStreamAppender<E> {
         this.withJansi = withJansi;
     }
 
+    @Override
+    protected boolean supportsBatches() {
+        return getClass() == ConsoleAppender.class;
+    }
 }
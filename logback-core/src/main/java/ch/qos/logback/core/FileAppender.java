@@ -18,8 +18,10 @@ import static ch.qos.logback.core.CoreConstants.MORE_INFO_PREFIX;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.channels.FileChannel;
 import java.nio.channels.FileLock;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 
@@ -203,14 +205,25 @@ public class FileAppender<E> extends OutputStreamAppender<E> {
                 addError("Failed to create parent directories for [" + file.getAbsolutePath() + "]");
             }
 
-            ResilientFileOutputStream resilientFos = new ResilientFileOutputStream(file, append, bufferSize.getSize());
-            resilientFos.setContext(context);
-            setOutputStream(resilientFos);
+            setOutputStream(createFileOutputStream(file));
         } finally {
             lock.unlock();
         }
     }
 
+    /**
+     * Create the stream writing into the given file, taking into account the
+     * <b>Append</b> property. Derived classes may return another kind of stream,
+     * which must however be a {@link ResilientFileOutputStream} in prudent mode.
+     *
+     * @since 1.4.2
+     */
+    protected OutputStream createFileOutputStream(File file) throws IOException {
+        ResilientFileOutputStream resilientFos = new ResilientFileOutputStream(file, append, bufferSize.getSize());
+        resilientFos.setContext(context);
+        return resilientFos;
+    }
+
     /**
      * @see #setPrudent(boolean)
      * 
@@ -239,7 +252,22 @@ public class FileAppender<E> extends OutputStreamAppender<E> {
         this.bufferSize = bufferSize;
     }
 
+    /**
+     * A write operation performed while holding the file lock in prudent mode.
+     */
+    private interface PrudentWrite {
+        void write() throws IOException;
+    }
+
     private void safeWrite(E event) throws IOException {
+        safeWrite(() -> super.writeOut(event));
+    }
+
+    private void safeWriteBatch(List<E> events) throws IOException {
+        safeWrite(() -> super.writeOutBatch(events));
+    }
+
+    private void safeWrite(PrudentWrite prudentWrite) throws IOException {
         ResilientFileOutputStream resilientFOS = (ResilientFileOutputStream) getOutputStream();
         FileChannel fileChannel = resilientFOS.getChannel();
         if (fileChannel == null) {
@@ -257,7 +285,7 @@ public class FileAppender<E> extends OutputStreamAppender<E> {
             if (size != position) {
                 fileChannel.position(size);
             }
-            super.writeOut(event);
+            prudentWrite.write();
         } catch (IOException e) {
             // Mainly to catch FileLockInterruptionExceptions (see LOGBACK-875)
             resilientFOS.postIOFailure(e);
@@ -281,4 +309,18 @@ public class FileAppender<E> extends OutputStreamAppender<E> {
             super.writeOut(event);
         }
     }
+
+    @Override
+    protected void writeOutBatch(List<E> events) throws IOException {
+        if (prudent) {
+            safeWriteBatch(events);
+        } else {
+            super.writeOutBatch(events);
+        }
+    }
+
+    @Override
+    protected boolean supportsBatches() {
+        return getClass() == FileAppender.class;
+    }
 }
@@ -0,0 +1,80 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import ch.qos.logback.core.util.FileSize;
+import ch.qos.logback.core.util.MemoryMappedFileOutputStream;
+
+/**
+ * A {@link FileAppender} which writes into the file through a memory-mapped
+ * region instead of a buffered stream, see {@link MemoryMappedFileOutputStream}.
+ * Encoded events are copied into the mapped region, no system call is needed
+ * except when mapping the next region.
+ *
+ * <p>
+ * While the appender is running, the file is extended up to the end of the
+ * current region and thus ends with unused, zeroed bytes followed by a trailer
+ * recording the number of bytes written. It is truncated to its real length
+ * when the appender stops, or when it is opened again in append mode after a
+ * crash.
+ *
+ * <p>
+ * Prudent mode is not supported.
+ *
+ * @since 1.4.2
+ */
+public class MemoryMappedFileAppender<E> extends FileAppender<E> {
+
+    public static final long DEFAULT_REGION_SIZE = 32 * FileSize.MB_COEFFICIENT;
+
+    private FileSize regionSize = new FileSize(DEFAULT_REGION_SIZE);
+
+    @Override
+    public void start() {
+        if (isPrudent()) {
+            addError("Prudent mode is not supported by " + getClass().getSimpleName() + ". Aborting.");
+            return;
+        }
+        if (!MemoryMappedFileOutputStream.isValidRegionSize(regionSize)) {
+            addError("Invalid regionSize [" + regionSize + "]. Aborting.");
+            return;
+        }
+        super.start();
+    }
+
+    @Override
+    protected OutputStream createFileOutputStream(File file) throws IOException {
+        return new MemoryMappedFileOutputStream(file, append, (int) regionSize.getSize());
+    }
+
+    public FileSize getRegionSize() {
+        return regionSize;
+    }
+
+    /**
+     * The size of the file regions mapped at a time, 32 MB by default.
+     */
+    public void setRegionSize(FileSize regionSize) {
+        this.regionSize = regionSize;
+    }
+
+    @Override
+    protected boolean supportsBatches() {
+        return getClass() == MemoryMappedFileAppender.class;
+    }
+}
@@ -17,10 +17,14 @@ import static ch.qos.logback.core.CoreConstants.CODES_URL;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.List;
 import java.util.concurrent.locks.ReentrantLock;
 
+import ch.qos.logback.core.encoder.ByteSink;
 import ch.qos.logback.core.encoder.Encoder;
 import ch.qos.logback.core.encoder.LayoutWrappingEncoder;
+import ch.qos.logback.core.encoder.StreamingEncoder;
+import ch.qos.logback.core.metrics.AppenderMetrics;
 import ch.qos.logback.core.spi.DeferredProcessingAware;
 import ch.qos.logback.core.status.ErrorStatus;
 
@@ -31,9 +35,23 @@ import ch.qos.logback.core.status.ErrorStatus;
  * For more information about this appender, please refer to the online manual
  * at http://logback.qos.ch/manual/appenders.html#OutputStreamAppender
  * 
+ * <p>
+ * As a {@link BatchAppender}, a batch of events is encoded first and then
+ * written under a single lock acquisition with at most one flush at the end of
+ * the batch. Subclasses receive batches one event at a time through
+ * {@link #append(Object)} unless they opt in, see {@link #supportsBatches()}.
+ * 
+ * <p>
+ * If the encoder implements {@link StreamingEncoder}, events are encoded into a
+ * per thread {@link ByteSink} which is reused from one event to the next.
+ * Encoders overriding {@link Encoder#encode(Object)} without overriding
+ * {@link StreamingEncoder#encodeTo(Object, ByteSink)}, such as custom
+ * subclasses of {@link LayoutWrappingEncoder}, are invoked through
+ * {@link Encoder#encode(Object)} as before.
+ * 
  * @author Ceki G&uuml;lc&uuml;
  */
-public class OutputStreamAppender<E> extends UnsynchronizedAppenderBase<E> {
+public class OutputStreamAppender<E> extends UnsynchronizedAppenderBase<E> implements BatchAppender<E> {
 
     /**
      * It is the encoder which is ultimately responsible for writing the event to an
@@ -53,6 +71,30 @@ public class OutputStreamAppender<E> extends UnsynchronizedAppenderBase<E> {
 
     boolean immediateFlush = true;
 
+    /**
+     * Reusable buffers for {@link StreamingEncoder} instances. Encoding takes place
+     * outside the lock and hence needs one buffer per thread.
+     */
+    private final ThreadLocal<ByteSink> threadLocalSink = ThreadLocal.withInitial(ByteSink::new);
+
+    /**
+     * Encoded bytes of a batch are written whenever they exceed this size, so
+     * that a large batch does not grow the per thread buffer for good.
+     */
+    static final int BATCH_WRITE_THRESHOLD = 8 * 1024;
+
+    /**
+     * Whether an encoder class is invoked through
+     * {@link StreamingEncoder#encodeTo(Object, ByteSink)}, see
+     * {@link #usesEncodeTo(Class)}.
+     */
+    private static final ClassValue<Boolean> USES_ENCODE_TO = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            return usesEncodeTo(type);
+        }
+    };
+
     /**
      * The underlying output stream used by this appender.
      * 
@@ -102,6 +144,66 @@ public class OutputStreamAppender<E> extends UnsynchronizedAppenderBase<E> {
         subAppend(eventObject);
     }
 
+    @Override
+    protected void appendBatch(List<E> eventObjects) {
+        if (!isStarted()) {
+            return;
+        }
+
+        if (supportsBatches()) {
+            subAppendBatch(eventObjects);
+        } else {
+            // honor the overrides of a subclass unaware of batches
+            for (E eventObject : eventObjects) {
+                append(eventObject);
+            }
+        }
+    }
+
+    /**
+     * Whether batches are handed to {@link #subAppendBatch(List)} rather than
+     * to {@link #append(Object)} one event at a time. Each class opts in for
+     * itself only, as a subclass may override {@link #append(Object)},
+     * {@link #subAppend(Object)} or {@link #writeOut(Object)} without their
+     * batch counterpart, {@link #appendBatch(List)},
+     * {@link #subAppendBatch(List)} or {@link #writeOutBatch(List)}. Subclasses
+     * overriding both or neither may opt in by overriding this method.
+     * 
+     * @since 1.4.2
+     */
+    protected boolean supportsBatches() {
+        return getClass() == OutputStreamAppender.class;
+    }
+
+    /**
+     * Returns false if the given {@link StreamingEncoder} class overrides
+     * {@link Encoder#encode(Object)} below its most specific
+     * {@link StreamingEncoder#encodeTo(Object, ByteSink)}, in which case the
+     * latter cannot be trusted to produce the same bytes.
+     */
+    static boolean usesEncodeTo(Class<?> type) {
+        try {
+            Class<?> encodeClass = type.getMethod("encode", Object.class).getDeclaringClass();
+            Class<?> encodeToClass = type.getMethod("encodeTo", Object.class, ByteSink.class).getDeclaringClass();
+            return encodeClass.isAssignableFrom(encodeToClass);
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Returns the encoder if events are to be encoded through
+     * {@link StreamingEncoder#encodeTo(Object, ByteSink)}, null otherwise.
+     */
+    @SuppressWarnings("unchecked")
+    private StreamingEncoder<E> streamingEncoder() {
+        Encoder<E> encoder = this.encoder;
+        if (encoder instanceof StreamingEncoder && USES_ENCODE_TO.get(encoder.getClass())) {
+            return (StreamingEncoder<E>) encoder;
+        }
+        return null;
+    }
+
     /**
      * Stop this appender instance. The underlying stream or writer is also closed.
      * 
@@ -137,6 +239,25 @@ public class OutputStreamAppender<E> extends UnsynchronizedAppenderBase<E> {
         }
     }
 
+    /**
+     * Write the encoder's footer and detach the underlying {@link OutputStream}
+     * without closing it, leaving this appender without output stream until
+     * {@link #setOutputStream(OutputStream)} is invoked. The caller becomes
+     * responsible for closing the returned stream.
+     * 
+     * <p>
+     * Must be invoked while holding {@link #lock}.
+     * 
+     * @return the detached stream, possibly null
+     * @since 1.4.2
+     */
+    protected OutputStream detachOutputStream() {
+        encoderClose();
+        OutputStream detached = this.outputStream;
+        this.outputStream = null;
+        return detached;
+    }
+
     void encoderClose() {
         if (encoder != null && this.outputStream != null) {
             try {
@@ -189,8 +310,86 @@ public class OutputStreamAppender<E> extends UnsynchronizedAppenderBase<E> {
     }
 
     protected void writeOut(E event) throws IOException {
-        byte[] byteArray = this.encoder.encode(event);
-        writeBytes(byteArray);
+        StreamingEncoder<E> streamingEncoder = streamingEncoder();
+        if (streamingEncoder != null) {
+            ByteSink sink = threadLocalSink.get();
+            try {
+                streamingEncoder.encodeTo(event, sink);
+                writeSink(sink, immediateFlush);
+            } finally {
+                sink.recycle();
+            }
+        } else {
+            byte[] byteArray = this.encoder.encode(event);
+            writeBytes(byteArray);
+        }
+    }
+
+    /**
+     * Encode all events and write the result with a single lock acquisition per
+     * {@link #BATCH_WRITE_THRESHOLD} bytes or so, flushing at most once.
+     * 
+     * @since 1.4.2
+     */
+    protected void writeOutBatch(List<E> events) throws IOException {
+        StreamingEncoder<E> streamingEncoder = streamingEncoder();
+        if (streamingEncoder != null) {
+            // events are gathered in one buffer, written with a single call
+            // unless it exceeds BATCH_WRITE_THRESHOLD
+            ByteSink sink = threadLocalSink.get();
+            try {
+                for (E event : events) {
+                    streamingEncoder.encodeTo(event, sink);
+                    if (sink.size() >= BATCH_WRITE_THRESHOLD) {
+                        writeSink(sink, false);
+                        sink.recycle();
+                    }
+                }
+                writeSink(sink, immediateFlush);
+            } finally {
+                sink.recycle();
+            }
+            return;
+        }
+
+        final int len = events.size();
+        byte[][] byteArrays = new byte[len][];
+        for (int i = 0; i < len; i++) {
+            byteArrays[i] = this.encoder.encode(events.get(i));
+        }
+
+        lock.lock();
+        try {
+            boolean written = false;
+            for (byte[] byteArray : byteArrays) {
+                if (byteArray == null || byteArray.length == 0)
+                    continue;
+                this.outputStream.write(byteArray);
+                recordBytesWritten(byteArray.length);
+                written = true;
+            }
+            if (written && immediateFlush) {
+                this.outputStream.flush();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void writeSink(ByteSink sink, boolean flush) throws IOException {
+        if (sink.isEmpty())
+            return;
+
+        lock.lock();
+        try {
+            sink.writeTo(this.outputStream);
+            recordBytesWritten(sink.size());
+            if (flush) {
+                this.outputStream.flush();
+            }
+        } finally {
+            lock.unlock();
+        }
     }
 
     private void writeBytes(byte[] byteArray) throws IOException {
@@ -200,6 +399,7 @@ public class OutputStreamAppender<E> extends UnsynchronizedAppenderBase<E> {
         lock.lock();
         try {
             this.outputStream.write(byteArray);
+            recordBytesWritten(byteArray.length);
             if (immediateFlush) {
                 this.outputStream.flush();
             }
@@ -208,6 +408,13 @@ public class OutputStreamAppender<E> extends UnsynchronizedAppenderBase<E> {
         }
     }
 
+    private void recordBytesWritten(int byteCount) {
+        AppenderMetrics metrics = getMetrics();
+        if (metrics != null) {
+            metrics.recordBytesWritten(byteCount);
+        }
+    }
+
     /**
      * Actual writing occurs here.
      * <p>
@@ -231,6 +438,43 @@ public class OutputStreamAppender<E> extends UnsynchronizedAppenderBase<E> {
             // as soon as an exception occurs, move to non-started state
             // and add a single ErrorStatus to the SM.
             this.started = false;
+            AppenderMetrics metrics = getMetrics();
+            if (metrics != null) {
+                metrics.recordFailure();
+            }
+            addStatus(new ErrorStatus("IO failure in appender", this, ioe));
+        }
+    }
+
+    /**
+     * Batch counterpart of {@link #subAppend(Object)}.
+     * <p>
+     * Unless this method is overridden as well, batches reach subclasses
+     * overriding {@link #subAppend(Object)} one event at a time.
+     * 
+     * @since 1.4.2
+     */
+    protected void subAppendBatch(List<E> events) {
+        if (!isStarted()) {
+            return;
+        }
+        try {
+            for (E event : events) {
+                // this step avoids LBCLASSIC-139
+                if (event instanceof DeferredProcessingAware) {
+                    ((DeferredProcessingAware) event).prepareForDeferredProcessing();
+                }
+            }
+            writeOutBatch(events);
+
+        } catch (IOException ioe) {
+            // as soon as an exception occurs, move to non-started state
+            // and add a single ErrorStatus to the SM.
+            this.started = false;
+            AppenderMetrics metrics = getMetrics();
+            if (metrics != null) {
+                metrics.recordFailure();
+            }
             addStatus(new ErrorStatus("IO failure in appender", this, ioe));
         }
     }
@@ -13,9 +13,15 @@
  */
 package ch.qos.logback.core;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import ch.qos.logback.core.filter.Filter;
+import ch.qos.logback.core.metrics.AppenderMetrics;
+import ch.qos.logback.core.metrics.AppenderMetricsSnapshot;
+import ch.qos.logback.core.metrics.AppenderMetricsSupport;
+import ch.qos.logback.core.metrics.MetricsJMXRegistrar;
+import ch.qos.logback.core.metrics.MetricsSource;
 import ch.qos.logback.core.spi.ContextAwareBase;
 import ch.qos.logback.core.spi.FilterAttachableImpl;
 import ch.qos.logback.core.spi.FilterReply;
@@ -28,7 +34,7 @@ import ch.qos.logback.core.status.WarnStatus;
  * @author Ceki G&uuml;lc&uuml;
  * @author Ralph Goers
  */
-abstract public class UnsynchronizedAppenderBase<E> extends ContextAwareBase implements Appender<E> {
+abstract public class UnsynchronizedAppenderBase<E> extends ContextAwareBase implements Appender<E>, MetricsSource {
 
     protected boolean started = false;
 
@@ -49,6 +55,8 @@ abstract public class UnsynchronizedAppenderBase<E> extends ContextAwareBase imp
 
     private FilterAttachableImpl<E> fai = new FilterAttachableImpl<E>();
 
+    private final AppenderMetricsSupport metricsSupport = new AppenderMetricsSupport();
+
     public String getName() {
         return name;
     }
@@ -77,14 +85,90 @@ abstract public class UnsynchronizedAppenderBase<E> extends ContextAwareBase imp
                 return;
             }
 
+            final AppenderMetrics metrics = metricsSupport.getMetrics();
             if (getFilterChainDecision(eventObject) == FilterReply.DENY) {
+                if (metrics != null) {
+                    metrics.recordDenied();
+                }
                 return;
             }
 
             // ok, we now invoke derived class' implementation of append
-            this.append(eventObject);
+            if (metrics == null) {
+                this.append(eventObject);
+            } else {
+                long start = System.nanoTime();
+                this.append(eventObject);
+                metrics.recordAppend(1, System.nanoTime() - start);
+            }
+
+        } catch (Exception e) {
+            metricsSupport.recordFailure();
+            if (exceptionCount++ < ALLOWED_REPEATS) {
+                addError("Appender [" + name + "] failed to append.", e);
+            }
+        } finally {
+            guard.set(Boolean.FALSE);
+        }
+    }
+
+    /**
+     * Batch counterpart of {@link #doAppend(Object)}, with the same re-entry
+     * guard and error handling. Events denied by the filter chain are left out
+     * of the list handed to {@link #appendBatch(List)}.
+     * 
+     * <p>
+     * Derived appenders which implement {@link BatchAppender} get their
+     * implementation of {@link BatchAppender#doAppendBatch(List)} from here.
+     * 
+     * @since 1.4.2
+     */
+    public void doAppendBatch(List<E> eventObjects) {
+        // prevent re-entry.
+        if (Boolean.TRUE.equals(guard.get())) {
+            return;
+        }
+
+        try {
+            guard.set(Boolean.TRUE);
+
+            if (!this.started) {
+                if (statusRepeatCount++ < ALLOWED_REPEATS) {
+                    addStatus(new WarnStatus("Attempted to append to non started appender [" + name + "].", this));
+                }
+                return;
+            }
 
+            final AppenderMetrics metrics = metricsSupport.getMetrics();
+            // copy the list only if at least one event is denied
+            List<E> accepted = eventObjects;
+            final int len = eventObjects.size();
+            for (int i = 0; i < len; i++) {
+                E eventObject = eventObjects.get(i);
+                if (getFilterChainDecision(eventObject) == FilterReply.DENY) {
+                    if (metrics != null) {
+                        metrics.recordDenied();
+                    }
+                    if (accepted == eventObjects) {
+                        accepted = new ArrayList<E>(eventObjects.subList(0, i));
+                    }
+                } else if (accepted != eventObjects) {
+                    accepted.add(eventObject);
+                }
+            }
+
+            if (accepted.isEmpty()) {
+                return;
+            }
+            if (metrics == null) {
+                this.appendBatch(accepted);
+            } else {
+                long start = System.nanoTime();
+                this.appendBatch(accepted);
+                metrics.recordAppend(accepted.size(), System.nanoTime() - start);
+            }
         } catch (Exception e) {
+            metricsSupport.recordFailure();
             if (exceptionCount++ < ALLOWED_REPEATS) {
                 addError("Appender [" + name + "] failed to append.", e);
             }
@@ -95,6 +179,19 @@ abstract public class UnsynchronizedAppenderBase<E> extends ContextAwareBase imp
 
     abstract protected void append(E eventObject);
 
+    /**
+     * Append a batch of events which have already passed the filter chain. The
+     * default implementation invokes {@link #append(Object)} for each event.
+     * 
+     * @param eventObjects
+     * @since 1.4.2
+     */
+    protected void appendBatch(List<E> eventObjects) {
+        for (E eventObject : eventObjects) {
+            this.append(eventObject);
+        }
+    }
+
     /**
      * Set the name of this appender.
      */
@@ -103,17 +200,47 @@ abstract public class UnsynchronizedAppenderBase<E> extends ContextAwareBase imp
     }
 
     public void start() {
+        metricsSupport.start(this, context, name, this);
         started = true;
     }
 
     public void stop() {
         started = false;
+        metricsSupport.stop();
     }
 
     public boolean isStarted() {
         return started;
     }
 
+    /**
+     * Enable or disable the collection of metrics, see {@link MetricsSource}.
+     * When enabled before the appender is started, metrics are also published
+     * over JMX, see {@link MetricsJMXRegistrar}.
+     * 
+     * @since 1.4.2
+     */
+    public void setMetricsEnabled(boolean metricsEnabled) {
+        metricsSupport.setEnabled(metricsEnabled);
+    }
+
+    public boolean isMetricsEnabled() {
+        return metricsSupport.isEnabled();
+    }
+
+    /**
+     * Returns the metrics of this appender, null unless enabled.
+     * 
+     * @since 1.4.2
+     */
+    protected AppenderMetrics getMetrics() {
+        return metricsSupport.getMetrics();
+    }
+
+    public AppenderMetricsSnapshot getMetricsSnapshot() {
+        return metricsSupport.snapshot(name);
+    }
+
     public String toString() {
         return this.getClass().getName() + "[" + name + "]";
     }
@@ -0,0 +1,33 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.async;
+
+/**
+ * The kind of queue used by {@link ch.qos.logback.core.AsyncAppenderBase} and
+ * {@link ch.qos.logback.core.net.AbstractSocketAppender} to hand events over to
+ * their worker thread.
+ *
+ * <ul>
+ * <li>{@link #ARRAY_BLOCKING} a {@link java.util.concurrent.ArrayBlockingQueue},
+ * or a {@link java.util.concurrent.LinkedBlockingDeque} for the socket
+ * appender, guarded by a single lock. This is the default.</li>
+ * <li>{@link #RING_BUFFER} a lock-free {@link RingBufferBlockingQueue}, better
+ * suited to many concurrently logging threads.</li>
+ * </ul>
+ *
+ * @since 1.4.2
+ */
+public enum QueueType {
+    ARRAY_BLOCKING, RING_BUFFER;
+}
@@ -0,0 +1,374 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.async;
+
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A bounded, lock-free, multi-producer/single-consumer {@link BlockingQueue}
+ * backed by a preallocated ring of slots.
+ *
+ * <p>
+ * Each slot carries a sequence number. Producers claim a position with a single
+ * compare-and-set on the producer index and publish the element by advancing
+ * the slot's sequence. The consumer releases the slot by advancing its sequence
+ * by one lap. In the absence of waiting threads, neither side takes a lock.
+ *
+ * <p>
+ * {@link #poll()}, {@link #take()} and the {@code drainTo} methods must only be
+ * invoked by a single consumer thread at a time. Any number of threads may
+ * invoke {@link #offer(Object)} and {@link #put(Object)} concurrently.
+ *
+ * <p>
+ * How threads wait on an empty or full queue is governed by the
+ * {@link WaitStrategy} given at construction time.
+ *
+ * <p>
+ * The iterator returns a weakly consistent snapshot of the queue and does not
+ * support removal. As a consequence, {@link #remove(Object)} is not supported.
+ *
+ * @param <E> the type of elements held in this queue
+ * @since 1.4.2
+ */
+public class RingBufferBlockingQueue<E> extends AbstractQueue<E> implements BlockingQueue<E> {
+
+    /**
+     * Number of busy-spin iterations before falling back to parking or yielding.
+     */
+    static final int SPIN_TRIES = 128;
+
+    /**
+     * Park duration used by {@link WaitStrategy#SPIN_THEN_PARK}.
+     */
+    static final long PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    final int capacity;
+    final Object[] slots;
+    final AtomicLongArray sequences;
+    final WaitStrategy waitStrategy;
+
+    final AtomicLong producerIndex = new AtomicLong();
+    // written by the consumer thread only
+    volatile long consumerIndex = 0;
+
+    // the following fields are used only with WaitStrategy.BLOCKING
+    final ReentrantLock waitLock = new ReentrantLock();
+    final Condition notEmpty = waitLock.newCondition();
+    final Condition notFull = waitLock.newCondition();
+    final AtomicInteger waitingConsumers = new AtomicInteger();
+    final AtomicInteger waitingProducers = new AtomicInteger();
+
+    public RingBufferBlockingQueue(int capacity) {
+        this(capacity, WaitStrategy.BLOCKING);
+    }
+
+    public RingBufferBlockingQueue(int capacity, WaitStrategy waitStrategy) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive, was " + capacity);
+        }
+        this.capacity = capacity;
+        this.waitStrategy = Objects.requireNonNull(waitStrategy, "waitStrategy");
+        this.slots = new Object[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    public WaitStrategy getWaitStrategy() {
+        return waitStrategy;
+    }
+
+    private int indexOf(long position) {
+        return (int) (position % capacity);
+    }
+
+    @Override
+    public boolean offer(E e) {
+        if (enqueue(e)) {
+            signalNotEmpty();
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void put(E e) throws InterruptedException {
+        offerOrWait(e, false, 0L);
+    }
+
+    @Override
+    public boolean offer(E e, long timeout, TimeUnit unit) throws InterruptedException {
+        return offerOrWait(e, true, unit.toNanos(timeout));
+    }
+
+    @Override
+    public E poll() {
+        E e = dequeue();
+        if (e != null) {
+            signalNotFull();
+        }
+        return e;
+    }
+
+    @Override
+    public E take() throws InterruptedException {
+        return pollOrWait(false, 0L);
+    }
+
+    @Override
+    public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+        return pollOrWait(true, unit.toNanos(timeout));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E peek() {
+        long position = consumerIndex;
+        int index = indexOf(position);
+        if (sequences.get(index) != position + 1) {
+            return null;
+        }
+        return (E) slots[index];
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> c) {
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> c, int maxElements) {
+        Objects.requireNonNull(c);
+        if (c == this) {
+            throw new IllegalArgumentException();
+        }
+        int n = 0;
+        E e;
+        while (n < maxElements && (e = dequeue()) != null) {
+            c.add(e);
+            n++;
+        }
+        if (n > 0) {
+            signalNotFull();
+        }
+        return n;
+    }
+
+    @Override
+    public int size() {
+        while (true) {
+            long before = consumerIndex;
+            long claimed = producerIndex.get();
+            long after = consumerIndex;
+            if (before == after) {
+                long size = claimed - after;
+                if (size < 0) {
+                    return 0;
+                }
+                return (int) Math.min(size, capacity);
+            }
+        }
+    }
+
+    @Override
+    public int remainingCapacity() {
+        return capacity - size();
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        List<E> snapshot = new ArrayList<E>();
+        long end = producerIndex.get();
+        for (long position = consumerIndex; position < end; position++) {
+            int index = indexOf(position);
+            if (sequences.get(index) != position + 1) {
+                break;
+            }
+            @SuppressWarnings("unchecked")
+            E e = (E) slots[index];
+            // the slot may have been consumed and reused in the meantime
+            if (e == null || sequences.get(index) != position + 1) {
+                break;
+            }
+            snapshot.add(e);
+        }
+        return Collections.unmodifiableList(snapshot).iterator();
+    }
+
+    private boolean enqueue(E e) {
+        Objects.requireNonNull(e);
+        long position = producerIndex.get();
+        while (true) {
+            int index = indexOf(position);
+            long diff = sequences.get(index) - position;
+            if (diff == 0) {
+                if (producerIndex.compareAndSet(position, position + 1)) {
+                    slots[index] = e;
+                    // publish, the volatile write orders the slot write before it
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = producerIndex.get();
+            } else if (diff < 0) {
+                // the slot still holds the element from the previous lap
+                return false;
+            } else {
+                // another producer claimed this position
+                position = producerIndex.get();
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private E dequeue() {
+        long position = consumerIndex;
+        int index = indexOf(position);
+        if (sequences.get(index) != position + 1) {
+            return null;
+        }
+        E e = (E) slots[index];
+        slots[index] = null;
+        sequences.set(index, position + capacity);
+        consumerIndex = position + 1;
+        return e;
+    }
+
+    private boolean offerOrWait(E e, boolean timed, long nanos) throws InterruptedException {
+        final long deadline = timed ? System.nanoTime() + nanos : 0L;
+        int idleCount = 0;
+        while (true) {
+            if (offer(e)) {
+                return true;
+            }
+            if (timed && (nanos = deadline - System.nanoTime()) <= 0) {
+                return false;
+            }
+            if (waitStrategy == WaitStrategy.BLOCKING) {
+                waitLock.lockInterruptibly();
+                try {
+                    waitingProducers.incrementAndGet();
+                    try {
+                        if (offer(e)) {
+                            return true;
+                        }
+                        if (timed) {
+                            notFull.awaitNanos(nanos);
+                        } else {
+                            notFull.await();
+                        }
+                    } finally {
+                        waitingProducers.decrementAndGet();
+                    }
+                } finally {
+                    waitLock.unlock();
+                }
+            } else {
+                idleCount = idle(idleCount, timed, nanos);
+            }
+        }
+    }
+
+    private E pollOrWait(boolean timed, long nanos) throws InterruptedException {
+        final long deadline = timed ? System.nanoTime() + nanos : 0L;
+        int idleCount = 0;
+        while (true) {
+            E e = poll();
+            if (e != null) {
+                return e;
+            }
+            if (timed && (nanos = deadline - System.nanoTime()) <= 0) {
+                return null;
+            }
+            if (waitStrategy == WaitStrategy.BLOCKING) {
+                waitLock.lockInterruptibly();
+                try {
+                    waitingConsumers.incrementAndGet();
+                    try {
+                        e = poll();
+                        if (e != null) {
+                            return e;
+                        }
+                        if (timed) {
+                            notEmpty.awaitNanos(nanos);
+                        } else {
+                            notEmpty.await();
+                        }
+                    } finally {
+                        waitingConsumers.decrementAndGet();
+                    }
+                } finally {
+                    waitLock.unlock();
+                }
+            } else {
+                idleCount = idle(idleCount, timed, nanos);
+            }
+        }
+    }
+
+    private int idle(int idleCount, boolean timed, long remainingNanos) throws InterruptedException {
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+        if (idleCount < SPIN_TRIES) {
+            Thread.onSpinWait();
+        } else if (waitStrategy == WaitStrategy.YIELDING) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(this, timed ? Math.min(PARK_NANOS, remainingNanos) : PARK_NANOS);
+        }
+        return idleCount + 1;
+    }
+
+    // Waiters register themselves before re-checking the queue while the other
+    // side publishes before reading the registration count. Both being volatile
+    // accesses, at least one of the two sides sees the other and no wake-up is
+    // lost.
+
+    private void signalNotEmpty() {
+        if (waitStrategy == WaitStrategy.BLOCKING && waitingConsumers.get() > 0) {
+            waitLock.lock();
+            try {
+                notEmpty.signal();
+            } finally {
+                waitLock.unlock();
+            }
+        }
+    }
+
+    private void signalNotFull() {
+        if (waitStrategy == WaitStrategy.BLOCKING && waitingProducers.get() > 0) {
+            waitLock.lock();
+            try {
+                notFull.signalAll();
+            } finally {
+                waitLock.unlock();
+            }
+        }
+    }
+}
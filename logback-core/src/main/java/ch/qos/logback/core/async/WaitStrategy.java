@@ -0,0 +1,33 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.async;
+
+/**
+ * How threads wait on a {@link RingBufferBlockingQueue} when the queue is empty
+ * (the consumer) or full (producers).
+ *
+ * <ul>
+ * <li>{@link #BLOCKING} parks waiting threads on a condition which is signalled
+ * by the other side. Lowest CPU usage, highest hand-off latency.</li>
+ * <li>{@link #SPIN_THEN_PARK} busy-spins for a short while and then parks for
+ * brief periods. Waiting threads are never signalled.</li>
+ * <li>{@link #YIELDING} busy-spins for a short while and then calls
+ * {@link Thread#yield()}. Lowest latency, but keeps a core busy while idle.</li>
+ * </ul>
+ *
+ * @since 1.4.2
+ */
+public enum WaitStrategy {
+    BLOCKING, SPIN_THEN_PARK, YIELDING;
+}
@@ -0,0 +1,227 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.encoder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * A growable, reusable byte buffer into which {@link StreamingEncoder}
+ * instances encode events.
+ *
+ * <p>
+ * Unlike {@link java.io.ByteArrayOutputStream}, this class is not
+ * synchronized. Instances are meant to be confined to a single thread and
+ * reused across events, see {@link #recycle()}.
+ *
+ * @since 1.4.2
+ */
+public class ByteSink {
+
+    static final int DEFAULT_INITIAL_CAPACITY = 256;
+
+    /**
+     * Buffers which grew beyond this size are shrunk back upon
+     * {@link #recycle()} so that a single large event does not pin memory.
+     */
+    static final int MAX_RETAINED_CAPACITY = 16 * 1024;
+
+    static final byte UNMAPPABLE = (byte) '?';
+
+    private byte[] buf;
+    private int count;
+
+    public ByteSink() {
+        this(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    public ByteSink(int initialCapacity) {
+        this.buf = new byte[initialCapacity];
+    }
+
+    public void write(int b) {
+        ensureCapacity(count + 1);
+        buf[count++] = (byte) b;
+    }
+
+    public void write(byte[] b) {
+        write(b, 0, b.length);
+    }
+
+    public void write(byte[] b, int off, int len) {
+        ensureCapacity(count + len);
+        System.arraycopy(b, off, buf, count, len);
+        count += len;
+    }
+
+    /**
+     * Append the contents of another sink.
+     */
+    public void write(ByteSink other) {
+        write(other.buf, 0, other.count);
+    }
+
+    /**
+     * Append the characters of the given sequence encoded with the given charset.
+     * UTF-8, ISO-8859-1 and US-ASCII are encoded in place, without intermediate
+     * objects. Other charsets go through {@link String#getBytes(Charset)}.
+     *
+     * <p>
+     * As with {@link String#getBytes(Charset)}, malformed and unmappable
+     * characters are replaced by '?'.
+     *
+     * @param cs      the characters to encode
+     * @param charset the charset to use, {@code null} designates the platform's
+     *                default charset
+     */
+    public void append(CharSequence cs, Charset charset) {
+        if (cs == null) {
+            return;
+        }
+        if (charset == null) {
+            charset = Charset.defaultCharset();
+        }
+
+        if (StandardCharsets.UTF_8.equals(charset)) {
+            appendUTF8(cs);
+        } else if (StandardCharsets.ISO_8859_1.equals(charset)) {
+            appendSingleByte(cs, 0xFF);
+        } else if (StandardCharsets.US_ASCII.equals(charset)) {
+            appendSingleByte(cs, 0x7F);
+        } else {
+            write(cs.toString().getBytes(charset));
+        }
+    }
+
+    private void appendSingleByte(CharSequence cs, int maxChar) {
+        final int len = cs.length();
+        ensureCapacity(count + len);
+        for (int i = 0; i < len; i++) {
+            char c = cs.charAt(i);
+            if (c > maxChar) {
+                // a surrogate pair is replaced by a single '?'
+                if (Character.isHighSurrogate(c) && i + 1 < len && Character.isLowSurrogate(cs.charAt(i + 1))) {
+                    i++;
+                }
+                buf[count++] = UNMAPPABLE;
+            } else {
+                buf[count++] = (byte) c;
+            }
+        }
+    }
+
+    private void appendUTF8(CharSequence cs) {
+        final int len = cs.length();
+        ensureCapacity(count + len);
+
+        int i = 0;
+        // fast path for the ASCII prefix, which is often the whole sequence
+        for (; i < len; i++) {
+            char c = cs.charAt(i);
+            if (c >= 0x80) {
+                break;
+            }
+            buf[count++] = (byte) c;
+        }
+        if (i == len) {
+            return;
+        }
+
+        // at most 3 bytes per remaining char, surrogate pairs use 4 bytes for 2 chars
+        ensureCapacity(count + (len - i) * 3);
+        for (; i < len; i++) {
+            char c = cs.charAt(i);
+            if (c < 0x80) {
+                buf[count++] = (byte) c;
+            } else if (c < 0x800) {
+                buf[count++] = (byte) (0xC0 | (c >> 6));
+                buf[count++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                if (Character.isHighSurrogate(c) && i + 1 < len && Character.isLowSurrogate(cs.charAt(i + 1))) {
+                    int codePoint = Character.toCodePoint(c, cs.charAt(++i));
+                    buf[count++] = (byte) (0xF0 | (codePoint >> 18));
+                    buf[count++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                    buf[count++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                    buf[count++] = (byte) (0x80 | (codePoint & 0x3F));
+                } else {
+                    buf[count++] = UNMAPPABLE;
+                }
+            } else {
+                buf[count++] = (byte) (0xE0 | (c >> 12));
+                buf[count++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buf[count++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+    }
+
+    /**
+     * Write the contents of this buffer to the given output stream with a single
+     * call.
+     */
+    public void writeTo(OutputStream os) throws IOException {
+        if (count > 0) {
+            os.write(buf, 0, count);
+        }
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    /**
+     * Discard the bytes written after the first {@code size} ones.
+     */
+    public void truncate(int size) {
+        if (size < 0 || size > count) {
+            throw new IndexOutOfBoundsException("size " + size + " out of [0, " + count + "]");
+        }
+        count = size;
+    }
+
+    /**
+     * Discard the contents of this buffer, keeping its capacity.
+     */
+    public void reset() {
+        count = 0;
+    }
+
+    /**
+     * Discard the contents of this buffer before its reuse, shrinking it if it
+     * grew unreasonably large.
+     */
+    public void recycle() {
+        count = 0;
+        if (buf.length > MAX_RETAINED_CAPACITY) {
+            buf = new byte[DEFAULT_INITIAL_CAPACITY];
+        }
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buf, count);
+    }
+
+    private void ensureCapacity(int minCapacity) {
+        if (minCapacity > buf.length) {
+            int newCapacity = Math.max(buf.length << 1, minCapacity);
+            buf = Arrays.copyOf(buf, newCapacity);
+        }
+    }
+}
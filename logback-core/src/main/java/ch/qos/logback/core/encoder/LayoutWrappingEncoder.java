@@ -20,7 +20,7 @@ import ch.qos.logback.core.Layout;
 import ch.qos.logback.core.OutputStreamAppender;
 import ch.qos.logback.core.spi.ContextAware;
 
-public class LayoutWrappingEncoder<E> extends EncoderBase<E> {
+public class LayoutWrappingEncoder<E> extends EncoderBase<E> implements StreamingEncoder<E> {
 
     protected Layout<E> layout;
 
@@ -115,6 +115,16 @@ public class LayoutWrappingEncoder<E> extends EncoderBase<E> {
         return convertToBytes(txt);
     }
 
+    /**
+     * Encode the string returned by the layout directly into the sink, without
+     * an intermediate byte array.
+     */
+    @Override
+    public void encodeTo(E event, ByteSink sink) {
+        String txt = layout.doLayout(event);
+        sink.append(txt, charset);
+    }
+
     public boolean isStarted() {
         return started;
     }
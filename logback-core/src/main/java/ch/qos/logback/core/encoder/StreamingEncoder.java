@@ -0,0 +1,38 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.encoder;
+
+/**
+ * An {@link Encoder} able to encode events into a caller-supplied, reusable
+ * {@link ByteSink} instead of returning a new byte array per event.
+ *
+ * <p>
+ * {@link ch.qos.logback.core.OutputStreamAppender} takes advantage of this
+ * interface when its encoder implements it. Other encoders keep working through
+ * {@link Encoder#encode(Object)}.
+ *
+ * @param <E> event type
+ * @since 1.4.2
+ */
+public interface StreamingEncoder<E> extends Encoder<E> {
+
+    /**
+     * Encode an event, appending the resulting bytes to the sink. The bytes
+     * appended must be identical to those returned by {@link #encode(Object)}.
+     *
+     * @param event
+     * @param sink
+     */
+    void encodeTo(E event, ByteSink sink);
+}
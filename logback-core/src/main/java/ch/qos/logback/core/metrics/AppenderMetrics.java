@@ -0,0 +1,106 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.metrics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters maintained by an appender whose metrics are enabled. Counters are
+ * striped {@link LongAdder} instances so that concurrent appending threads do
+ * not contend on a single memory location.
+ *
+ * @since 1.4.2
+ */
+public class AppenderMetrics {
+
+    static final double[] REPORTED_PERCENTILES = { 50, 90, 99, 99.9 };
+
+    final LongAdder appendedCount = new LongAdder();
+    final LongAdder deniedCount = new LongAdder();
+    final LongAdder failedCount = new LongAdder();
+    final LongAdder droppedCount = new LongAdder();
+    final LongAdder bytesWritten = new LongAdder();
+    final LongAccumulator peakQueueDepth = new LongAccumulator(Math::max, 0L);
+    final LatencyHistogram appendLatency = new LatencyHistogram();
+
+    /**
+     * Record events handed to the appender's append method, and the time it took
+     * to append them.
+     */
+    public void recordAppend(int eventCount, long elapsedNanos) {
+        appendedCount.add(eventCount);
+        if (eventCount > 0) {
+            appendLatency.record(elapsedNanos / eventCount, eventCount);
+        }
+    }
+
+    /**
+     * Record an event denied by the appender's filter chain.
+     */
+    public void recordDenied() {
+        deniedCount.increment();
+    }
+
+    /**
+     * Record a failed attempt at appending one or more events.
+     */
+    public void recordFailure() {
+        failedCount.increment();
+    }
+
+    /**
+     * Record an event discarded by the appender, e.g. because its queue was full.
+     */
+    public void recordDropped() {
+        droppedCount.increment();
+    }
+
+    public void recordBytesWritten(long byteCount) {
+        bytesWritten.add(byteCount);
+    }
+
+    public void recordQueueDepth(long depth) {
+        peakQueueDepth.accumulate(depth);
+    }
+
+    public LatencyHistogram getAppendLatency() {
+        return appendLatency;
+    }
+
+    /**
+     * Take a snapshot of the counters.
+     *
+     * @param appenderName
+     * @param queueDepth    the current queue depth, or -1 if not applicable
+     * @param queueCapacity the queue capacity, or -1 if not applicable
+     */
+    public AppenderMetricsSnapshot snapshot(String appenderName, int queueDepth, int queueCapacity) {
+        long[] percentiles = appendLatency.getValuesAtPercentiles(REPORTED_PERCENTILES);
+        return new AppenderMetricsSnapshot(appenderName, System.currentTimeMillis(), appendedCount.sum(),
+                deniedCount.sum(), failedCount.sum(), droppedCount.sum(), bytesWritten.sum(), queueDepth,
+                queueCapacity, queueCapacity < 0 ? -1 : peakQueueDepth.get(), (long) appendLatency.getMean(),
+                percentiles[0], percentiles[1], percentiles[2], percentiles[3], appendLatency.getMax());
+    }
+
+    public void reset() {
+        appendedCount.reset();
+        deniedCount.reset();
+        failedCount.reset();
+        droppedCount.reset();
+        bytesWritten.reset();
+        peakQueueDepth.reset();
+        appendLatency.reset();
+    }
+}
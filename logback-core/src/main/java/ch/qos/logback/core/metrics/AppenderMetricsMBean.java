@@ -0,0 +1,51 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.metrics;
+
+/**
+ * JMX view of the metrics of an appender. See {@link AppenderMetricsSnapshot}
+ * for the meaning of the attributes.
+ *
+ * @since 1.4.2
+ */
+public interface AppenderMetricsMBean {
+
+    long getAppendedCount();
+
+    long getDeniedCount();
+
+    long getFailedCount();
+
+    long getDroppedCount();
+
+    long getBytesWritten();
+
+    int getQueueDepth();
+
+    int getQueueCapacity();
+
+    long getPeakQueueDepth();
+
+    long getMeanAppendNanos();
+
+    long getP50AppendNanos();
+
+    long getP90AppendNanos();
+
+    long getP99AppendNanos();
+
+    long getP999AppendNanos();
+
+    long getMaxAppendNanos();
+}
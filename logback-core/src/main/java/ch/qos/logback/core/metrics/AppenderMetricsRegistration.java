@@ -0,0 +1,57 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.metrics;
+
+import javax.management.ObjectName;
+
+import ch.qos.logback.core.Context;
+import ch.qos.logback.core.spi.ContextAware;
+
+/**
+ * The JMX registration of the metrics of an appender, as held by
+ * {@link AppenderMetricsSupport} between start and stop.
+ *
+ * <p>
+ * Appenders refer to this class only once metrics are enabled, so that JMX
+ * types, {@code java.management} being an optional module, stay off the path
+ * of appenders without metrics.
+ *
+ * @since 1.4.2
+ */
+public final class AppenderMetricsRegistration {
+
+    private final ContextAware contextAware;
+    private final ObjectName objectName;
+
+    private AppenderMetricsRegistration(ContextAware contextAware, ObjectName objectName) {
+        this.contextAware = contextAware;
+        this.objectName = objectName;
+    }
+
+    /**
+     * Register the source with JMX, see {@link MetricsJMXRegistrar}.
+     *
+     * @return the registration, null on failure, which is reported on
+     *         {@code contextAware}
+     */
+    public static AppenderMetricsRegistration register(ContextAware contextAware, Context context,
+            String appenderName, MetricsSource source) {
+        ObjectName objectName = MetricsJMXRegistrar.register(contextAware, context, appenderName, source);
+        return objectName == null ? null : new AppenderMetricsRegistration(contextAware, objectName);
+    }
+
+    public void unregister() {
+        MetricsJMXRegistrar.unregister(contextAware, objectName);
+    }
+}
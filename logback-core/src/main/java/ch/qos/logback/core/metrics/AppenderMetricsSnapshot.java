@@ -0,0 +1,164 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.metrics;
+
+/**
+ * An immutable, point in time view of the metrics of an appender. Latencies
+ * are expressed in nanoseconds.
+ *
+ * @since 1.4.2
+ */
+public class AppenderMetricsSnapshot {
+
+    final String appenderName;
+    final long timestamp;
+    final long appendedCount;
+    final long deniedCount;
+    final long failedCount;
+    final long droppedCount;
+    final long bytesWritten;
+    final int queueDepth;
+    final int queueCapacity;
+    final long peakQueueDepth;
+    final long meanAppendNanos;
+    final long p50AppendNanos;
+    final long p90AppendNanos;
+    final long p99AppendNanos;
+    final long p999AppendNanos;
+    final long maxAppendNanos;
+
+    AppenderMetricsSnapshot(String appenderName, long timestamp, long appendedCount, long deniedCount,
+            long failedCount, long droppedCount, long bytesWritten, int queueDepth, int queueCapacity,
+            long peakQueueDepth, long meanAppendNanos, long p50AppendNanos, long p90AppendNanos,
+            long p99AppendNanos, long p999AppendNanos, long maxAppendNanos) {
+        this.appenderName = appenderName;
+        this.timestamp = timestamp;
+        this.appendedCount = appendedCount;
+        this.deniedCount = deniedCount;
+        this.failedCount = failedCount;
+        this.droppedCount = droppedCount;
+        this.bytesWritten = bytesWritten;
+        this.queueDepth = queueDepth;
+        this.queueCapacity = queueCapacity;
+        this.peakQueueDepth = peakQueueDepth;
+        this.meanAppendNanos = meanAppendNanos;
+        this.p50AppendNanos = p50AppendNanos;
+        this.p90AppendNanos = p90AppendNanos;
+        this.p99AppendNanos = p99AppendNanos;
+        this.p999AppendNanos = p999AppendNanos;
+        this.maxAppendNanos = maxAppendNanos;
+    }
+
+    public String getAppenderName() {
+        return appenderName;
+    }
+
+    /**
+     * Time at which the snapshot was taken, in milliseconds since the epoch.
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Number of events which passed the filter chain and were handed to the
+     * appender.
+     */
+    public long getAppendedCount() {
+        return appendedCount;
+    }
+
+    public long getDeniedCount() {
+        return deniedCount;
+    }
+
+    public long getFailedCount() {
+        return failedCount;
+    }
+
+    public long getDroppedCount() {
+        return droppedCount;
+    }
+
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    /**
+     * Number of events waiting in the queue of an asynchronous appender, -1 for
+     * other appenders.
+     */
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    /**
+     * Capacity of the queue of an asynchronous appender, -1 for other appenders.
+     */
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    /**
+     * Highest queue depth observed by appending threads, -1 for appenders without
+     * queue.
+     */
+    public long getPeakQueueDepth() {
+        return peakQueueDepth;
+    }
+
+    public long getMeanAppendNanos() {
+        return meanAppendNanos;
+    }
+
+    public long getP50AppendNanos() {
+        return p50AppendNanos;
+    }
+
+    public long getP90AppendNanos() {
+        return p90AppendNanos;
+    }
+
+    public long getP99AppendNanos() {
+        return p99AppendNanos;
+    }
+
+    public long getP999AppendNanos() {
+        return p999AppendNanos;
+    }
+
+    public long getMaxAppendNanos() {
+        return maxAppendNanos;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("AppenderMetricsSnapshot[");
+        sb.append("appender=").append(appenderName);
+        sb.append(", appended=").append(appendedCount);
+        sb.append(", denied=").append(deniedCount);
+        sb.append(", failed=").append(failedCount);
+        sb.append(", dropped=").append(droppedCount);
+        sb.append(", bytesWritten=").append(bytesWritten);
+        if (queueCapacity >= 0) {
+            sb.append(", queueDepth=").append(queueDepth).append('/').append(queueCapacity);
+            sb.append(", peakQueueDepth=").append(peakQueueDepth);
+        }
+        sb.append(", appendNanos[mean=").append(meanAppendNanos);
+        sb.append(", p50=").append(p50AppendNanos);
+        sb.append(", p99=").append(p99AppendNanos);
+        sb.append(", max=").append(maxAppendNanos).append("]]");
+        return sb.toString();
+    }
+}
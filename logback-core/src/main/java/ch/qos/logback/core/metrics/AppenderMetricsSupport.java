@@ -0,0 +1,83 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.metrics;
+
+import ch.qos.logback.core.Context;
+import ch.qos.logback.core.spi.ContextAware;
+
+/**
+ * The metrics of an appender, null unless enabled, along with their JMX
+ * registration between start and stop. Held by
+ * {@link ch.qos.logback.core.AppenderBase AppenderBase} and
+ * {@link ch.qos.logback.core.UnsynchronizedAppenderBase
+ * UnsynchronizedAppenderBase}.
+ *
+ * @since 1.4.2
+ */
+public final class AppenderMetricsSupport {
+
+    // set by configuration, read by appending threads
+    private volatile AppenderMetrics metrics;
+    private AppenderMetricsRegistration registration;
+
+    /**
+     * Returns the metrics, null unless enabled.
+     */
+    public AppenderMetrics getMetrics() {
+        return metrics;
+    }
+
+    public void setEnabled(boolean enabled) {
+        if (enabled) {
+            if (metrics == null) {
+                metrics = new AppenderMetrics();
+            }
+        } else {
+            metrics = null;
+        }
+    }
+
+    public boolean isEnabled() {
+        return metrics != null;
+    }
+
+    /**
+     * Publish the source over JMX if metrics are enabled, see
+     * {@link MetricsJMXRegistrar}.
+     */
+    public void start(ContextAware contextAware, Context context, String appenderName, MetricsSource source) {
+        if (metrics != null) {
+            registration = AppenderMetricsRegistration.register(contextAware, context, appenderName, source);
+        }
+    }
+
+    public void stop() {
+        if (registration != null) {
+            registration.unregister();
+            registration = null;
+        }
+    }
+
+    public AppenderMetricsSnapshot snapshot(String appenderName) {
+        AppenderMetrics metrics = this.metrics;
+        return metrics == null ? null : metrics.snapshot(appenderName, -1, -1);
+    }
+
+    public void recordFailure() {
+        AppenderMetrics metrics = this.metrics;
+        if (metrics != null) {
+            metrics.recordFailure();
+        }
+    }
+}
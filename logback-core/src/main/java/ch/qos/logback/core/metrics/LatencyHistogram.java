@@ -0,0 +1,146 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A concurrent histogram of latencies expressed in nanoseconds.
+ *
+ * <p>
+ * In the manner of HdrHistogram, values are grouped in buckets whose width
+ * doubles at each power of two, each power of two being further divided in
+ * {@value #SUB_BUCKET_COUNT} linear sub-buckets. Percentiles are thus reported
+ * with a relative error below 12.5% while the whole histogram fits in a few
+ * kilobytes. Values above {@value #MAX_TRACKABLE_EXPONENT} powers of two
+ * (about 68 seconds) are clamped.
+ *
+ * <p>
+ * Recording a value does not take any lock.
+ *
+ * @since 1.4.2
+ */
+public class LatencyHistogram {
+
+    static final int SUB_BUCKET_BITS = 3;
+    static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    static final int MAX_TRACKABLE_EXPONENT = 36;
+    static final long MAX_TRACKABLE_VALUE = (1L << (MAX_TRACKABLE_EXPONENT + 1)) - 1;
+    static final int BUCKET_COUNT = bucketIndex(MAX_TRACKABLE_VALUE) + 1;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0L);
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int shift = (63 - Long.numberOfLeadingZeros(value)) - SUB_BUCKET_BITS;
+        return (shift << SUB_BUCKET_BITS) + (int) (value >>> shift);
+    }
+
+    /**
+     * Returns the highest value falling into the bucket of the given index.
+     */
+    static long bucketUpperBound(int index) {
+        if (index < 2 * SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = (index >>> SUB_BUCKET_BITS) - 1;
+        long lowerBound = (long) (SUB_BUCKET_COUNT + (index & (SUB_BUCKET_COUNT - 1))) << shift;
+        return lowerBound + (1L << shift) - 1;
+    }
+
+    public void record(long nanos) {
+        record(nanos, 1);
+    }
+
+    /**
+     * Record the same value several times, e.g. the average latency of the events
+     * of a batch.
+     */
+    public void record(long nanos, int times) {
+        if (times <= 0) {
+            return;
+        }
+        if (nanos < 0) {
+            nanos = 0;
+        } else if (nanos > MAX_TRACKABLE_VALUE) {
+            nanos = MAX_TRACKABLE_VALUE;
+        }
+        buckets.addAndGet(bucketIndex(nanos), times);
+        count.add(times);
+        sum.add(nanos * times);
+        max.accumulate(nanos);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    public double getMean() {
+        long n = count.sum();
+        return n == 0 ? 0.0 : (double) sum.sum() / n;
+    }
+
+    /**
+     * Returns the values at the given percentiles, computed over a single pass on
+     * the buckets. Each value is the upper bound of the bucket containing the
+     * percentile, capped by the maximum recorded value.
+     *
+     * @param percentiles in ascending order, each between 0 and 100
+     */
+    public long[] getValuesAtPercentiles(double... percentiles) {
+        long[] counts = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = buckets.get(i);
+            total += counts[i];
+        }
+
+        long[] result = new long[percentiles.length];
+        if (total == 0) {
+            return result;
+        }
+        long maxValue = max.get();
+        int index = 0;
+        long cumulated = 0;
+        for (int p = 0; p < percentiles.length; p++) {
+            long rank = Math.max(1, (long) Math.ceil(percentiles[p] / 100.0 * total));
+            while (index < BUCKET_COUNT - 1 && cumulated + counts[index] < rank) {
+                cumulated += counts[index];
+                index++;
+            }
+            result[p] = Math.min(bucketUpperBound(index), maxValue);
+        }
+        return result;
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets.set(i, 0);
+        }
+        count.reset();
+        sum.reset();
+        max.reset();
+    }
+}
@@ -0,0 +1,109 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.metrics;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+
+import ch.qos.logback.core.Context;
+import ch.qos.logback.core.spi.ContextAware;
+
+/**
+ * Registers {@link MetricsSource} instances with the platform MBean server
+ * under the name
+ * <code>ch.qos.logback.core:Type=AppenderMetrics,Context=&lt;context name&gt;,Name=&lt;appender name&gt;</code>.
+ *
+ * <p>
+ * Failures are reported as warnings on the given {@link ContextAware}
+ * instance; they never prevent the appender from working.
+ *
+ * @since 1.4.2
+ */
+public class MetricsJMXRegistrar {
+
+    static final String DOMAIN = "ch.qos.logback.core";
+    static final String TYPE = "AppenderMetrics";
+
+    static String quoteIfNecessary(String value) {
+        if (value == null || value.isEmpty()) {
+            return ObjectName.quote(String.valueOf(value));
+        }
+        for (int i = 0; i < value.length(); i++) {
+            switch (value.charAt(i)) {
+            case ',':
+            case '=':
+            case ':':
+            case '"':
+            case '*':
+            case '?':
+            case '\n':
+                return ObjectName.quote(value);
+            }
+        }
+        return value;
+    }
+
+    public static ObjectName makeObjectName(Context context, String appenderName) throws JMException {
+        String contextName = context == null ? null : context.getName();
+        return new ObjectName(DOMAIN + ":Type=" + TYPE + ",Context=" + quoteIfNecessary(contextName) + ",Name="
+                + quoteIfNecessary(appenderName));
+    }
+
+    /**
+     * Register the source, unless an MBean is already registered under the same
+     * name, e.g. by a live appender of the same name in a context of the same
+     * name elsewhere in the JVM. That MBean is left alone and a warning is
+     * issued instead.
+     *
+     * @return the name under which the source was registered, null on failure
+     */
+    public static ObjectName register(ContextAware contextAware, Context context, String appenderName,
+            MetricsSource source) {
+        try {
+            ObjectName objectName = makeObjectName(context, appenderName);
+            MBeanServer mbs = ManagementFactory.getPlatformMBeanServer();
+            StandardMBean mbean = new StandardMBean(new MetricsSourceView(source), AppenderMetricsMBean.class);
+            try {
+                mbs.registerMBean(mbean, objectName);
+            } catch (InstanceAlreadyExistsException e) {
+                contextAware.addWarn("Metrics of appender [" + appenderName + "] not registered with JMX as "
+                        + objectName + " is already registered. Consider naming the context differently.");
+                return null;
+            }
+            return objectName;
+        } catch (JMException | RuntimeException | LinkageError e) {
+            contextAware.addWarn("Failed to register metrics of appender [" + appenderName + "] with JMX", e);
+            return null;
+        }
+    }
+
+    public static void unregister(ContextAware contextAware, ObjectName objectName) {
+        if (objectName == null) {
+            return;
+        }
+        try {
+            MBeanServer mbs = ManagementFactory.getPlatformMBeanServer();
+            if (mbs.isRegistered(objectName)) {
+                mbs.unregisterMBean(objectName);
+            }
+        } catch (JMException | RuntimeException | LinkageError e) {
+            contextAware.addWarn("Failed to unregister " + objectName, e);
+        }
+    }
+}
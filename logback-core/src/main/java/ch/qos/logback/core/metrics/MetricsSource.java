@@ -0,0 +1,41 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.metrics;
+
+/**
+ * Implemented by components, typically appenders, able to report metrics on
+ * demand.
+ *
+ * <p>
+ * Metrics are disabled by default in which case their cost reduces to a null
+ * check per event.
+ *
+ * @since 1.4.2
+ */
+public interface MetricsSource {
+
+    /**
+     * Enable or disable the collection of metrics. Enabling metrics on a started
+     * component starts counting from zero. Disabling them discards collected
+     * values.
+     */
+    void setMetricsEnabled(boolean metricsEnabled);
+
+    boolean isMetricsEnabled();
+
+    /**
+     * Returns the current values of the metrics, or null if metrics are disabled.
+     */
+    AppenderMetricsSnapshot getMetricsSnapshot();
+}
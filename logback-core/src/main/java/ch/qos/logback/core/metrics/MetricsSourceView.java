@@ -0,0 +1,91 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.metrics;
+
+/**
+ * Exposes a {@link MetricsSource} as an {@link AppenderMetricsMBean}. Each
+ * attribute read takes a fresh snapshot. Attributes of a source whose metrics
+ * were disabled in the meantime read as zero.
+ */
+class MetricsSourceView implements AppenderMetricsMBean {
+
+    static final AppenderMetricsSnapshot EMPTY = new AppenderMetrics().snapshot(null, -1, -1);
+
+    final MetricsSource source;
+
+    MetricsSourceView(MetricsSource source) {
+        this.source = source;
+    }
+
+    private AppenderMetricsSnapshot snapshot() {
+        AppenderMetricsSnapshot snapshot = source.getMetricsSnapshot();
+        return snapshot == null ? EMPTY : snapshot;
+    }
+
+    public long getAppendedCount() {
+        return snapshot().getAppendedCount();
+    }
+
+    public long getDeniedCount() {
+        return snapshot().getDeniedCount();
+    }
+
+    public long getFailedCount() {
+        return snapshot().getFailedCount();
+    }
+
+    public long getDroppedCount() {
+        return snapshot().getDroppedCount();
+    }
+
+    public long getBytesWritten() {
+        return snapshot().getBytesWritten();
+    }
+
+    public int getQueueDepth() {
+        return snapshot().getQueueDepth();
+    }
+
+    public int getQueueCapacity() {
+        return snapshot().getQueueCapacity();
+    }
+
+    public long getPeakQueueDepth() {
+        return snapshot().getPeakQueueDepth();
+    }
+
+    public long getMeanAppendNanos() {
+        return snapshot().getMeanAppendNanos();
+    }
+
+    public long getP50AppendNanos() {
+        return snapshot().getP50AppendNanos();
+    }
+
+    public long getP90AppendNanos() {
+        return snapshot().getP90AppendNanos();
+    }
+
+    public long getP99AppendNanos() {
+        return snapshot().getP99AppendNanos();
+    }
+
+    public long getP999AppendNanos() {
+        return snapshot().getP999AppendNanos();
+    }
+
+    public long getMaxAppendNanos() {
+        return snapshot().getMaxAppendNanos();
+    }
+}
@@ -14,20 +14,24 @@
 // Contributors: Dan MacDonald <dan@redknee.com>
 package ch.qos.logback.core.net;
 
+import java.io.Closeable;
 import java.io.IOException;
-import java.io.Serializable;
 import java.net.ConnectException;
 import java.net.InetAddress;
 import java.net.Socket;
 import java.net.UnknownHostException;
-import java.util.concurrent.BlockingDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
 import javax.net.SocketFactory;
 
 import ch.qos.logback.core.AppenderBase;
+import ch.qos.logback.core.async.QueueType;
 import ch.qos.logback.core.spi.PreSerializationTransformer;
+import ch.qos.logback.core.spi.ReusableEvent;
 import ch.qos.logback.core.util.CloseUtil;
 import ch.qos.logback.core.util.Duration;
 
@@ -54,7 +58,7 @@ public abstract class AbstractSocketAppender<E> extends AppenderBase<E> implemen
     public static final int DEFAULT_RECONNECTION_DELAY = 30000;
 
     /**
-     * Default size of the deque used to hold logging events that are destined for
+     * Default size of the queue used to hold logging events that are destined for
      * the remote peer.
      */
     public static final int DEFAULT_QUEUE_SIZE = 128;
@@ -70,6 +74,11 @@ public abstract class AbstractSocketAppender<E> extends AppenderBase<E> implemen
      */
     private static final int DEFAULT_EVENT_DELAY_TIMEOUT = 100;
 
+    /**
+     * Default maximum number of queued events sent with a single write.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 256;
+
     private final ObjectWriterFactory objectWriterFactory;
     private final QueueFactory queueFactory;
 
@@ -80,8 +89,15 @@ public abstract class AbstractSocketAppender<E> extends AppenderBase<E> implemen
     private int queueSize = DEFAULT_QUEUE_SIZE;
     private int acceptConnectionTimeout = DEFAULT_ACCEPT_CONNECTION_DELAY;
     private Duration eventDelayLimit = new Duration(DEFAULT_EVENT_DELAY_TIMEOUT);
-
-    private BlockingDeque<E> deque;
+    private WireFormat wireFormat = WireFormat.SERIALIZED;
+    private boolean wireCompression = false;
+    private int batchSize = DEFAULT_BATCH_SIZE;
+    private Duration batchDelay = new Duration(0);
+    private QueueType queueType = QueueType.ARRAY_BLOCKING;
+
+    private BlockingQueue<E> queue;
+    // events taken from the queue but not sent yet, confined to the dispatcher
+    private final List<E> batch = new ArrayList<E>();
     private String peerId;
     private SocketConnector connector;
     private Future<?> task;
@@ -132,6 +148,16 @@ public abstract class AbstractSocketAppender<E> extends AppenderBase<E> implemen
             addError("Queue size must be greater than zero");
         }
 
+        if (batchSize < 1) {
+            addWarn("Batch size must be positive, using 1");
+            batchSize = 1;
+        }
+
+        if (wireFormat == WireFormat.BINARY && newBinaryEventCodec() == null) {
+            addWarn("Appender [" + name + "] does not support the binary wire format, falling back to serialization");
+            wireFormat = WireFormat.SERIALIZED;
+        }
+
         if (errorCount == 0) {
             try {
                 address = InetAddress.getByName(remoteHost);
@@ -142,7 +168,11 @@ public abstract class AbstractSocketAppender<E> extends AppenderBase<E> implemen
         }
 
         if (errorCount == 0) {
-            deque = queueFactory.newLinkedBlockingDeque(queueSize);
+            if (queueType == QueueType.RING_BUFFER) {
+                queue = queueFactory.newRingBufferBlockingQueue(queueSize);
+            } else {
+                queue = queueFactory.newLinkedBlockingDeque(queueSize);
+            }
             peerId = "remote peer " + remoteHost + ":" + port + ": ";
             connector = createConnector(address, port, 0, reconnectionDelay.getMilliseconds());
             task = getContext().getScheduledExecutorService().submit(new Runnable() {
@@ -176,7 +206,8 @@ public abstract class AbstractSocketAppender<E> extends AppenderBase<E> implemen
             return;
 
         try {
-            final boolean inserted = deque.offer(event, eventDelayLimit.getMilliseconds(), TimeUnit.MILLISECONDS);
+            // the queue outlives this call, reusable events must be copied
+            final boolean inserted = queue.offer(ReusableEvent.snapshotIfReusable(event), eventDelayLimit.getMilliseconds(), TimeUnit.MILLISECONDS);
             if (!inserted) {
                 addInfo("Dropping event due to timeout limit of [" + eventDelayLimit + "] being exceeded");
             }
@@ -188,8 +219,9 @@ public abstract class AbstractSocketAppender<E> extends AppenderBase<E> implemen
     private void connectSocketAndDispatchEvents() {
         try {
             while (socketConnectionCouldBeEstablished()) {
+                ObjectWriter objectWriter = null;
                 try {
-                    ObjectWriter objectWriter = createObjectWriterForSocket();
+                    objectWriter = createObjectWriterForSocket();
                     addInfo(peerId + "connection established");
                     dispatchEvents(objectWriter);
                 } catch (javax.net.ssl.SSLHandshakeException she) {
@@ -198,6 +230,9 @@ public abstract class AbstractSocketAppender<E> extends AppenderBase<E> implemen
                 } catch (IOException ex) {
                     addInfo(peerId + "connection failed: ", ex);
                 } finally {
+                    if (objectWriter instanceof Closeable) {
+                        CloseUtil.closeQuietly((Closeable) objectWriter);
+                    }
                     CloseUtil.closeQuietly(socket);
                     socket = null;
                     addInfo(peerId + "connection closed");
@@ -215,7 +250,13 @@ public abstract class AbstractSocketAppender<E> extends AppenderBase<E> implemen
 
     private ObjectWriter createObjectWriterForSocket() throws IOException {
         socket.setSoTimeout(acceptConnectionTimeout);
-        ObjectWriter objectWriter = objectWriterFactory.newAutoFlushingObjectWriter(socket.getOutputStream());
+        ObjectWriter objectWriter;
+        if (wireFormat == WireFormat.BINARY) {
+            objectWriter = objectWriterFactory.newBinaryEventWriter(this, socket.getOutputStream(),
+                    newBinaryEventCodec(), wireCompression);
+        } else {
+            objectWriter = objectWriterFactory.newBufferedObjectWriter(socket.getOutputStream());
+        }
         socket.setSoTimeout(0);
         return objectWriter;
     }
@@ -228,23 +269,50 @@ public abstract class AbstractSocketAppender<E> extends AppenderBase<E> implemen
     }
 
     private void dispatchEvents(ObjectWriter objectWriter) throws InterruptedException, IOException {
+        final boolean binary = wireFormat == WireFormat.BINARY;
         while (true) {
-            E event = deque.takeFirst();
-            postProcessEvent(event);
-            Serializable serializableEvent = getPST().transform(event);
+            // a batch left over by a failed connection is sent first
+            if (batch.isEmpty()) {
+                fillBatch();
+            }
+            int written = 0;
             try {
-                objectWriter.write(serializableEvent);
+                for (E event : batch) {
+                    postProcessEvent(event);
+                    // the binary codec encodes events directly, without transformation
+                    objectWriter.write(binary ? event : getPST().transform(event));
+                    written++;
+                }
+                objectWriter.flush();
             } catch (IOException e) {
-                tryReAddingEventToFrontOfQueue(event);
+                // events the writer wrote out before failing are not sent again
+                batch.subList(0, written - objectWriter.getBufferedObjectCount()).clear();
                 throw e;
             }
+            batch.clear();
         }
     }
 
-    private void tryReAddingEventToFrontOfQueue(E event) {
-        final boolean wasInserted = deque.offerFirst(event);
-        if (!wasInserted) {
-            addInfo("Dropping event due to socket connection error and maxed out deque capacity");
+    /**
+     * Waits for an event, then takes up to {@code batchSize} events from the
+     * queue, waiting at most {@code batchDelay} for more events to arrive.
+     */
+    private void fillBatch() throws InterruptedException {
+        batch.add(queue.take());
+        queue.drainTo(batch, batchSize - 1);
+        long delay = batchDelay.getMilliseconds();
+        if (delay <= 0) {
+            return;
+        }
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delay);
+        long remaining;
+        while (batch.size() < batchSize && (remaining = deadline - System.nanoTime()) > 0) {
+            E event = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (event == null) {
+                return;
+            }
+            batch.add(event);
+            queue.drainTo(batch, batchSize - batch.size());
         }
     }
 
@@ -303,6 +371,20 @@ public abstract class AbstractSocketAppender<E> extends AppenderBase<E> implemen
      */
     protected abstract PreSerializationTransformer<E> getPST();
 
+    /**
+     * Creates the codec used to encode events on a new connection when the
+     * {@link WireFormat#BINARY binary} wire format is selected.
+     * <p>
+     * The default implementation returns null, meaning that the binary wire
+     * format is not supported.
+     * 
+     * @return a new codec, or null
+     * @since 1.4.2
+     */
+    protected BinaryEventCodec<E> newBinaryEventCodec() {
+        return null;
+    }
+
     /**
      * The <b>RemoteHost</b> property takes the name of the host where a
      * corresponding server is running.
@@ -355,13 +437,13 @@ public abstract class AbstractSocketAppender<E> extends AppenderBase<E> implemen
     /**
      * The <b>queueSize</b> property takes a non-negative integer representing the
      * number of logging events to retain for delivery to the remote receiver. When
-     * the deque size is zero, event delivery to the remote receiver is synchronous.
-     * When the deque size is greater than zero, the {@link #append(Object)} method
+     * the queue size is zero, event delivery to the remote receiver is synchronous.
+     * When the queue size is greater than zero, the {@link #append(Object)} method
      * returns immediately after enqueing the event, assuming that there is space
-     * available in the deque. Using a non-zero deque length can improve performance
+     * available in the queue. Using a non-zero queue length can improve performance
      * by eliminating delays caused by transient network delays.
      * 
-     * @param queueSize the deque size to set.
+     * @param queueSize the queue size to set.
      */
     public void setQueueSize(int queueSize) {
         this.queueSize = queueSize;
@@ -392,6 +474,105 @@ public abstract class AbstractSocketAppender<E> extends AppenderBase<E> implemen
         return eventDelayLimit;
     }
 
+    /**
+     * The <b>wireFormat</b> property selects the format in which events are sent,
+     * either {@link WireFormat#SERIALIZED} (the default) or
+     * {@link WireFormat#BINARY}. The binary format is more compact, cheaper to
+     * produce and sends queued events in batches. Receivers recognize either
+     * format.
+     * 
+     * @since 1.4.2
+     */
+    public void setWireFormat(WireFormat wireFormat) {
+        this.wireFormat = wireFormat;
+    }
+
+    /**
+     * Returns the value of the <b>wireFormat</b> property.
+     */
+    public WireFormat getWireFormat() {
+        return wireFormat;
+    }
+
+    /**
+     * The <b>wireCompression</b> property specifies whether batches of events sent
+     * in the {@link WireFormat#BINARY binary} wire format should be compressed.
+     * Defaults to false.
+     * 
+     * @since 1.4.2
+     */
+    public void setWireCompression(boolean wireCompression) {
+        this.wireCompression = wireCompression;
+    }
+
+    /**
+     * Returns the value of the <b>wireCompression</b> property.
+     */
+    public boolean isWireCompression() {
+        return wireCompression;
+    }
+
+    /**
+     * The <b>batchSize</b> property sets the maximum number of queued events sent
+     * with a single write to the socket. Defaults to {@value #DEFAULT_BATCH_SIZE}.
+     * 
+     * <p>
+     * Should the connection fail, the events of the batch which were not written
+     * to the socket yet are sent first on the next connection. Events written to
+     * the failed connection are not sent again.
+     * 
+     * @since 1.4.2
+     */
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Returns the value of the <b>batchSize</b> property.
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * The <b>batchDelay</b> property sets how long to wait for more events before
+     * sending a batch smaller than {@code batchSize}. Defaults to zero, in which
+     * case the events already queued are sent without waiting.
+     * 
+     * @since 1.4.2
+     */
+    public void setBatchDelay(Duration batchDelay) {
+        this.batchDelay = batchDelay;
+    }
+
+    /**
+     * Returns the value of the <b>batchDelay</b> property.
+     */
+    public Duration getBatchDelay() {
+        return batchDelay;
+    }
+
+    /**
+     * The <b>queueType</b> property selects the queue holding events until they
+     * are sent. {@link QueueType#ARRAY_BLOCKING}, the default, designates a
+     * lock-based {@link java.util.concurrent.LinkedBlockingDeque} while
+     * {@link QueueType#RING_BUFFER} designates a lock-free
+     * {@link ch.qos.logback.core.async.RingBufferBlockingQueue}, better suited to
+     * many concurrently logging threads.
+     * 
+     * @since 1.4.2
+     */
+    public void setQueueType(QueueType queueType) {
+        this.queueType = queueType;
+    }
+
+    /**
+     * Returns the value of the <b>queueType</b> property.
+     */
+    public QueueType getQueueType() {
+        return queueType;
+    }
+
     /**
      * Sets the timeout that controls how long we'll wait for the remote peer to
      * accept our connection attempt.
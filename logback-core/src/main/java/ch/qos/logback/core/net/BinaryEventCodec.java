@@ -0,0 +1,50 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.net;
+
+import java.io.IOException;
+
+/**
+ * Encodes and decodes events of a given type in the {@link WireFormat#BINARY
+ * binary} wire format.
+ * 
+ * <p>
+ * A codec instance is dedicated to a single connection and may thus keep state
+ * between events, such as the previous timestamp in order to write deltas. The
+ * decoding side must evolve its state in the exact same way.
+ * 
+ * @param <E> the event type
+ * @since 1.4.2
+ */
+public interface BinaryEventCodec<E> {
+
+    void encode(E event, BinaryEventOutput out);
+
+    /**
+     * Remembers the current encoding state, such as the previous timestamp.
+     * Invoked before each event is encoded.
+     */
+    default void markEncoding() {
+    }
+
+    /**
+     * Returns to the encoding state remembered by the last
+     * {@link #markEncoding()}, the event encoded since then being discarded
+     * without the decoding side ever seeing it.
+     */
+    default void resetEncoding() {
+    }
+
+    E decode(BinaryEventInput in) throws IOException;
+}
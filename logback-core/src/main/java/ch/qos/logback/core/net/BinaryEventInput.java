@@ -0,0 +1,154 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.net;
+
+import java.io.StreamCorruptedException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The input from which a {@link BinaryEventCodec} decodes events, the
+ * counterpart of {@link BinaryEventOutput}.
+ * 
+ * <p>
+ * Malformed input results in a {@link StreamCorruptedException}.
+ * 
+ * @since 1.4.2
+ */
+public final class BinaryEventInput {
+
+    private final List<String> internedStrings = new ArrayList<String>();
+
+    private byte[] buf = new byte[0];
+    private int pos;
+    private int limit;
+
+    void setBuffer(byte[] buf, int offset, int length) {
+        this.buf = buf;
+        this.pos = offset;
+        this.limit = offset + length;
+    }
+
+    /**
+     * Returns the number of bytes left in the current frame.
+     */
+    public int remaining() {
+        return limit - pos;
+    }
+
+    public int readByte() throws StreamCorruptedException {
+        if (pos >= limit) {
+            throw new StreamCorruptedException("unexpected end of frame");
+        }
+        return buf[pos++] & 0xFF;
+    }
+
+    public boolean readBoolean() throws StreamCorruptedException {
+        return readByte() != 0;
+    }
+
+    public int readVarInt() throws StreamCorruptedException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = readByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new StreamCorruptedException("malformed variable-length int");
+    }
+
+    public long readVarLong() throws StreamCorruptedException {
+        long value = 0;
+        for (int shift = 0; shift < 70; shift += 7) {
+            int b = readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new StreamCorruptedException("malformed variable-length long");
+    }
+
+    public int readSignedVarInt() throws StreamCorruptedException {
+        int value = readVarInt();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    public long readSignedVarLong() throws StreamCorruptedException {
+        long value = readVarLong();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Reads a length or a count, checking that it is plausible given that each
+     * counted item takes at least one byte of the current frame. One extra is
+     * tolerated so that counts may be written plus one, zero standing for null.
+     */
+    public int readCount() throws StreamCorruptedException {
+        int count = readVarInt();
+        if (count < 0 || count > remaining() + 1) {
+            throw new StreamCorruptedException("invalid count " + count);
+        }
+        return count;
+    }
+
+    /**
+     * Reads a length in bytes, checking that that many bytes are left in the
+     * current frame.
+     */
+    public int readLength() throws StreamCorruptedException {
+        int length = readVarInt();
+        if (length < 0 || length > remaining()) {
+            throw new StreamCorruptedException("invalid length " + length);
+        }
+        return length;
+    }
+
+    /**
+     * Reads a string written by either {@link BinaryEventOutput#writeString} or
+     * {@link BinaryEventOutput#writeInternedString}.
+     */
+    public String readString() throws StreamCorruptedException {
+        int tag = readVarInt();
+        switch (tag) {
+        case BinaryEventOutput.TAG_NULL:
+            return null;
+        case BinaryEventOutput.TAG_LITERAL:
+            return readUTF8();
+        case BinaryEventOutput.TAG_INTERNED_LITERAL:
+            if (internedStrings.size() >= BinaryEventOutput.MAX_INTERNED_STRINGS) {
+                throw new StreamCorruptedException("string table overflow");
+            }
+            String s = readUTF8();
+            internedStrings.add(s);
+            return s;
+        default:
+            int index = tag - BinaryEventOutput.TAG_REFERENCE;
+            if (index < 0 || index >= internedStrings.size()) {
+                throw new StreamCorruptedException("invalid string reference " + index);
+            }
+            return internedStrings.get(index);
+        }
+    }
+
+    private String readUTF8() throws StreamCorruptedException {
+        int length = readLength();
+        String s = new String(buf, pos, length, StandardCharsets.UTF_8);
+        pos += length;
+        return s;
+    }
+}
@@ -0,0 +1,199 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.net;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import ch.qos.logback.core.encoder.ByteSink;
+
+/**
+ * The output into which a {@link BinaryEventCodec} encodes events.
+ * 
+ * <p>
+ * Integers are written as variable-length quantities, seven bits per byte,
+ * least significant group first. Signed integers are zig-zag encoded
+ * beforehand so that small negative values remain short.
+ * 
+ * <p>
+ * Strings are written in UTF-8, prefixed by a tag. Strings written by
+ * {@link #writeInternedString(String)} are entered, up to
+ * {@link #MAX_INTERNED_STRINGS}, into a table shared with the decoding side
+ * for the lifetime of the connection and are subsequently written as a
+ * reference into that table. This suits low-cardinality strings such as logger
+ * or thread names.
+ * 
+ * @since 1.4.2
+ */
+public final class BinaryEventOutput {
+
+    static final int MAX_INTERNED_STRINGS = 4096;
+    static final int MAX_INTERNED_LENGTH = 512;
+
+    // string tags, references into the table start at TAG_REFERENCE
+    static final int TAG_NULL = 0;
+    static final int TAG_LITERAL = 1;
+    static final int TAG_INTERNED_LITERAL = 2;
+    static final int TAG_REFERENCE = 3;
+
+    private final ByteSink sink = new ByteSink();
+    private final Map<String, Integer> internedStrings = new HashMap<String, Integer>();
+    // interned strings in table order, for rollback
+    private final List<String> internedOrder = new ArrayList<String>();
+
+    public void writeByte(int b) {
+        sink.write(b);
+    }
+
+    public void writeBoolean(boolean b) {
+        sink.write(b ? 1 : 0);
+    }
+
+    /**
+     * Writes a non-negative int as a variable-length quantity.
+     */
+    public void writeVarInt(int value) {
+        while ((value & ~0x7F) != 0) {
+            sink.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        sink.write(value);
+    }
+
+    /**
+     * Writes a non-negative long as a variable-length quantity.
+     */
+    public void writeVarLong(long value) {
+        while ((value & ~0x7FL) != 0) {
+            sink.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        sink.write((int) value);
+    }
+
+    public void writeSignedVarInt(int value) {
+        writeVarInt((value << 1) ^ (value >> 31));
+    }
+
+    public void writeSignedVarLong(long value) {
+        writeVarLong((value << 1) ^ (value >> 63));
+    }
+
+    /**
+     * Writes a possibly null string.
+     */
+    public void writeString(String s) {
+        if (s == null) {
+            writeVarInt(TAG_NULL);
+        } else {
+            writeVarInt(TAG_LITERAL);
+            writeUTF8(s);
+        }
+    }
+
+    /**
+     * Writes a possibly null string, interning it for future references if the
+     * table has room for it.
+     */
+    public void writeInternedString(String s) {
+        if (s == null) {
+            writeVarInt(TAG_NULL);
+            return;
+        }
+        Integer index = internedStrings.get(s);
+        if (index != null) {
+            writeVarInt(TAG_REFERENCE + index);
+        } else if (internedStrings.size() < MAX_INTERNED_STRINGS && s.length() <= MAX_INTERNED_LENGTH) {
+            internedStrings.put(s, internedStrings.size());
+            internedOrder.add(s);
+            writeVarInt(TAG_INTERNED_LITERAL);
+            writeUTF8(s);
+        } else {
+            writeVarInt(TAG_LITERAL);
+            writeUTF8(s);
+        }
+    }
+
+    private void writeUTF8(String s) {
+        writeVarInt(utf8Length(s));
+        sink.append(s, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the number of bytes {@link ByteSink#append} produces for the
+     * given string in UTF-8, unpaired surrogates being replaced by '?'.
+     */
+    static int utf8Length(String s) {
+        final int len = s.length();
+        int count = len;
+        for (int i = 0; i < len; i++) {
+            char c = s.charAt(i);
+            if (c >= 0x800) {
+                if (Character.isHighSurrogate(c) && i + 1 < len && Character.isLowSurrogate(s.charAt(i + 1))) {
+                    // 4 bytes for 2 chars
+                    count += 2;
+                    i++;
+                } else if (!Character.isSurrogate(c)) {
+                    count += 2;
+                }
+            } else if (c >= 0x80) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public int size() {
+        return sink.size();
+    }
+
+    byte[] toByteArray() {
+        return sink.toByteArray();
+    }
+
+    void writeTo(OutputStream os) throws IOException {
+        sink.writeTo(os);
+    }
+
+    /**
+     * Returns a mark to which {@link #rollback(long)} may later return.
+     */
+    long mark() {
+        return ((long) internedOrder.size() << 32) | sink.size();
+    }
+
+    /**
+     * Discards the bytes written since the given mark, along with the strings
+     * interned since then, which the decoding side will therefore never see.
+     */
+    void rollback(long mark) {
+        int tableSize = (int) (mark >>> 32);
+        for (int i = internedOrder.size() - 1; i >= tableSize; i--) {
+            internedStrings.remove(internedOrder.remove(i));
+        }
+        sink.truncate((int) mark);
+    }
+
+    /**
+     * Discards the bytes written so far. Interned strings are kept.
+     */
+    void reset() {
+        sink.recycle();
+    }
+}
@@ -0,0 +1,174 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.net;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StreamCorruptedException;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Reads events written by a {@link BinaryEventWriter}.
+ * 
+ * <p>
+ * Unlike Java deserialization, decoding cannot instantiate arbitrary classes.
+ * Frames larger than {@link #MAX_FRAME_LENGTH} are rejected. Instances are not
+ * thread safe.
+ * 
+ * @param <E> the event type
+ * @since 1.4.2
+ */
+public class BinaryEventReader<E> implements ObjectReader {
+
+    /**
+     * Upper bound for the length of a frame, compressed or not.
+     */
+    public static final int MAX_FRAME_LENGTH = 16 * 1024 * 1024;
+
+    private final DataInputStream in;
+    private final BinaryEventCodec<E> codec;
+    private final BinaryEventInput input = new BinaryEventInput();
+
+    private Inflater inflater;
+    private byte[] frame = new byte[0];
+    private byte[] raw = new byte[0];
+    private int eventsLeftInFrame = 0;
+
+    /**
+     * Creates a reader, reading and checking the stream header.
+     * 
+     * @param inputStream the stream to read from
+     * @param codec       the codec for the events, dedicated to this stream
+     * @throws IOException if the stream header cannot be read or is invalid
+     */
+    public BinaryEventReader(InputStream inputStream, BinaryEventCodec<E> codec) throws IOException {
+        this.in = new DataInputStream(inputStream);
+        this.codec = codec;
+
+        for (int i = 0; i < BinaryEventWriter.MAGIC.length; i++) {
+            if (in.readUnsignedByte() != (BinaryEventWriter.MAGIC[i] & 0xFF)) {
+                throw new StreamCorruptedException("not a binary event stream");
+            }
+        }
+        int version = in.readUnsignedByte();
+        if (version != BinaryEventWriter.VERSION) {
+            throw new StreamCorruptedException("unsupported binary event stream version " + version);
+        }
+        // stream flags are informational only, each frame carries its own
+        in.readUnsignedByte();
+    }
+
+    /**
+     * Reads the next event.
+     * 
+     * @throws EOFException if the stream ends between frames
+     */
+    @Override
+    public E readObject() throws IOException {
+        while (eventsLeftInFrame == 0) {
+            readFrame();
+        }
+        eventsLeftInFrame--;
+        return codec.decode(input);
+    }
+
+    /**
+     * Returns the number of events of the current frame not read yet. When zero,
+     * the next call to {@link #readObject()} reads a new frame from the stream.
+     */
+    public int getBufferedEventCount() {
+        return eventsLeftInFrame;
+    }
+
+    private void readFrame() throws IOException {
+        int length = readFrameLength();
+        if (length < 0 || length > MAX_FRAME_LENGTH) {
+            throw new StreamCorruptedException("invalid frame length " + length);
+        }
+        if (frame.length < length) {
+            frame = new byte[length];
+        }
+        in.readFully(frame, 0, length);
+        input.setBuffer(frame, 0, length);
+
+        int flags = input.readByte();
+        int eventCount = input.readVarInt();
+        if ((flags & BinaryEventWriter.DEFLATED) != 0) {
+            int rawLength = input.readVarInt();
+            if (rawLength < 0 || rawLength > MAX_FRAME_LENGTH) {
+                throw new StreamCorruptedException("invalid frame length " + rawLength);
+            }
+            int offset = length - input.remaining();
+            inflate(offset, length - offset, rawLength);
+            input.setBuffer(raw, 0, rawLength);
+        }
+        if (eventCount < 0 || eventCount > input.remaining()) {
+            throw new StreamCorruptedException("invalid event count " + eventCount);
+        }
+        eventsLeftInFrame = eventCount;
+    }
+
+    private int readFrameLength() throws IOException {
+        int b = in.read();
+        if (b < 0) {
+            throw new EOFException();
+        }
+        int value = b & 0x7F;
+        for (int shift = 7; (b & 0x80) != 0; shift += 7) {
+            if (shift > 28) {
+                throw new StreamCorruptedException("malformed frame length");
+            }
+            b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+        }
+        return value;
+    }
+
+    private void inflate(int offset, int length, int rawLength) throws IOException {
+        if (inflater == null) {
+            inflater = new Inflater();
+        }
+        if (raw.length < rawLength) {
+            raw = new byte[rawLength];
+        }
+        inflater.reset();
+        inflater.setInput(frame, offset, length);
+        try {
+            int n = 0;
+            while (n < rawLength && !inflater.finished()) {
+                int inflated = inflater.inflate(raw, n, rawLength - n);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                n += inflated;
+            }
+            if (n != rawLength) {
+                throw new StreamCorruptedException("compressed frame length mismatch");
+            }
+        } catch (DataFormatException e) {
+            throw new StreamCorruptedException("malformed compressed frame: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (inflater != null) {
+            inflater.end();
+        }
+        in.close();
+    }
+}
@@ -0,0 +1,226 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.net;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+
+import ch.qos.logback.core.spi.ContextAware;
+
+/**
+ * Writes events in the {@link WireFormat#BINARY binary} wire format.
+ * 
+ * <p>
+ * The stream starts with the {@link #MAGIC} bytes, a version byte and a flags
+ * byte. It then consists of frames, each holding one or more events:
+ * 
+ * <pre>
+ * frame := length:varint flags:byte eventCount:varint [rawLength:varint] data
+ * </pre>
+ * 
+ * where {@code length} counts the bytes following it. If the {@link #DEFLATED}
+ * flag is set, {@code data} is compressed and {@code rawLength} gives its
+ * uncompressed length. Uncompressed data is the concatenation of the events as
+ * encoded by the {@link BinaryEventCodec}.
+ * 
+ * <p>
+ * Events passed to {@link #write(Object)} are buffered until
+ * {@link #flush()} is invoked, which writes them as a single frame. Frames are
+ * split so as to stay within {@link BinaryEventReader#MAX_FRAME_LENGTH}, and an
+ * event too large to fit in a frame of its own is dropped with a warning.
+ * Instances are not thread safe.
+ * 
+ * @param <E> the event type
+ * @since 1.4.2
+ */
+public class BinaryEventWriter<E> implements ObjectWriter, Closeable {
+
+    /**
+     * First bytes of a binary stream. A stream written by an
+     * {@link java.io.ObjectOutputStream} starts with 0xACED instead.
+     */
+    static final byte[] MAGIC = { 'L', 'B' };
+    static final int VERSION = 1;
+    // magic, version and stream flags
+    static final int HEADER_LENGTH = MAGIC.length + 2;
+
+    // frame flags
+    static final int DEFLATED = 0x01;
+
+    /**
+     * Frames whose data is shorter than this are not worth compressing.
+     */
+    static final int COMPRESSION_THRESHOLD = 512;
+
+    // flags, eventCount and rawLength
+    static final int MAX_FRAME_HEADER_LENGTH = 1 + 5 + 5;
+
+    private final ContextAware contextAware;
+    private final OutputStream os;
+    private final BinaryEventCodec<E> codec;
+    private final Deflater deflater;
+
+    private final BinaryEventOutput data = new BinaryEventOutput();
+    private final BinaryEventOutput lengthPrefix = new BinaryEventOutput();
+    private final BinaryEventOutput frameHeader = new BinaryEventOutput();
+    private byte[] compressed = new byte[0];
+    private int eventCount = 0;
+    private int maxDataLength = BinaryEventReader.MAX_FRAME_LENGTH - MAX_FRAME_HEADER_LENGTH;
+    private int droppedCount = 0;
+
+    /**
+     * Creates a writer and immediately writes the stream header.
+     * 
+     * @param contextAware where to report dropped events
+     * @param outputStream the stream to write to
+     * @param codec        the codec for the events, dedicated to this stream
+     * @param compress     whether frames should be compressed
+     * @throws IOException if the stream header cannot be written
+     */
+    public BinaryEventWriter(ContextAware contextAware, OutputStream outputStream, BinaryEventCodec<E> codec,
+            boolean compress) throws IOException {
+        this.contextAware = contextAware;
+        this.os = new BufferedOutputStream(outputStream, 8192);
+        this.codec = codec;
+        this.deflater = compress ? new Deflater(Deflater.BEST_SPEED) : null;
+
+        os.write(MAGIC);
+        os.write(VERSION);
+        os.write(compress ? DEFLATED : 0);
+        os.flush();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void write(Object object) throws IOException {
+        E event = (E) object;
+        if (encode(event)) {
+            return;
+        }
+        if (eventCount > 0) {
+            // send what is buffered, the event may fit in a frame of its own
+            flush();
+            if (encode(event)) {
+                return;
+            }
+        }
+        if (droppedCount++ == 0) {
+            contextAware.addWarn("Dropping event larger than the " + maxDataLength
+                    + " bytes a frame can hold. Further occurrences will not be reported.");
+        }
+    }
+
+    /**
+     * Encodes the event into the current frame unless it would make the frame
+     * too large, in which case the frame is left untouched.
+     */
+    private boolean encode(E event) {
+        long mark = data.mark();
+        codec.markEncoding();
+        codec.encode(event, data);
+        if (data.size() > maxDataLength) {
+            data.rollback(mark);
+            codec.resetEncoding();
+            return false;
+        }
+        eventCount++;
+        return true;
+    }
+
+    /**
+     * Returns the number of events dropped because they would not fit in a
+     * frame.
+     */
+    public int getDroppedEventCount() {
+        return droppedCount;
+    }
+
+    void setMaxDataLength(int maxDataLength) {
+        this.maxDataLength = maxDataLength;
+    }
+
+    /**
+     * Returns the number of events buffered since the last flush.
+     */
+    @Override
+    public int getBufferedObjectCount() {
+        return eventCount;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (eventCount == 0) {
+            return;
+        }
+        int rawLength = data.size();
+        int compressedLength = deflater != null && rawLength >= COMPRESSION_THRESHOLD ? compress() : -1;
+
+        frameHeader.reset();
+        if (compressedLength >= 0) {
+            frameHeader.writeByte(DEFLATED);
+            frameHeader.writeVarInt(eventCount);
+            frameHeader.writeVarInt(rawLength);
+        } else {
+            frameHeader.writeByte(0);
+            frameHeader.writeVarInt(eventCount);
+        }
+        lengthPrefix.reset();
+        lengthPrefix.writeVarInt(frameHeader.size() + (compressedLength >= 0 ? compressedLength : rawLength));
+
+        lengthPrefix.writeTo(os);
+        frameHeader.writeTo(os);
+        if (compressedLength >= 0) {
+            os.write(compressed, 0, compressedLength);
+        } else {
+            data.writeTo(os);
+        }
+        os.flush();
+
+        data.reset();
+        eventCount = 0;
+    }
+
+    /**
+     * Compresses the buffered data into {@link #compressed}, returning the
+     * compressed length or -1 if compression does not pay off.
+     */
+    private int compress() {
+        byte[] raw = data.toByteArray();
+        if (compressed.length < raw.length) {
+            compressed = new byte[raw.length];
+        }
+        deflater.reset();
+        deflater.setInput(raw);
+        deflater.finish();
+        int length = 0;
+        while (!deflater.finished() && length < compressed.length) {
+            length += deflater.deflate(compressed, length, compressed.length - length);
+        }
+        return deflater.finished() && length < raw.length ? length : -1;
+    }
+
+    /**
+     * Releases the resources held by this writer, without closing the underlying
+     * stream. Buffered events are discarded.
+     */
+    @Override
+    public void close() {
+        if (deflater != null) {
+            deflater.end();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.net;
+
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+
+/**
+ * Splits a binary event stream, received in chunks of arbitrary size, into
+ * segments which can each be read by a {@link BinaryEventReader} without
+ * blocking: the first segment holds the stream header and the first frame,
+ * each following segment holds exactly one frame.
+ * 
+ * <p>
+ * This allows non-blocking servers to read from many connections on a single
+ * thread and to decode the events elsewhere. Instances are dedicated to a
+ * single connection and are not thread safe.
+ * 
+ * @since 1.4.2
+ */
+public final class BinaryFrameAssembler {
+
+    // stream header and frame length, which are at most 5 bytes long
+    private final byte[] prefix = new byte[BinaryEventWriter.HEADER_LENGTH + 5];
+    private int prefixCount = 0;
+    private int headerRemaining = BinaryEventWriter.HEADER_LENGTH;
+
+    private int lengthValue = 0;
+    private int lengthShift = 0;
+
+    private byte[] segment;
+    private int segmentCount;
+
+    /**
+     * Consumes bytes from the given buffer until a segment is complete or the
+     * buffer is exhausted.
+     * 
+     * @param buf bytes received from the stream
+     * @return a complete segment, or {@code null} if more bytes are needed
+     * @throws StreamCorruptedException if a frame length is invalid
+     */
+    public byte[] next(ByteBuffer buf) throws StreamCorruptedException {
+        while (buf.hasRemaining()) {
+            if (segment == null) {
+                byte b = buf.get();
+                prefix[prefixCount++] = b;
+                if (headerRemaining > 0) {
+                    headerRemaining--;
+                    continue;
+                }
+                lengthValue |= (b & 0x7F) << lengthShift;
+                if ((b & 0x80) != 0) {
+                    lengthShift += 7;
+                    if (lengthShift > 28) {
+                        throw new StreamCorruptedException("malformed frame length");
+                    }
+                    continue;
+                }
+                if (lengthValue < 0 || lengthValue > BinaryEventReader.MAX_FRAME_LENGTH) {
+                    throw new StreamCorruptedException("invalid frame length " + lengthValue);
+                }
+                segment = new byte[prefixCount + lengthValue];
+                System.arraycopy(prefix, 0, segment, 0, prefixCount);
+                segmentCount = prefixCount;
+            } else {
+                int n = Math.min(buf.remaining(), segment.length - segmentCount);
+                buf.get(segment, segmentCount, n);
+                segmentCount += n;
+            }
+
+            if (segmentCount == segment.length) {
+                byte[] complete = segment;
+                segment = null;
+                prefixCount = 0;
+                lengthValue = 0;
+                lengthShift = 0;
+                return complete;
+            }
+        }
+        return null;
+    }
+}
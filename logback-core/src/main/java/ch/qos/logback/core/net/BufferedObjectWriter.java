@@ -0,0 +1,103 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.net;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+
+/**
+ * Serializes objects into a buffer which is written out to the underlying
+ * stream on {@link #flush()}, so that a batch of objects costs a single write
+ * instead of one or more per object. Once the buffer exceeds
+ * {@link #BUFFER_SIZE}, it is also written out before the next object, so that
+ * only whole objects are written out and {@link #getBufferedObjectCount()}
+ * tells which ones.
+ *
+ * @since 1.4.2
+ */
+public class BufferedObjectWriter implements ObjectWriter {
+
+    static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Buffer buffer;
+    private final ObjectOutputStream objectOutputStream;
+    private final int resetFrequency;
+    private int writeCounter = 0;
+    private int bufferedCount = 0;
+
+    /**
+     * Creates a new instance and immediately writes the serialization stream
+     * header, which receivers wait for.
+     *
+     * @param outputStream   the stream to write to
+     * @param resetFrequency the frequency with which the object stream will be
+     *                       reset to prevent a memory leak
+     * @throws IOException if the stream header cannot be written
+     */
+    public BufferedObjectWriter(OutputStream outputStream, int resetFrequency) throws IOException {
+        this.buffer = new Buffer(outputStream);
+        this.objectOutputStream = new ObjectOutputStream(buffer);
+        this.resetFrequency = resetFrequency;
+        objectOutputStream.flush();
+    }
+
+    @Override
+    public void write(Object object) throws IOException {
+        if (buffer.size() >= BUFFER_SIZE) {
+            flush();
+        }
+        objectOutputStream.writeObject(object);
+        bufferedCount++;
+        // see AutoFlushingObjectWriter
+        if (++writeCounter >= resetFrequency) {
+            objectOutputStream.reset();
+            writeCounter = 0;
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        objectOutputStream.flush();
+        bufferedCount = 0;
+    }
+
+    @Override
+    public int getBufferedObjectCount() {
+        return bufferedCount;
+    }
+
+    /**
+     * Holds the serialized objects until flushed.
+     */
+    private static class Buffer extends ByteArrayOutputStream {
+
+        private final OutputStream out;
+
+        Buffer(OutputStream out) {
+            super(BUFFER_SIZE);
+            this.out = out;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (count > 0) {
+                out.write(buf, 0, count);
+                reset();
+            }
+            out.flush();
+        }
+    }
+}
@@ -34,7 +34,7 @@ import java.util.List;
  * @author Ceki G&uuml;lc&uuml;
  * @since 1.2.0
  */
-public class HardenedObjectInputStream extends ObjectInputStream {
+public class HardenedObjectInputStream extends ObjectInputStream implements ObjectReader {
 
     final List<String> whitelistedClassNames;
     final static String[] JAVA_PACKAGES = new String[] { "java.lang", "java.util" };
@@ -0,0 +1,37 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.net;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Counterpart of {@link ObjectWriter}, reads objects from an input. Closing
+ * the reader closes the input.
+ * 
+ * @since 1.4.2
+ */
+public interface ObjectReader extends Closeable {
+
+    /**
+     * Reads the next object.
+     * 
+     * @return the object read
+     * @throws java.io.EOFException   at the end of the input
+     * @throws IOException            if input fails or is malformed
+     * @throws ClassNotFoundException if the class of a serialized object cannot
+     *                                be found or is not allowed
+     */
+    Object readObject() throws IOException, ClassNotFoundException;
+}
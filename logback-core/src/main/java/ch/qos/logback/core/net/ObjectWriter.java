@@ -31,4 +31,25 @@ public interface ObjectWriter {
      */
     void write(Object object) throws IOException;
 
+    /**
+     * Writes out the objects buffered by previous calls to {@link #write(Object)}.
+     * Implementations which do not buffer need not override this method.
+     *
+     * @throws IOException in case input/output fails
+     * @since 1.4.2
+     */
+    default void flush() throws IOException {
+    }
+
+    /**
+     * Returns the number of objects passed to {@link #write(Object)} which have
+     * not been written out yet. Objects whose {@link #write(Object)} failed are not
+     * counted. Implementations which do not buffer need not override this method.
+     *
+     * @since 1.4.2
+     */
+    default int getBufferedObjectCount() {
+        return 0;
+    }
+
 }
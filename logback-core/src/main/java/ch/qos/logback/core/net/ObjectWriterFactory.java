@@ -18,6 +18,7 @@ import java.io.ObjectOutputStream;
 import java.io.OutputStream;
 
 import ch.qos.logback.core.CoreConstants;
+import ch.qos.logback.core.spi.ContextAware;
 
 /**
  * Factory for {@link ch.qos.logback.core.net.ObjectWriter} instances.
@@ -38,4 +39,32 @@ public class ObjectWriterFactory {
     public AutoFlushingObjectWriter newAutoFlushingObjectWriter(OutputStream outputStream) throws IOException {
         return new AutoFlushingObjectWriter(new ObjectOutputStream(outputStream), CoreConstants.OOS_RESET_FREQUENCY);
     }
+
+    /**
+     * Creates a new {@link BufferedObjectWriter} instance.
+     *
+     * @param outputStream the underlying {@link java.io.OutputStream} to write to
+     * @return a new {@link BufferedObjectWriter} instance
+     * @throws IOException if an I/O error occurs while writing stream header
+     * @since 1.4.2
+     */
+    public BufferedObjectWriter newBufferedObjectWriter(OutputStream outputStream) throws IOException {
+        return new BufferedObjectWriter(outputStream, CoreConstants.OOS_RESET_FREQUENCY);
+    }
+
+    /**
+     * Creates a new {@link BinaryEventWriter} instance.
+     *
+     * @param contextAware where the writer reports dropped events
+     * @param outputStream the underlying {@link java.io.OutputStream} to write to
+     * @param codec        the codec for the events, dedicated to this stream
+     * @param compress     whether frames should be compressed
+     * @return a new {@link BinaryEventWriter} instance
+     * @throws IOException if an I/O error occurs while writing stream header
+     * @since 1.4.2
+     */
+    public <E> BinaryEventWriter<E> newBinaryEventWriter(ContextAware contextAware, OutputStream outputStream,
+            BinaryEventCodec<E> codec, boolean compress) throws IOException {
+        return new BinaryEventWriter<E>(contextAware, outputStream, codec, compress);
+    }
 }
@@ -14,8 +14,11 @@
 package ch.qos.logback.core.net;
 
 import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingDeque;
 
+import ch.qos.logback.core.async.RingBufferBlockingQueue;
+
 /**
  * Factory for {@link java.util.Queue} instances.
  *
@@ -36,4 +39,19 @@ public class QueueFactory {
         final int actualCapacity = capacity < 1 ? 1 : capacity;
         return new LinkedBlockingDeque<E>(actualCapacity);
     }
+
+    /**
+     * Creates a new lock-free {@link RingBufferBlockingQueue} with the given
+     * {@code capacity}, converted to one if smaller. The queue supports many
+     * producers but a single consumer.
+     *
+     * @param capacity the capacity to use for the queue
+     * @param <E>      the type of elements held in the queue
+     * @return a new instance of {@link RingBufferBlockingQueue}
+     * @since 1.4.2
+     */
+    public <E> BlockingQueue<E> newRingBufferBlockingQueue(int capacity) {
+        final int actualCapacity = capacity < 1 ? 1 : capacity;
+        return new RingBufferBlockingQueue<E>(actualCapacity);
+    }
 }
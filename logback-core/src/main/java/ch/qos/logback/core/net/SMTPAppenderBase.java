@@ -41,6 +41,7 @@ import ch.qos.logback.core.pattern.PatternLayoutBase;
 import ch.qos.logback.core.sift.DefaultDiscriminator;
 import ch.qos.logback.core.sift.Discriminator;
 import ch.qos.logback.core.spi.CyclicBufferTracker;
+import ch.qos.logback.core.spi.ReusableEvent;
 import ch.qos.logback.core.util.ContentTypeUtil;
 import ch.qos.logback.core.util.JNDIUtil;
 import ch.qos.logback.core.util.OptionHelper;
@@ -189,6 +190,9 @@ public abstract class SMTPAppenderBase<E> extends AppenderBase<E> {
             return;
         }
 
+        // events are retained in cyclic buffers, reusable events must be copied
+        eventObject = ReusableEvent.snapshotIfReusable(eventObject);
+
         String key = discriminator.getDiscriminatingValue(eventObject);
         long now = System.currentTimeMillis();
         final CyclicBuffer<E> cb = cbTracker.getOrCreate(key, now);
@@ -15,22 +15,39 @@ package ch.qos.logback.core.net;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.net.InetAddress;
 import java.net.SocketException;
 import java.net.UnknownHostException;
 import java.nio.charset.Charset;
 
+import javax.net.SocketFactory;
+import javax.net.ssl.SSLContext;
+
 import ch.qos.logback.core.AppenderBase;
 import ch.qos.logback.core.CoreConstants;
 import ch.qos.logback.core.Layout;
+import ch.qos.logback.core.net.ssl.ConfigurableSSLSocketFactory;
+import ch.qos.logback.core.net.ssl.SSLComponent;
+import ch.qos.logback.core.net.ssl.SSLConfiguration;
+import ch.qos.logback.core.net.ssl.SSLParametersConfiguration;
+import ch.qos.logback.core.util.CloseUtil;
+import ch.qos.logback.core.util.Duration;
 
 /**
  * Base class for SyslogAppender.
  * 
+ * <p>
+ * Messages are sent over UDP by default. Setting the <b>transport</b> property
+ * to {@link SyslogTransport#TCP TCP} or {@link SyslogTransport#TLS TLS} sends
+ * them over a persistent connection instead, see
+ * {@link SyslogStreamOutputStream}. TLS is configured by the nested
+ * <b>ssl</b> element.
+ * 
  * @author Ceki G&uuml;lc&uuml;
  * 
  * @param <E>
  */
-public abstract class SyslogAppenderBase<E> extends AppenderBase<E> {
+public abstract class SyslogAppenderBase<E> extends AppenderBase<E> implements SSLComponent {
 
     final static String SYSLOG_LAYOUT_URL = CoreConstants.CODES_URL + "#syslog_layout";
     final static int MAX_MESSAGE_SIZE_LIMIT = 65000;
@@ -39,10 +56,13 @@ public abstract class SyslogAppenderBase<E> extends AppenderBase<E> {
     String facilityStr;
     String syslogHost;
     protected String suffixPattern;
-    SyslogOutputStream sos;
+    OutputStream sos;
     int port = SyslogConstants.SYSLOG_PORT;
     int maxMessageSize;
     Charset charset;
+    SyslogTransport transport = SyslogTransport.UDP;
+    Duration reconnectionDelay = new Duration(AbstractSocketAppender.DEFAULT_RECONNECTION_DELAY);
+    SSLConfiguration ssl;
 
     public void start() {
         int errorCount = 0;
@@ -59,22 +79,23 @@ public abstract class SyslogAppenderBase<E> extends AppenderBase<E> {
         }
 
         try {
-            sos = createOutputStream();
-
-            final int systemDatagramSize = sos.getSendBufferSize();
-            if (maxMessageSize == 0) {
-                maxMessageSize = Math.min(systemDatagramSize, MAX_MESSAGE_SIZE_LIMIT);
-                addInfo("Defaulting maxMessageSize to [" + maxMessageSize + "]");
-            } else if (maxMessageSize > systemDatagramSize) {
-                addWarn("maxMessageSize of [" + maxMessageSize
-                        + "] is larger than the system defined datagram size of [" + systemDatagramSize + "].");
-                addWarn("This may result in dropped logs.");
+            if (transport != SyslogTransport.UDP) {
+                sos = createStreamOutputStream();
+                if (maxMessageSize == 0) {
+                    maxMessageSize = MAX_MESSAGE_SIZE_LIMIT;
+                    addInfo("Defaulting maxMessageSize to [" + maxMessageSize + "]");
+                }
+            } else {
+                startDatagramOutputStream();
             }
         } catch (UnknownHostException e) {
             addError("Could not create SyslogWriter", e);
             errorCount++;
         } catch (SocketException e) {
             addWarn("Failed to bind to a random datagram socket. Will try to reconnect later.", e);
+        } catch (Exception e) {
+            addError("Could not create " + transport + " syslog transport", e);
+            errorCount++;
         }
 
         if (layout == null) {
@@ -86,8 +107,41 @@ public abstract class SyslogAppenderBase<E> extends AppenderBase<E> {
         }
     }
 
+    private void startDatagramOutputStream() throws UnknownHostException, SocketException {
+        SyslogOutputStream datagramOutputStream = createOutputStream();
+        sos = datagramOutputStream;
+
+        final int systemDatagramSize = datagramOutputStream.getSendBufferSize();
+        if (maxMessageSize == 0) {
+            maxMessageSize = Math.min(systemDatagramSize, MAX_MESSAGE_SIZE_LIMIT);
+            addInfo("Defaulting maxMessageSize to [" + maxMessageSize + "]");
+        } else if (maxMessageSize > systemDatagramSize) {
+            addWarn("maxMessageSize of [" + maxMessageSize
+                    + "] is larger than the system defined datagram size of [" + systemDatagramSize + "].");
+            addWarn("This may result in dropped logs.");
+        }
+    }
+
     abstract public SyslogOutputStream createOutputStream() throws UnknownHostException, SocketException;
 
+    /**
+     * Creates the output stream used by the {@link SyslogTransport#TCP TCP} and
+     * {@link SyslogTransport#TLS TLS} transports.
+     * 
+     * @since 1.4.2
+     */
+    protected SyslogStreamOutputStream createStreamOutputStream() throws Exception {
+        SocketFactory socketFactory = SocketFactory.getDefault();
+        if (transport == SyslogTransport.TLS) {
+            SSLContext sslContext = getSsl().createContext(this);
+            SSLParametersConfiguration parameters = getSsl().getParameters();
+            parameters.setContext(getContext());
+            socketFactory = new ConfigurableSSLSocketFactory(parameters, sslContext.getSocketFactory());
+        }
+        InetAddress address = InetAddress.getByName(syslogHost);
+        return new SyslogStreamOutputStream(this, address, port, socketFactory, reconnectionDelay.getMilliseconds());
+    }
+
     abstract public Layout<E> buildLayout();
 
     abstract public int getSeverityForEvent(Object eventObject);
@@ -236,6 +290,58 @@ public abstract class SyslogAppenderBase<E> extends AppenderBase<E> {
         this.port = port;
     }
 
+    public SyslogTransport getTransport() {
+        return transport;
+    }
+
+    /**
+     * The transport over which messages are sent, one of UDP (the default), TCP
+     * and TLS. With TCP and TLS, you will usually want to set the <b>port</b> as
+     * well, the default port being that of syslog over UDP.
+     * 
+     * @since 1.4.2
+     */
+    public void setTransport(SyslogTransport transport) {
+        this.transport = transport;
+    }
+
+    public Duration getReconnectionDelay() {
+        return reconnectionDelay;
+    }
+
+    /**
+     * The delay between attempts to connect to the syslog server with the TCP and
+     * TLS transports. Defaults to 30 seconds.
+     * 
+     * @since 1.4.2
+     */
+    public void setReconnectionDelay(Duration reconnectionDelay) {
+        this.reconnectionDelay = reconnectionDelay;
+    }
+
+    /**
+     * Gets the SSL configuration used by the TLS transport.
+     * 
+     * @return SSL configuration; if no configuration has been set, a default
+     *         configuration is returned
+     */
+    public SSLConfiguration getSsl() {
+        if (ssl == null) {
+            ssl = new SSLConfiguration();
+        }
+        return ssl;
+    }
+
+    /**
+     * Sets the SSL configuration used by the TLS transport.
+     * 
+     * @param ssl the SSL configuration to set
+     * @since 1.4.2
+     */
+    public void setSsl(SSLConfiguration ssl) {
+        this.ssl = ssl;
+    }
+
     public int getMaxMessageSize() {
         return maxMessageSize;
     }
@@ -260,9 +366,7 @@ public abstract class SyslogAppenderBase<E> extends AppenderBase<E> {
 
     @Override
     public void stop() {
-        if (sos != null) {
-            sos.close();
-        }
+        CloseUtil.closeQuietly(sos);
         super.stop();
     }
 
@@ -13,67 +13,84 @@
  */
 package ch.qos.logback.core.net;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
-import java.net.DatagramPacket;
 import java.net.DatagramSocket;
 import java.net.InetAddress;
+import java.net.InetSocketAddress;
 import java.net.SocketException;
 import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+
+import ch.qos.logback.core.util.CloseUtil;
 
 /**
- * SyslogOutputStream is a wrapper around the {@link DatagramSocket} class so
- * that it behaves like an {@link OutputStream}.
+ * SyslogOutputStream is a wrapper around a {@link DatagramChannel} so that it
+ * behaves like an {@link OutputStream}. Each {@link #flush()} sends the bytes
+ * written since the previous one as a single datagram.
+ *
+ * <p>
+ * Bytes are written directly into a reused direct buffer which the channel
+ * sends without further copying, so that sending a message allocates nothing.
  */
 public class SyslogOutputStream extends OutputStream {
 
     /**
-     * The maximum length after which we discard the existing string buffer and
-     * start anew.
+     * The initial size of the buffer holding the message being written. The
+     * buffer grows up to the size of the largest message sent.
      */
-    private static final int MAX_LEN = 1024;
+    static final int INITIAL_BUFFER_SIZE = 1024;
 
-    private InetAddress address;
-    private DatagramSocket ds;
-    private ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    private InetSocketAddress address;
+    private DatagramChannel channel;
+    private ByteBuffer buffer = ByteBuffer.allocateDirect(INITIAL_BUFFER_SIZE);
     final private int port;
 
     public SyslogOutputStream(String syslogHost, int port) throws UnknownHostException, SocketException {
-        this.address = InetAddress.getByName(syslogHost);
+        this.address = new InetSocketAddress(InetAddress.getByName(syslogHost), port);
         this.port = port;
-        this.ds = new DatagramSocket();
+        this.channel = openChannel();
+    }
+
+    private static DatagramChannel openChannel() throws SocketException {
+        try {
+            return DatagramChannel.open();
+        } catch (SocketException e) {
+            throw e;
+        } catch (IOException e) {
+            SocketException se = new SocketException(e.getMessage());
+            se.initCause(e);
+            throw se;
+        }
     }
 
     public void write(byte[] byteArray, int offset, int len) throws IOException {
-        baos.write(byteArray, offset, len);
+        ensureCapacity(len);
+        buffer.put(byteArray, offset, len);
     }
 
     public void flush() throws IOException {
-        byte[] bytes = baos.toByteArray();
-        DatagramPacket packet = new DatagramPacket(bytes, bytes.length, address, port);
-
-        // clean up for next round
-        if (baos.size() > MAX_LEN) {
-            baos = new ByteArrayOutputStream();
-        } else {
-            baos.reset();
-        }
-
-        // after a failure, it can happen that bytes.length is zero
+        // after a failure, it can happen that the buffer is empty
         // in that case, there is no point in sending out an empty message/
-        if (bytes.length == 0) {
+        if (buffer.position() == 0) {
             return;
         }
-        if (this.ds != null) {
-            ds.send(packet);
+        buffer.flip();
+        try {
+            if (this.channel != null) {
+                channel.send(buffer, address);
+            }
+        } finally {
+            // clean up for next round
+            buffer.clear();
         }
-
     }
 
     public void close() {
         address = null;
-        ds = null;
+        CloseUtil.closeQuietly(channel);
+        channel = null;
     }
 
     public int getPort() {
@@ -82,10 +99,22 @@ public class SyslogOutputStream extends OutputStream {
 
     @Override
     public void write(int b) throws IOException {
-        baos.write(b);
+        ensureCapacity(1);
+        buffer.put((byte) b);
+    }
+
+    private void ensureCapacity(int len) {
+        if (buffer.remaining() < len) {
+            int newCapacity = Math.max(buffer.capacity() << 1, buffer.position() + len);
+            ByteBuffer newBuffer = ByteBuffer.allocateDirect(newCapacity);
+            buffer.flip();
+            newBuffer.put(buffer);
+            buffer = newBuffer;
+        }
     }
 
     int getSendBufferSize() throws SocketException {
+        DatagramSocket ds = channel.socket();
         return ds.getSendBufferSize();
     }
 }
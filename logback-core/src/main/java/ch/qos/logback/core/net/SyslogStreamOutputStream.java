@@ -0,0 +1,253 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.net;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.ConnectException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import javax.net.SocketFactory;
+
+import ch.qos.logback.core.encoder.ByteSink;
+import ch.qos.logback.core.spi.ContextAware;
+import ch.qos.logback.core.util.CloseUtil;
+import ch.qos.logback.core.util.ExecutorServiceUtil;
+
+/**
+ * An {@link OutputStream} sending syslog messages over a persistent TCP or TLS
+ * connection. Each {@link #flush()} delimits a message, which is framed by
+ * octet counting, i.e. "MSG-LEN SP SYSLOG-MSG", as specified by RFC 6587 and
+ * RFC 5425.
+ *
+ * <p>
+ * The connection is established, and re-established after a failure, by a
+ * {@link SocketConnector} running on a thread of its own. In the meantime,
+ * messages are retained, up to {@link #MAX_PENDING_BYTES}, and sent as soon as
+ * the connection is established. Messages in excess are dropped.
+ *
+ * <p>
+ * Messages are sent synchronously, a slow syslog server thus slows down the
+ * logging threads. Wrap the appender in an
+ * {@link ch.qos.logback.core.AsyncAppenderBase AsyncAppender} if need be.
+ *
+ * @since 1.4.2
+ */
+public class SyslogStreamOutputStream extends OutputStream implements SocketConnector.ExceptionHandler {
+
+    /**
+     * Maximum number of bytes retained while the connection is down.
+     */
+    static final int MAX_PENDING_BYTES = 1024 * 1024;
+
+    // longest MSG-LEN followed by SP
+    private static final int MAX_FRAME_HEADER_LENGTH = 11;
+
+    private final ContextAware contextAware;
+    private final InetAddress address;
+    private final int port;
+    private final SocketFactory socketFactory;
+    private final long reconnectionDelay;
+    private final String peerId;
+    private final ExecutorService executorService = ExecutorServiceUtil.newExecutorService();
+
+    private final ByteSink message = new ByteSink();
+    // framed messages not sent yet
+    private final ByteSink pending = new ByteSink();
+
+    private Future<?> connectorTask;
+    private Socket socket;
+    private OutputStream socketOutputStream;
+    private int droppedCount;
+    private boolean closed;
+
+    /**
+     * Creates a new instance and starts connecting to the syslog server.
+     *
+     * @param contextAware      where to report connection status
+     * @param address           address of the syslog server
+     * @param port              port of the syslog server
+     * @param socketFactory     the factory creating sockets, TLS or not
+     * @param reconnectionDelay delay in milliseconds between connection attempts
+     */
+    public SyslogStreamOutputStream(ContextAware contextAware, InetAddress address, int port,
+            SocketFactory socketFactory, long reconnectionDelay) {
+        this.contextAware = contextAware;
+        this.address = address;
+        this.port = port;
+        this.socketFactory = socketFactory;
+        this.reconnectionDelay = reconnectionDelay;
+        this.peerId = "syslog server " + address.getHostName() + ":" + port + ": ";
+        startConnector();
+    }
+
+    @Override
+    public synchronized void write(int b) {
+        message.write(b);
+    }
+
+    @Override
+    public synchronized void write(byte[] b, int off, int len) {
+        message.write(b, off, len);
+    }
+
+    /**
+     * Frames the bytes written since the previous invocation as a message and
+     * sends it, along with messages retained while the connection was down, with a
+     * single write.
+     *
+     * @throws IOException if the connection failed, in which case the messages are
+     *                     retained and a new connection is attempted
+     */
+    @Override
+    public synchronized void flush() throws IOException {
+        if (message.isEmpty()) {
+            return;
+        }
+        try {
+            frameMessage();
+        } finally {
+            message.recycle();
+        }
+        if (socket == null) {
+            // retained until the connector establishes the connection
+            return;
+        }
+        try {
+            sendPending();
+        } catch (IOException e) {
+            // the retained messages may have been sent in part, they are sent
+            // again in full on the next connection
+            disconnect();
+            startConnector();
+            throw e;
+        }
+    }
+
+    private void frameMessage() {
+        int length = message.size();
+        if (pending.size() + MAX_FRAME_HEADER_LENGTH + length > MAX_PENDING_BYTES) {
+            if (droppedCount++ == 0) {
+                contextAware.addWarn(peerId + "not connected, dropping messages");
+            }
+            return;
+        }
+        pending.append(Integer.toString(length), StandardCharsets.US_ASCII);
+        pending.write(' ');
+        pending.write(message);
+    }
+
+    private void sendPending() throws IOException {
+        pending.writeTo(socketOutputStream);
+        socketOutputStream.flush();
+        pending.recycle();
+    }
+
+    private void startConnector() {
+        if (closed) {
+            return;
+        }
+        // the first attempt is immediate, as in AbstractSocketAppender
+        DefaultSocketConnector connector = new DefaultSocketConnector(address, port, 0, reconnectionDelay);
+        connector.setExceptionHandler(this);
+        connector.setSocketFactory(socketFactory);
+        connectorTask = executorService.submit(() -> connect(connector));
+    }
+
+    private void connect(SocketConnector connector) {
+        Socket newSocket;
+        try {
+            newSocket = connector.call();
+        } catch (InterruptedException e) {
+            return;
+        }
+        if (newSocket != null) {
+            connectionEstablished(newSocket);
+        }
+    }
+
+    /**
+     * Installs the new connection and sends the messages retained in the meantime
+     * without waiting for the next message.
+     */
+    private synchronized void connectionEstablished(Socket newSocket) {
+        connectorTask = null;
+        if (closed) {
+            CloseUtil.closeQuietly(newSocket);
+            return;
+        }
+        try {
+            socket = newSocket;
+            socketOutputStream = socket.getOutputStream();
+        } catch (IOException e) {
+            contextAware.addInfo(peerId + "connection failed: ", e);
+            disconnect();
+            startConnector();
+            return;
+        }
+        contextAware.addInfo(peerId + "connection established");
+        if (droppedCount > 0) {
+            contextAware.addWarn(peerId + "dropped " + droppedCount + " messages while not connected");
+            droppedCount = 0;
+        }
+        if (pending.isEmpty()) {
+            return;
+        }
+        try {
+            sendPending();
+        } catch (IOException e) {
+            contextAware.addInfo(peerId + "connection failed: ", e);
+            disconnect();
+            startConnector();
+        }
+    }
+
+    private void disconnect() {
+        CloseUtil.closeQuietly(socket);
+        socket = null;
+        socketOutputStream = null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void connectionFailed(SocketConnector connector, Exception ex) {
+        if (ex instanceof InterruptedException) {
+            contextAware.addInfo("connector interrupted");
+        } else if (ex instanceof ConnectException) {
+            contextAware.addInfo(peerId + "connection refused");
+        } else {
+            contextAware.addInfo(peerId + ex);
+        }
+    }
+
+    /**
+     * Closes the connection and stops connection attempts. Messages which could
+     * not be sent are discarded.
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        if (connectorTask != null) {
+            connectorTask.cancel(true);
+            connectorTask = null;
+        }
+        ExecutorServiceUtil.shutdown(executorService);
+        disconnect();
+    }
+}
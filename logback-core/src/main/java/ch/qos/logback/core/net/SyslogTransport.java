@@ -0,0 +1,32 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.net;
+
+/**
+ * The transports over which {@link SyslogAppenderBase} sends messages.
+ *
+ * <ul>
+ * <li>{@link #UDP} one datagram per message, as specified by RFC 3164. This is
+ * the default.</li>
+ * <li>{@link #TCP} a persistent connection on which messages are framed by
+ * octet counting, as specified by RFC 6587.</li>
+ * <li>{@link #TLS} the same framing over a TLS connection, as specified by RFC
+ * 5425.</li>
+ * </ul>
+ *
+ * @since 1.4.2
+ */
+public enum SyslogTransport {
+    UDP, TCP, TLS;
+}
@@ -0,0 +1,83 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.net;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * The formats in which events are sent over socket connections.
+ * 
+ * @since 1.4.2
+ */
+public enum WireFormat {
+
+    /**
+     * Java serialization, the historical format.
+     */
+    SERIALIZED,
+
+    /**
+     * The compact, length-prefixed binary format written by
+     * {@link BinaryEventWriter}.
+     */
+    BINARY;
+
+    /**
+     * The number of leading bytes needed by {@link #detect(byte[])}.
+     */
+    public static final int DETECTION_LENGTH = BinaryEventWriter.MAGIC.length;
+
+    /**
+     * Determines the format of a stream from its first
+     * {@link #DETECTION_LENGTH} bytes.
+     * 
+     * @param prefix the first bytes of the stream
+     * @return the format of the stream
+     */
+    public static WireFormat detect(byte[] prefix) {
+        for (int i = 0; i < DETECTION_LENGTH; i++) {
+            if (prefix[i] != BinaryEventWriter.MAGIC[i]) {
+                return SERIALIZED;
+            }
+        }
+        return BINARY;
+    }
+
+    /**
+     * Determines the format of a stream by peeking at its first bytes. The stream
+     * must support {@link InputStream#mark(int) marking}. This method blocks until
+     * the first bytes are available.
+     * 
+     * @param in a stream supporting mark and reset
+     * @return the format of the stream
+     * @throws IOException if the stream cannot be read
+     */
+    public static WireFormat detect(InputStream in) throws IOException {
+        if (!in.markSupported()) {
+            throw new IllegalArgumentException("stream does not support mark");
+        }
+        in.mark(BinaryEventWriter.MAGIC.length);
+        try {
+            for (int i = 0; i < BinaryEventWriter.MAGIC.length; i++) {
+                if (in.read() != (BinaryEventWriter.MAGIC[i] & 0xFF)) {
+                    return SERIALIZED;
+                }
+            }
+            return BINARY;
+        } finally {
+            in.reset();
+        }
+    }
+}
@@ -24,6 +24,8 @@ import javax.net.ServerSocketFactory;
 
 import ch.qos.logback.core.AppenderBase;
 import ch.qos.logback.core.net.AbstractSocketAppender;
+import ch.qos.logback.core.net.BinaryEventCodec;
+import ch.qos.logback.core.net.WireFormat;
 import ch.qos.logback.core.spi.PreSerializationTransformer;
 
 /**
@@ -50,6 +52,8 @@ public abstract class AbstractServerSocketAppender<E> extends AppenderBase<E> {
     private int clientQueueSize = DEFAULT_CLIENT_QUEUE_SIZE;
 
     private String address;
+    private WireFormat wireFormat = WireFormat.SERIALIZED;
+    private boolean wireCompression = false;
 
     private ServerRunner<RemoteReceiverClient> runner;
 
@@ -57,6 +61,10 @@ public abstract class AbstractServerSocketAppender<E> extends AppenderBase<E> {
     public void start() {
         if (isStarted())
             return;
+        if (wireFormat == WireFormat.BINARY && newBinaryEventCodec() == null) {
+            addWarn("Appender [" + name + "] does not support the binary wire format, falling back to serialization");
+            wireFormat = WireFormat.SERIALIZED;
+        }
         try {
             ServerSocket socket = getServerSocketFactory().createServerSocket(getPort(), getBacklog(),
                     getInetAddress());
@@ -72,6 +80,9 @@ public abstract class AbstractServerSocketAppender<E> extends AppenderBase<E> {
     }
 
     protected ServerListener<RemoteReceiverClient> createServerListener(ServerSocket socket) {
+        if (wireFormat == WireFormat.BINARY) {
+            return new RemoteReceiverServerListener(socket, this::newBinaryEventCodec, wireCompression);
+        }
         return new RemoteReceiverServerListener(socket);
     }
 
@@ -121,6 +132,21 @@ public abstract class AbstractServerSocketAppender<E> extends AppenderBase<E> {
      */
     protected abstract PreSerializationTransformer<E> getPST();
 
+    /**
+     * Creates the codec used to encode the transformed events on a new client
+     * connection when the {@link WireFormat#BINARY binary} wire format is
+     * selected.
+     * <p>
+     * The default implementation returns null, meaning that the binary wire
+     * format is not supported.
+     * 
+     * @return a new codec, or null
+     * @since 1.4.2
+     */
+    protected BinaryEventCodec<?> newBinaryEventCodec() {
+        return null;
+    }
+
     /**
      * Gets the factory used to create {@link ServerSocket} objects.
      * <p>
@@ -226,4 +252,46 @@ public abstract class AbstractServerSocketAppender<E> extends AppenderBase<E> {
         this.clientQueueSize = clientQueueSize;
     }
 
+    /**
+     * Gets the format in which events are sent to clients.
+     * 
+     * @return wire format
+     * @since 1.4.2
+     */
+    public WireFormat getWireFormat() {
+        return wireFormat;
+    }
+
+    /**
+     * Sets the format in which events are sent to clients, either
+     * {@link WireFormat#SERIALIZED} (the default) or {@link WireFormat#BINARY}.
+     * 
+     * @param wireFormat the wire format to set
+     * @since 1.4.2
+     */
+    public void setWireFormat(WireFormat wireFormat) {
+        this.wireFormat = wireFormat;
+    }
+
+    /**
+     * Gets whether events sent in the binary wire format are compressed.
+     * 
+     * @return true if compressed
+     * @since 1.4.2
+     */
+    public boolean isWireCompression() {
+        return wireCompression;
+    }
+
+    /**
+     * Sets whether events sent in the binary wire format are compressed. Defaults
+     * to false.
+     * 
+     * @param wireCompression the value to set
+     * @since 1.4.2
+     */
+    public void setWireCompression(boolean wireCompression) {
+        this.wireCompression = wireCompression;
+    }
+
 }
@@ -16,6 +16,9 @@ package ch.qos.logback.core.net.server;
 import java.io.IOException;
 import java.net.ServerSocket;
 import java.net.Socket;
+import java.util.function.Supplier;
+
+import ch.qos.logback.core.net.BinaryEventCodec;
 
 /**
  * A {@link ServerListener} that accepts connections from remote receiver
@@ -25,6 +28,9 @@ import java.net.Socket;
  */
 class RemoteReceiverServerListener extends ServerSocketListener<RemoteReceiverClient> {
 
+    private final Supplier<? extends BinaryEventCodec<?>> binaryEventCodecFactory;
+    private final boolean compress;
+
     /**
      * Constructs a new listener.
      * 
@@ -32,7 +38,23 @@ class RemoteReceiverServerListener extends ServerSocketListener<RemoteReceiverCl
      *                     accepted
      */
     public RemoteReceiverServerListener(ServerSocket serverSocket) {
+        this(serverSocket, null, false);
+    }
+
+    /**
+     * Constructs a new listener whose clients use the binary wire format.
+     * 
+     * @param serverSocket            server socket from which new client
+     *                                connections will be accepted
+     * @param binaryEventCodecFactory creates the codec of each client connection,
+     *                                null to use Java serialization
+     * @param compress                whether frames should be compressed
+     */
+    public RemoteReceiverServerListener(ServerSocket serverSocket,
+            Supplier<? extends BinaryEventCodec<?>> binaryEventCodecFactory, boolean compress) {
         super(serverSocket);
+        this.binaryEventCodecFactory = binaryEventCodecFactory;
+        this.compress = compress;
     }
 
     /**
@@ -40,7 +62,11 @@ class RemoteReceiverServerListener extends ServerSocketListener<RemoteReceiverCl
      */
     @Override
     protected RemoteReceiverClient createClient(String id, Socket socket) throws IOException {
-        return new RemoteReceiverStreamClient(id, socket);
+        RemoteReceiverStreamClient client = new RemoteReceiverStreamClient(id, socket);
+        if (binaryEventCodecFactory != null) {
+            client.setBinaryWireFormat(binaryEventCodecFactory, compress);
+        }
+        return client;
     }
 
 }
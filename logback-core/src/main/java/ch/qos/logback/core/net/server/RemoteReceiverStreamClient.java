@@ -13,6 +13,7 @@
  */
 package ch.qos.logback.core.net.server;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.ObjectOutputStream;
 import java.io.OutputStream;
@@ -20,14 +21,23 @@ import java.io.Serializable;
 import java.net.Socket;
 import java.net.SocketException;
 import java.util.concurrent.BlockingQueue;
+import java.util.function.Supplier;
 
 import ch.qos.logback.core.CoreConstants;
+import ch.qos.logback.core.net.AutoFlushingObjectWriter;
+import ch.qos.logback.core.net.BinaryEventCodec;
+import ch.qos.logback.core.net.BinaryEventWriter;
+import ch.qos.logback.core.net.ObjectWriter;
 import ch.qos.logback.core.spi.ContextAwareBase;
 import ch.qos.logback.core.util.CloseUtil;
 
 /**
  * A {@link RemoteReceiverClient} that writes serialized logging events to an
  * {@link OutputStream}.
+ * <p>
+ * If given a codec factory, events are written in the
+ * {@link ch.qos.logback.core.net.WireFormat#BINARY binary} wire format
+ * instead, the events already queued being sent in a single frame.
  *
  * @author Carl Harris
  */
@@ -37,7 +47,15 @@ class RemoteReceiverStreamClient extends ContextAwareBase implements RemoteRecei
     private final Socket socket;
     private final OutputStream outputStream;
 
+    /**
+     * Maximum number of queued events sent in a single frame of the binary wire
+     * format.
+     */
+    static final int MAX_EVENTS_PER_FRAME = 256;
+
     private BlockingQueue<Serializable> queue;
+    private Supplier<? extends BinaryEventCodec<?>> binaryEventCodecFactory;
+    private boolean compress;
 
     /**
      * Constructs a new client.
@@ -66,6 +84,18 @@ class RemoteReceiverStreamClient extends ContextAwareBase implements RemoteRecei
         this.outputStream = outputStream;
     }
 
+    /**
+     * Selects the binary wire format.
+     * 
+     * @param binaryEventCodecFactory creates the codec for this client's
+     *                                connection
+     * @param compress                whether frames should be compressed
+     */
+    void setBinaryWireFormat(Supplier<? extends BinaryEventCodec<?>> binaryEventCodecFactory, boolean compress) {
+        this.binaryEventCodecFactory = binaryEventCodecFactory;
+        this.compress = compress;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -98,21 +128,20 @@ class RemoteReceiverStreamClient extends ContextAwareBase implements RemoteRecei
     public void run() {
         addInfo(clientId + "connected");
 
-        ObjectOutputStream oos = null;
+        OutputStream os = null;
+        ObjectWriter objectWriter = null;
         try {
-            int counter = 0;
-            oos = createObjectOutputStream();
+            os = getOutputStream();
+            objectWriter = createObjectWriter(os);
             while (!Thread.currentThread().isInterrupted()) {
                 try {
-                    Serializable event = queue.take();
-                    oos.writeObject(event);
-                    oos.flush();
-                    if (++counter >= CoreConstants.OOS_RESET_FREQUENCY) {
-                        // failing to reset the stream periodically will result in a
-                        // serious memory leak (as noted in AbstractSocketAppender)
-                        counter = 0;
-                        oos.reset();
+                    objectWriter.write(queue.take());
+                    // events queued in the meantime share the same frame
+                    Serializable event;
+                    for (int n = 1; n < MAX_EVENTS_PER_FRAME && (event = queue.poll()) != null; n++) {
+                        objectWriter.write(event);
                     }
+                    objectWriter.flush();
                 } catch (InterruptedException ex) {
                     Thread.currentThread().interrupt();
                 }
@@ -124,18 +153,31 @@ class RemoteReceiverStreamClient extends ContextAwareBase implements RemoteRecei
         } catch (RuntimeException ex) {
             addError(clientId + ex);
         } finally {
-            if (oos != null) {
-                CloseUtil.closeQuietly(oos);
+            if (objectWriter instanceof Closeable) {
+                CloseUtil.closeQuietly((Closeable) objectWriter);
+            }
+            if (os != null) {
+                CloseUtil.closeQuietly(os);
             }
             close();
             addInfo(clientId + "connection closed");
         }
     }
 
-    private ObjectOutputStream createObjectOutputStream() throws IOException {
+    private OutputStream getOutputStream() throws IOException {
         if (socket == null) {
-            return new ObjectOutputStream(outputStream);
+            return outputStream;
+        }
+        return socket.getOutputStream();
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private ObjectWriter createObjectWriter(OutputStream os) throws IOException {
+        if (binaryEventCodecFactory != null) {
+            return new BinaryEventWriter(this, os, binaryEventCodecFactory.get(), compress);
         }
-        return new ObjectOutputStream(socket.getOutputStream());
+        // failing to reset the stream periodically will result in a
+        // serious memory leak (as noted in AbstractSocketAppender)
+        return new AutoFlushingObjectWriter(new ObjectOutputStream(os), CoreConstants.OOS_RESET_FREQUENCY);
     }
 }
@@ -0,0 +1,566 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.net.server;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.net.Socket;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import ch.qos.logback.core.net.BinaryEventCodec;
+import ch.qos.logback.core.net.BinaryEventReader;
+import ch.qos.logback.core.net.BinaryFrameAssembler;
+import ch.qos.logback.core.net.WireFormat;
+import ch.qos.logback.core.spi.ContextAwareBase;
+import ch.qos.logback.core.util.CloseUtil;
+import ch.qos.logback.core.util.ExecutorServiceUtil;
+
+/**
+ * A {@link ServerRunner} serving many connections with a few threads.
+ * <p>
+ * Connections are accepted and read by a small number of selector threads
+ * using non-blocking channels. Streams in the {@link WireFormat#BINARY binary}
+ * wire format are split into frames on the selector threads. The frames are
+ * then decoded and dispatched by a pool of as many worker threads, each
+ * connection being served by at most one worker at a time so that the order of
+ * its events is preserved.
+ * <p>
+ * Once the frames of a connection waiting to be dispatched exceed
+ * {@link #getMaxPendingBytes()} bytes, the connection is no longer read from
+ * until this backlog is halved. TCP flow control then slows down the remote
+ * appender without affecting the other connections.
+ * <p>
+ * Streams in the {@link WireFormat#SERIALIZED serialized} format cannot be
+ * decoded without blocking. Such connections are handed over to a client
+ * created by {@link #createStreamClient(String, Socket, InputStream)} which
+ * runs on a thread of its own, as with {@link ConcurrentServerRunner}.
+ *
+ * @param <E> the event type
+ * @since 1.4.2
+ */
+public abstract class SelectorServerRunner<E> extends ContextAwareBase implements ServerRunner<Client> {
+
+    public static final int DEFAULT_MAX_PENDING_BYTES = 1024 * 1024;
+
+    static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Number of frames a worker dispatches for a connection before serving other
+     * connections.
+     */
+    static final int MAX_FRAMES_PER_TURN = 16;
+
+    private final ServerSocketChannel serverChannel;
+    private final List<SelectorLoop> loops;
+    private final ExecutorService workerExecutor;
+    // selector threads other than the first and blocking stream clients
+    private final ExecutorService threadExecutor = ExecutorServiceUtil.newExecutorService();
+    private final Set<Client> clients = ConcurrentHashMap.newKeySet();
+
+    private int maxPendingBytes = DEFAULT_MAX_PENDING_BYTES;
+    private int nextLoop = 0;
+    private volatile boolean running;
+
+    /**
+     * Constructs a new server runner.
+     * 
+     * @param serverChannel the bound channel from which to accept connections
+     * @param selectorCount the number of selector threads, which is also the
+     *                      number of worker threads
+     * @throws IOException if a selector cannot be opened
+     */
+    public SelectorServerRunner(ServerSocketChannel serverChannel, int selectorCount) throws IOException {
+        if (selectorCount < 1) {
+            throw new IllegalArgumentException("selectorCount must be positive, was " + selectorCount);
+        }
+        this.serverChannel = serverChannel;
+        this.loops = new ArrayList<SelectorLoop>(selectorCount);
+        for (int i = 0; i < selectorCount; i++) {
+            loops.add(new SelectorLoop(Selector.open()));
+        }
+        this.workerExecutor = ExecutorServiceUtil.newFixedThreadPool(selectorCount);
+    }
+
+    /**
+     * Creates the codec decoding the events of a new connection in the binary
+     * wire format.
+     */
+    protected abstract BinaryEventCodec<E> newBinaryEventCodec();
+
+    /**
+     * Dispatches an event received from a remote appender. This method is
+     * invoked by worker threads, concurrently for different connections.
+     * 
+     * @param event the received event
+     */
+    protected abstract void dispatch(E event);
+
+    /**
+     * Creates a client reading serialized events from a connection.
+     * 
+     * @param id          identifier string for the client
+     * @param socket      the connection's socket, in blocking mode
+     * @param inputStream the stream to read from, which starts with the bytes
+     *                    already received
+     * @return a configured client, or {@code null} if the connection is to be
+     *         dropped
+     * @throws IOException
+     */
+    protected abstract Client createStreamClient(String id, Socket socket, InputStream inputStream)
+            throws IOException;
+
+    public int getMaxPendingBytes() {
+        return maxPendingBytes;
+    }
+
+    /**
+     * Sets the number of received bytes which may wait to be dispatched, per
+     * connection, before reading from the connection is suspended.
+     */
+    public void setMaxPendingBytes(int maxPendingBytes) {
+        this.maxPendingBytes = maxPendingBytes;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void run() {
+        running = true;
+        try {
+            serverChannel.configureBlocking(false);
+            serverChannel.register(loops.get(0).selector, SelectionKey.OP_ACCEPT);
+            for (int i = 1; i < loops.size(); i++) {
+                threadExecutor.execute(loops.get(i));
+            }
+            addInfo("listening on " + socketAddressToString(serverChannel.getLocalAddress()) + " with "
+                    + loops.size() + " selector(s)");
+            loops.get(0).run();
+        } catch (IOException | RejectedExecutionException ex) {
+            addError("listener: " + ex);
+        } finally {
+            addInfo("shutting down");
+            closeAll();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void stop() throws IOException {
+        closeAll();
+    }
+
+    private void closeAll() {
+        running = false;
+        CloseUtil.closeQuietly(serverChannel);
+        // closing a selector wakes up its thread
+        for (SelectorLoop loop : loops) {
+            CloseUtil.closeQuietly(loop.selector);
+        }
+        accept(new ClientVisitor<Client>() {
+            public void visit(Client client) {
+                client.close();
+            }
+        });
+        workerExecutor.shutdownNow();
+        threadExecutor.shutdownNow();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void accept(ClientVisitor<Client> visitor) {
+        for (Client client : new ArrayList<Client>(clients)) {
+            try {
+                visitor.visit(client);
+            } catch (RuntimeException ex) {
+                addError(client + ": " + ex);
+            }
+        }
+    }
+
+    private void acceptConnections() throws IOException {
+        SocketChannel channel;
+        while ((channel = serverChannel.accept()) != null) {
+            channel.configureBlocking(false);
+            SelectorLoop loop = loops.get(nextLoop);
+            nextLoop = (nextLoop + 1) % loops.size();
+            ChannelClient client = new ChannelClient(socketAddressToString(channel.getRemoteAddress()), channel,
+                    loop);
+            clients.add(client);
+            loop.execute(client::register);
+        }
+    }
+
+    private String socketAddressToString(SocketAddress address) {
+        String addr = String.valueOf(address);
+        int i = addr.indexOf("/");
+        if (i >= 0) {
+            addr = addr.substring(i + 1);
+        }
+        return addr;
+    }
+
+    /**
+     * A selector and the thread serving it.
+     */
+    private class SelectorLoop implements Runnable {
+
+        final Selector selector;
+        final Queue<Runnable> tasks = new ConcurrentLinkedQueue<Runnable>();
+        final ByteBuffer readBuffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+
+        SelectorLoop(Selector selector) {
+            this.selector = selector;
+        }
+
+        /**
+         * Runs the given task on this loop's thread.
+         */
+        void execute(Runnable task) {
+            tasks.add(task);
+            selector.wakeup();
+        }
+
+        public void run() {
+            try {
+                while (running) {
+                    selector.select();
+                    Runnable task;
+                    while ((task = tasks.poll()) != null) {
+                        task.run();
+                    }
+                    Iterator<SelectionKey> it = selector.selectedKeys().iterator();
+                    while (it.hasNext()) {
+                        SelectionKey key = it.next();
+                        it.remove();
+                        if (!key.isValid()) {
+                            continue;
+                        }
+                        if (key.isAcceptable()) {
+                            acceptConnections();
+                        } else if (key.isReadable()) {
+                            ((ChannelClient) key.attachment()).readReady(readBuffer);
+                        }
+                    }
+                }
+            } catch (ClosedSelectorException ex) {
+                assert true; // stopped
+            } catch (IOException ex) {
+                if (running) {
+                    addError("selector: " + ex);
+                }
+            }
+        }
+    }
+
+    /**
+     * A connection served by a selector loop. Its {@link #run()} method, executed
+     * by a worker, dispatches the frames received so far.
+     */
+    private class ChannelClient implements Client {
+
+        private final String id;
+        private final SocketChannel channel;
+        private final SelectorLoop loop;
+
+        // accessed by the selector thread only
+        private SelectionKey key;
+        private final byte[] detectionPrefix = new byte[WireFormat.DETECTION_LENGTH];
+        private int detectionCount = 0;
+        private BinaryFrameAssembler assembler;
+
+        private final Queue<byte[]> frames = new ConcurrentLinkedQueue<byte[]>();
+        private final AtomicLong pendingBytes = new AtomicLong();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile boolean readSuspended;
+        private volatile boolean closed;
+
+        // accessed by the worker serving this connection only
+        private final SegmentInputStream segmentStream = new SegmentInputStream();
+        private BinaryEventReader<E> reader;
+
+        ChannelClient(String id, SocketChannel channel, SelectorLoop loop) {
+            this.id = id;
+            this.channel = channel;
+            this.loop = loop;
+        }
+
+        void register() {
+            try {
+                key = channel.register(loop.selector, SelectionKey.OP_READ, this);
+                addInfo(this + ": connected");
+            } catch (IOException ex) {
+                addInfo(this + ": " + ex);
+                close();
+            }
+        }
+
+        void readReady(ByteBuffer buf) {
+            try {
+                buf.clear();
+                if (channel.read(buf) < 0) {
+                    addInfo(this + ": connection closed");
+                    // frames already received are still dispatched
+                    closeChannel();
+                    return;
+                }
+                buf.flip();
+                if (assembler == null && !detectFormat(buf)) {
+                    return;
+                }
+
+                boolean received = false;
+                byte[] frame;
+                while ((frame = assembler.next(buf)) != null) {
+                    frames.add(frame);
+                    pendingBytes.addAndGet(frame.length);
+                    received = true;
+                }
+                if (received) {
+                    schedule();
+                    if (pendingBytes.get() > maxPendingBytes) {
+                        suspendReading();
+                    }
+                }
+            } catch (IOException ex) {
+                addInfo(this + ": " + ex);
+                close();
+            }
+        }
+
+        /**
+         * @return true if the stream is in the binary format and reading may go on
+         */
+        private boolean detectFormat(ByteBuffer buf) throws IOException {
+            while (detectionCount < detectionPrefix.length && buf.hasRemaining()) {
+                detectionPrefix[detectionCount++] = buf.get();
+            }
+            if (detectionCount < detectionPrefix.length) {
+                return false;
+            }
+            if (WireFormat.detect(detectionPrefix) == WireFormat.SERIALIZED) {
+                byte[] received = new byte[detectionPrefix.length + buf.remaining()];
+                System.arraycopy(detectionPrefix, 0, received, 0, detectionPrefix.length);
+                buf.get(received, detectionPrefix.length, buf.remaining());
+                handOver(received);
+                return false;
+            }
+            assembler = new BinaryFrameAssembler();
+            assembler.next(ByteBuffer.wrap(detectionPrefix));
+            return true;
+        }
+
+        /**
+         * Hands the connection over to a blocking stream client. The channel can be
+         * put in blocking mode once the selector has processed the cancellation of
+         * its key, hence the task.
+         */
+        private void handOver(byte[] received) {
+            key.cancel();
+            clients.remove(this);
+            loop.execute(() -> {
+                try {
+                    channel.configureBlocking(true);
+                    InputStream in = new SequenceInputStream(new ByteArrayInputStream(received),
+                            Channels.newInputStream(channel));
+                    Client client = createStreamClient(id, channel.socket(), in);
+                    if (client == null) {
+                        addError(this + ": connection dropped");
+                        closeChannel();
+                        return;
+                    }
+                    threadExecutor.execute(new ClientWrapper(client));
+                } catch (IOException | RejectedExecutionException ex) {
+                    addError(this + ": connection dropped");
+                    closeChannel();
+                }
+            });
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    workerExecutor.execute(this);
+                } catch (RejectedExecutionException ex) {
+                    // the runner is stopping
+                    scheduled.set(false);
+                }
+            }
+        }
+
+        private void suspendReading() {
+            key.interestOps(0);
+            readSuspended = true;
+            // the worker may have drained the backlog before seeing the flag
+            if (pendingBytes.get() <= maxPendingBytes / 2) {
+                resumeReading();
+            }
+        }
+
+        private void resumeReading() {
+            if (readSuspended && key.isValid()) {
+                readSuspended = false;
+                key.interestOps(SelectionKey.OP_READ);
+            }
+        }
+
+        /**
+         * Dispatches received frames, a bounded number of them at a time.
+         */
+        public void run() {
+            try {
+                for (int i = 0; i < MAX_FRAMES_PER_TURN && !closed; i++) {
+                    byte[] frame = frames.poll();
+                    if (frame == null) {
+                        break;
+                    }
+                    dispatchFrame(frame);
+                    long pending = pendingBytes.addAndGet(-frame.length);
+                    if (readSuspended && pending <= maxPendingBytes / 2) {
+                        loop.execute(this::resumeReading);
+                    }
+                }
+            } catch (IOException ex) {
+                addInfo(this + ": " + ex);
+                close();
+            } catch (RuntimeException ex) {
+                addError(this + ": " + ex);
+                close();
+            } finally {
+                scheduled.set(false);
+                if (!closed && !frames.isEmpty()) {
+                    schedule();
+                }
+            }
+        }
+
+        private void dispatchFrame(byte[] frame) throws IOException {
+            segmentStream.setSegment(frame);
+            if (reader == null) {
+                reader = new BinaryEventReader<E>(segmentStream, newBinaryEventCodec());
+            }
+            do {
+                dispatch(reader.readObject());
+            } while (reader.getBufferedEventCount() > 0);
+        }
+
+        private void closeChannel() {
+            if (key != null) {
+                key.cancel();
+            }
+            CloseUtil.closeQuietly(channel);
+            clients.remove(this);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public void close() {
+            closed = true;
+            frames.clear();
+            closeChannel();
+        }
+
+        @Override
+        public String toString() {
+            return "client " + id;
+        }
+    }
+
+    /**
+     * Serves the bytes of one segment of a binary stream at a time.
+     */
+    private static class SegmentInputStream extends InputStream {
+
+        private byte[] segment = new byte[0];
+        private int pos;
+
+        void setSegment(byte[] segment) {
+            this.segment = segment;
+            this.pos = 0;
+        }
+
+        @Override
+        public int read() {
+            return pos < segment.length ? segment[pos++] & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (pos >= segment.length) {
+                return -1;
+            }
+            int n = Math.min(len, segment.length - pos);
+            System.arraycopy(segment, pos, b, off, n);
+            pos += n;
+            return n;
+        }
+    }
+
+    /**
+     * Tracks a blocking stream client while it runs.
+     */
+    private class ClientWrapper implements Client {
+
+        private final Client delegate;
+
+        ClientWrapper(Client delegate) {
+            this.delegate = delegate;
+        }
+
+        public void run() {
+            clients.add(delegate);
+            try {
+                delegate.run();
+            } finally {
+                clients.remove(delegate);
+            }
+        }
+
+        public void close() {
+            delegate.close();
+        }
+    }
+}
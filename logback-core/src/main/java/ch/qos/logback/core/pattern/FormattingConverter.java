@@ -33,13 +33,13 @@ abstract public class FormattingConverter<E> extends Converter<E> {
 
     @Override
     final public void write(StringBuilder buf, E event) {
-        String s = convert(event);
-
         if (formattingInfo == null) {
-            buf.append(s);
+            convertTo(buf, event);
             return;
         }
 
+        String s = convert(event);
+
         int min = formattingInfo.getMin();
         int max = formattingInfo.getMax();
 
@@ -67,4 +67,17 @@ abstract public class FormattingConverter<E> extends Converter<E> {
             buf.append(s);
         }
     }
+
+    /**
+     * Append the conversion of the event to the buffer. Invoked by
+     * {@link #write(StringBuilder, Object)} in the absence of formatting
+     * information. The default implementation appends the result of
+     * {@link #convert(Object)}. Derived classes may override this method to
+     * avoid creating an intermediate string.
+     * 
+     * @since 1.4.2
+     */
+    protected void convertTo(StringBuilder buf, E event) {
+        buf.append(convert(event));
+    }
 }
@@ -109,14 +109,33 @@ abstract public class PatternLayoutBase<E> extends LayoutBase<E> {
         ConverterUtil.setContextForConverters(getContext(), head);
     }
 
+    /**
+     * Returns the head of the chain of converters compiled from the pattern, null
+     * if this layout was not started.
+     *
+     * @since 1.4.2
+     */
+    protected Converter<E> getHeadConverter() {
+        return head;
+    }
+
     protected String writeLoopOnConverters(E event) {
         StringBuilder strBuilder = new StringBuilder(INTIAL_STRING_BUILDER_SIZE);
+        writeLoopOnConverters(strBuilder, event);
+        return strBuilder.toString();
+    }
+
+    /**
+     * Append the output of all converters to the given StringBuilder.
+     *
+     * @since 1.4.2
+     */
+    protected void writeLoopOnConverters(StringBuilder strBuilder, E event) {
         Converter<E> c = head;
         while (c != null) {
             c.write(strBuilder, event);
             c = c.getNext();
         }
-        return strBuilder.toString();
     }
 
     public String getPattern() {
@@ -14,12 +14,20 @@
 package ch.qos.logback.core.pattern;
 
 import ch.qos.logback.core.Layout;
+import ch.qos.logback.core.encoder.ByteSink;
 import ch.qos.logback.core.encoder.LayoutWrappingEncoder;
 
 public class PatternLayoutEncoderBase<E> extends LayoutWrappingEncoder<E> {
 
+    static final int INITIAL_BUILDER_SIZE = 256;
+    static final int MAX_RETAINED_BUILDER_SIZE = 16 * 1024;
+
     String pattern;
 
+    // per thread StringBuilder reused by encodeTo()
+    private final ThreadLocal<StringBuilder> threadLocalBuilder = ThreadLocal
+            .withInitial(() -> new StringBuilder(INITIAL_BUILDER_SIZE));
+
     // due to popular demand outputPatternAsHeader is set to false by default
     protected boolean outputPatternAsHeader = false;
 
@@ -57,6 +65,42 @@ public class PatternLayoutEncoderBase<E> extends LayoutWrappingEncoder<E> {
         this.outputPatternAsHeader = outputPatternAsHeader;
     }
 
+    /**
+     * Run the converters of the pattern layout into a reused, per thread
+     * {@link StringBuilder} and encode its contents straight into the sink. Thus,
+     * neither a String nor a byte array is created per event, except by the
+     * converters themselves.
+     * 
+     * <p>
+     * Note that {@link Layout#doLayout(Object)} is bypassed on this path.
+     * 
+     * @since 1.4.2
+     */
+    @Override
+    public void encodeTo(E event, ByteSink sink) {
+        if (!(layout instanceof PatternLayoutBase)) {
+            super.encodeTo(event, sink);
+            return;
+        }
+
+        PatternLayoutBase<E> patternLayout = (PatternLayoutBase<E>) layout;
+        if (!patternLayout.isStarted()) {
+            return;
+        }
+
+        StringBuilder strBuilder = threadLocalBuilder.get();
+        try {
+            patternLayout.writeLoopOnConverters(strBuilder, event);
+            sink.append(strBuilder, getCharset());
+        } finally {
+            if (strBuilder.capacity() > MAX_RETAINED_BUILDER_SIZE) {
+                threadLocalBuilder.remove();
+            } else {
+                strBuilder.setLength(0);
+            }
+        }
+    }
+
     @Override
     public void setLayout(Layout<E> layout) {
         throw new UnsupportedOperationException("one cannot set the layout of " + this.getClass().getName());
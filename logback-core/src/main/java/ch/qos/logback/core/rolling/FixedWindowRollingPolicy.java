@@ -99,11 +99,18 @@ public class FixedWindowRollingPolicy extends RollingPolicyBase {
             String zipEntryFileNamePatternStr = transformFileNamePatternFromInt2Date(fileNamePatternStr);
             zipEntryFileNamePattern = new FileNamePattern(zipEntryFileNamePatternStr, context);
         }
-        compressor = new Compressor(compressionMode);
-        compressor.setContext(this.context);
+        compressor = makeCompressor();
         super.start();
     }
 
+    @Override
+    public void stop() {
+        if (compressor != null) {
+            compressor.stop();
+        }
+        super.stop();
+    }
+
     /**
      * Subclasses can override this method to increase the max window size, if
      * required. This is to address LOGBACK-266.
@@ -151,6 +158,8 @@ public class FixedWindowRollingPolicy extends RollingPolicyBase {
                 util.rename(getActiveFileName(), fileNamePattern.convertInt(minIndex));
                 break;
             case GZ:
+            case PARALLEL_GZ:
+            case CUSTOM:
                 compressor.compress(getActiveFileName(), fileNamePattern.convertInt(minIndex), null);
                 break;
             case ZIP:
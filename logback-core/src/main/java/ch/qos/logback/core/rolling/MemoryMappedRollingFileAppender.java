@@ -0,0 +1,109 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.rolling;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import ch.qos.logback.core.MemoryMappedFileAppender;
+import ch.qos.logback.core.util.FileSize;
+import ch.qos.logback.core.util.MemoryMappedFileOutputStream;
+
+/**
+ * A {@link RollingFileAppender} which writes into the active file through a
+ * memory-mapped region, as does {@link MemoryMappedFileAppender}.
+ *
+ * <p>
+ * The active file is truncated to its real length before each rollover, so
+ * that archived files never contain the unused part of the mapped region.
+ * Triggering policies are given a view of the active file whose
+ * {@link File#length()} is the number of bytes actually written.
+ *
+ * <p>
+ * Prudent mode is not supported.
+ *
+ * @since 1.4.2
+ */
+public class MemoryMappedRollingFileAppender<E> extends RollingFileAppender<E> {
+
+    private FileSize regionSize = new FileSize(MemoryMappedFileAppender.DEFAULT_REGION_SIZE);
+
+    @Override
+    public void start() {
+        if (isPrudent()) {
+            addError("Prudent mode is not supported by " + getClass().getSimpleName() + ". Aborting.");
+            return;
+        }
+        if (!MemoryMappedFileOutputStream.isValidRegionSize(regionSize)) {
+            addError("Invalid regionSize [" + regionSize + "]. Aborting.");
+            return;
+        }
+        super.start();
+    }
+
+    @Override
+    protected OutputStream createFileOutputStream(File file) throws IOException {
+        return new MemoryMappedFileOutputStream(file, append, (int) regionSize.getSize());
+    }
+
+    @Override
+    protected File newActiveFile(String activeFileName) {
+        return new MappedActiveFile(activeFileName, this);
+    }
+
+    public FileSize getRegionSize() {
+        return regionSize;
+    }
+
+    /**
+     * The size of the file regions mapped at a time, 32 MB by default.
+     */
+    public void setRegionSize(FileSize regionSize) {
+        this.regionSize = regionSize;
+    }
+
+    /**
+     * A file whose length is that of the appender's mapped stream while the
+     * stream writes into it.
+     */
+    static class MappedActiveFile extends File {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient MemoryMappedRollingFileAppender<?> appender;
+
+        MappedActiveFile(String pathname, MemoryMappedRollingFileAppender<?> appender) {
+            super(pathname);
+            this.appender = appender;
+        }
+
+        @Override
+        public long length() {
+            OutputStream os = appender == null ? null : appender.getOutputStream();
+            if (os instanceof MemoryMappedFileOutputStream) {
+                MemoryMappedFileOutputStream mappedStream = (MemoryMappedFileOutputStream) os;
+                if (mappedStream.getFile().getAbsoluteFile().equals(getAbsoluteFile())) {
+                    return mappedStream.getLength();
+                }
+            }
+            return super.length();
+        }
+    }
+
+    @Override
+    protected boolean supportsBatches() {
+        return getClass() == MemoryMappedRollingFileAppender.class;
+    }
+}
@@ -18,14 +18,21 @@ import static ch.qos.logback.core.CoreConstants.MORE_INFO_PREFIX;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import ch.qos.logback.core.CoreConstants;
 import ch.qos.logback.core.FileAppender;
 import ch.qos.logback.core.rolling.helper.CompressionMode;
 import ch.qos.logback.core.rolling.helper.FileNamePattern;
 import ch.qos.logback.core.util.ContextUtil;
+import ch.qos.logback.core.util.ExecutorServiceUtil;
 
 /**
  * <code>RollingFileAppender</code> extends {@link FileAppender} to back up the
@@ -34,6 +41,12 @@ import ch.qos.logback.core.util.ContextUtil;
  * <p>
  * For more information about this appender, please refer to the online manual
  * at http://logback.qos.ch/manual/appenders.html#RollingFileAppender
+ * 
+ * <p>
+ * In asynchronous rollover mode, see {@link #setAsynchronousRollover(boolean)},
+ * logging threads are only held up while the hereto active file is moved out of
+ * the way and the new one is opened. Closing the hereto active file,
+ * compressing it and removing older archives take place on background threads.
  *
  * @author Heinz Richter
  * @author Ceki G&uuml;lc&uuml;
@@ -48,6 +61,13 @@ public class RollingFileAppender<E> extends FileAppender<E> {
     static private String COLLISION_URL = CODES_URL + "#rfa_collision";
     static private String RFA_LATE_FILE_URL = CODES_URL + "#rfa_file_after";
 
+    public static final int DEFAULT_ROLLOVER_THREAD_COUNT = 1;
+
+    boolean asynchronousRollover = false;
+    int rolloverThreadCount = DEFAULT_ROLLOVER_THREAD_COUNT;
+    ExecutorService rolloverExecutorService;
+    final AtomicInteger pendingRollovers = new AtomicInteger();
+
     public void start() {
         if (triggeringPolicy == null) {
             addWarn("No TriggeringPolicy was set for the RollingFileAppender named " + getName());
@@ -95,11 +115,32 @@ public class RollingFileAppender<E> extends FileAppender<E> {
             }
         }
 
-        currentlyActiveFile = new File(getFile());
+        if (asynchronousRollover) {
+            if (rolloverThreadCount < 1) {
+                addWarn("Invalid rolloverThreadCount [" + rolloverThreadCount + "], using "
+                        + DEFAULT_ROLLOVER_THREAD_COUNT + " instead");
+                rolloverThreadCount = DEFAULT_ROLLOVER_THREAD_COUNT;
+            }
+            rolloverExecutorService = ExecutorServiceUtil.newFixedThreadPool(rolloverThreadCount);
+        }
+
+        currentlyActiveFile = newActiveFile(getFile());
         addInfo("Active log file name: " + getFile());
         super.start();
     }
 
+    /**
+     * Create the {@link File} handed to the triggering policy for the given
+     * active file name. Derived classes writing to the file by other means than a
+     * buffered stream may return a {@link File} reporting the logical length of
+     * the file.
+     *
+     * @since 1.4.2
+     */
+    protected File newActiveFile(String activeFileName) {
+        return new File(activeFileName);
+    }
+
     private boolean checkForFileAndPatternCollisions() {
         if (triggeringPolicy instanceof RollingPolicyBase) {
             final RollingPolicyBase base = (RollingPolicyBase) triggeringPolicy;
@@ -152,6 +193,8 @@ public class RollingFileAppender<E> extends FileAppender<E> {
         }
          super.stop();
 
+        awaitPendingRollovers();
+
         if (rollingPolicy != null)
             rollingPolicy.stop();
         if (triggeringPolicy != null)
@@ -185,6 +228,9 @@ public class RollingFileAppender<E> extends FileAppender<E> {
     public void rollover() {
         lock.lock();
         try {
+            if (rolloverExecutorService != null && attemptAsynchronousRollover()) {
+                return;
+            }
             // Note: This method needs to be synchronized because it needs exclusive
             // access while it closes and then re-opens the target file.
             //
@@ -198,10 +244,72 @@ public class RollingFileAppender<E> extends FileAppender<E> {
         }
     }
 
+    /**
+     * Switch to the new active file and hand the rest of the rollover over to the
+     * background threads. Returns false if the rolling policy cannot split the
+     * rollover, in which case nothing has been done.
+     */
+    private boolean attemptAsynchronousRollover() {
+        final Runnable remainder = rollingPolicy.prepareRollover();
+        if (remainder == null) {
+            return false;
+        }
+        final OutputStream elapsedStream = detachOutputStream();
+        attemptOpenFile();
+
+        int pending = pendingRollovers.incrementAndGet();
+        addInfo("Handing rollover over to background threads, " + pending + " pending");
+        try {
+            rolloverExecutorService.execute(() -> completeRollover(elapsedStream, remainder));
+        } catch (RejectedExecutionException e) {
+            // the appender is being stopped
+            completeRollover(elapsedStream, remainder);
+        }
+        return true;
+    }
+
+    private void completeRollover(OutputStream elapsedStream, Runnable remainder) {
+        long start = System.currentTimeMillis();
+        try {
+            if (elapsedStream != null) {
+                elapsedStream.close();
+            }
+        } catch (IOException e) {
+            addError("Failed to close hereto active log file", e);
+        }
+        try {
+            remainder.run();
+        } catch (RuntimeException e) {
+            addError("Background rollover failed", e);
+        } finally {
+            int pending = pendingRollovers.decrementAndGet();
+            addInfo("Background rollover completed in " + (System.currentTimeMillis() - start) + " ms, " + pending
+                    + " pending");
+        }
+    }
+
+    private void awaitPendingRollovers() {
+        ExecutorService executorService = rolloverExecutorService;
+        if (executorService == null) {
+            return;
+        }
+        rolloverExecutorService = null;
+        executorService.shutdown();
+        try {
+            if (!executorService.awaitTermination(CoreConstants.SECONDS_TO_WAIT_FOR_COMPRESSION_JOBS,
+                    TimeUnit.SECONDS)) {
+                addWarn("Timeout while waiting for " + pendingRollovers.get() + " background rollovers to finish");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            addWarn("Interrupted while waiting for background rollovers to finish");
+        }
+    }
+
     private void attemptOpenFile() {
         try {
             // update the currentlyActiveFile LOGBACK-64
-            currentlyActiveFile = new File(rollingPolicy.getActiveFileName());
+            currentlyActiveFile = newActiveFile(rollingPolicy.getActiveFileName());
 
             // This will also close the file. This is OK since multiple close operations are
             // safe.
@@ -240,6 +348,39 @@ public class RollingFileAppender<E> extends FileAppender<E> {
         super.subAppend(event);
     }
 
+    /**
+     * Batch counterpart of {@link #subAppend(Object)}. The triggering policy is
+     * consulted before each event. When it fires, the events preceding the
+     * triggering one are written to the current file before rolling over.
+     * 
+     * <p>
+     * Note that the events of a segment are written after they have all been
+     * checked, so that a size based triggering policy may let the active file
+     * exceed its maximum size by up to one batch.
+     */
+    @Override
+    protected void subAppendBatch(List<E> events) {
+        int from = 0;
+        final int len = events.size();
+        for (int i = 0; i < len; i++) {
+            // We need to synchronize on triggeringPolicy so that only one rollover
+            // occurs at a time
+            synchronized (triggeringPolicy) {
+                if (triggeringPolicy.isTriggeringEvent(currentlyActiveFile, events.get(i))) {
+                    if (i > from) {
+                        super.subAppendBatch(events.subList(from, i));
+                        from = i;
+                    }
+                    rollover();
+                }
+            }
+        }
+
+        if (from < len) {
+            super.subAppendBatch(from == 0 ? events : events.subList(from, len));
+        }
+    }
+
     public RollingPolicy getRollingPolicy() {
         return rollingPolicy;
     }
@@ -264,10 +405,50 @@ public class RollingFileAppender<E> extends FileAppender<E> {
 
     }
 
+    public boolean isAsynchronousRollover() {
+        return asynchronousRollover;
+    }
+
+    /**
+     * In asynchronous rollover mode, the new active file is opened as soon as the
+     * hereto active file has been moved out of the way, and the latter is closed,
+     * compressed and cleaned up on background threads. This requires a rolling
+     * policy supporting {@link RollingPolicy#prepareRollover()}, such as
+     * {@link TimeBasedRollingPolicy}, and a platform able to rename open files
+     * when the <b>File</b> property is set. Otherwise, rollovers remain
+     * synchronous. Default is false.
+     * 
+     * @param asynchronousRollover
+     * @since 1.4.2
+     */
+    public void setAsynchronousRollover(boolean asynchronousRollover) {
+        this.asynchronousRollover = asynchronousRollover;
+    }
+
+    public int getRolloverThreadCount() {
+        return rolloverThreadCount;
+    }
+
+    /**
+     * The maximum number of rollovers completed concurrently in the background in
+     * asynchronous rollover mode. Default is 1.
+     * 
+     * @param rolloverThreadCount
+     * @since 1.4.2
+     */
+    public void setRolloverThreadCount(int rolloverThreadCount) {
+        this.rolloverThreadCount = rolloverThreadCount;
+    }
+
     public void setTriggeringPolicy(TriggeringPolicy<E> policy) {
         triggeringPolicy = policy;
         if (policy instanceof RollingPolicy) {
             rollingPolicy = (RollingPolicy) policy;
         }
     }
+
+    @Override
+    protected boolean supportsBatches() {
+        return getClass() == RollingFileAppender.class;
+    }
 }
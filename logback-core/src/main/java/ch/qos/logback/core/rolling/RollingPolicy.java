@@ -39,6 +39,28 @@ public interface RollingPolicy extends LifeCycle {
      */
     void rollover() throws RolloverFailure;
 
+    /**
+     * Perform the part of a rollover which must precede the opening of the new
+     * active file, and return the remainder of the rollover so that it may be run
+     * in the background. Invoked by {@link RollingFileAppender} in asynchronous
+     * rollover mode, instead of {@link #rollover()}, while the hereto active file
+     * is still open.
+     * 
+     * <p>
+     * The returned task is run after the hereto active file has been closed. It
+     * must not depend on state of this policy which may change in the meantime.
+     * 
+     * <p>
+     * The default implementation returns {@code null}, meaning that the rollover
+     * cannot be split and that {@link #rollover()} should be invoked instead.
+     * 
+     * @return the remainder of the rollover, or {@code null}
+     * @since 1.4.2
+     */
+    default Runnable prepareRollover() {
+        return null;
+    }
+
     /**
      * Get the name of the active log file.
      * 
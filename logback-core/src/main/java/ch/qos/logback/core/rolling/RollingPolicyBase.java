@@ -13,10 +13,15 @@
  */
 package ch.qos.logback.core.rolling;
 
+import java.util.zip.Deflater;
+
 import ch.qos.logback.core.FileAppender;
+import ch.qos.logback.core.rolling.helper.CompressionCodec;
 import ch.qos.logback.core.rolling.helper.CompressionMode;
+import ch.qos.logback.core.rolling.helper.Compressor;
 import ch.qos.logback.core.rolling.helper.FileNamePattern;
 import ch.qos.logback.core.spi.ContextAwareBase;
+import ch.qos.logback.core.util.FileSize;
 
 /**
  * Implements methods common to most, it not all, rolling policies. Currently
@@ -26,6 +31,12 @@ import ch.qos.logback.core.spi.ContextAwareBase;
  */
 public abstract class RollingPolicyBase extends ContextAwareBase implements RollingPolicy {
     protected CompressionMode compressionMode = CompressionMode.NONE;
+    // set in CompressionMode.CUSTOM mode only
+    protected CompressionCodec compressionCodec;
+
+    private int compressionLevel = Deflater.DEFAULT_COMPRESSION;
+    private FileSize compressionBufferSize = new FileSize(Compressor.BUFFER_SIZE);
+    private int compressionThreadCount = 1;
 
     FileNamePattern fileNamePattern;
     // fileNamePatternStr is always slashified, see setter
@@ -40,23 +51,49 @@ public abstract class RollingPolicyBase extends ContextAwareBase implements Roll
     /**
      * Given the FileNamePattern string, this method determines the compression mode
      * depending on last letters of the fileNamePatternStr. Patterns ending with .gz
-     * imply GZIP compression, endings with '.zip' imply ZIP compression. Otherwise
-     * and by default, there is no compression.
+     * imply GZIP compression, parallel if <b>compressionThreadCount</b> is larger
+     * than one, endings with '.zip' imply ZIP compression. Other endings are
+     * matched against the suffixes of the available {@link CompressionCodec}s.
+     * Otherwise and by default, there is no compression.
      * 
      */
     protected void determineCompressionMode() {
+        compressionCodec = null;
         if (fileNamePatternStr.endsWith(".gz")) {
-            addInfo("Will use gz compression");
-            compressionMode = CompressionMode.GZ;
+            if (compressionThreadCount > 1) {
+                addInfo("Will use parallel gz compression with " + compressionThreadCount + " threads");
+                compressionMode = CompressionMode.PARALLEL_GZ;
+            } else {
+                addInfo("Will use gz compression");
+                compressionMode = CompressionMode.GZ;
+            }
         } else if (fileNamePatternStr.endsWith(".zip")) {
             addInfo("Will use zip compression");
             compressionMode = CompressionMode.ZIP;
+        } else if ((compressionCodec = Compressor.findCompressionCodec(fileNamePatternStr)) != null) {
+            addInfo("Will use compression codec [" + compressionCodec.getClass().getName() + "]");
+            compressionMode = CompressionMode.CUSTOM;
         } else {
             addInfo("No compression will be used");
             compressionMode = CompressionMode.NONE;
         }
     }
 
+    /**
+     * Create a compressor for the current compression mode, configured with the
+     * compression properties of this policy.
+     * 
+     * @since 1.4.2
+     */
+    protected Compressor makeCompressor() {
+        Compressor compressor = new Compressor(compressionMode, compressionCodec);
+        compressor.setContext(context);
+        compressor.setCompressionLevel(compressionLevel);
+        compressor.setBufferSize((int) compressionBufferSize.getSize());
+        compressor.setThreadCount(compressionThreadCount);
+        return compressor;
+    }
+
     public void setFileNamePattern(String fnp) {
         fileNamePatternStr = fnp;
     }
@@ -69,6 +106,48 @@ public abstract class RollingPolicyBase extends ContextAwareBase implements Roll
         return compressionMode;
     }
 
+    public int getCompressionLevel() {
+        return compressionLevel;
+    }
+
+    /**
+     * The compression level used for archives, from 0 (no compression) to 9
+     * (best compression) for gz and zip archives. The default, -1, designates
+     * the default level of the format.
+     * 
+     * @since 1.4.2
+     */
+    public void setCompressionLevel(int compressionLevel) {
+        this.compressionLevel = compressionLevel;
+    }
+
+    public FileSize getCompressionBufferSize() {
+        return compressionBufferSize;
+    }
+
+    /**
+     * The size of the buffers used while compressing archives, 8 KB by default.
+     * 
+     * @since 1.4.2
+     */
+    public void setCompressionBufferSize(FileSize compressionBufferSize) {
+        this.compressionBufferSize = compressionBufferSize;
+    }
+
+    public int getCompressionThreadCount() {
+        return compressionThreadCount;
+    }
+
+    /**
+     * The number of threads compressing a gz archive. With more than one thread,
+     * the archive is compressed in blocks written as consecutive gzip members.
+     * 
+     * @since 1.4.2
+     */
+    public void setCompressionThreadCount(int compressionThreadCount) {
+        this.compressionThreadCount = compressionThreadCount;
+    }
+
     public boolean isStarted() {
         return started;
     }
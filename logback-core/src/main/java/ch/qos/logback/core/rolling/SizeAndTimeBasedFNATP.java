@@ -20,6 +20,7 @@ import java.util.Date;
 
 import ch.qos.logback.core.CoreConstants;
 import ch.qos.logback.core.joran.spi.NoAutoStart;
+import ch.qos.logback.core.rolling.helper.ArchiveCatalog;
 import ch.qos.logback.core.rolling.helper.ArchiveRemover;
 import ch.qos.logback.core.rolling.helper.CompressionMode;
 import ch.qos.logback.core.rolling.helper.FileFilterUtil;
@@ -40,6 +41,8 @@ public class SizeAndTimeBasedFNATP<E> extends TimeBasedFileNamingAndTriggeringPo
     // String maxFileSizeAsString;
 
     long nextSizeCheck = 0;
+    String archiveIndexFile;
+    ArchiveCatalog archiveCatalog;
     static String MISSING_INT_TOKEN = "Missing integer token, that is %i, in FileNamePattern [";
     static String MISSING_DATE_TOKEN = "Missing date token, that is %d, in FileNamePattern [";
 
@@ -76,6 +79,13 @@ public class SizeAndTimeBasedFNATP<E> extends TimeBasedFileNamingAndTriggeringPo
             return;
         }
 
+        archiveCatalog = new ArchiveCatalog();
+        archiveCatalog.setContext(context);
+        if (archiveIndexFile != null) {
+            archiveCatalog.setIndexFile(new File(archiveIndexFile));
+            archiveCatalog.load();
+        }
+
         archiveRemover = createArchiveRemover();
         archiveRemover.setContext(context);
 
@@ -86,6 +96,8 @@ public class SizeAndTimeBasedFNATP<E> extends TimeBasedFileNamingAndTriggeringPo
         String stemRegex = FileFilterUtil.afterLastSlash(regex);
 
         computeCurrentPeriodsHighestCounterValue(stemRegex);
+        catalogActiveFileIfArchive();
+        archiveCatalog.save();
 
         if (isErrorFree()) {
             started = true;
@@ -108,14 +120,21 @@ public class SizeAndTimeBasedFNATP<E> extends TimeBasedFileNamingAndTriggeringPo
     }
 
     protected ArchiveRemover createArchiveRemover() {
-        return new SizeAndTimeBasedArchiveRemover(tbrp.fileNamePattern, rc);
+        return new SizeAndTimeBasedArchiveRemover(tbrp.fileNamePattern, rc, archiveCatalog);
+    }
+
+    /**
+     * The catalog of archived files, shared with the archive remover.
+     */
+    ArchiveCatalog getArchiveCatalog() {
+        return archiveCatalog;
     }
 
     void computeCurrentPeriodsHighestCounterValue(final String stemRegex) {
         File file = new File(getCurrentPeriodsFileNameWithoutCompressionSuffix());
         File parentDir = file.getParentFile();
 
-        File[] matchingFileArray = FileFilterUtil.filesInFolderMatchingStemRegex(parentDir, stemRegex);
+        File[] matchingFileArray = archiveCatalog.filesInFolderMatchingStemRegex(parentDir, stemRegex);
 
         if (matchingFileArray == null || matchingFileArray.length == 0) {
             currentPeriodsCounter = 0;
@@ -143,9 +162,11 @@ public class SizeAndTimeBasedFNATP<E> extends TimeBasedFileNamingAndTriggeringPo
             Date dateInElapsedPeriod = dateInCurrentPeriod;
             elapsedPeriodsFileName = tbrp.fileNamePatternWithoutCompSuffix.convertMultipleArguments(dateInElapsedPeriod,
                     currentPeriodsCounter);
+            catalogArchive(dateInElapsedPeriod, currentPeriodsCounter);
             currentPeriodsCounter = 0;
             setDateInCurrentPeriod(time);
             computeNextCheck();
+            catalogActiveFileIfArchive();
             return true;
         }
 
@@ -166,13 +187,27 @@ public class SizeAndTimeBasedFNATP<E> extends TimeBasedFileNamingAndTriggeringPo
 
             elapsedPeriodsFileName = tbrp.fileNamePatternWithoutCompSuffix.convertMultipleArguments(dateInCurrentPeriod,
                     currentPeriodsCounter);
+            catalogArchive(dateInCurrentPeriod, currentPeriodsCounter);
             currentPeriodsCounter++;
+            catalogActiveFileIfArchive();
             return true;
         }
 
         return false;
     }
 
+    private void catalogArchive(Date date, int counter) {
+        archiveCatalog.add(new File(tbrp.fileNamePattern.convertMultipleArguments(date, counter)));
+    }
+
+    // without a file property nor compression, the active file is already named
+    // as an archive and counts towards totalSizeCap
+    private void catalogActiveFileIfArchive() {
+        if (tbrp.getParentsRawFileProperty() == null && tbrp.compressionMode == CompressionMode.NONE) {
+            archiveCatalog.add(new File(getCurrentPeriodsFileNameWithoutCompressionSuffix()));
+        }
+    }
+
     @Override
     public String getCurrentPeriodsFileNameWithoutCompressionSuffix() {
         return tbrp.fileNamePatternWithoutCompSuffix.convertMultipleArguments(dateInCurrentPeriod,
@@ -183,4 +218,16 @@ public class SizeAndTimeBasedFNATP<E> extends TimeBasedFileNamingAndTriggeringPo
         this.maxFileSize = aMaxFileSize;
     }
 
+    /**
+     * Set the file in which the catalog of archived files is persisted between
+     * restarts. By default, the catalog is rebuilt by listing the archive folder
+     * upon start.
+     * 
+     * @param archiveIndexFile
+     * @since 1.4.2
+     */
+    public void setArchiveIndexFile(String archiveIndexFile) {
+        this.archiveIndexFile = archiveIndexFile;
+    }
+
 }
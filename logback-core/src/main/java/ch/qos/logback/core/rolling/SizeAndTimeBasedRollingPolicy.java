@@ -19,6 +19,7 @@ import ch.qos.logback.core.util.FileSize;
 public class SizeAndTimeBasedRollingPolicy<E> extends TimeBasedRollingPolicy<E> {
 
     FileSize maxFileSize;
+    String archiveIndexFile;
 
     @Override
     public void start() {
@@ -31,6 +32,7 @@ public class SizeAndTimeBasedRollingPolicy<E> extends TimeBasedRollingPolicy<E>
         }
 
         sizeAndTimeBasedFNATP.setMaxFileSize(maxFileSize);
+        sizeAndTimeBasedFNATP.setArchiveIndexFile(archiveIndexFile);
         timeBasedFileNamingAndTriggeringPolicy = sizeAndTimeBasedFNATP;
 
         if (!isUnboundedTotalSizeCap() && totalSizeCap.getSize() < maxFileSize.getSize()) {
@@ -47,6 +49,17 @@ public class SizeAndTimeBasedRollingPolicy<E> extends TimeBasedRollingPolicy<E>
         this.maxFileSize = aMaxFileSize;
     }
 
+    /**
+     * Set the file in which the catalog of archived files is kept between
+     * restarts, sparing a listing of the archive folder upon start. Optional.
+     * 
+     * @param archiveIndexFile
+     * @since 1.4.2
+     */
+    public void setArchiveIndexFile(String archiveIndexFile) {
+        this.archiveIndexFile = archiveIndexFile;
+    }
+
     @Override
     public String toString() {
         return "c.q.l.core.rolling.SizeAndTimeBasedRollingPolicy@" + this.hashCode();
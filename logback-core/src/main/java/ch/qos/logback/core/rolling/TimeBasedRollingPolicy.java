@@ -75,12 +75,13 @@ public class TimeBasedRollingPolicy<E> extends RollingPolicyBase implements Trig
             throw new IllegalStateException(FNP_NOT_SET + CoreConstants.SEE_FNP_NOT_SET);
         }
 
-        compressor = new Compressor(compressionMode);
-        compressor.setContext(context);
+        compressor = makeCompressor();
 
         // wcs : without compression suffix
         fileNamePatternWithoutCompSuffix = new FileNamePattern(
-                Compressor.computeFileNameStrWithoutCompSuffix(fileNamePatternStr, compressionMode), this.context);
+                Compressor.computeFileNameStrWithoutCompSuffix(fileNamePatternStr, compressionMode,
+                        compressionCodec),
+                this.context);
 
         addInfo("Will use the pattern " + fileNamePatternWithoutCompSuffix + " for the active file");
 
@@ -130,6 +131,7 @@ public class TimeBasedRollingPolicy<E> extends RollingPolicyBase implements Trig
             return;
         waitForAsynchronousJobToStop(compressionFuture, "compression");
         waitForAsynchronousJobToStop(cleanUpFuture, "clean-up");
+        compressor.stop();
         super.stop();
     }
 
@@ -188,6 +190,45 @@ public class TimeBasedRollingPolicy<E> extends RollingPolicyBase implements Trig
         }
     }
 
+    /**
+     * Move the hereto active file out of the way, if it has a fixed name, and
+     * leave its compression and the removal of older archives to the returned
+     * task. Returns {@code null} if the open file cannot be renamed, e.g. on
+     * Windows.
+     */
+    @Override
+    public Runnable prepareRollover() {
+        final String elapsedPeriodsFileName = timeBasedFileNamingAndTriggeringPolicy.getElapsedPeriodsFileName();
+        final String elapsedPeriodStem = FileFilterUtil.afterLastSlash(elapsedPeriodsFileName);
+        final String parentsRawFile = getParentsRawFileProperty();
+
+        final String elapsedFile;
+        if (parentsRawFile == null) {
+            elapsedFile = elapsedPeriodsFileName;
+        } else {
+            if (compressionMode == CompressionMode.NONE) {
+                elapsedFile = elapsedPeriodsFileName;
+            } else {
+                elapsedFile = elapsedPeriodsFileName + System.nanoTime() + ".tmp";
+            }
+            if (!renameUtil.tryRename(parentsRawFile, elapsedFile)) {
+                return null;
+            }
+        }
+
+        final CompressionMode mode = compressionMode;
+        final ArchiveRemover remover = archiveRemover;
+        final Date now = new Date(timeBasedFileNamingAndTriggeringPolicy.getCurrentTime());
+        return () -> {
+            if (mode != CompressionMode.NONE) {
+                compressor.compress(elapsedFile, elapsedPeriodsFileName, elapsedPeriodStem);
+            }
+            if (remover != null) {
+                remover.cleanUp(now);
+            }
+        };
+    }
+
     Future<?> renameRawAndAsyncCompress(String nameOfCompressedFile, String innerEntryName) throws RolloverFailure {
         String parentsRawFile = getParentsRawFileProperty();
         String tmpTarget = nameOfCompressedFile + System.nanoTime() + ".tmp";
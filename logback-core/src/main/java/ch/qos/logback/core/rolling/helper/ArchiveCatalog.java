@@ -0,0 +1,307 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.rolling.helper;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+
+import ch.qos.logback.core.spi.ContextAwareBase;
+
+/**
+ * An in-memory catalog of the names of archived log files, organized by
+ * folder.
+ *
+ * <p>
+ * A folder is listed at most once, the first time it is looked up. Afterwards,
+ * the catalog is kept up to date by {@link #add(File)} and {@link #remove(File)}
+ * as archives are created and deleted. Files created in a cataloged folder by
+ * third parties go unnoticed until the catalog is rebuilt, typically upon
+ * restart.
+ *
+ * <p>
+ * The catalog may be persisted to an index file, see {@link #setIndexFile(File)}.
+ * Folders read from the index file are trusted only if they have not been
+ * modified since they were listed, otherwise they are listed anew. This
+ * includes folders in which archives were created or deleted since. The index
+ * file is created upon {@link #load()} and then rewritten in place, so that it
+ * may reside in a cataloged folder without modifying it.
+ *
+ * <p>
+ * This class is thread-safe.
+ *
+ * @since 1.4.2
+ */
+public class ArchiveCatalog extends ContextAwareBase {
+
+    static final String INDEX_FILE_HEADER = "# logback archive index, version 1";
+    // marks a completely written index file
+    static final String INDEX_FILE_TRAILER = "# end";
+    static final char FOLDER_LINE = 'D';
+    static final char FILE_LINE = 'F';
+
+    private static final String REGEX_META_CHARACTERS = "\\[](){}*+?^$|";
+
+    static class Folder {
+        final NavigableSet<String> names = new TreeSet<String>();
+        // modification time of the folder when it was listed
+        long lastModified;
+        // read from the index file, not yet checked against the folder
+        boolean unverified;
+    }
+
+    private final Map<File, Folder> folders = new HashMap<File, Folder>();
+    private File indexFile;
+    private boolean dirty;
+    private int listingCount;
+
+    public synchronized void setIndexFile(File indexFile) {
+        this.indexFile = indexFile;
+    }
+
+    public synchronized File getIndexFile() {
+        return indexFile;
+    }
+
+    /**
+     * Return the files in the given folder whose name matches the stem regex, as
+     * {@link FileFilterUtil#filesInFolderMatchingStemRegex(File, String)} does,
+     * but without listing the folder if it is already cataloged.
+     *
+     * @param folder
+     * @param stemRegex
+     * @return matching files, in ascending order of their names
+     */
+    public synchronized File[] filesInFolderMatchingStemRegex(File folder, String stemRegex) {
+        if (folder == null) {
+            return new File[0];
+        }
+        Folder entry = lookup(folder.getAbsoluteFile());
+        if (entry == null) {
+            return new File[0];
+        }
+        String prefix = literalPrefix(stemRegex);
+        Pattern pattern = Pattern.compile(stemRegex);
+        List<File> result = new ArrayList<File>();
+        for (String name : candidates(entry, prefix)) {
+            if (pattern.matcher(name).matches()) {
+                result.add(new File(folder, name));
+            }
+        }
+        return result.toArray(new File[0]);
+    }
+
+    /**
+     * Forget about the files in the given folder whose name matches the stem
+     * regex, whether or not they still exist.
+     */
+    public synchronized void removeMatching(File folder, String stemRegex) {
+        if (folder == null) {
+            return;
+        }
+        Folder entry = folders.get(folder.getAbsoluteFile());
+        if (entry == null) {
+            return;
+        }
+        Pattern pattern = Pattern.compile(stemRegex);
+        Iterator<String> it = candidates(entry, literalPrefix(stemRegex)).iterator();
+        while (it.hasNext()) {
+            if (pattern.matcher(it.next()).matches()) {
+                it.remove();
+                dirty = true;
+            }
+        }
+    }
+
+    /**
+     * Record the given file as an archive. The file need not exist yet, e.g. if
+     * it is being compressed.
+     */
+    public synchronized void add(File file) {
+        File absolute = file.getAbsoluteFile();
+        Folder entry = lookup(absolute.getParentFile());
+        if (entry != null && entry.names.add(absolute.getName())) {
+            dirty = true;
+        }
+    }
+
+    public synchronized void remove(File file) {
+        File absolute = file.getAbsoluteFile();
+        Folder entry = folders.get(absolute.getParentFile());
+        if (entry != null && entry.names.remove(absolute.getName())) {
+            dirty = true;
+        }
+    }
+
+    /**
+     * Number of folder listings performed so far.
+     */
+    public synchronized int getListingCount() {
+        return listingCount;
+    }
+
+    private Folder lookup(File folder) {
+        if (folder == null) {
+            return null;
+        }
+        Folder entry = folders.get(folder);
+        if (entry != null && entry.unverified) {
+            if (entry.lastModified == folder.lastModified()) {
+                entry.unverified = false;
+            } else {
+                entry = null;
+            }
+        }
+        if (entry == null) {
+            entry = list(folder);
+        }
+        return entry;
+    }
+
+    private Folder list(File folder) {
+        Folder entry = new Folder();
+        // before listing, so that files created meanwhile make it look modified
+        entry.lastModified = folder.lastModified();
+        String[] names = folder.isDirectory() ? folder.list() : null;
+        listingCount++;
+        if (names != null) {
+            Collections.addAll(entry.names, names);
+        }
+        folders.put(folder, entry);
+        dirty = true;
+        return entry;
+    }
+
+    private static NavigableSet<String> candidates(Folder entry, String prefix) {
+        if (prefix.isEmpty()) {
+            return entry.names;
+        }
+        return entry.names.subSet(prefix, true, prefix + Character.MAX_VALUE, true);
+    }
+
+    /**
+     * Returns the longest prefix of the regex free of meta characters other than
+     * '.', which in file name patterns stands for itself.
+     */
+    static String literalPrefix(String regex) {
+        for (int i = 0; i < regex.length(); i++) {
+            if (REGEX_META_CHARACTERS.indexOf(regex.charAt(i)) != -1) {
+                return regex.substring(0, i);
+            }
+        }
+        return regex;
+    }
+
+    /**
+     * Read the index file, if one is set, or create it if it does not exist yet.
+     * Folders already cataloged are left untouched.
+     */
+    public synchronized void load() {
+        if (indexFile == null) {
+            return;
+        }
+        if (!indexFile.isFile()) {
+            // created before any listing, a folder holding it is not modified by save()
+            dirty = true;
+            save();
+            return;
+        }
+        Map<File, Folder> loaded = new HashMap<File, Folder>();
+        try (BufferedReader reader = Files.newBufferedReader(indexFile.toPath(), StandardCharsets.UTF_8)) {
+            String line = reader.readLine();
+            if (!INDEX_FILE_HEADER.equals(line)) {
+                addWarn("Ignoring archive index file [" + indexFile + "] with unexpected header");
+                return;
+            }
+            Folder current = null;
+            boolean complete = false;
+            while ((line = reader.readLine()) != null) {
+                if (INDEX_FILE_TRAILER.equals(line)) {
+                    complete = true;
+                    break;
+                }
+                if (line.length() < 2 || line.charAt(1) != '\t') {
+                    continue;
+                }
+                if (line.charAt(0) == FOLDER_LINE) {
+                    int tab = line.indexOf('\t', 2);
+                    current = new Folder();
+                    current.lastModified = Long.parseLong(line.substring(2, tab));
+                    current.unverified = true;
+                    loaded.put(new File(line.substring(tab + 1)), current);
+                } else if (line.charAt(0) == FILE_LINE && current != null) {
+                    current.names.add(line.substring(2));
+                }
+            }
+            if (!complete) {
+                addWarn("Ignoring incomplete archive index file [" + indexFile + "]");
+                return;
+            }
+        } catch (IOException | RuntimeException e) {
+            addWarn("Failed to read archive index file [" + indexFile + "]", e);
+            return;
+        }
+        for (Map.Entry<File, Folder> e : loaded.entrySet()) {
+            folders.putIfAbsent(e.getKey(), e.getValue());
+        }
+    }
+
+    /**
+     * Write the index file, if one is set and the catalog changed since it was
+     * last written. The file is rewritten in place, rather than replaced, as
+     * replacing it would modify the folder holding it. A partially written file
+     * lacks the trailer and is ignored by {@link #load()}.
+     */
+    public synchronized void save() {
+        if (indexFile == null || !dirty) {
+            return;
+        }
+        File parent = indexFile.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.isDirectory()) {
+            parent.mkdirs();
+        }
+        try {
+            try (BufferedWriter writer = Files.newBufferedWriter(indexFile.toPath(), StandardCharsets.UTF_8)) {
+                writer.write(INDEX_FILE_HEADER);
+                writer.newLine();
+                for (Map.Entry<File, Folder> e : folders.entrySet()) {
+                    Folder folder = e.getValue();
+                    writer.write(FOLDER_LINE + "\t" + folder.lastModified + "\t" + e.getKey().getPath());
+                    writer.newLine();
+                    for (String name : folder.names) {
+                        writer.write(FILE_LINE + "\t" + name);
+                        writer.newLine();
+                    }
+                }
+                writer.write(INDEX_FILE_TRAILER);
+                writer.newLine();
+            }
+            dirty = false;
+        } catch (IOException e) {
+            addWarn("Failed to write archive index file [" + indexFile + "]", e);
+        }
+    }
+}
@@ -31,4 +31,14 @@ public interface ArchiveRemover extends ContextAware {
     void setTotalSizeCap(long totalSizeCap);
 
     Future<?> cleanAsynchronously(Date now);
+
+    /**
+     * Perform on the calling thread the clean up which
+     * {@link #cleanAsynchronously(Date)} would submit to the context's executor.
+     * 
+     * @since 1.4.2
+     */
+    default void cleanUp(Date now) {
+        clean(now);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,50 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.rolling.helper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Service provider interface for compression formats not built into logback.
+ *
+ * <p>
+ * Implementations are located with {@link java.util.ServiceLoader}. A rolling
+ * policy whose file name pattern ends with the {@link #getFileNameSuffix()
+ * suffix} of an available codec compresses its archives with that codec, see
+ * {@link CompressionMode#CUSTOM}.
+ *
+ * @since 1.4.2
+ */
+public interface CompressionCodec {
+
+    /**
+     * The file name suffix of compressed files, including the leading dot, for
+     * example ".zst".
+     */
+    String getFileNameSuffix();
+
+    /**
+     * Compress the input stream into the output stream. Neither stream should be
+     * closed by this method.
+     *
+     * @param in         the uncompressed bytes
+     * @param out        the destination of the compressed bytes
+     * @param level      the requested compression level, or -1 for the codec's
+     *                   default level
+     * @param bufferSize the requested size of I/O buffers
+     */
+    void compress(InputStream in, OutputStream out, int level, int bufferSize) throws IOException;
+}
@@ -14,5 +14,22 @@
 package ch.qos.logback.core.rolling.helper;
 
 public enum CompressionMode {
-    NONE, GZ, ZIP;
+    NONE, GZ, ZIP,
+
+    /**
+     * GZ compression performed by several threads, each compressing blocks of the
+     * file into independent gzip members. The resulting file is a valid gzip
+     * file.
+     * 
+     * @since 1.4.2
+     */
+    PARALLEL_GZ,
+
+    /**
+     * Compression performed by a {@link CompressionCodec} found through
+     * {@link java.util.ServiceLoader}.
+     * 
+     * @since 1.4.2
+     */
+    CUSTOM;
 }
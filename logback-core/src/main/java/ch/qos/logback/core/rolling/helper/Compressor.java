@@ -14,11 +14,21 @@
 package ch.qos.logback.core.rolling.helper;
 
 import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.ServiceLoader;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.zip.Deflater;
 import java.util.zip.GZIPOutputStream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
@@ -27,6 +37,7 @@ import ch.qos.logback.core.rolling.RolloverFailure;
 import ch.qos.logback.core.spi.ContextAwareBase;
 import ch.qos.logback.core.status.ErrorStatus;
 import ch.qos.logback.core.status.WarnStatus;
+import ch.qos.logback.core.util.ExecutorServiceUtil;
 import ch.qos.logback.core.util.FileUtil;
 
 /**
@@ -38,11 +49,111 @@ import ch.qos.logback.core.util.FileUtil;
 public class Compressor extends ContextAwareBase {
 
     final CompressionMode compressionMode;
+    final CompressionCodec compressionCodec;
 
-    static final int BUFFER_SIZE = 8192;
+    public static final int BUFFER_SIZE = 8192;
+
+    /**
+     * Size of the blocks compressed independently in
+     * {@link CompressionMode#PARALLEL_GZ} mode.
+     */
+    static final int PARALLEL_GZ_BLOCK_SIZE = 1024 * 1024;
+
+    private int compressionLevel = Deflater.DEFAULT_COMPRESSION;
+    private int bufferSize = BUFFER_SIZE;
+    private int threadCount = 1;
+    // compresses the blocks of all archives in PARALLEL_GZ mode, created on first
+    // use
+    private ExecutorService executorService;
 
     public Compressor(CompressionMode compressionMode) {
+        this(compressionMode, null);
+    }
+
+    /**
+     * @param compressionMode
+     * @param compressionCodec the codec to use in {@link CompressionMode#CUSTOM}
+     *                         mode, ignored otherwise
+     * @since 1.4.2
+     */
+    public Compressor(CompressionMode compressionMode, CompressionCodec compressionCodec) {
+        if (compressionMode == CompressionMode.CUSTOM && compressionCodec == null) {
+            throw new IllegalArgumentException("CUSTOM compression mode requires a codec");
+        }
         this.compressionMode = compressionMode;
+        this.compressionCodec = compressionCodec;
+    }
+
+    /**
+     * Find a {@link CompressionCodec} available through {@link ServiceLoader}
+     * whose suffix ends the given file name pattern.
+     *
+     * @return the codec, or null if there is none
+     * @since 1.4.2
+     */
+    public static CompressionCodec findCompressionCodec(String fileNamePatternStr) {
+        ServiceLoader<CompressionCodec> loader = ServiceLoader.load(CompressionCodec.class,
+                Compressor.class.getClassLoader());
+        for (CompressionCodec codec : loader) {
+            String suffix = codec.getFileNameSuffix();
+            if (suffix != null && !suffix.isEmpty() && fileNamePatternStr.endsWith(suffix)) {
+                return codec;
+            }
+        }
+        return null;
+    }
+
+    public int getCompressionLevel() {
+        return compressionLevel;
+    }
+
+    /**
+     * The compression level, from 0 to 9 for the GZ and ZIP formats, or -1 for
+     * the default level.
+     */
+    public void setCompressionLevel(int compressionLevel) {
+        this.compressionLevel = compressionLevel;
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize > 0 ? bufferSize : BUFFER_SIZE;
+    }
+
+    public int getThreadCount() {
+        return threadCount;
+    }
+
+    /**
+     * The number of threads compressing a file in
+     * {@link CompressionMode#PARALLEL_GZ} mode.
+     */
+    public void setThreadCount(int threadCount) {
+        this.threadCount = Math.max(1, threadCount);
+    }
+
+    /**
+     * Release the threads compressing in {@link CompressionMode#PARALLEL_GZ}
+     * mode once they are done with the blocks submitted so far. Threads are
+     * created anew should this compressor be used again.
+     *
+     * @since 1.4.2
+     */
+    public synchronized void stop() {
+        if (executorService != null) {
+            executorService.shutdown();
+            executorService = null;
+        }
+    }
+
+    private synchronized ExecutorService getExecutorService() {
+        if (executorService == null) {
+            executorService = ExecutorServiceUtil.newFixedThreadPool(threadCount);
+        }
+        return executorService;
     }
 
     /**
@@ -56,6 +167,13 @@ public class Compressor extends ContextAwareBase {
         case GZ:
             gzCompress(nameOfFile2Compress, nameOfCompressedFile);
             break;
+        case PARALLEL_GZ:
+            streamCompress(nameOfFile2Compress, nameOfCompressedFile, ".gz", this::parallelGzCopy);
+            break;
+        case CUSTOM:
+            streamCompress(nameOfFile2Compress, nameOfCompressedFile, compressionCodec.getFileNameSuffix(),
+                    (in, out) -> compressionCodec.compress(in, out, compressionLevel, bufferSize));
+            break;
         case ZIP:
             zipCompress(nameOfFile2Compress, nameOfCompressedFile, innerEntryName);
             break;
@@ -94,13 +212,14 @@ public class Compressor extends ContextAwareBase {
         addInfo("ZIP compressing [" + file2zip + "] as [" + zippedFile + "]");
         createMissingTargetDirsIfNecessary(zippedFile);
 
-        try (BufferedInputStream bis = new BufferedInputStream(new FileInputStream(nameOfFile2zip));
+        try (BufferedInputStream bis = new BufferedInputStream(new FileInputStream(nameOfFile2zip), bufferSize);
                 ZipOutputStream zos = new ZipOutputStream(new FileOutputStream(nameOfZippedFile))) {
 
+            zos.setLevel(compressionLevel);
             ZipEntry zipEntry = computeZipEntry(innerEntryName);
             zos.putNextEntry(zipEntry);
 
-            byte[] inbuf = new byte[BUFFER_SIZE];
+            byte[] inbuf = new byte[bufferSize];
             int n;
 
             while ((n = bis.read(inbuf)) != -1) {
@@ -138,7 +257,8 @@ public class Compressor extends ContextAwareBase {
     }
 
     ZipEntry computeZipEntry(String filename) {
-        String nameOfFileNestedWithinArchive = computeFileNameStrWithoutCompSuffix(filename, compressionMode);
+        String nameOfFileNestedWithinArchive = computeFileNameStrWithoutCompSuffix(filename, compressionMode,
+                compressionCodec);
         return new ZipEntry(nameOfFileNestedWithinArchive);
     }
 
@@ -166,10 +286,10 @@ public class Compressor extends ContextAwareBase {
         addInfo("GZ compressing [" + file2gz + "] as [" + gzedFile + "]");
         createMissingTargetDirsIfNecessary(gzedFile);
 
-        try (BufferedInputStream bis = new BufferedInputStream(new FileInputStream(nameOfFile2gz));
-                GZIPOutputStream gzos = new GZIPOutputStream(new FileOutputStream(nameOfgzedFile))) {
+        try (BufferedInputStream bis = new BufferedInputStream(new FileInputStream(nameOfFile2gz), bufferSize);
+                GZIPOutputStream gzos = newGZIPOutputStream(new FileOutputStream(nameOfgzedFile))) {
 
-            byte[] inbuf = new byte[BUFFER_SIZE];
+            byte[] inbuf = new byte[bufferSize];
             int n;
 
             while ((n = bis.read(inbuf)) != -1) {
@@ -189,11 +309,133 @@ public class Compressor extends ContextAwareBase {
 
     }
 
+    private GZIPOutputStream newGZIPOutputStream(OutputStream os) throws IOException {
+        return new GZIPOutputStream(os, bufferSize) {
+            {
+                def.setLevel(compressionLevel);
+            }
+        };
+    }
+
+    /**
+     * Copies uncompressed bytes from an input stream to a compressed output
+     * stream.
+     */
+    private interface CompressingCopy {
+        void copy(InputStream in, OutputStream out) throws IOException;
+    }
+
+    private void streamCompress(String nameOfFile2Compress, String nameOfCompressedFile, String suffix,
+            CompressingCopy compressingCopy) {
+        File file2Compress = new File(nameOfFile2Compress);
+
+        if (!file2Compress.exists()) {
+            addStatus(new WarnStatus("The file to compress named [" + nameOfFile2Compress + "] does not exist.", this));
+            return;
+        }
+
+        if (!nameOfCompressedFile.endsWith(suffix)) {
+            nameOfCompressedFile = nameOfCompressedFile + suffix;
+        }
+
+        File compressedFile = new File(nameOfCompressedFile);
+
+        if (compressedFile.exists()) {
+            addWarn("The target compressed file named [" + nameOfCompressedFile
+                    + "] exist already. Aborting file compression.");
+            return;
+        }
+
+        addInfo(compressionMode + " compressing [" + file2Compress + "] as [" + compressedFile + "]");
+        createMissingTargetDirsIfNecessary(compressedFile);
+
+        try (InputStream in = new FileInputStream(file2Compress);
+                OutputStream out = new BufferedOutputStream(new FileOutputStream(compressedFile), bufferSize)) {
+            compressingCopy.copy(in, out);
+            addInfo("Done " + compressionMode + " compressing [" + file2Compress + "] as [" + compressedFile + "]");
+        } catch (Exception e) {
+            addStatus(new ErrorStatus("Error occurred while compressing [" + nameOfFile2Compress + "] into ["
+                    + nameOfCompressedFile + "].", this, e));
+        }
+
+        if (!file2Compress.delete()) {
+            addStatus(new WarnStatus("Could not delete [" + nameOfFile2Compress + "].", this));
+        }
+    }
+
+    /**
+     * Compress blocks of the input into independent gzip members on several
+     * threads and write the members in order. Concatenated gzip members form a
+     * valid gzip file, see RFC 1952.
+     */
+    private void parallelGzCopy(InputStream in, OutputStream out) throws IOException {
+        ExecutorService executorService = getExecutorService();
+        // bound the number of blocks held in memory
+        final int maxInFlight = 2 * threadCount;
+        Deque<Future<byte[]>> inFlight = new ArrayDeque<>(maxInFlight);
+        try {
+            byte[] block;
+            while ((block = in.readNBytes(PARALLEL_GZ_BLOCK_SIZE)).length > 0) {
+                final byte[] uncompressed = block;
+                inFlight.addLast(executorService.submit(() -> gzipMember(uncompressed)));
+                if (inFlight.size() >= maxInFlight) {
+                    out.write(awaitMember(inFlight.removeFirst()));
+                }
+            }
+            while (!inFlight.isEmpty()) {
+                out.write(awaitMember(inFlight.removeFirst()));
+            }
+        } finally {
+            for (Future<byte[]> future : inFlight) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    private byte[] gzipMember(byte[] uncompressed) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream(uncompressed.length / 4 + 64);
+        try (GZIPOutputStream gzos = newGZIPOutputStream(baos)) {
+            gzos.write(uncompressed);
+        }
+        return baos.toByteArray();
+    }
+
+    private byte[] awaitMember(Future<byte[]> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while compressing", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
     static public String computeFileNameStrWithoutCompSuffix(String fileNamePatternStr,
             CompressionMode compressionMode) {
+        return computeFileNameStrWithoutCompSuffix(fileNamePatternStr, compressionMode, null);
+    }
+
+    /**
+     * @param compressionCodec the codec used in {@link CompressionMode#CUSTOM}
+     *                         mode, may be null otherwise
+     * @since 1.4.2
+     */
+    static public String computeFileNameStrWithoutCompSuffix(String fileNamePatternStr,
+            CompressionMode compressionMode, CompressionCodec compressionCodec) {
         int len = fileNamePatternStr.length();
         switch (compressionMode) {
+        case CUSTOM:
+            if (compressionCodec != null && fileNamePatternStr.endsWith(compressionCodec.getFileNameSuffix()))
+                return fileNamePatternStr.substring(0, len - compressionCodec.getFileNameSuffix().length());
+            else
+                return fileNamePatternStr;
         case GZ:
+        case PARALLEL_GZ:
             if (fileNamePatternStr.endsWith(".gz"))
                 return fileNamePatternStr.substring(0, len - 3);
             else
@@ -73,6 +73,38 @@ public class RenameUtil extends ContextAwareBase {
         }
     }
 
+    /**
+     * Rename the file with a single file system operation, without falling back
+     * onto copying. Failures are left to the caller instead of being reported.
+     * 
+     * <p>
+     * On most platforms except Windows, this method is able to move a file which
+     * is still open.
+     * 
+     * @param src
+     * @param target
+     * @return true if the file was renamed
+     * @since 1.4.2
+     */
+    public boolean tryRename(String src, String target) {
+        if (src.equals(target)) {
+            return false;
+        }
+        File srcFile = new File(src);
+        if (!srcFile.exists()) {
+            return false;
+        }
+        File targetFile = new File(target);
+        if (!FileUtil.createMissingParentDirectories(targetFile)) {
+            return false;
+        }
+        boolean result = srcFile.renameTo(targetFile);
+        if (result) {
+            addInfo("Renamed file [" + srcFile + "] to [" + targetFile + "]");
+        }
+        return result;
+    }
+
     /**
      * Attempts to determine whether both files are on different volumes. Returns
      * true if we could determine that the files are on different volumes. Returns
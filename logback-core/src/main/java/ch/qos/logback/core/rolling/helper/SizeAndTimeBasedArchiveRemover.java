@@ -14,9 +14,11 @@
 package ch.qos.logback.core.rolling.helper;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.Date;
+import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -24,16 +26,61 @@ public class SizeAndTimeBasedArchiveRemover extends TimeBasedArchiveRemover {
 
     protected static final int NO_INDEX = -1;
 
+    final ArchiveCatalog archiveCatalog;
+
     public SizeAndTimeBasedArchiveRemover(FileNamePattern fileNamePattern, RollingCalendar rc) {
+        this(fileNamePattern, rc, new ArchiveCatalog());
+    }
+
+    public SizeAndTimeBasedArchiveRemover(FileNamePattern fileNamePattern, RollingCalendar rc,
+            ArchiveCatalog archiveCatalog) {
         super(fileNamePattern, rc);
+        this.archiveCatalog = archiveCatalog;
+    }
+
+    public ArchiveCatalog getArchiveCatalog() {
+        return archiveCatalog;
     }
 
     protected File[] getFilesInPeriod(Date dateOfPeriodToClean) {
-        File archive0 = new File(fileNamePattern.convertMultipleArguments(dateOfPeriodToClean, 0));
-        File parentDir = getParentDir(archive0);
+        File parentDir = getParentDirOfPeriod(dateOfPeriodToClean);
         String stemRegex = createStemRegex(dateOfPeriodToClean);
-        File[] matchingFileArray = FileFilterUtil.filesInFolderMatchingStemRegex(parentDir, stemRegex);
-        return matchingFileArray;
+        File[] cataloged = archiveCatalog.filesInFolderMatchingStemRegex(parentDir, stemRegex);
+        // archives being compressed are cataloged before they exist
+        List<File> matchingFiles = new ArrayList<File>(cataloged.length);
+        for (File f : cataloged) {
+            if (f.isFile()) {
+                matchingFiles.add(f);
+            }
+        }
+        return matchingFiles.toArray(new File[0]);
+    }
+
+    @Override
+    public void cleanPeriod(Date dateOfPeriodToClean) {
+        super.cleanPeriod(dateOfPeriodToClean);
+        // the period is now out of reach, forget about files deleted by third parties
+        archiveCatalog.removeMatching(getParentDirOfPeriod(dateOfPeriodToClean),
+                createStemRegex(dateOfPeriodToClean));
+    }
+
+    @Override
+    boolean delete(File file) {
+        boolean deleted = super.delete(file);
+        if (deleted) {
+            archiveCatalog.remove(file);
+        }
+        return deleted;
+    }
+
+    @Override
+    protected void afterCleanUp() {
+        archiveCatalog.save();
+    }
+
+    private File getParentDirOfPeriod(Date date) {
+        File archive0 = new File(fileNamePattern.convertMultipleArguments(date, 0));
+        return getParentDir(archive0);
     }
 
     private String createStemRegex(final Date dateOfPeriodToClean) {
@@ -86,7 +86,7 @@ public class TimeBasedArchiveRemover extends ContextAwareBase implements Archive
 
         for (File f : matchingFileArray) {
             addInfo("deleting " + f);
-            f.delete();
+            delete(f);
         }
 
         if (parentClean && matchingFileArray.length > 0) {
@@ -107,7 +107,7 @@ public class TimeBasedArchiveRemover extends ContextAwareBase implements Archive
                 if (totalSize + size > totalSizeCap) {
                     addInfo("Deleting [" + f + "]" + " of size " + new FileSize(size));
                     totalRemoved += size;
-                    f.delete();
+                    delete(f);
                 }
                 totalSize += size;
             }
@@ -119,6 +119,17 @@ public class TimeBasedArchiveRemover extends ContextAwareBase implements Archive
         // nothing to do in super class
     }
 
+    boolean delete(File file) {
+        return file.delete();
+    }
+
+    /**
+     * Invoked after each clean up, on the thread that performed it.
+     */
+    protected void afterCleanUp() {
+        // nothing to do in super class
+    }
+
     File getParentDir(File file) {
         File absolute = file.getAbsoluteFile();
         File parentDir = absolute.getParentFile();
@@ -224,6 +235,15 @@ public class TimeBasedArchiveRemover extends ContextAwareBase implements Archive
         return future;
     }
 
+    @Override
+    public synchronized void cleanUp(Date now) {
+        clean(now);
+        if (totalSizeCap != UNBOUNDED_TOTAL_SIZE_CAP && totalSizeCap > 0) {
+            capTotalSize(now);
+        }
+        afterCleanUp();
+    }
+
     public class ArhiveRemoverRunnable implements Runnable {
         Date now;
 
@@ -233,10 +253,7 @@ public class TimeBasedArchiveRemover extends ContextAwareBase implements Archive
 
         @Override
         public void run() {
-            clean(now);
-            if (totalSizeCap != UNBOUNDED_TOTAL_SIZE_CAP && totalSizeCap > 0) {
-                capTotalSize(now);
-            }
+            cleanUp(now);
         }
     }
 
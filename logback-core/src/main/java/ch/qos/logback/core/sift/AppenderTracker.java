@@ -13,25 +13,31 @@
  */
 package ch.qos.logback.core.sift;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 import ch.qos.logback.core.Appender;
 import ch.qos.logback.core.Context;
 import ch.qos.logback.core.CoreConstants;
 import ch.qos.logback.core.helpers.NOPAppender;
 import ch.qos.logback.core.joran.spi.JoranException;
-import ch.qos.logback.core.spi.AbstractComponentTracker;
+import ch.qos.logback.core.spi.ConcurrentComponentTracker;
 import ch.qos.logback.core.spi.ContextAwareImpl;
 
 /**
  * Track appenders by key. When an appender is not used for longer than
  * {@link #DEFAULT_TIMEOUT} it is stopped and removed.
+ * 
+ * <p>
+ * Appenders are tracked without a global lock so that threads logging to
+ * distinct appenders do not contend with each other.
  *
  * @author Tommy Becker
  * @author Ceki Gulcu
  * @author David Roussel
  */
-public class AppenderTracker<E> extends AbstractComponentTracker<Appender<E>> {
+public class AppenderTracker<E> extends ConcurrentComponentTracker<Appender<E>> {
 
-    int nopaWarningCount = 0;
+    final AtomicInteger nopaWarningCount = new AtomicInteger();
 
     final Context context;
     final AppenderFactory<E> appenderFactory;
@@ -65,8 +71,7 @@ public class AppenderTracker<E> extends AbstractComponentTracker<Appender<E>> {
     }
 
     private NOPAppender<E> buildNOPAppender(String key) {
-        if (nopaWarningCount < CoreConstants.MAX_ERROR_COUNT) {
-            nopaWarningCount++;
+        if (nopaWarningCount.getAndIncrement() < CoreConstants.MAX_ERROR_COUNT) {
             contextAware.addError("Building NOPAppender for discriminating value [" + key + "]");
         }
         NOPAppender<E> nopa = new NOPAppender<E>();
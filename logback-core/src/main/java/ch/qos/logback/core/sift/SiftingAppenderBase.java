@@ -13,6 +13,9 @@
  */
 package ch.qos.logback.core.sift;
 
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
 import ch.qos.logback.core.Appender;
 import ch.qos.logback.core.AppenderBase;
 import ch.qos.logback.core.model.SiftModel;
@@ -25,11 +28,24 @@ import ch.qos.logback.core.util.Duration;
  * depending on discriminating values supplied by the event currently being
  * processed. The appender to build (dynamically) is specified as part of a
  * configuration file.
+ * 
+ * <p>
+ * Appenders which are stale, i.e. unused for longer than the <b>timeout</b>
+ * property, or which have lingered long enough after their end-of-life are
+ * removed by a task running on the context's scheduled executor. Logging
+ * threads take over only if that task falls behind, which happens when other
+ * components monopolize the executor.
  *
  * @author Ceki G&uuml;lc&uuml;
  */
 public abstract class SiftingAppenderBase<E> extends AppenderBase<E> {
 
+    /**
+     * Delay after which logging threads remove stale appenders themselves, should
+     * the scheduled executor be monopolized by other components.
+     */
+    static final long OVERDUE_REMOVAL_DELAY = 3 * AppenderTracker.WAIT_BETWEEN_SUCCESSIVE_REMOVAL_ITERATIONS;
+
     protected AppenderTracker<E> appenderTracker;
     AppenderFactory<E> appenderFactory;
     Duration timeout = new Duration(AppenderTracker.DEFAULT_TIMEOUT);
@@ -37,6 +53,8 @@ public abstract class SiftingAppenderBase<E> extends AppenderBase<E> {
 
     SiftModel siftModel;
     Discriminator<E> discriminator;
+    ScheduledFuture<?> staleAppenderRemovalFuture;
+    volatile long lastStaleAppenderRemoval;
 
     public Duration getTimeout() {
         return timeout;
@@ -90,14 +108,38 @@ public abstract class SiftingAppenderBase<E> extends AppenderBase<E> {
             appenderTracker.setTimeout(timeout.getMilliseconds());
         }
         if (errors == 0) {
+            lastStaleAppenderRemoval = System.currentTimeMillis();
+            scheduleStaleAppenderRemoval();
             super.start();
         }
     }
 
+    private void scheduleStaleAppenderRemoval() {
+        long period = AppenderTracker.WAIT_BETWEEN_SUCCESSIVE_REMOVAL_ITERATIONS;
+        staleAppenderRemovalFuture = context.getScheduledExecutorService()
+                .scheduleWithFixedDelay(() -> removeStaleAppenders(System.currentTimeMillis()), period, period,
+                        TimeUnit.MILLISECONDS);
+        context.addScheduledFuture(staleAppenderRemovalFuture);
+    }
+
+    private void removeStaleAppenders(long now) {
+        lastStaleAppenderRemoval = now;
+        try {
+            appenderTracker.removeStaleComponents(now);
+        } catch (RuntimeException e) {
+            // an exception would silently cancel further executions
+            addError("Failed to remove stale appenders", e);
+        }
+    }
+
     @Override
     public void stop() {
         if(!isStarted())
             return;
+        if (staleAppenderRemovalFuture != null) {
+            staleAppenderRemovalFuture.cancel(false);
+            staleAppenderRemovalFuture = null;
+        }
         for (Appender<E> appender : appenderTracker.allComponents()) {
             appender.stop();
         }
@@ -118,7 +160,10 @@ public abstract class SiftingAppenderBase<E> extends AppenderBase<E> {
         if (eventMarksEndOfLife(event)) {
             appenderTracker.endOfLife(discriminatingValue);
         }
-        appenderTracker.removeStaleComponents(timestamp);
+        long now = System.currentTimeMillis();
+        if (now - lastStaleAppenderRemoval > OVERDUE_REMOVAL_DELAY) {
+            removeStaleAppenders(now);
+        }
         appender.doAppend(event);
     }
 
@@ -14,8 +14,10 @@
 package ch.qos.logback.core.spi;
 
 import java.util.Iterator;
+import java.util.List;
 
 import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.BatchAppender;
 import ch.qos.logback.core.util.COWArrayList;
 
 /**
@@ -54,6 +56,31 @@ public class AppenderAttachableImpl<E> implements AppenderAttachable<E> {
         return size;
     }
 
+    /**
+     * Hand the list of events to all attached appenders. Appenders implementing
+     * {@link BatchAppender} receive the whole list at once, other appenders
+     * receive the events one at a time.
+     *
+     * @since 1.4.2
+     */
+    public int appendBatchLoopOnAppenders(List<E> events) {
+        int size = 0;
+        final Appender<E>[] appenderArray = appenderList.asTypedArray();
+        final int len = appenderArray.length;
+        for (int i = 0; i < len; i++) {
+            Appender<E> appender = appenderArray[i];
+            if (appender instanceof BatchAppender) {
+                ((BatchAppender<E>) appender).doAppendBatch(events);
+            } else {
+                for (E e : events) {
+                    appender.doAppend(e);
+                }
+            }
+            size++;
+        }
+        return size;
+    }
+
     /**
      * Get all attached appenders as an Enumeration. If there are no attached
      * appenders <code>null</code> is returned.
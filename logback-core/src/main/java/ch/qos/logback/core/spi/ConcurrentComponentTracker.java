@@ -0,0 +1,324 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.spi;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A {@link ComponentTracker} which, unlike {@link AbstractComponentTracker},
+ * does not serialize callers on a global monitor. Components are held in a
+ * {@link ConcurrentHashMap} so that {@link #getOrCreate(String, long)} on an
+ * existing component takes no lock, and is meant to be swept by
+ * {@link #removeStaleComponents(long)} from a background thread.
+ *
+ * <p>
+ * Components are built outside of the map, by the first caller asking for
+ * the key, while other callers asking for the same key wait for the result.
+ * Building a component thus blocks neither callers asking for other keys nor
+ * the removal of stale components.
+ *
+ * <p>
+ * Timeout, lingering and maximum component count semantics are those of
+ * {@link AbstractComponentTracker}, the least recently accessed components
+ * being removed first when there are too many of them. However, since access
+ * order is not recorded, every component is examined during a removal
+ * iteration.
+ *
+ * @param <C> component type
+ * @since 1.4.2
+ */
+abstract public class ConcurrentComponentTracker<C> implements ComponentTracker<C> {
+
+    // Components in lingering state last 10 seconds
+    final public static long LINGERING_TIMEOUT = AbstractComponentTracker.LINGERING_TIMEOUT;
+
+    /**
+     * The minimum amount of time that has to elapse between successive removal
+     * iterations.
+     */
+    final public static long WAIT_BETWEEN_SUCCESSIVE_REMOVAL_ITERATIONS = AbstractComponentTracker.WAIT_BETWEEN_SUCCESSIVE_REMOVAL_ITERATIONS;
+
+    private static final Comparator<Entry<?>> BY_TIMESTAMP = Comparator.comparingLong(e -> e.timestamp);
+
+    protected volatile int maxComponents = DEFAULT_MAX_COMPONENTS;
+    protected volatile long timeout = DEFAULT_TIMEOUT;
+
+    final ConcurrentHashMap<String, Entry<C>> map = new ConcurrentHashMap<String, Entry<C>>();
+
+    private final Object removalLock = new Object();
+    // guarded by removalLock
+    private long lastCheck = 0;
+
+    /**
+     * Stop or clean the component.
+     *
+     * @param component
+     */
+    abstract protected void processPriorToRemoval(C component);
+
+    /**
+     * Build a component based on the key. For a given key, this method is not
+     * invoked concurrently. It must not return null.
+     *
+     * @param key
+     * @return
+     */
+    abstract protected C buildComponent(String key);
+
+    /**
+     * Components can declare themselves stale. Such components may be removed
+     * before they time out.
+     *
+     * @param c
+     * @return
+     */
+    protected abstract boolean isComponentStale(C c);
+
+    public int getComponentCount() {
+        return map.size();
+    }
+
+    public C find(String key) {
+        Entry<C> entry = map.get(key);
+        if (entry == null)
+            return null;
+        else
+            // null while the component is being built
+            return entry.component;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * A component is built at most once per key. Retrieving an existing component
+     * takes no lock. Should the build fail, the exception is rethrown to the
+     * callers waiting for it and the next call builds the component anew.
+     * </p>
+     *
+     * @param key       {@inheritDoc}
+     * @param timestamp {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    public C getOrCreate(String key, long timestamp) {
+        Entry<C> entry = map.get(key);
+        if (entry == null) {
+            Entry<C> newEntry = new Entry<C>(key, timestamp);
+            entry = map.putIfAbsent(key, newEntry);
+            if (entry == null) {
+                build(newEntry);
+                return newEntry.component;
+            }
+        }
+        entry.touch(timestamp);
+        C component = entry.component;
+        return component != null ? component : entry.awaitComponent();
+    }
+
+    private void build(Entry<C> entry) {
+        entry.builder = Thread.currentThread();
+        try {
+            entry.built(buildComponent(entry.key));
+        } catch (RuntimeException | Error e) {
+            map.remove(entry.key, entry);
+            entry.failed(e);
+            throw e;
+        } finally {
+            entry.builder = null;
+        }
+    }
+
+    /**
+     * Mark component identified by 'key' as having reached its end-of-life.
+     *
+     * @param key
+     */
+    public void endOfLife(String key) {
+        Entry<C> entry = map.get(key);
+        if (entry != null) {
+            entry.lingering = true;
+        }
+    }
+
+    /**
+     * Clear (and detach) components which are stale. Components which have not been
+     * accessed for more than a user-specified duration are deemed stale.
+     *
+     * <p>
+     * Invocations are serialized with each other but not with the other methods
+     * of this class.
+     * </p>
+     *
+     * @param now
+     */
+    public void removeStaleComponents(long now) {
+        synchronized (removalLock) {
+            if (isTooSoonForRemovalIteration(now))
+                return;
+            removeExcedentComponents();
+            for (Entry<C> entry : map.values()) {
+                if (entry.component == null)
+                    // being built
+                    continue;
+                if (entry.lingering ? isEntryDoneLingering(entry, now) : isEntryStale(entry, now)) {
+                    remove(entry);
+                }
+            }
+        }
+    }
+
+    private void removeExcedentComponents() {
+        final int max = maxComponents;
+        // lingering components do not count, but if there are not more components
+        // in total there is nothing to remove
+        if (map.size() <= max)
+            return;
+        List<Entry<C>> liveEntries = new ArrayList<Entry<C>>();
+        for (Entry<C> entry : map.values()) {
+            if (!entry.lingering && entry.component != null)
+                liveEntries.add(entry);
+        }
+        int excess = liveEntries.size() - max;
+        if (excess <= 0)
+            return;
+        liveEntries.sort(BY_TIMESTAMP);
+        for (int i = 0; i < excess; i++) {
+            remove(liveEntries.get(i));
+        }
+    }
+
+    private void remove(Entry<C> entry) {
+        // a concurrent getOrCreate may still return the component, as it
+        // could with AbstractComponentTracker once its lock was released
+        if (map.remove(entry.key, entry)) {
+            processPriorToRemoval(entry.component);
+        }
+    }
+
+    private boolean isTooSoonForRemovalIteration(long now) {
+        if (lastCheck + WAIT_BETWEEN_SUCCESSIVE_REMOVAL_ITERATIONS > now) {
+            return true;
+        }
+        lastCheck = now;
+        return false;
+    }
+
+    private boolean isEntryStale(Entry<C> entry, long now) {
+        // stopped or improperly started appenders are considered stale
+        // see also http://jira.qos.ch/browse/LBCLASSIC-316
+        C c = entry.component;
+        if (isComponentStale(c))
+            return true;
+
+        return ((entry.timestamp + timeout) < now);
+    }
+
+    private boolean isEntryDoneLingering(Entry<C> entry, long now) {
+        return ((entry.timestamp + LINGERING_TIMEOUT) < now);
+    }
+
+    public Set<String> allKeys() {
+        return new HashSet<String>(map.keySet());
+    }
+
+    public Collection<C> allComponents() {
+        List<C> allComponents = new ArrayList<C>();
+        for (Entry<C> e : map.values()) {
+            C c = e.component;
+            if (c != null)
+                allComponents.add(c);
+        }
+        return allComponents;
+    }
+
+    public long getTimeout() {
+        return timeout;
+    }
+
+    public void setTimeout(long timeout) {
+        this.timeout = timeout;
+    }
+
+    public int getMaxComponents() {
+        return maxComponents;
+    }
+
+    public void setMaxComponents(int maxComponents) {
+        this.maxComponents = maxComponents;
+    }
+
+    // ================================================================
+    static class Entry<C> {
+        final String key;
+        // null until built
+        volatile C component;
+        volatile long timestamp;
+        volatile boolean lingering;
+        // the thread building the component, null once done
+        volatile Thread builder;
+        private final CompletableFuture<C> future = new CompletableFuture<C>();
+
+        Entry(String k, long timestamp) {
+            this.key = k;
+            this.timestamp = timestamp;
+        }
+
+        void built(C c) {
+            component = c;
+            future.complete(c);
+        }
+
+        void failed(Throwable t) {
+            future.completeExceptionally(t);
+        }
+
+        C awaitComponent() {
+            if (builder == Thread.currentThread()) {
+                throw new IllegalStateException("Recursive creation of component for key [" + key + "]");
+            }
+            try {
+                return future.join();
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException)
+                    throw (RuntimeException) cause;
+                if (cause instanceof Error)
+                    throw (Error) cause;
+                throw e;
+            }
+        }
+
+        void touch(long timestamp) {
+            // the timestamp only moves forward and is written only when it
+            // changes, sparing the cache line shared by all threads logging
+            // to the same component
+            if (timestamp > this.timestamp) {
+                this.timestamp = timestamp;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "(" + key + ", " + component + ")";
+        }
+    }
+}
@@ -0,0 +1,49 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.spi;
+
+/**
+ * Implemented by events which are recycled by their producer as soon as the
+ * appenders invoked with them return. Components which keep a reference to an
+ * event beyond that point, for example in a queue or in a buffer, must keep a
+ * {@link #snapshot()} instead. See {@link #snapshotIfReusable(Object)}.
+ *
+ * @param <E> the type of the snapshot
+ * @since 1.4.2
+ */
+public interface ReusableEvent<E> {
+
+    /**
+     * Return a copy of this event which remains valid after this event is
+     * recycled. The copy must be taken on the thread which produced the event.
+     *
+     * @return a copy of this event
+     */
+    E snapshot();
+
+    /**
+     * Return a snapshot of the event if it is a {@link ReusableEvent}, and the
+     * event itself otherwise.
+     *
+     * @param event
+     * @return an event which can be safely retained
+     */
+    @SuppressWarnings("unchecked")
+    static <E> E snapshotIfReusable(E event) {
+        if (event instanceof ReusableEvent) {
+            return ((ReusableEvent<E>) event).snapshot();
+        }
+        return event;
+    }
+}
@@ -18,19 +18,34 @@ import java.time.OffsetDateTime;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * A CAS implementation of DateTimeFormatter (previously SimpleDateFormat) which
  * caches results for the duration of a millisecond.
  * 
+ * <p>
+ * In addition, {@link #format(long, StringBuilder)} caches the formatted text
+ * of whole seconds in a small lock-free table indexed by second. Only the
+ * millisecond digits, if the pattern has any, are rendered for each call. This
+ * keeps the cache effective when threads log within different milliseconds.
+ * 
  * @author Ceki G&uuml;lc&uuml;
  * @since 0.9.29
  */
 public class CachingDateFormatter {
 
+    /**
+     * Number of seconds cached by {@link #format(long, StringBuilder)}, must be
+     * a power of two.
+     */
+    static final int SECOND_SLOT_COUNT = 8;
+    static final int SECOND_SLOT_MASK = SECOND_SLOT_COUNT - 1;
+
     final DateTimeFormatter dtf;
     final ZoneId zoneId;
     final AtomicReference<CacheTuple> atomicReference;
+    final AtomicReferenceArray<SecondTuple> secondSlots = new AtomicReferenceArray<>(SECOND_SLOT_COUNT);
 
     static class CacheTuple {
         final long lastTimestamp;
@@ -43,6 +58,43 @@ public class CachingDateFormatter {
         }
     }
 
+    /**
+     * The text of a given second, in which the millisecond digits, if any, occupy
+     * <code>millisWidth</code> characters at <code>millisOffset</code>.
+     */
+    static class SecondTuple {
+        final long epochSecond;
+        final String text;
+        final int millisOffset;
+        final int millisWidth;
+
+        SecondTuple(long epochSecond, String text, int millisOffset, int millisWidth) {
+            this.epochSecond = epochSecond;
+            this.text = text;
+            this.millisOffset = millisOffset;
+            this.millisWidth = millisWidth;
+        }
+
+        void appendTo(StringBuilder sb, int millis) {
+            if (millisWidth == 0) {
+                sb.append(text);
+                return;
+            }
+            sb.append(text, 0, millisOffset);
+            sb.append((char) ('0' + millis / 100));
+            if (millisWidth > 1) {
+                sb.append((char) ('0' + (millis / 10) % 10));
+            }
+            if (millisWidth > 2) {
+                sb.append((char) ('0' + millis % 10));
+            }
+            sb.append(text, millisOffset + millisWidth, text.length());
+        }
+    }
+
+    // marks seconds whose text cannot be split around the millisecond digits
+    private static final int UNCACHEABLE = -1;
+
     public CachingDateFormatter(String pattern) {
         this(pattern, null);
     }
@@ -73,4 +125,71 @@ public class CachingDateFormatter {
         return localCacheTuple.cachedStr;
     }
 
+    /**
+     * Append the formatted timestamp to the given buffer. The result is the same
+     * as that of {@link #format(long)}.
+     * 
+     * @since 1.4.2
+     */
+    public final void format(long now, StringBuilder sb) {
+        long epochSecond = Math.floorDiv(now, 1000L);
+        int millis = (int) Math.floorMod(now, 1000L);
+        int slot = (int) (epochSecond & SECOND_SLOT_MASK);
+
+        SecondTuple secondTuple = secondSlots.get(slot);
+        if (secondTuple == null || secondTuple.epochSecond != epochSecond) {
+            secondTuple = computeSecondTuple(epochSecond);
+            // racing threads compute identical tuples, the last one wins
+            secondSlots.lazySet(slot, secondTuple);
+        }
+
+        if (secondTuple.millisOffset == UNCACHEABLE) {
+            sb.append(format(now));
+        } else {
+            secondTuple.appendTo(sb, millis);
+        }
+    }
+
+    /**
+     * Locate the millisecond digits by formatting the first and last millisecond
+     * of the second. Since all digits differ between 000 and 999, the differing
+     * characters are the millisecond digits. Patterns with other sub-second
+     * fields, or with several millisecond fields, are marked as uncacheable.
+     */
+    SecondTuple computeSecondTuple(long epochSecond) {
+        long secondStart = epochSecond * 1000L;
+        String first = dtf.format(Instant.ofEpochMilli(secondStart));
+        String last = dtf.format(Instant.ofEpochMilli(secondStart + 999));
+
+        if (first.equals(last)) {
+            return new SecondTuple(epochSecond, first, 0, 0);
+        }
+
+        SecondTuple uncacheable = new SecondTuple(epochSecond, null, UNCACHEABLE, 0);
+        if (first.length() != last.length()) {
+            return uncacheable;
+        }
+        int begin = 0;
+        while (first.charAt(begin) == last.charAt(begin)) {
+            begin++;
+        }
+        int end = first.length() - 1;
+        while (first.charAt(end) == last.charAt(end)) {
+            end--;
+        }
+        int width = end - begin + 1;
+        if (width > 3) {
+            return uncacheable;
+        }
+
+        SecondTuple candidate = new SecondTuple(epochSecond, first, begin, width);
+        // double check with an arbitrary millisecond
+        StringBuilder probe = new StringBuilder(first.length());
+        candidate.appendTo(probe, 123);
+        if (!probe.toString().equals(dtf.format(Instant.ofEpochMilli(secondStart + 123)))) {
+            return uncacheable;
+        }
+        return candidate;
+    }
+
 }
@@ -62,6 +62,18 @@ public class ExecutorServiceUtil {
                 TimeUnit.MILLISECONDS, new SynchronousQueue<Runnable>(), THREAD_FACTORY);
     }
 
+    /**
+     * Creates a fixed-size pool of daemon threads, meant to be shut down once
+     * the work it was created for is done.
+     * 
+     * @param threadCount the number of threads
+     * @return executor service
+     * @since 1.4.2
+     */
+    static public ExecutorService newFixedThreadPool(int threadCount) {
+        return Executors.newFixedThreadPool(threadCount, THREAD_FACTORY);
+    }
+
     /**
      * Shuts down an executor service.
      * <p>
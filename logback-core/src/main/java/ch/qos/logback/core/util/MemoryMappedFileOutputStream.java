@@ -0,0 +1,288 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.util;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * An {@link OutputStream} writing into a file through a memory-mapped region.
+ *
+ * <p>
+ * Bytes are copied directly into a {@link MappedByteBuffer} covering
+ * {@code regionSize} bytes of the file starting at the current write position.
+ * When the region is full, the next region is mapped. As a consequence, the file
+ * is larger than the bytes actually written while the stream is open. It is
+ * truncated to its real length by {@link #close()}. Until then, each region is
+ * followed by a trailer recording the number of bytes written, which is updated
+ * after each write. If the process dies before the stream is closed, the file
+ * is truncated to the recorded length when it is opened again in append mode.
+ *
+ * <p>
+ * {@link #flush()} does not force the written bytes to the storage device. They
+ * are in the operating system's page cache as soon as they are written, so that
+ * they survive a crash of the JVM but not of the operating system.
+ *
+ * <p>
+ * Regions are unmapped explicitly when they are replaced and on close, so that
+ * the file can be renamed or deleted right away on platforms, such as Windows,
+ * which lock mapped files. Should the runtime not allow it, regions are only
+ * unmapped once garbage collected.
+ *
+ * <p>
+ * This class is not thread-safe, callers are expected to serialize writes.
+ * {@link #getLength()} may be invoked from any thread.
+ *
+ * @since 1.4.2
+ */
+public class MemoryMappedFileOutputStream extends OutputStream {
+
+    private static final Unmapper UNMAPPER = Unmapper.find();
+
+    // "logback" followed by a NUL byte, then the number of bytes written
+    static final long TRAILER_MAGIC = 0x6C6F676261636B00L;
+    static final int TRAILER_LENGTH = 2 * Long.BYTES;
+
+    public static final long MAX_REGION_SIZE = Integer.MAX_VALUE - TRAILER_LENGTH;
+
+    private final File file;
+    private final RandomAccessFile randomAccessFile;
+    private final FileChannel channel;
+    private final int regionSize;
+
+    // confined to the writing thread
+    private MappedByteBuffer mappedBuffer;
+    private ByteBuffer trailer;
+    // number of bytes written to the file, published after each write for the
+    // benefit of getLength()
+    private volatile long length;
+    private volatile boolean closed = false;
+
+    public MemoryMappedFileOutputStream(File file, boolean append, int regionSize) throws IOException {
+        if (!isValidRegionSize(regionSize)) {
+            throw new IllegalArgumentException("Invalid regionSize [" + regionSize + "]");
+        }
+        this.file = file;
+        this.regionSize = regionSize;
+        this.randomAccessFile = new RandomAccessFile(file, "rw");
+        try {
+            this.channel = randomAccessFile.getChannel();
+            if (append) {
+                length = recordedLength();
+                channel.truncate(length);
+            } else {
+                randomAccessFile.setLength(0);
+            }
+            mapRegion();
+        } catch (IOException e) {
+            randomAccessFile.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return whether the given size can be used as the size of the mapped
+     *         regions
+     */
+    public static boolean isValidRegionSize(long regionSize) {
+        return regionSize > 0 && regionSize <= MAX_REGION_SIZE;
+    }
+
+    public static boolean isValidRegionSize(FileSize regionSize) {
+        return regionSize != null && isValidRegionSize(regionSize.getSize());
+    }
+
+    /**
+     * Returns the length recorded in the trailer left at the end of the file by a
+     * stream which was not closed, or the length of the file if there is no such
+     * trailer.
+     */
+    private long recordedLength() throws IOException {
+        long size = channel.size();
+        if (size < TRAILER_LENGTH) {
+            return size;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(TRAILER_LENGTH);
+        long start = size - TRAILER_LENGTH;
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, start + buffer.position()) < 0) {
+                throw new EOFException("File [" + file + "] shrank while being read");
+            }
+        }
+        if (buffer.getLong(0) != TRAILER_MAGIC) {
+            return size;
+        }
+        long recorded = buffer.getLong(Long.BYTES);
+        if (recorded < 0 || recorded > start) {
+            return size;
+        }
+        return recorded;
+    }
+
+    private void mapRegion() throws IOException {
+        MappedByteBuffer previous = mappedBuffer;
+        mappedBuffer = channel.map(FileChannel.MapMode.READ_WRITE, length, regionSize + TRAILER_LENGTH);
+        trailer = mappedBuffer.duplicate();
+        trailer.putLong(regionSize, TRAILER_MAGIC);
+        trailer.putLong(regionSize + Long.BYTES, length);
+        mappedBuffer.limit(regionSize);
+        if (previous != null) {
+            UNMAPPER.unmap(previous);
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream for file [" + file + "] is closed");
+        }
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureOpen();
+        if (!mappedBuffer.hasRemaining()) {
+            mapRegion();
+        }
+        mappedBuffer.put((byte) b);
+        setLength(length + 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        ensureOpen();
+        long newLength = length;
+        while (len > 0) {
+            if (!mappedBuffer.hasRemaining()) {
+                mapRegion();
+            }
+            int n = Math.min(len, mappedBuffer.remaining());
+            mappedBuffer.put(b, off, n);
+            off += n;
+            len -= n;
+            newLength += n;
+            setLength(newLength);
+        }
+    }
+
+    private void setLength(long newLength) {
+        trailer.putLong(regionSize + Long.BYTES, newLength);
+        length = newLength;
+    }
+
+    /**
+     * Does nothing beyond checking that the stream is open, written bytes are
+     * already visible to readers of the file.
+     */
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+    }
+
+    /**
+     * Force the written bytes to the storage device.
+     */
+    public void force() throws IOException {
+        ensureOpen();
+        mappedBuffer.force();
+    }
+
+    /**
+     * @return the number of bytes in the file, not counting the unused part of
+     *         the current region
+     */
+    public long getLength() {
+        if (closed) {
+            return file.length();
+        }
+        return length;
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * Release the mapped region and truncate the file to the bytes actually
+     * written, dropping the trailer.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        MappedByteBuffer buffer = mappedBuffer;
+        mappedBuffer = null;
+        trailer = null;
+        try {
+            UNMAPPER.unmap(buffer);
+            channel.truncate(length);
+        } finally {
+            randomAccessFile.close();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "c.q.l.c.util.MemoryMappedFileOutputStream@" + System.identityHashCode(this);
+    }
+
+    /**
+     * Releases mapped buffers ahead of their garbage collection through
+     * {@code sun.misc.Unsafe.invokeCleaner}, when available. The buffer must not
+     * be accessed afterwards.
+     */
+    static class Unmapper {
+
+        private final Object unsafe;
+        private final Method invokeCleaner;
+
+        private Unmapper(Object unsafe, Method invokeCleaner) {
+            this.unsafe = unsafe;
+            this.invokeCleaner = invokeCleaner;
+        }
+
+        static Unmapper find() {
+            try {
+                Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+                Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+                theUnsafe.setAccessible(true);
+                Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+                return new Unmapper(theUnsafe.get(null), invokeCleaner);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                // left to the garbage collector
+                return new Unmapper(null, null);
+            }
+        }
+
+        void unmap(MappedByteBuffer buffer) {
+            if (invokeCleaner == null) {
+                return;
+            }
+            try {
+                invokeCleaner.invoke(unsafe, buffer);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                // left to the garbage collector
+            }
+        }
+    }
+}
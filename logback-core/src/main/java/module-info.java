@@ -2,6 +2,7 @@ module ch.qos.logback.core {
     requires static transitive java.sql;
     requires static transitive java.naming;
     requires static transitive java.xml; 
+    requires static java.management;
     requires static jakarta.mail;
     requires static jakarta.activation;
     
@@ -11,6 +12,7 @@ module ch.qos.logback.core {
     
     
     exports ch.qos.logback.core;
+    exports ch.qos.logback.core.async;
     exports ch.qos.logback.core.boolex;
     
     exports ch.qos.logback.core.rolling;
@@ -20,6 +22,7 @@ module ch.qos.logback.core {
     exports ch.qos.logback.core.encoder;
 
     exports ch.qos.logback.core.helpers;
+    exports ch.qos.logback.core.metrics;
     exports ch.qos.logback.core.html;
 
     exports ch.qos.logback.core.filter;
@@ -54,6 +57,8 @@ module ch.qos.logback.core {
     exports ch.qos.logback.core.recovery;
 
     exports ch.qos.logback.core.read;
+
+    uses ch.qos.logback.core.rolling.helper.CompressionCodec;
     
     
 }
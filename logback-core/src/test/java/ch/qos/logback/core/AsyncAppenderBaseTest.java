@@ -22,6 +22,8 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 
+import ch.qos.logback.core.async.QueueType;
+import ch.qos.logback.core.async.WaitStrategy;
 import ch.qos.logback.core.helpers.NOPAppender;
 import ch.qos.logback.core.read.ListAppender;
 import ch.qos.logback.core.status.OnConsoleStatusListener;
@@ -185,6 +187,48 @@ public class AsyncAppenderBaseTest {
         verify(delayingListAppender, loopLen);
     }
 
+    @Test
+    @Timeout(value=2, unit = TimeUnit.SECONDS)
+    public void noEventLossWithRingBuffer() throws InterruptedException {
+        for (WaitStrategy waitStrategy : WaitStrategy.values()) {
+            AsyncAppenderBase<Integer> ringBufferAppender = new AsyncAppenderBase<Integer>();
+            ringBufferAppender.setContext(context);
+            ListAppender<Integer> la = new ListAppender<Integer>();
+            la.setContext(context);
+            la.start();
+            int bufferSize = 10;
+            int loopLen = bufferSize * 20;
+            ringBufferAppender.addAppender(la);
+            ringBufferAppender.setQueueSize(bufferSize);
+            ringBufferAppender.setQueueType(QueueType.RING_BUFFER);
+            ringBufferAppender.setWaitStrategy(waitStrategy);
+            ringBufferAppender.start();
+            for (int i = 0; i < loopLen; i++) {
+                ringBufferAppender.doAppend(i);
+            }
+            ringBufferAppender.stop();
+            verify(la, loopLen);
+        }
+    }
+
+    @Test
+    @Timeout(value=2, unit = TimeUnit.SECONDS)
+    public void lossyRingBufferAppenderShouldOnlyLoseCertainEvents() {
+        int bufferSize = 5;
+        int loopLen = bufferSize * 2;
+        lossyAsyncAppender.addAppender(delayingListAppender);
+        lossyAsyncAppender.setQueueSize(bufferSize);
+        lossyAsyncAppender.setQueueType(QueueType.RING_BUFFER);
+        lossyAsyncAppender.setDiscardingThreshold(1);
+        lossyAsyncAppender.start();
+        for (int i = 0; i < loopLen; i++) {
+            lossyAsyncAppender.doAppend(i);
+        }
+        lossyAsyncAppender.stop();
+        // same expectations as with ArrayBlockingQueue
+        verify(delayingListAppender, loopLen - 2);
+    }
+
     @Test
     public void invalidQueueCapacityShouldResultInNonStartedAppender() {
         asyncAppenderBase.addAppender(new NOPAppender<Integer>());
@@ -13,15 +13,25 @@
  */
 package ch.qos.logback.core;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import ch.qos.logback.core.encoder.EchoEncoder;
 import ch.qos.logback.core.encoder.LayoutWrappingEncoder;
+import ch.qos.logback.core.filter.Filter;
+import ch.qos.logback.core.layout.EchoLayout;
+import ch.qos.logback.core.rolling.RollingFileAppender;
+import ch.qos.logback.core.spi.FilterReply;
 import ch.qos.logback.core.pattern.parser.SamplePatternLayout;
 
 public class OutputStreamAppenderTest {
@@ -81,6 +91,152 @@ public class OutputStreamAppenderTest {
         headerFooterCheck(FILE_HEADER, PRESENTATION_HEADER, PRESENTATION_FOOTER, FILE_FOOTER);
     }
 
+    @Test
+    public void batchIsFlushedOnce() {
+        FlushCountingOutputStream fcos = new FlushCountingOutputStream();
+        OutputStreamAppender<Object> wa = buildEchoAppender(fcos);
+        int flushesAfterStart = fcos.flushCount;
+
+        wa.doAppendBatch(List.of("a", "b", "c"));
+        assertEquals(flushesAfterStart + 1, fcos.flushCount);
+        assertEquals("a" + CoreConstants.LINE_SEPARATOR + "b" + CoreConstants.LINE_SEPARATOR + "c"
+                + CoreConstants.LINE_SEPARATOR, fcos.toString());
+        wa.stop();
+    }
+
+    @Test
+    public void batchHonorsFilters() {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        OutputStreamAppender<Object> wa = buildEchoAppender(baos);
+        wa.addFilter(new Filter<Object>() {
+            @Override
+            public FilterReply decide(Object event) {
+                return "b".equals(event) ? FilterReply.DENY : FilterReply.NEUTRAL;
+            }
+        });
+
+        wa.doAppendBatch(List.of("a", "b", "c"));
+        assertEquals("a" + CoreConstants.LINE_SEPARATOR + "c" + CoreConstants.LINE_SEPARATOR, baos.toString());
+        wa.stop();
+    }
+
+    @Test
+    public void encodeOverrideIsHonored() {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        OutputStreamAppender<Object> appender = new OutputStreamAppender<Object>();
+        appender.setContext(context);
+        LayoutWrappingEncoder<Object> encoder = new LayoutWrappingEncoder<Object>() {
+            @Override
+            public byte[] encode(Object event) {
+                return ("custom " + event + "\n").getBytes();
+            }
+        };
+        encoder.setLayout(new EchoLayout<Object>());
+        encoder.start();
+        appender.setEncoder(encoder);
+        appender.setOutputStream(baos);
+        appender.start();
+
+        appender.doAppend("a");
+        appender.doAppendBatch(List.of("b", "c"));
+        assertEquals("custom a\ncustom b\ncustom c\n", baos.toString());
+
+        assertTrue(OutputStreamAppender.usesEncodeTo(LayoutWrappingEncoder.class));
+        assertFalse(OutputStreamAppender.usesEncodeTo(encoder.getClass()));
+    }
+
+    @Test
+    public void batchReachesSubAppendOverride() {
+        List<Object> subAppended = new ArrayList<Object>();
+        OutputStreamAppender<Object> wa = new OutputStreamAppender<Object>() {
+            @Override
+            protected void subAppend(Object event) {
+                subAppended.add(event);
+                super.subAppend(event);
+            }
+        };
+        assertFalse(wa.supportsBatches());
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        buildEchoAppender(wa, baos);
+
+        wa.doAppendBatch(List.of("a", "b", "c"));
+        assertEquals(List.of("a", "b", "c"), subAppended);
+        assertEquals("a" + CoreConstants.LINE_SEPARATOR + "b" + CoreConstants.LINE_SEPARATOR + "c"
+                + CoreConstants.LINE_SEPARATOR, baos.toString());
+        wa.stop();
+    }
+
+    @Test
+    public void batchAwareSubclassesHandleBatches() {
+        assertTrue(new OutputStreamAppender<Object>().supportsBatches());
+        assertTrue(new ConsoleAppender<Object>().supportsBatches());
+        assertTrue(new FileAppender<Object>().supportsBatches());
+        assertTrue(((OutputStreamAppender<Object>) new RollingFileAppender<Object>()).supportsBatches());
+        assertFalse(new FileAppender<Object>() {
+        }.supportsBatches());
+    }
+
+    @Test
+    public void largeBatchIsWrittenInChunksAndFlushedOnce() {
+        FlushCountingOutputStream fcos = new FlushCountingOutputStream();
+        OutputStreamAppender<Object> wa = new OutputStreamAppender<Object>();
+        wa.setContext(context);
+        // a streaming encoder, gathering the batch in the per thread buffer
+        EchoLayout<Object> layout = new EchoLayout<Object>();
+        layout.start();
+        LayoutWrappingEncoder<Object> encoder = new LayoutWrappingEncoder<Object>();
+        encoder.setLayout(layout);
+        encoder.start();
+        wa.setEncoder(encoder);
+        wa.setOutputStream(fcos);
+        wa.start();
+        int flushesAfterStart = fcos.flushCount;
+        int writesAfterStart = fcos.writeCount;
+
+        String event = "x".repeat(1000);
+        List<Object> events = new ArrayList<Object>();
+        for (int i = 0; i < 20; i++) {
+            events.add(event);
+        }
+        wa.doAppendBatch(events);
+        assertEquals(flushesAfterStart + 1, fcos.flushCount);
+        assertTrue(fcos.writeCount - writesAfterStart > 1);
+        assertEquals(20 * (event.length() + CoreConstants.LINE_SEPARATOR.length()), fcos.size());
+        wa.stop();
+    }
+
+    OutputStreamAppender<Object> buildEchoAppender(ByteArrayOutputStream baos) {
+        return buildEchoAppender(new OutputStreamAppender<Object>(), baos);
+    }
+
+    OutputStreamAppender<Object> buildEchoAppender(OutputStreamAppender<Object> wa, ByteArrayOutputStream baos) {
+        wa.setContext(context);
+        EchoEncoder<Object> encoder = new EchoEncoder<Object>();
+        encoder.setContext(context);
+        encoder.start();
+        wa.setEncoder(encoder);
+        wa.setOutputStream(baos);
+        wa.start();
+        return wa;
+    }
+
+    static class FlushCountingOutputStream extends ByteArrayOutputStream {
+        int flushCount = 0;
+        int writeCount = 0;
+
+        @Override
+        public synchronized void write(byte[] b, int off, int len) {
+            writeCount++;
+            super.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            flushCount++;
+            super.flush();
+        }
+    }
+
     public void headerFooterCheck(String fileHeader, String presentationHeader, String presentationFooter,
             String fileFooter) {
         OutputStreamAppender<Object> wa = new OutputStreamAppender<Object>();
@@ -0,0 +1,150 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.appender;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import ch.qos.logback.core.Context;
+import ch.qos.logback.core.ContextBase;
+import ch.qos.logback.core.MemoryMappedFileAppender;
+import ch.qos.logback.core.encoder.EchoEncoder;
+import ch.qos.logback.core.testUtil.CoreTestConstants;
+import ch.qos.logback.core.testUtil.RandomUtil;
+import ch.qos.logback.core.util.FileSize;
+import ch.qos.logback.core.util.MemoryMappedFileOutputStream;
+
+public class MemoryMappedFileAppenderTest {
+
+    Context context = new ContextBase();
+    int diff = RandomUtil.getPositiveInt();
+    String filename = CoreTestConstants.OUTPUT_DIR_PREFIX + diff + "-mmfa.log";
+
+    MemoryMappedFileAppender<Object> buildAppender(boolean append) {
+        MemoryMappedFileAppender<Object> appender = new MemoryMappedFileAppender<Object>();
+        appender.setContext(context);
+        appender.setName("mmfa");
+        appender.setEncoder(new EchoEncoder<Object>());
+        appender.setFile(filename);
+        appender.setAppend(append);
+        // small regions so that writes cross region boundaries
+        appender.setRegionSize(new FileSize(16));
+        return appender;
+    }
+
+    @Test
+    public void fileIsTruncatedToWrittenBytesOnStop() throws IOException {
+        MemoryMappedFileAppender<Object> appender = buildAppender(false);
+        appender.start();
+        assertTrue(appender.isStarted());
+
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 20; i++) {
+            String message = "message number " + i;
+            appender.doAppend(message);
+            expected.append(message).append(System.lineSeparator());
+        }
+        // the file extends to the end of the current region
+        assertTrue(new File(filename).length() >= expected.length());
+        appender.stop();
+
+        byte[] content = Files.readAllBytes(new File(filename).toPath());
+        assertEquals(expected.toString(), new String(content, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void appendContinuesExistingFile() throws IOException {
+        MemoryMappedFileAppender<Object> appender = buildAppender(false);
+        appender.start();
+        appender.doAppend("first");
+        appender.stop();
+
+        appender = buildAppender(true);
+        appender.start();
+        appender.doAppend("second");
+        appender.stop();
+
+        String content = new String(Files.readAllBytes(new File(filename).toPath()), StandardCharsets.UTF_8);
+        assertEquals("first" + System.lineSeparator() + "second" + System.lineSeparator(), content);
+    }
+
+    @Test
+    public void appendRecoversLengthLeftByCrash() throws IOException {
+        // trailing NUL bytes are part of the written content
+        byte[] first = ("first" + System.lineSeparator() + "\0\0").getBytes(StandardCharsets.UTF_8);
+        File file = new File(filename);
+        file.getParentFile().mkdirs();
+        // as left by a process which died with a partly filled region
+        MemoryMappedFileOutputStream crashed = new MemoryMappedFileOutputStream(file, false, 16);
+        try {
+            crashed.write(first);
+            assertTrue(file.length() > first.length);
+
+            MemoryMappedFileAppender<Object> appender = buildAppender(true);
+            appender.start();
+            appender.doAppend("second");
+            appender.stop();
+
+            String content = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+            assertEquals("first" + System.lineSeparator() + "\0\0second" + System.lineSeparator(), content);
+        } finally {
+            crashed.close();
+        }
+    }
+
+    @Test
+    public void appendKeepsTrailingZeroBytes() throws IOException {
+        byte[] first = ("first" + System.lineSeparator()).getBytes(StandardCharsets.UTF_8);
+        byte[] withZeros = Arrays.copyOf(first, first.length + 12);
+        File file = new File(filename);
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), withZeros);
+
+        MemoryMappedFileAppender<Object> appender = buildAppender(true);
+        appender.start();
+        appender.doAppend("second");
+        appender.stop();
+
+        byte[] second = ("second" + System.lineSeparator()).getBytes(StandardCharsets.UTF_8);
+        byte[] expected = Arrays.copyOf(withZeros, withZeros.length + second.length);
+        System.arraycopy(second, 0, expected, withZeros.length, second.length);
+        assertArrayEquals(expected, Files.readAllBytes(file.toPath()));
+    }
+
+    @Test
+    public void invalidRegionSizeIsRejected() {
+        MemoryMappedFileAppender<Object> appender = buildAppender(false);
+        appender.setRegionSize(new FileSize(MemoryMappedFileOutputStream.MAX_REGION_SIZE + 1));
+        appender.start();
+        assertFalse(appender.isStarted());
+    }
+
+    @Test
+    public void prudentModeIsRejected() {
+        MemoryMappedFileAppender<Object> appender = buildAppender(true);
+        appender.setPrudent(true);
+        appender.start();
+        assertFalse(appender.isStarted());
+    }
+}
@@ -0,0 +1,145 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.async;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+public class RingBufferBlockingQueueTest {
+
+    @Test
+    public void offerUntilFull() {
+        RingBufferBlockingQueue<Integer> queue = new RingBufferBlockingQueue<Integer>(3);
+        assertTrue(queue.offer(1));
+        assertTrue(queue.offer(2));
+        assertTrue(queue.offer(3));
+        assertFalse(queue.offer(4));
+        assertEquals(3, queue.size());
+        assertEquals(0, queue.remainingCapacity());
+
+        assertEquals(1, queue.poll());
+        assertEquals(1, queue.remainingCapacity());
+        assertTrue(queue.offer(4));
+        assertEquals(2, queue.poll());
+        assertEquals(3, queue.poll());
+        assertEquals(4, queue.poll());
+        assertNull(queue.poll());
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void drainToAndIterator() {
+        RingBufferBlockingQueue<Integer> queue = new RingBufferBlockingQueue<Integer>(5);
+        for (int i = 0; i < 4; i++) {
+            queue.offer(i);
+        }
+        Iterator<Integer> it = queue.iterator();
+        for (int i = 0; i < 4; i++) {
+            assertEquals(i, it.next());
+        }
+        assertFalse(it.hasNext());
+
+        List<Integer> list = new ArrayList<Integer>();
+        assertEquals(2, queue.drainTo(list, 2));
+        assertEquals(2, queue.drainTo(list));
+        assertEquals(List.of(0, 1, 2, 3), list);
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void nullElementsAreRejected() {
+        RingBufferBlockingQueue<Integer> queue = new RingBufferBlockingQueue<Integer>(1);
+        assertThrows(NullPointerException.class, () -> queue.offer(null));
+    }
+
+    @Test
+    public void timedPollOnEmptyQueueReturnsNull() throws InterruptedException {
+        for (WaitStrategy waitStrategy : WaitStrategy.values()) {
+            RingBufferBlockingQueue<Integer> queue = new RingBufferBlockingQueue<Integer>(2, waitStrategy);
+            assertNull(queue.poll(5, TimeUnit.MILLISECONDS));
+            queue.offer(1);
+            queue.offer(2);
+            assertFalse(queue.offer(3, 5, TimeUnit.MILLISECONDS));
+        }
+    }
+
+    @Test
+    @Timeout(value = 2, unit = TimeUnit.SECONDS)
+    public void takeIsInterruptible() throws InterruptedException {
+        for (WaitStrategy waitStrategy : WaitStrategy.values()) {
+            RingBufferBlockingQueue<Integer> queue = new RingBufferBlockingQueue<Integer>(2, waitStrategy);
+            Thread.currentThread().interrupt();
+            assertThrows(InterruptedException.class, () -> queue.take());
+            assertFalse(Thread.interrupted());
+        }
+    }
+
+    @Test
+    @Timeout(value = 20, unit = TimeUnit.SECONDS)
+    public void multipleProducersNoLoss() throws InterruptedException {
+        for (WaitStrategy waitStrategy : WaitStrategy.values()) {
+            multipleProducersNoLoss(waitStrategy);
+        }
+    }
+
+    private void multipleProducersNoLoss(WaitStrategy waitStrategy) throws InterruptedException {
+        final int producerCount = 4;
+        final int perProducer = 20000;
+        RingBufferBlockingQueue<Integer> queue = new RingBufferBlockingQueue<Integer>(16, waitStrategy);
+
+        Thread[] producers = new Thread[producerCount];
+        for (int p = 0; p < producerCount; p++) {
+            final int base = p * perProducer;
+            producers[p] = new Thread(() -> {
+                try {
+                    for (int i = 0; i < perProducer; i++) {
+                        queue.put(base + i);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            producers[p].start();
+        }
+
+        boolean[] seen = new boolean[producerCount * perProducer];
+        int[] lastSeen = new int[producerCount];
+        Arrays.fill(lastSeen, -1);
+        for (int n = 0; n < seen.length; n++) {
+            int value = queue.take();
+            assertFalse(seen[value]);
+            seen[value] = true;
+            // elements of a given producer arrive in order
+            int producer = value / perProducer;
+            assertTrue(lastSeen[producer] < value);
+            lastSeen[producer] = value;
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        assertTrue(queue.isEmpty());
+    }
+}
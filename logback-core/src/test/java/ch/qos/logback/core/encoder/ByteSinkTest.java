@@ -0,0 +1,68 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.encoder;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+public class ByteSinkTest {
+
+    static final String[] SAMPLES = { "", "hello world", "café", "αβγ", "€ 10",
+            "😀 smile", "lone \ud83d surrogate", "lone \ude00 low", "end \ud83d" };
+
+    ByteSink sink = new ByteSink(2);
+
+    @Test
+    public void matchesStringGetBytes() {
+        Charset[] charsets = { StandardCharsets.UTF_8, StandardCharsets.ISO_8859_1, StandardCharsets.US_ASCII,
+                StandardCharsets.UTF_16LE };
+        for (Charset charset : charsets) {
+            for (String sample : SAMPLES) {
+                sink.reset();
+                sink.append(sample, charset);
+                assertArrayEquals(sample.getBytes(charset), sink.toByteArray(), charset + " [" + sample + "]");
+            }
+        }
+    }
+
+    @Test
+    public void nullCharsetMeansDefaultCharset() {
+        sink.append("café", null);
+        assertArrayEquals("café".getBytes(), sink.toByteArray());
+    }
+
+    @Test
+    public void writeAndRecycle() throws IOException {
+        sink.write('a');
+        sink.write(new byte[] { 'b', 'c' });
+        sink.append(new StringBuilder("de"), StandardCharsets.UTF_8);
+        assertEquals(5, sink.size());
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        sink.writeTo(baos);
+        assertEquals("abcde", baos.toString());
+
+        sink.write(new byte[ByteSink.MAX_RETAINED_CAPACITY + 1]);
+        sink.recycle();
+        assertEquals(0, sink.size());
+        assertEquals(0, sink.toByteArray().length);
+    }
+}
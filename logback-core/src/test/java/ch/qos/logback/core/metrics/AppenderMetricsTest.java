@@ -0,0 +1,174 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import ch.qos.logback.core.AppenderBase;
+import ch.qos.logback.core.AsyncAppenderBase;
+import ch.qos.logback.core.Context;
+import ch.qos.logback.core.ContextBase;
+import ch.qos.logback.core.OutputStreamAppender;
+import ch.qos.logback.core.encoder.EchoEncoder;
+import ch.qos.logback.core.filter.Filter;
+import ch.qos.logback.core.spi.FilterReply;
+import ch.qos.logback.core.status.Status;
+import ch.qos.logback.core.status.StatusUtil;
+
+public class AppenderMetricsTest {
+
+    Context context = new ContextBase();
+    OutputStreamAppender<Object> osa = new OutputStreamAppender<>();
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+
+    @BeforeEach
+    public void setUp() {
+        context.setName("metricsTest");
+        osa.setContext(context);
+        osa.setName("osa");
+        osa.setEncoder(new EchoEncoder<>());
+        osa.setOutputStream(baos);
+    }
+
+    @Test
+    public void disabledByDefault() {
+        osa.start();
+        osa.doAppend("hello");
+        assertFalse(osa.isMetricsEnabled());
+        assertNull(osa.getMetricsSnapshot());
+    }
+
+    @Test
+    public void countsEventsBytesAndDenials() {
+        osa.setMetricsEnabled(true);
+        osa.addFilter(new Filter<Object>() {
+            @Override
+            public FilterReply decide(Object event) {
+                return "deny".equals(event) ? FilterReply.DENY : FilterReply.NEUTRAL;
+            }
+        });
+        osa.start();
+        osa.doAppend("hello");
+        osa.doAppend("deny");
+        osa.doAppend("world");
+        osa.stop();
+
+        AppenderMetricsSnapshot snapshot = osa.getMetricsSnapshot();
+        assertEquals("osa", snapshot.getAppenderName());
+        assertEquals(2, snapshot.getAppendedCount());
+        assertEquals(1, snapshot.getDeniedCount());
+        assertEquals(0, snapshot.getFailedCount());
+        assertEquals(baos.size(), snapshot.getBytesWritten());
+        assertEquals(-1, snapshot.getQueueCapacity());
+        assertTrue(snapshot.getMaxAppendNanos() > 0);
+    }
+
+    @Test
+    public void registeredWithJMXWhileStarted() throws Exception {
+        osa.setMetricsEnabled(true);
+        osa.start();
+        osa.doAppend("hello");
+
+        MBeanServer mbs = ManagementFactory.getPlatformMBeanServer();
+        ObjectName objectName = MetricsJMXRegistrar.makeObjectName(context, "osa");
+        assertEquals(1L, mbs.getAttribute(objectName, "AppendedCount"));
+        assertEquals((long) baos.size(), mbs.getAttribute(objectName, "BytesWritten"));
+
+        osa.stop();
+        assertFalse(mbs.isRegistered(objectName));
+    }
+
+    @Test
+    public void registrationOfOthersIsLeftAlone() throws Exception {
+        OutputStreamAppender<Object> other = new OutputStreamAppender<>();
+        other.setContext(context);
+        other.setName("osa");
+        other.setEncoder(new EchoEncoder<>());
+        other.setOutputStream(new ByteArrayOutputStream());
+        other.setMetricsEnabled(true);
+        other.start();
+
+        osa.setMetricsEnabled(true);
+        osa.start();
+        osa.doAppend("hello");
+
+        MBeanServer mbs = ManagementFactory.getPlatformMBeanServer();
+        ObjectName objectName = MetricsJMXRegistrar.makeObjectName(context, "osa");
+        // the bean still reports the metrics of the appender registered first
+        assertEquals(0L, mbs.getAttribute(objectName, "AppendedCount"));
+        assertEquals(1, new StatusUtil(context).levelCount(Status.WARN, 0));
+
+        osa.stop();
+        assertTrue(mbs.isRegistered(objectName));
+        other.stop();
+        assertFalse(mbs.isRegistered(objectName));
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    public void asyncAppenderCountsDroppedEvents() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        AppenderBase<Integer> blockingAppender = new AppenderBase<Integer>() {
+            @Override
+            protected void append(Integer eventObject) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        blockingAppender.setContext(context);
+        blockingAppender.start();
+
+        AsyncAppenderBase<Integer> asyncAppender = new AsyncAppenderBase<>();
+        asyncAppender.setContext(context);
+        asyncAppender.setName("async");
+        asyncAppender.setQueueSize(2);
+        asyncAppender.setDiscardingThreshold(0);
+        asyncAppender.setNeverBlock(true);
+        asyncAppender.setMetricsEnabled(true);
+        asyncAppender.addAppender(blockingAppender);
+        asyncAppender.start();
+
+        int total = 10;
+        for (int i = 0; i < total; i++) {
+            asyncAppender.doAppend(i);
+        }
+        AppenderMetricsSnapshot snapshot = asyncAppender.getMetricsSnapshot();
+        release.countDown();
+        asyncAppender.stop();
+
+        assertEquals(total, snapshot.getAppendedCount());
+        assertEquals(2, snapshot.getQueueCapacity());
+        // at most one drain, i.e. two events, is held by the worker and two by the queue
+        assertTrue(snapshot.getDroppedCount() >= total - 4, snapshot.toString());
+        assertTrue(snapshot.getPeakQueueDepth() <= 2, snapshot.toString());
+    }
+}
@@ -0,0 +1,84 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class LatencyHistogramTest {
+
+    LatencyHistogram histogram = new LatencyHistogram();
+
+    @Test
+    public void bucketsCoverTheTrackableRange() {
+        int previousIndex = -1;
+        for (long value = 0; value < 100_000; value++) {
+            int index = LatencyHistogram.bucketIndex(value);
+            assertTrue(index == previousIndex || index == previousIndex + 1, "value " + value);
+            assertTrue(value <= LatencyHistogram.bucketUpperBound(index));
+            previousIndex = index;
+        }
+        assertEquals(LatencyHistogram.BUCKET_COUNT - 1, LatencyHistogram.bucketIndex(LatencyHistogram.MAX_TRACKABLE_VALUE));
+        assertEquals(LatencyHistogram.MAX_TRACKABLE_VALUE,
+                LatencyHistogram.bucketUpperBound(LatencyHistogram.BUCKET_COUNT - 1));
+    }
+
+    @Test
+    public void smallValuesAreExact() {
+        for (int i = 1; i <= 10; i++) {
+            histogram.record(i);
+        }
+        assertArrayEquals(new long[] { 5, 9, 10 }, histogram.getValuesAtPercentiles(50, 90, 100));
+        assertEquals(10, histogram.getCount());
+        assertEquals(10, histogram.getMax());
+        assertEquals(5.5, histogram.getMean(), 0.001);
+    }
+
+    @Test
+    public void percentilesAreWithinRelativeError() {
+        for (long i = 1; i <= 1_000_000; i++) {
+            histogram.record(i);
+        }
+        long[] values = histogram.getValuesAtPercentiles(50, 99, 99.9);
+        assertWithinError(500_000, values[0]);
+        assertWithinError(990_000, values[1]);
+        assertWithinError(999_000, values[2]);
+        assertEquals(1_000_000, histogram.getMax());
+    }
+
+    private void assertWithinError(long expected, long actual) {
+        assertTrue(actual >= expected && actual <= expected * 1.125, "expected ~" + expected + " but got " + actual);
+    }
+
+    @Test
+    public void outOfRangeValuesAreClamped() {
+        histogram.record(-5);
+        histogram.record(Long.MAX_VALUE);
+        assertArrayEquals(new long[] { 0, LatencyHistogram.MAX_TRACKABLE_VALUE }, histogram.getValuesAtPercentiles(50, 100));
+    }
+
+    @Test
+    public void emptyAndReset() {
+        assertArrayEquals(new long[] { 0 }, histogram.getValuesAtPercentiles(99));
+        histogram.record(1000, 3);
+        assertEquals(3, histogram.getCount());
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMax());
+        assertArrayEquals(new long[] { 0 }, histogram.getValuesAtPercentiles(99));
+    }
+}
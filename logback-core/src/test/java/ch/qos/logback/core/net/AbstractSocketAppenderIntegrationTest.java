@@ -55,7 +55,7 @@ public class AbstractSocketAppenderIntegrationTest {
 
     private ScheduledExecutorService executorService = ExecutorServiceUtil.newScheduledExecutorService();
     private MockContext mockContext = new MockContext(executorService);
-    private AutoFlushingObjectWriter objectWriter;
+    private BufferedObjectWriter objectWriter;
     private ObjectWriterFactory objectWriterFactory = new SpyProducingObjectWriterFactory();
     private LinkedBlockingDeque<String> deque = spy(new LinkedBlockingDeque<String>(1));
     private QueueFactory queueFactory = mock(QueueFactory.class);
@@ -93,7 +93,7 @@ public class AbstractSocketAppenderIntegrationTest {
         instrumentedAppender.append("some event");
 
         // wait for event to be taken from deque and being written into the stream
-        verify(deque, timeout(TIMEOUT).atLeastOnce()).takeFirst();
+        verify(deque, timeout(TIMEOUT).atLeastOnce()).take();
         verify(objectWriter, timeout(TIMEOUT)).write("some event");
 
         // then
@@ -125,8 +125,8 @@ public class AbstractSocketAppenderIntegrationTest {
     private class SpyProducingObjectWriterFactory extends ObjectWriterFactory {
 
         @Override
-        public AutoFlushingObjectWriter newAutoFlushingObjectWriter(OutputStream outputStream) throws IOException {
-            objectWriter = spy(super.newAutoFlushingObjectWriter(outputStream));
+        public BufferedObjectWriter newBufferedObjectWriter(OutputStream outputStream) throws IOException {
+            objectWriter = spy(super.newBufferedObjectWriter(outputStream));
             return objectWriter;
         }
     }
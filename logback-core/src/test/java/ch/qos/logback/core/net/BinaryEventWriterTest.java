@@ -0,0 +1,288 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.net;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StreamCorruptedException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import ch.qos.logback.core.ContextBase;
+import ch.qos.logback.core.spi.ContextAwareBase;
+import ch.qos.logback.core.status.Status;
+import ch.qos.logback.core.status.StatusUtil;
+
+public class BinaryEventWriterTest {
+
+    /**
+     * Encodes a string event as an interned string followed by a few numbers.
+     */
+    static class StringCodec implements BinaryEventCodec<String> {
+        @Override
+        public void encode(String event, BinaryEventOutput out) {
+            out.writeInternedString(event);
+            out.writeVarInt(Integer.MAX_VALUE);
+            out.writeSignedVarInt(-1);
+            out.writeSignedVarLong(Long.MIN_VALUE);
+            out.writeVarLong(-1L);
+            out.writeBoolean(true);
+        }
+
+        @Override
+        public String decode(BinaryEventInput in) throws IOException {
+            String event = in.readString();
+            assertEquals(Integer.MAX_VALUE, in.readVarInt());
+            assertEquals(-1, in.readSignedVarInt());
+            assertEquals(Long.MIN_VALUE, in.readSignedVarLong());
+            assertEquals(-1L, in.readVarLong());
+            assertTrue(in.readBoolean());
+            return event;
+        }
+    }
+
+    /**
+     * Encodes a string event as its length, written as a delta from that of the
+     * previous event, followed by its characters.
+     */
+    static class DeltaCodec implements BinaryEventCodec<String> {
+        int previousLength;
+        int markedLength;
+
+        @Override
+        public void encode(String event, BinaryEventOutput out) {
+            out.writeSignedVarInt(event.length() - previousLength);
+            previousLength = event.length();
+            out.writeString(event);
+        }
+
+        @Override
+        public void markEncoding() {
+            markedLength = previousLength;
+        }
+
+        @Override
+        public void resetEncoding() {
+            previousLength = markedLength;
+        }
+
+        @Override
+        public String decode(BinaryEventInput in) throws IOException {
+            previousLength += in.readSignedVarInt();
+            String event = in.readString();
+            assertEquals(previousLength, event.length());
+            return event;
+        }
+    }
+
+    ContextBase context = new ContextBase();
+    ContextAwareBase contextAware = new ContextAwareBase();
+    ByteArrayOutputStream bos = new ByteArrayOutputStream();
+
+    @BeforeEach
+    public void setUp() {
+        contextAware.setContext(context);
+    }
+
+    @Test
+    public void roundTrip() throws Exception {
+        List<String> events = Arrays.asList("a", null, "", "été ☃ 😀", "a", "b", "a");
+        writeAll(events, false);
+        assertEquals(events, readAll());
+    }
+
+    @Test
+    public void roundTripCompressed() throws Exception {
+        List<String> events = new ArrayList<String>();
+        for (int i = 0; i < 200; i++) {
+            events.add("message number " + i + " with some repetitive payload payload payload");
+        }
+        writeAll(events, true);
+        int compressedSize = bos.size();
+        assertEquals(events, readAll());
+
+        bos.reset();
+        writeAll(events, false);
+        assertTrue(compressedSize < bos.size(), compressedSize + " vs " + bos.size());
+    }
+
+    @Test
+    public void internedStringsAreSentOnce() throws Exception {
+        String s = "ch.qos.logback.core.SomeRatherLongLoggerName";
+        BinaryEventWriter<String> writer = new BinaryEventWriter<String>(contextAware, bos, new StringCodec(), false);
+        writer.write(s);
+        writer.flush();
+        int first = bos.size();
+        writer.write(s);
+        writer.flush();
+        int second = bos.size() - first;
+        assertTrue(second < first - s.length(), first + " vs " + second);
+    }
+
+    @Test
+    public void framesAreFlushedExplicitly() throws Exception {
+        BinaryEventWriter<String> writer = new BinaryEventWriter<String>(contextAware, bos, new StringCodec(), false);
+        int headerSize = bos.size();
+        writer.write("x");
+        writer.write("y");
+        assertEquals(2, writer.getBufferedObjectCount());
+        assertEquals(headerSize, bos.size());
+        writer.flush();
+        assertEquals(0, writer.getBufferedObjectCount());
+        assertEquals(Arrays.asList("x", "y"), readAll());
+    }
+
+    @Test
+    public void formatIsDetected() throws Exception {
+        writeAll(Arrays.asList("x"), false);
+        BufferedInputStream bis = new BufferedInputStream(new ByteArrayInputStream(bos.toByteArray()));
+        assertEquals(WireFormat.BINARY, WireFormat.detect(bis));
+        // detection does not consume the stream
+        assertEquals(Arrays.asList("x"), readAll(bis));
+
+        byte[] serialized = { (byte) 0xAC, (byte) 0xED, 0, 5 };
+        bis = new BufferedInputStream(new ByteArrayInputStream(serialized));
+        assertEquals(WireFormat.SERIALIZED, WireFormat.detect(bis));
+        assertEquals(0xAC, bis.read());
+    }
+
+    @Test
+    public void badHeaderIsRejected() {
+        byte[] bytes = { 'L', 'B', 99, 0 };
+        assertThrows(StreamCorruptedException.class,
+                () -> new BinaryEventReader<String>(new ByteArrayInputStream(bytes), new StringCodec()));
+    }
+
+    @Test
+    public void truncatedFrameIsDetected() throws Exception {
+        writeAll(Arrays.asList("some event"), false);
+        byte[] bytes = Arrays.copyOf(bos.toByteArray(), bos.size() - 3);
+        BinaryEventReader<String> reader = new BinaryEventReader<String>(new ByteArrayInputStream(bytes),
+                new StringCodec());
+        assertThrows(EOFException.class, () -> reader.readObject());
+    }
+
+    @Test
+    public void oversizedFrameIsRejected() throws Exception {
+        new BinaryEventWriter<String>(contextAware, bos, new StringCodec(), false).close();
+        // a frame length varint announcing 2 GiB
+        bos.write(new byte[] { (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, 0x08 });
+        BinaryEventReader<String> reader = new BinaryEventReader<String>(new ByteArrayInputStream(bos.toByteArray()),
+                new StringCodec());
+        assertThrows(StreamCorruptedException.class, () -> reader.readObject());
+    }
+
+    @Test
+    public void oversizedEventsAreSplitOrDropped() throws Exception {
+        String x = repeat('x', 40);
+        String y = repeat('y', 40);
+        BinaryEventWriter<String> writer = new BinaryEventWriter<String>(contextAware, bos, new StringCodec(), false);
+        writer.setMaxDataLength(100);
+        writer.write(x);
+        // does not fit along with x, sent in a frame of its own
+        writer.write(y);
+        assertEquals(1, writer.getBufferedObjectCount());
+        // does not fit at all, its interned string must not be referenced
+        writer.write(repeat('z', 200));
+        writer.write("w");
+        writer.write("w");
+        writer.flush();
+        writer.close();
+
+        assertEquals(Arrays.asList(x, y, "w", "w"), readAll());
+        assertEquals(1, writer.getDroppedEventCount());
+        assertEquals(1, new StatusUtil(context).levelCount(Status.WARN, 0));
+    }
+
+    @Test
+    public void encodingStateIsResetWhenFrameIsSplit() throws Exception {
+        List<String> events = Arrays.asList(repeat('x', 40), repeat('y', 50), repeat('z', 200), "w");
+        BinaryEventWriter<String> writer = new BinaryEventWriter<String>(contextAware, bos, new DeltaCodec(), false);
+        writer.setMaxDataLength(100);
+        for (String event : events) {
+            writer.write(event);
+        }
+        writer.flush();
+        writer.close();
+
+        List<String> result = new ArrayList<String>();
+        try (BinaryEventReader<String> reader = new BinaryEventReader<String>(
+                new ByteArrayInputStream(bos.toByteArray()), new DeltaCodec())) {
+            for (int i = 0; i < 3; i++) {
+                result.add(reader.readObject());
+            }
+        }
+        // the dropped event must not shift the deltas either
+        assertEquals(Arrays.asList(events.get(0), events.get(1), "w"), result);
+    }
+
+    @Test
+    public void stringLengthBeyondFrameIsDetected() throws Exception {
+        BinaryEventInput in = new BinaryEventInput();
+        // a literal announcing 2 bytes in a 3 byte frame, followed by a stale byte
+        in.setBuffer(new byte[] { BinaryEventOutput.TAG_LITERAL, 2, 'a', 'z' }, 0, 3);
+        assertThrows(StreamCorruptedException.class, () -> in.readString());
+    }
+
+    @Test
+    public void corruptStringTagIsDetected() throws Exception {
+        BinaryEventInput in = new BinaryEventInput();
+        in.setBuffer(new byte[] { (byte) (BinaryEventOutput.TAG_REFERENCE + 7) }, 0, 1);
+        assertThrows(StreamCorruptedException.class, () -> in.readString());
+    }
+
+    void writeAll(List<String> events, boolean compress) throws IOException {
+        BinaryEventWriter<String> writer = new BinaryEventWriter<String>(contextAware, bos, new StringCodec(), compress);
+        for (String event : events) {
+            writer.write(event);
+        }
+        writer.flush();
+        writer.close();
+    }
+
+    static String repeat(char c, int count) {
+        char[] chars = new char[count];
+        Arrays.fill(chars, c);
+        return new String(chars);
+    }
+
+    List<String> readAll() throws IOException {
+        return readAll(new ByteArrayInputStream(bos.toByteArray()));
+    }
+
+    List<String> readAll(InputStream is) throws IOException {
+        List<String> result = new ArrayList<String>();
+        try (BinaryEventReader<String> reader = new BinaryEventReader<String>(is, new StringCodec())) {
+            while (true) {
+                result.add(reader.readObject());
+            }
+        } catch (EOFException e) {
+            // end of stream
+        }
+        return result;
+    }
+}
@@ -0,0 +1,89 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.net;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.SequenceInputStream;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import ch.qos.logback.core.spi.ContextAwareBase;
+
+public class BinaryFrameAssemblerTest {
+
+    BinaryFrameAssembler assembler = new BinaryFrameAssembler();
+
+    @Test
+    public void segmentsAreReadableOneByOne() throws Exception {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        BinaryEventWriter<String> writer = new BinaryEventWriter<String>(new ContextAwareBase(), bos,
+                new BinaryEventWriterTest.StringCodec(), true);
+        List<String> events = new ArrayList<String>();
+        for (int i = 0; i < 100; i++) {
+            String event = "event " + i + " padding padding padding padding";
+            events.add(event);
+            writer.write(event);
+            if (i % 10 == 9) {
+                writer.flush();
+            }
+        }
+        writer.close();
+
+        // feed the stream one byte at a time
+        List<byte[]> segments = new ArrayList<byte[]>();
+        for (byte b : bos.toByteArray()) {
+            byte[] segment = assembler.next(ByteBuffer.wrap(new byte[] { b }));
+            if (segment != null) {
+                segments.add(segment);
+            }
+        }
+        assertEquals(10, segments.size());
+
+        List<ByteArrayInputStream> streams = new ArrayList<ByteArrayInputStream>();
+        for (byte[] segment : segments) {
+            streams.add(new ByteArrayInputStream(segment));
+        }
+        BinaryEventReader<String> reader = new BinaryEventReader<String>(
+                new SequenceInputStream(Collections.enumeration(streams)), new BinaryEventWriterTest.StringCodec());
+        for (String event : events) {
+            assertEquals(event, reader.readObject());
+        }
+    }
+
+    @Test
+    public void incompleteSegmentIsRetained() throws Exception {
+        byte[] bytes = { 'L', 'B', 1, 0, 3, 0, 1, 7 };
+        ByteBuffer buf = ByteBuffer.wrap(bytes, 0, 6);
+        assertNull(assembler.next(buf));
+        buf.limit(bytes.length);
+        byte[] segment = assembler.next(buf);
+        assertEquals(bytes.length, segment.length);
+    }
+
+    @Test
+    public void oversizedFrameIsRejected() {
+        byte[] bytes = { 'L', 'B', 1, 0, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0x7F };
+        assertThrows(StreamCorruptedException.class, () -> assembler.next(ByteBuffer.wrap(bytes)));
+    }
+}
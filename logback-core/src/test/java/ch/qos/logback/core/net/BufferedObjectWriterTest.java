@@ -0,0 +1,124 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.net;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.OutputStream;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link BufferedObjectWriter}.
+ */
+public class BufferedObjectWriterTest {
+
+    static class CountingOutputStream extends ByteArrayOutputStream {
+        int writeCount;
+
+        @Override
+        public synchronized void write(byte[] b, int off, int len) {
+            writeCount++;
+            super.write(b, off, len);
+        }
+
+        @Override
+        public synchronized void write(int b) {
+            writeCount++;
+            super.write(b);
+        }
+    }
+
+    @Test
+    public void headerIsWrittenOnConstruction() throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        new BufferedObjectWriter(out, 2);
+        assertEquals(1, out.writeCount);
+        assertEquals(4, out.size());
+    }
+
+    @Test
+    public void batchIsWrittenWithSingleWriteOnFlush() throws IOException, ClassNotFoundException {
+        CountingOutputStream out = new CountingOutputStream();
+        BufferedObjectWriter objectWriter = new BufferedObjectWriter(out, 2);
+        int headerSize = out.size();
+
+        for (int i = 0; i < 5; i++) {
+            objectWriter.write("event " + i);
+        }
+        assertEquals(headerSize, out.size());
+
+        objectWriter.flush();
+        assertEquals(2, out.writeCount);
+
+        ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(out.toByteArray()));
+        for (int i = 0; i < 5; i++) {
+            assertEquals("event " + i, ois.readObject());
+        }
+    }
+
+    @Test
+    public void fullBufferIsWrittenOutBetweenObjects() throws IOException, ClassNotFoundException {
+        CountingOutputStream out = new CountingOutputStream();
+        BufferedObjectWriter objectWriter = new BufferedObjectWriter(out, 2);
+        String large = "x".repeat(BufferedObjectWriter.BUFFER_SIZE);
+
+        objectWriter.write(large);
+        assertEquals(1, objectWriter.getBufferedObjectCount());
+        assertEquals(1, out.writeCount);
+
+        // the buffer is full, the large object is written out
+        objectWriter.write("event");
+        assertEquals(1, objectWriter.getBufferedObjectCount());
+        assertEquals(2, out.writeCount);
+
+        objectWriter.flush();
+        assertEquals(0, objectWriter.getBufferedObjectCount());
+        ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(out.toByteArray()));
+        assertEquals(large, ois.readObject());
+        assertEquals("event", ois.readObject());
+    }
+
+    @Test
+    public void failedWriteLeavesObjectsBuffered() throws IOException {
+        OutputStream out = new OutputStream() {
+            int writeCount;
+
+            @Override
+            public void write(int b) throws IOException {
+                write(new byte[] { (byte) b }, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                // the stream header goes through
+                if (writeCount++ > 0) {
+                    throw new IOException("connection reset");
+                }
+            }
+        };
+        BufferedObjectWriter objectWriter = new BufferedObjectWriter(out, 2);
+        String large = "x".repeat(BufferedObjectWriter.BUFFER_SIZE);
+        objectWriter.write(large);
+
+        assertThrows(IOException.class, () -> objectWriter.write("event"));
+        // neither object was written out
+        assertEquals(1, objectWriter.getBufferedObjectCount());
+    }
+}
@@ -0,0 +1,80 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.net;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class SyslogOutputStreamTest {
+
+    DatagramSocket server;
+    SyslogOutputStream sos;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        server = new DatagramSocket(0, InetAddress.getLoopbackAddress());
+        server.setSoTimeout(5000);
+        sos = new SyslogOutputStream(InetAddress.getLoopbackAddress().getHostAddress(), server.getLocalPort());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        sos.close();
+        server.close();
+    }
+
+    @Test
+    public void eachFlushSendsOneDatagram() throws Exception {
+        sos.write("<14>hello".getBytes(StandardCharsets.US_ASCII));
+        sos.flush();
+        // nothing was written, nothing is sent
+        sos.flush();
+        sos.write('<');
+        sos.write("14>world".getBytes(StandardCharsets.US_ASCII));
+        sos.flush();
+
+        assertEquals("<14>hello", receive());
+        assertEquals("<14>world", receive());
+    }
+
+    @Test
+    public void messagesLargerThanTheInitialBufferAreSentWhole() throws Exception {
+        char[] chars = new char[SyslogOutputStream.INITIAL_BUFFER_SIZE * 3 + 7];
+        Arrays.fill(chars, 'x');
+        String large = new String(chars);
+        sos.write(large.getBytes(StandardCharsets.US_ASCII));
+        sos.flush();
+        sos.write("small".getBytes(StandardCharsets.US_ASCII));
+        sos.flush();
+
+        assertEquals(large, receive());
+        assertEquals("small", receive());
+    }
+
+    String receive() throws Exception {
+        byte[] buf = new byte[65536];
+        DatagramPacket packet = new DatagramPacket(buf, buf.length);
+        server.receive(packet);
+        return new String(buf, 0, packet.getLength(), StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,118 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.net;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import javax.net.SocketFactory;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import ch.qos.logback.core.ContextBase;
+import ch.qos.logback.core.spi.ContextAwareBase;
+
+public class SyslogStreamOutputStreamTest {
+
+    ContextAwareBase contextAware = new ContextAwareBase();
+    ServerSocket serverSocket;
+    SyslogStreamOutputStream sos;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        contextAware.setContext(new ContextBase());
+        serverSocket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress());
+        sos = new SyslogStreamOutputStream(contextAware, InetAddress.getLoopbackAddress(),
+                serverSocket.getLocalPort(), SocketFactory.getDefault(),
+                AbstractSocketAppender.DEFAULT_RECONNECTION_DELAY);
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        sos.close();
+        serverSocket.close();
+    }
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    public void messagesAreFramedByOctetCounting() throws Exception {
+        // retained until the connection is established, then sent without
+        // waiting for another message
+        send("<14>first");
+        try (Socket socket = serverSocket.accept()) {
+            socket.setSoTimeout(5000);
+            DataInputStream in = new DataInputStream(socket.getInputStream());
+            assertEquals("<14>first", readFrame(in));
+
+            send("<14>h\u00e9llo");
+            assertEquals("<14>h\u00e9llo", readFrame(in));
+        }
+    }
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    public void messagesAreSentAfterReconnection() throws Exception {
+        send("<14>first");
+        try (Socket socket = serverSocket.accept()) {
+            socket.setSoTimeout(5000);
+            DataInputStream in = new DataInputStream(socket.getInputStream());
+            assertEquals("<14>first", readFrame(in));
+        }
+        // writes eventually fail once the server closed the connection
+        while (true) {
+            try {
+                send("<14>lost");
+                Thread.sleep(10);
+            } catch (IOException e) {
+                break;
+            }
+        }
+        send("<14>retained");
+        try (Socket socket = serverSocket.accept()) {
+            socket.setSoTimeout(5000);
+            DataInputStream in = new DataInputStream(socket.getInputStream());
+            String frame;
+            do {
+                frame = readFrame(in);
+            } while (frame.equals("<14>lost"));
+            assertEquals("<14>retained", frame);
+        }
+    }
+
+    void send(String message) throws IOException {
+        sos.write(message.getBytes(StandardCharsets.UTF_8));
+        sos.flush();
+    }
+
+    String readFrame(DataInputStream in) throws IOException {
+        int length = 0;
+        int b;
+        while ((b = in.read()) != ' ') {
+            length = length * 10 + (b - '0');
+        }
+        byte[] message = new byte[length];
+        in.readFully(message);
+        return new String(message, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,239 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.net.server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.StandardSocketOptions;
+import java.nio.channels.ServerSocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import ch.qos.logback.core.net.BinaryEventCodec;
+import ch.qos.logback.core.net.BinaryEventInput;
+import ch.qos.logback.core.net.BinaryEventOutput;
+import ch.qos.logback.core.net.BinaryEventWriter;
+import ch.qos.logback.core.net.mock.MockContext;
+import ch.qos.logback.core.util.CloseUtil;
+
+public class SelectorServerRunnerTest {
+
+    static final int SELECTOR_COUNT = 2;
+
+    MockContext context = new MockContext();
+    ServerSocketChannel serverChannel;
+    StringServerRunner runner;
+    Thread runnerThread;
+
+    // events per client, in order of dispatch
+    Map<String, List<String>> received = new ConcurrentHashMap<String, List<String>>();
+    AtomicInteger receivedCount = new AtomicInteger();
+    volatile CountDownLatch dispatchGate;
+
+    static class StringCodec implements BinaryEventCodec<String> {
+        @Override
+        public void encode(String event, BinaryEventOutput out) {
+            out.writeString(event);
+        }
+
+        @Override
+        public String decode(BinaryEventInput in) throws IOException {
+            return in.readString();
+        }
+    }
+
+    class StringServerRunner extends SelectorServerRunner<String> {
+
+        StringServerRunner() throws IOException {
+            super(serverChannel, SELECTOR_COUNT);
+        }
+
+        @Override
+        protected BinaryEventCodec<String> newBinaryEventCodec() {
+            return new StringCodec();
+        }
+
+        @Override
+        protected void dispatch(String event) {
+            CountDownLatch gate = dispatchGate;
+            if (gate != null) {
+                try {
+                    gate.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            // events are "client:index"
+            String client = event.substring(0, event.indexOf(':'));
+            received.computeIfAbsent(client, k -> new ArrayList<String>()).add(event);
+            receivedCount.incrementAndGet();
+        }
+
+        @Override
+        protected Client createStreamClient(String id, Socket socket, InputStream inputStream) {
+            return new Client() {
+                public void run() {
+                    try (ObjectInputStream ois = new ObjectInputStream(inputStream)) {
+                        while (true) {
+                            dispatch((String) ois.readObject());
+                        }
+                    } catch (IOException | ClassNotFoundException e) {
+                        close();
+                    }
+                }
+
+                public void close() {
+                    CloseUtil.closeQuietly(socket);
+                }
+            };
+        }
+    }
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        serverChannel = ServerSocketChannel.open();
+        // small buffers so that backpressure reaches writers quickly
+        serverChannel.setOption(StandardSocketOptions.SO_RCVBUF, 8192);
+        serverChannel.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        runner = new StringServerRunner();
+        runner.setContext(context);
+        runnerThread = new Thread(runner);
+        runnerThread.start();
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        runner.stop();
+        runnerThread.join(1000);
+        assertFalse(runner.isRunning());
+    }
+
+    @Test
+    @Timeout(value = 20, unit = TimeUnit.SECONDS)
+    public void manyBinaryClients() throws Exception {
+        int clientCount = 50;
+        int eventCount = 500;
+        List<Socket> sockets = new ArrayList<Socket>();
+        List<BinaryEventWriter<String>> writers = new ArrayList<BinaryEventWriter<String>>();
+        for (int c = 0; c < clientCount; c++) {
+            Socket socket = connect();
+            sockets.add(socket);
+            writers.add(new BinaryEventWriter<String>(runner, socket.getOutputStream(), new StringCodec(),
+                    c % 2 == 0));
+        }
+        // interleave the clients, with frames of varying sizes
+        for (int i = 0; i < eventCount; i++) {
+            for (int c = 0; c < clientCount; c++) {
+                writers.get(c).write(c + ":" + i);
+                if ((i + c) % 7 == 0) {
+                    writers.get(c).flush();
+                }
+            }
+        }
+        for (BinaryEventWriter<String> writer : writers) {
+            writer.flush();
+        }
+
+        awaitReceivedCount(clientCount * eventCount);
+        for (int c = 0; c < clientCount; c++) {
+            List<String> events = received.get(String.valueOf(c));
+            for (int i = 0; i < eventCount; i++) {
+                assertEquals(c + ":" + i, events.get(i));
+            }
+        }
+        for (Socket socket : sockets) {
+            socket.close();
+        }
+    }
+
+    @Test
+    @Timeout(value = 20, unit = TimeUnit.SECONDS)
+    public void slowDispatchSuspendsReading() throws Exception {
+        runner.setMaxPendingBytes(1024);
+        dispatchGate = new CountDownLatch(1);
+
+        int eventCount = 50000;
+        Socket socket = connect();
+        socket.setSendBufferSize(8192);
+        Thread writerThread = new Thread(() -> {
+            try {
+                BinaryEventWriter<String> writer = new BinaryEventWriter<String>(runner, socket.getOutputStream(),
+                        new StringCodec(), false);
+                for (int i = 0; i < eventCount; i++) {
+                    writer.write("0:" + i + " some padding to fill the socket buffers faster");
+                    if (i % 100 == 99) {
+                        writer.flush();
+                    }
+                }
+                writer.flush();
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        writerThread.start();
+
+        // with dispatching blocked, the writer eventually blocks as well
+        writerThread.join(1000);
+        assertTrue(writerThread.isAlive());
+
+        dispatchGate.countDown();
+        awaitReceivedCount(eventCount);
+        writerThread.join();
+        socket.close();
+    }
+
+    @Test
+    @Timeout(value = 20, unit = TimeUnit.SECONDS)
+    public void serializedClientIsHandedOver() throws Exception {
+        Socket socket = connect();
+        ObjectOutputStream oos = new ObjectOutputStream(socket.getOutputStream());
+        for (int i = 0; i < 10; i++) {
+            oos.writeObject("s:" + i);
+        }
+        oos.flush();
+        awaitReceivedCount(10);
+        assertEquals("s:9", received.get("s").get(9));
+        oos.close();
+    }
+
+    private Socket connect() throws IOException {
+        return new Socket(InetAddress.getLoopbackAddress(), serverChannel.socket().getLocalPort());
+    }
+
+    private void awaitReceivedCount(int count) throws InterruptedException {
+        while (receivedCount.get() < count) {
+            Thread.sleep(10);
+        }
+        assertEquals(count, receivedCount.get());
+    }
+}
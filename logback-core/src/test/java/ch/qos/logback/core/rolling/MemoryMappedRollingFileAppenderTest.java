@@ -0,0 +1,105 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.rolling;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import ch.qos.logback.core.encoder.EchoEncoder;
+import ch.qos.logback.core.rolling.testUtil.ScaffoldingForRollingTests;
+import ch.qos.logback.core.util.FileSize;
+
+public class MemoryMappedRollingFileAppenderTest extends ScaffoldingForRollingTests {
+
+    MemoryMappedRollingFileAppender<Object> rfa = new MemoryMappedRollingFileAppender<Object>();
+    FixedWindowRollingPolicy fwrp = new FixedWindowRollingPolicy();
+    List<Long> observedLengths = new ArrayList<Long>();
+
+    // same as SizeBasedTriggeringPolicy without the invocation gate
+    TriggeringPolicyBase<Object> sizeBasedTriggeringPolicy = new TriggeringPolicyBase<Object>() {
+        @Override
+        public boolean isTriggeringEvent(File activeFile, Object event) {
+            long length = activeFile.length();
+            observedLengths.add(length);
+            return length >= 100;
+        }
+    };
+
+    @BeforeEach
+    public void setUp() {
+        super.setUp();
+        fwrp.setContext(context);
+        fwrp.setParent(rfa);
+        rfa.setContext(context);
+        sizeBasedTriggeringPolicy.setContext(context);
+    }
+
+    @Test
+    public void sizeBasedRolloverSeesWrittenLength() throws IOException {
+        String activeFileName = randomOutputDir + "mmrfa.log";
+        rfa.setName("ROLLING");
+        rfa.setEncoder(new EchoEncoder<Object>());
+        rfa.setFile(activeFileName);
+        // regions much larger than the maximum file size
+        rfa.setRegionSize(new FileSize(4096));
+
+        fwrp.setMinIndex(0);
+        fwrp.setMaxIndex(20);
+        fwrp.setFileNamePattern(randomOutputDir + "mmrfa.%i.log");
+        rfa.setTriggeringPolicy(sizeBasedTriggeringPolicy);
+        rfa.setRollingPolicy(fwrp);
+
+        fwrp.start();
+        sizeBasedTriggeringPolicy.start();
+        rfa.start();
+        assertTrue(rfa.isStarted());
+
+        int runLength = 40;
+        for (int i = 0; i < runLength; i++) {
+            rfa.doAppend("hello" + i);
+        }
+        rfa.stop();
+
+        assertEquals(runLength, observedLengths.size());
+        for (long length : observedLengths) {
+            assertTrue(length < 120, "triggering policy saw length " + length);
+        }
+
+        File[] archives = new File(randomOutputDir).listFiles((dir, name) -> name.matches("mmrfa\\.\\d+\\.log"));
+        assertTrue(archives.length > 1);
+
+        int total = 0;
+        for (File archive : archives) {
+            String content = new String(Files.readAllBytes(archive.toPath()), StandardCharsets.UTF_8);
+            assertEquals(-1, content.indexOf('\0'), archive + " contains unused region bytes");
+            total += content.split(System.lineSeparator()).length;
+        }
+        String active = new String(Files.readAllBytes(new File(activeFileName).toPath()), StandardCharsets.UTF_8);
+        assertEquals(-1, active.indexOf('\0'));
+        if (!active.isEmpty()) {
+            total += active.split(System.lineSeparator()).length;
+        }
+        assertEquals(runLength, total);
+    }
+}
@@ -18,6 +18,16 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Date;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -25,8 +35,10 @@ import org.junit.jupiter.api.Test;
 import ch.qos.logback.core.Appender;
 import ch.qos.logback.core.Context;
 import ch.qos.logback.core.ContextBase;
+import ch.qos.logback.core.CoreConstants;
 import ch.qos.logback.core.appender.AbstractAppenderTest;
 import ch.qos.logback.core.encoder.DummyEncoder;
+import ch.qos.logback.core.encoder.EchoEncoder;
 import ch.qos.logback.core.status.Status;
 import ch.qos.logback.core.testUtil.CoreTestConstants;
 import ch.qos.logback.core.testUtil.RandomUtil;
@@ -264,4 +276,69 @@ public class RollingFileAppenderTest extends AbstractAppenderTest<Object> {
         checker.assertContainsMatch(Status.ERROR, "'FileNamePattern' option has the same value");
     }
 
+
+    @Test
+    public void batchRollsOverBeforeTriggeringEvent() throws IOException {
+        String activeFileName = randomOutputDir + "batch.log";
+        rfa.setContext(context);
+        rfa.setEncoder(new EchoEncoder<Object>());
+        rfa.setFile(activeFileName);
+
+        FixedWindowRollingPolicy fwRollingPolicy = new FixedWindowRollingPolicy();
+        fwRollingPolicy.setContext(context);
+        fwRollingPolicy.setFileNamePattern(randomOutputDir + "batch-%i.log");
+        fwRollingPolicy.setParent(rfa);
+        fwRollingPolicy.start();
+
+        TriggeringPolicyBase<Object> onRoll = new TriggeringPolicyBase<Object>() {
+            @Override
+            public boolean isTriggeringEvent(File activeFile, Object event) {
+                return "roll".equals(event);
+            }
+        };
+        onRoll.start();
+
+        rfa.setRollingPolicy(fwRollingPolicy);
+        rfa.setTriggeringPolicy(onRoll);
+        rfa.start();
+
+        rfa.doAppendBatch(List.of("a", "b", "roll", "c"));
+        rfa.stop();
+
+        String ls = CoreConstants.LINE_SEPARATOR;
+        assertEquals("a" + ls + "b" + ls, Files.readString(new File(randomOutputDir + "batch-1.log").toPath()));
+        assertEquals("roll" + ls + "c" + ls, Files.readString(new File(activeFileName).toPath()));
+    }
+
+    @Test
+    public void asynchronousRolloverCompressesInBackground() throws IOException {
+        String activeFileName = randomOutputDir + "async.log";
+        rfa.setContext(context);
+        rfa.setEncoder(new EchoEncoder<Object>());
+        rfa.setFile(activeFileName);
+        rfa.setAsynchronousRollover(true);
+
+        long startTime = 1_600_000_000_000L;
+        DefaultTimeBasedFileNamingAndTriggeringPolicy<Object> tbfnatp = //
+                new DefaultTimeBasedFileNamingAndTriggeringPolicy<Object>();
+        tbfnatp.setCurrentTime(startTime);
+        tbrp.setTimeBasedFileNamingAndTriggeringPolicy(tbfnatp);
+        tbrp.setFileNamePattern(randomOutputDir + "async-%d{yyyy-MM-dd}.log.gz");
+        tbrp.start();
+        rfa.setRollingPolicy(tbrp);
+        rfa.start();
+
+        rfa.doAppend("a");
+        tbfnatp.setCurrentTime(startTime + CoreConstants.MILLIS_IN_ONE_DAY);
+        rfa.doAppend("b");
+        String archiveName = tbrp.fileNamePattern.convert(new Date(startTime));
+        rfa.stop();
+
+        String ls = CoreConstants.LINE_SEPARATOR;
+        try (InputStream in = new GZIPInputStream(new FileInputStream(archiveName))) {
+            assertEquals("a" + ls, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        assertEquals("b" + ls, Files.readString(new File(activeFileName).toPath()));
+        new StatusChecker(context).assertContainsMatch("Background rollover completed");
+    }
 }
@@ -0,0 +1,214 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2022, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.rolling.helper;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Date;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import ch.qos.logback.core.Context;
+import ch.qos.logback.core.ContextBase;
+import ch.qos.logback.core.testUtil.CoreTestConstants;
+import ch.qos.logback.core.testUtil.RandomUtil;
+
+public class ArchiveCatalogTest {
+
+    Context context = new ContextBase();
+    File folder;
+    ArchiveCatalog catalog = new ArchiveCatalog();
+
+    @BeforeEach
+    public void setUp() {
+        catalog.setContext(context);
+        folder = new File(CoreTestConstants.OUTPUT_DIR_PREFIX + "archiveCatalog-" + RandomUtil.getPositiveInt());
+        folder.mkdirs();
+    }
+
+    File touch(String name) throws IOException {
+        File file = new File(folder, name);
+        file.createNewFile();
+        return file;
+    }
+
+    @Test
+    public void folderIsListedOnce() throws IOException {
+        touch("app-2022-01-01.0.log");
+        touch("app-2022-01-01.1.log");
+        touch("app-2022-01-02.0.log");
+        touch("other.log");
+
+        assertArrayEquals(new File[] { new File(folder, "app-2022-01-01.0.log"), new File(folder, "app-2022-01-01.1.log") },
+                catalog.filesInFolderMatchingStemRegex(folder, "app-2022-01-01.(\\d+).log"));
+        assertEquals(1, catalog.filesInFolderMatchingStemRegex(folder, "app-2022-01-02.(\\d+).log").length);
+        assertEquals(0, catalog.filesInFolderMatchingStemRegex(folder, "app-2022-01-03.(\\d+).log").length);
+        assertEquals(1, catalog.getListingCount());
+    }
+
+    @Test
+    public void addAndRemove() throws IOException {
+        String stemRegex = "app-2022-01-01.(\\d+).log";
+        File first = touch("app-2022-01-01.0.log");
+        assertEquals(1, catalog.filesInFolderMatchingStemRegex(folder, stemRegex).length);
+
+        // created behind the catalog's back
+        touch("app-2022-01-01.1.log");
+        assertEquals(1, catalog.filesInFolderMatchingStemRegex(folder, stemRegex).length);
+
+        catalog.add(new File(folder, "app-2022-01-01.1.log"));
+        catalog.add(new File(folder, "app-2022-01-01.2.log"));
+        assertEquals(3, catalog.filesInFolderMatchingStemRegex(folder, stemRegex).length);
+
+        catalog.remove(first);
+        assertEquals(2, catalog.filesInFolderMatchingStemRegex(folder, stemRegex).length);
+        catalog.removeMatching(folder, stemRegex);
+        assertEquals(0, catalog.filesInFolderMatchingStemRegex(folder, stemRegex).length);
+        assertEquals(1, catalog.getListingCount());
+    }
+
+    @Test
+    public void indexFileSparesListing() throws IOException {
+        String stemRegex = "app-2022-01-01.(\\d+).log";
+        touch("app-2022-01-01.0.log");
+        touch("app-2022-01-01.1.log");
+        File indexFile = new File(folder.getParentFile(), folder.getName() + ".idx");
+        catalog.setIndexFile(indexFile);
+        assertEquals(2, catalog.filesInFolderMatchingStemRegex(folder, stemRegex).length);
+        catalog.save();
+        assertTrue(indexFile.isFile());
+
+        ArchiveCatalog restarted = restart(indexFile);
+        assertEquals(2, restarted.filesInFolderMatchingStemRegex(folder, stemRegex).length);
+        assertEquals(0, restarted.getListingCount());
+    }
+
+    @Test
+    public void indexFileInArchiveFolderSparesListing() throws IOException {
+        String stemRegex = "app-2022-01-01.(\\d+).log";
+        touch("app-2022-01-01.0.log");
+        File indexFile = new File(folder, "archive.idx");
+        catalog.setIndexFile(indexFile);
+        catalog.load();
+        assertEquals(1, catalog.filesInFolderMatchingStemRegex(folder, stemRegex).length);
+        catalog.save();
+        catalog.removeMatching(folder, "none");
+        catalog.remove(new File(folder, "app-2022-01-01.0.log"));
+        catalog.add(new File(folder, "app-2022-01-01.0.log"));
+        // saving again leaves the folder untouched
+        catalog.save();
+
+        ArchiveCatalog restarted = restart(indexFile);
+        assertEquals(1, restarted.filesInFolderMatchingStemRegex(folder, stemRegex).length);
+        assertEquals(0, restarted.getListingCount());
+    }
+
+    @Test
+    public void fileCreatedBeforeSaveIsNotTrusted() throws IOException {
+        String stemRegex = "app-2022-01-01.(\\d+).log";
+        touch("app-2022-01-01.0.log");
+        File indexFile = new File(folder.getParentFile(), folder.getName() + ".idx");
+        catalog.setIndexFile(indexFile);
+        catalog.filesInFolderMatchingStemRegex(folder, stemRegex);
+        // created between listing and saving
+        touch("app-2022-01-01.1.log");
+        folder.setLastModified(folder.lastModified() + 10000);
+        catalog.save();
+
+        ArchiveCatalog restarted = restart(indexFile);
+        assertEquals(2, restarted.filesInFolderMatchingStemRegex(folder, stemRegex).length);
+        assertEquals(1, restarted.getListingCount());
+    }
+
+    @Test
+    public void incompleteIndexFileIsIgnored() throws IOException {
+        String stemRegex = "app-2022-01-01.(\\d+).log";
+        touch("app-2022-01-01.0.log");
+        File indexFile = new File(folder.getParentFile(), folder.getName() + ".idx");
+        catalog.setIndexFile(indexFile);
+        catalog.filesInFolderMatchingStemRegex(folder, stemRegex);
+        catalog.save();
+        String contents = new String(Files.readAllBytes(indexFile.toPath()), StandardCharsets.UTF_8);
+        Files.write(indexFile.toPath(),
+                contents.replace(ArchiveCatalog.INDEX_FILE_TRAILER, "").getBytes(StandardCharsets.UTF_8));
+
+        ArchiveCatalog restarted = restart(indexFile);
+        assertEquals(1, restarted.filesInFolderMatchingStemRegex(folder, stemRegex).length);
+        assertEquals(1, restarted.getListingCount());
+    }
+
+    ArchiveCatalog restart(File indexFile) {
+        ArchiveCatalog restarted = new ArchiveCatalog();
+        restarted.setContext(context);
+        restarted.setIndexFile(indexFile);
+        restarted.load();
+        return restarted;
+    }
+
+    @Test
+    public void staleIndexFileIsIgnored() throws IOException {
+        String stemRegex = "app-2022-01-01.(\\d+).log";
+        touch("app-2022-01-01.0.log");
+        File indexFile = new File(folder.getParentFile(), folder.getName() + ".idx");
+        catalog.setIndexFile(indexFile);
+        catalog.filesInFolderMatchingStemRegex(folder, stemRegex);
+        catalog.save();
+
+        touch("app-2022-01-01.1.log");
+        folder.setLastModified(folder.lastModified() + 10000);
+
+        ArchiveCatalog restarted = new ArchiveCatalog();
+        restarted.setContext(context);
+        restarted.setIndexFile(indexFile);
+        restarted.load();
+        assertEquals(2, restarted.filesInFolderMatchingStemRegex(folder, stemRegex).length);
+        assertEquals(1, restarted.getListingCount());
+    }
+
+    @Test
+    public void removerQueriesCatalog() throws IOException {
+        FileNamePattern fileNamePattern = new FileNamePattern(folder.getPath() + "/app-%d{yyyy-MM-dd}.%i.log", context);
+        RollingCalendar rc = new RollingCalendar("yyyy-MM-dd");
+        SizeAndTimeBasedArchiveRemover remover = new SizeAndTimeBasedArchiveRemover(fileNamePattern, rc, catalog);
+        remover.setContext(context);
+        Date date = rc.getEndOfNextNthPeriod(new Date(), -1);
+        String stem = new File(fileNamePattern.convertMultipleArguments(date, 0)).getName();
+        File archive = touch(stem);
+
+        for (int offset = 0; offset < 30; offset++) {
+            remover.getFilesInPeriod(rc.getEndOfNextNthPeriod(date, -offset));
+        }
+        assertEquals(1, catalog.getListingCount());
+
+        remover.cleanPeriod(date);
+        assertFalse(archive.exists());
+        assertEquals(0, catalog.filesInFolderMatchingStemRegex(folder, FileFilterUtil.afterLastSlash(
+                fileNamePattern.toRegexForFixedDate(date))).length);
+    }
+
+    @Test
+    public void literalPrefix() {
+        assertEquals("app-2022-01-01.", ArchiveCatalog.literalPrefix("app-2022-01-01.(\\d+).log"));
+        assertEquals("", ArchiveCatalog.literalPrefix("(\\d+).log"));
+        assertEquals("plain.log", ArchiveCatalog.literalPrefix("plain.log"));
+    }
+}
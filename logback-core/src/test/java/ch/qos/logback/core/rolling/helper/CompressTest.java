@@ -13,6 +13,9 @@
  */
 package ch.qos.logback.core.rolling.helper;
 
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import java.io.File;
@@ -21,6 +24,9 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.zip.GZIPInputStream;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -28,6 +34,7 @@ import org.junit.jupiter.api.Test;
 import ch.qos.logback.core.Context;
 import ch.qos.logback.core.ContextBase;
 import ch.qos.logback.core.testUtil.CoreTestConstants;
+import ch.qos.logback.core.testUtil.RandomUtil;
 import ch.qos.logback.core.testUtil.StatusChecker;
 import ch.qos.logback.core.util.Compare;
 
@@ -111,6 +118,93 @@ public class CompressTest {
         // + "witness/compress3.txt.zip"));
     }
 
+    @Test
+    public void parallelGzProducesConcatenatedMembers() throws Exception {
+        int diff = RandomUtil.getPositiveInt();
+        File source = new File(CoreTestConstants.OUTPUT_DIR_PREFIX + diff + "-parallel.txt");
+        source.getParentFile().mkdirs();
+        // several blocks, the last one partial
+        StringBuilder sb = new StringBuilder();
+        int i = 0;
+        while (sb.length() < 2 * Compressor.PARALLEL_GZ_BLOCK_SIZE + 1000) {
+            sb.append("line ").append(i++).append(" of the parallel compression test\n");
+        }
+        byte[] expected = sb.toString().getBytes(StandardCharsets.UTF_8);
+        Files.write(source.toPath(), expected);
+
+        Compressor compressor = new Compressor(CompressionMode.PARALLEL_GZ);
+        compressor.setContext(context);
+        compressor.setThreadCount(3);
+        compressor.setCompressionLevel(1);
+        compressor.compress(source.getPath(), source.getPath(), null);
+
+        StatusChecker checker = new StatusChecker(context);
+        assertTrue(checker.isErrorFree(0));
+        assertFalse(source.exists());
+
+        File target = new File(source.getPath() + ".gz");
+        try (InputStream in = new GZIPInputStream(new FileInputStream(target))) {
+            assertArrayEquals(expected, in.readAllBytes());
+        }
+    }
+
+    @Test
+    public void parallelGzCompressorIsReusableAcrossArchivesAndStops() throws Exception {
+        Compressor compressor = new Compressor(CompressionMode.PARALLEL_GZ);
+        compressor.setContext(context);
+        compressor.setThreadCount(2);
+        byte[] expected = "some line\n".repeat(Compressor.PARALLEL_GZ_BLOCK_SIZE / 5).getBytes(StandardCharsets.UTF_8);
+
+        int diff = RandomUtil.getPositiveInt();
+        for (int i = 0; i < 3; i++) {
+            if (i == 2) {
+                // threads are created anew after stop
+                compressor.stop();
+            }
+            File source = new File(CoreTestConstants.OUTPUT_DIR_PREFIX + diff + "-parallel-" + i + ".txt");
+            source.getParentFile().mkdirs();
+            Files.write(source.toPath(), expected);
+            compressor.compress(source.getPath(), source.getPath(), null);
+
+            try (InputStream in = new GZIPInputStream(new FileInputStream(source.getPath() + ".gz"))) {
+                assertArrayEquals(expected, in.readAllBytes());
+            }
+        }
+        compressor.stop();
+        assertTrue(new StatusChecker(context).isErrorFree(0));
+    }
+
+    @Test
+    public void customCodec() throws Exception {
+        int diff = RandomUtil.getPositiveInt();
+        File source = new File(CoreTestConstants.OUTPUT_DIR_PREFIX + diff + "-custom.txt");
+        source.getParentFile().mkdirs();
+        Files.write(source.toPath(), "hello".getBytes(StandardCharsets.UTF_8));
+
+        CompressionCodec upperCaseCodec = new CompressionCodec() {
+            @Override
+            public String getFileNameSuffix() {
+                return ".upper";
+            }
+
+            @Override
+            public void compress(InputStream in, OutputStream out, int level, int bufferSize) throws IOException {
+                out.write(new String(in.readAllBytes(), StandardCharsets.UTF_8).toUpperCase()
+                        .getBytes(StandardCharsets.UTF_8));
+            }
+        };
+        Compressor compressor = new Compressor(CompressionMode.CUSTOM, upperCaseCodec);
+        compressor.setContext(context);
+        compressor.compress(source.getPath(), source.getPath(), null);
+
+        assertTrue(new StatusChecker(context).isErrorFree(0));
+        assertFalse(source.exists());
+        assertEquals("HELLO", new String(Files.readAllBytes(new File(source.getPath() + ".upper").toPath()),
+                StandardCharsets.UTF_8));
+        assertEquals("foo-%d", Compressor.computeFileNameStrWithoutCompSuffix("foo-%d.upper", CompressionMode.CUSTOM,
+                upperCaseCodec));
+    }
+
     private void copy(File src, File dst) throws IOException {
         InputStream in = new FileInputStream(src);
         OutputStream out = new FileOutputStream(dst);
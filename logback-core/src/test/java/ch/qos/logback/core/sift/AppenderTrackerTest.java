@@ -21,11 +21,16 @@ import ch.qos.logback.core.read.ListAppender;
 import ch.qos.logback.core.testUtil.RandomUtil;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.Assert.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 /**
  * Relatively straightforward unit tests for AppenderTracker.
@@ -139,10 +144,108 @@ public class AppenderTrackerTest {
         }
     }
 
+    @Test
+    public void stoppedAppendersShouldBeRemovedWhateverTheirAccessOrder() {
+        Appender<Object> a0 = appenderTracker.getOrCreate(key + "-0", now);
+        Appender<Object> a1 = appenderTracker.getOrCreate(key + "-1", now + 1);
+        a1.stop();
+        appenderTracker.removeStaleComponents(now + 2);
+        assertTrue(a0.isStarted());
+        assertNotNull(appenderTracker.find(key + "-0"));
+        assertNull(appenderTracker.find(key + "-1"));
+    }
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    public void concurrentCallersShouldShareASingleAppenderPerKey() throws InterruptedException {
+        final int threadCount = 8;
+        final int keyCount = 16;
+        final CountDownLatch startLatch = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        List<List<Appender<Object>>> results = new ArrayList<>();
+        for (int t = 0; t < threadCount; t++) {
+            List<Appender<Object>> result = new ArrayList<>();
+            results.add(result);
+            Thread thread = new Thread(() -> {
+                try {
+                    startLatch.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < keyCount; i++) {
+                    result.add(appenderTracker.getOrCreate(key + "-" + i, now));
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        startLatch.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(keyCount, listAppenderFactory.buildCount.get());
+        assertEquals(keyCount, appenderTracker.getComponentCount());
+        for (List<Appender<Object>> result : results) {
+            for (int i = 0; i < keyCount; i++) {
+                assertTrue(appenderTracker.find(key + "-" + i) == result.get(i));
+            }
+        }
+    }
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    public void slowBuildShouldNotBlockOtherKeys() throws InterruptedException {
+        final String slowKey = key + "-slow";
+        final CountDownLatch building = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        AppenderTracker<Object> tracker = new AppenderTracker<Object>(context, (context, discriminatingValue) -> {
+            if (discriminatingValue.equals(slowKey)) {
+                building.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return listAppenderFactory.buildAppender(context, discriminatingValue);
+        });
+        List<Appender<Object>> slowResults = new ArrayList<>();
+        Thread slowThread = new Thread(() -> slowResults.add(tracker.getOrCreate(slowKey, now)));
+        slowThread.start();
+        building.await();
+
+        // keys possibly sharing the bin of the slow key are available right away
+        for (int i = 0; i < 64; i++) {
+            assertNotNull(tracker.getOrCreate(key + "-" + i, now));
+        }
+        tracker.removeStaleComponents(now);
+        assertNull(tracker.find(slowKey));
+
+        release.countDown();
+        slowThread.join();
+        assertSame(slowResults.get(0), tracker.getOrCreate(slowKey, now));
+        assertEquals(65, listAppenderFactory.buildCount.get());
+    }
+
+    @Test
+    public void recursiveCreationShouldFail() {
+        AppenderTracker<Object>[] holder = new AppenderTracker[1];
+        holder[0] = new AppenderTracker<Object>(context, (context, discriminatingValue) -> {
+            holder[0].getOrCreate(discriminatingValue, now);
+            return listAppenderFactory.buildAppender(context, discriminatingValue);
+        });
+        assertThrows(IllegalStateException.class, () -> holder[0].getOrCreate(key, now));
+        assertEquals(0, holder[0].getComponentCount());
+    }
+
     // ======================================================================
     static class ListAppenderFactory implements AppenderFactory<Object> {
 
+        final AtomicInteger buildCount = new AtomicInteger();
+
         public Appender<Object> buildAppender(Context context, String discriminatingValue) throws JoranException {
+            buildCount.incrementAndGet();
             ListAppender<Object> la = new ListAppender<Object>();
             la.setContext(context);
             la.setName(discriminatingValue);
@@ -6,11 +6,14 @@ import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.time.ZoneId;
 import java.util.Date;
+import java.util.Random;
 import java.util.TimeZone;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import ch.qos.logback.core.CoreConstants;
+
 public class CachingDateFotmatterTest {
 
     final static String DATE_PATTERN = "yyyy-MM-dd'T'HH:mm";
@@ -38,4 +41,25 @@ public class CachingDateFotmatterTest {
         assertEquals("2015-03-26T17:49", result);
     }
 
+    @Test
+    public void formatIntoBuilderMatchesFormat() {
+        String[] patterns = { "yyyy-MM-dd HH:mm:ss.SSS", "HH:mm:ss,SSS", "yyyy-MM-dd'T'HH:mm:ss.SSSSSS", "ss.S",
+                "ss.SS", "dd MMMM yyyy HH:mm:ss", "HH:mm", "SSS 'x' SSS", "A", "n", "N", "d/M/y H:m:s.SSS",
+                CoreConstants.ISO8601_PATTERN, CoreConstants.CLF_DATE_PATTERN };
+        Random random = new Random(42);
+        for (String pattern : patterns) {
+            CachingDateFormatter cdf = new CachingDateFormatter(pattern, ZoneId.of("Europe/Paris"));
+            CachingDateFormatter witness = new CachingDateFormatter(pattern, ZoneId.of("Europe/Paris"));
+            long base = 1666000000000L;
+            for (int i = 0; i < 3000; i++) {
+                // mostly increasing timestamps with some jumps, including before the epoch
+                long timestamp = (i % 500 == 0) ? -base + random.nextInt(100000) : base + random.nextInt(5000);
+                base += random.nextInt(3);
+                StringBuilder sb = new StringBuilder("prefix:");
+                cdf.format(timestamp, sb);
+                assertEquals(pattern + " at " + timestamp, "prefix:" + witness.format(timestamp), sb.toString());
+            }
+        }
+    }
+
 }